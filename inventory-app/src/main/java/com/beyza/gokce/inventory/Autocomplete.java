@@ -0,0 +1,101 @@
+/**
+ * @file Autocomplete.java
+ * @brief Suggestion popup for the name fields of the GUI dialogs
+ *
+ * This file contains the helper that shows the completions of a PrefixTrie
+ * under a text field while the user types.
+ */
+package com.beyza.gokce.inventory;
+
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.util.List;
+
+import javax.swing.JMenuItem;
+import javax.swing.JPopupMenu;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.JTextComponent;
+
+/**
+ * @class Autocomplete
+ * @brief Shows trie completions under a text field
+ *
+ * The popup is not focusable, so typing continues in the field. Clicking a
+ * suggestion replaces the field's text with it. The popup hides when the
+ * text is empty, matches the only suggestion, or the field loses focus.
+ */
+final class Autocomplete {
+    /**
+     * @brief Number of suggestions shown
+     */
+    static final int LIMIT = 8;
+
+    private final JTextComponent field;
+    private final PrefixTrie trie;
+    private final JPopupMenu popup = new JPopupMenu();
+
+    private Autocomplete(JTextComponent field, PrefixTrie trie) {
+        this.field = field;
+        this.trie = trie;
+        popup.setFocusable(false);
+    }
+
+    /**
+     * @brief Attaches completion to a field
+     *
+     * @param field The text field
+     * @param trie The names to complete from
+     */
+    static void attach(JTextComponent field, PrefixTrie trie) {
+        Autocomplete autocomplete = new Autocomplete(field, trie);
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                SwingUtilities.invokeLater(autocomplete::update);
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                SwingUtilities.invokeLater(autocomplete::update);
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        field.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                autocomplete.popup.setVisible(false);
+            }
+        });
+    }
+
+    private void update() {
+        String text = field.getText();
+        List<String> suggestions = text.trim().isEmpty() ? List.of() : trie.complete(text, LIMIT);
+        if (!field.isShowing() || suggestions.isEmpty()
+                || (suggestions.size() == 1 && suggestions.get(0).equalsIgnoreCase(text))) {
+            popup.setVisible(false);
+            return;
+        }
+        popup.removeAll();
+        for (String suggestion : suggestions) {
+            JMenuItem item = new JMenuItem(suggestion);
+            item.addActionListener(e -> {
+                field.setText(suggestion);
+                popup.setVisible(false);
+            });
+            popup.add(item);
+        }
+        popup.pack();
+        if (popup.isVisible()) {
+            popup.revalidate();
+            popup.repaint();
+        } else {
+            popup.show(field, 0, field.getHeight());
+        }
+    }
+}
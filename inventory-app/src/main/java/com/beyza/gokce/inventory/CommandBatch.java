@@ -0,0 +1,432 @@
+/**
+ * @file CommandBatch.java
+ * @brief Non-interactive command mode for the console application
+ *
+ * This file contains the runner that reads one command per line from a file
+ * or a pipe, such as a point-of-sale export, and applies the commands to the
+ * database in batched transactions.
+ */
+package com.beyza.gokce.inventory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @class CommandBatch
+ * @brief Runs scripted commands such as "add-sale Chair 2 99.50"
+ *
+ * Each line holds one command and its arguments separated by spaces or
+ * tabs. An argument with spaces is written in double quotes, with a quote
+ * inside doubled as in CSV. Blank lines and lines starting with '#' are
+ * skipped. The tokenizer walks each line once and only the text arguments
+ * become Strings.
+ *
+ * Valid commands are collected into BATCH_SIZE batches. Each batch runs as
+ * one write on the database writer thread, so it commits in one
+ * transaction, and every command in it runs in its own savepoint: a failing
+ * command is reported and the rest of the batch is kept. As in CsvImporter
+ * two batches alternate, so the next one is parsed while the previous one is
+ * written. A line that cannot be parsed or fails is reported with its line
+ * number; the first MAX_REPORTED_ERRORS are kept.
+ *
+ * Sales go straight to the sales table, also when the sales journal is on.
+ */
+final class CommandBatch {
+    /**
+     * @brief The command-line flag that runs a batch
+     */
+    static final String FLAG = "--batch";
+
+    /**
+     * @brief Number of commands committed in one transaction
+     */
+    static final int BATCH_SIZE = 1000;
+
+    /**
+     * @brief Number of line errors kept in the result
+     */
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    /**
+     * @brief Most arguments a command takes
+     */
+    private static final int MAX_ARGUMENTS = 3;
+
+    /**
+     * @brief The commands a batch can run
+     */
+    enum Command {
+        ADD_MATERIAL("add-material", "<name> <quantity> <cost>",
+                Inventory.MERGE_MATERIAL_SQL),
+        ADD_SALE("add-sale", "<item> <quantity> <price>",
+                "INSERT INTO sales (item, quantity, price) VALUES (?, ?, ?)"),
+        ADD_EXPENSE("add-expense", "<description> <amount>",
+                "INSERT INTO expenses (description, amount) VALUES (?, ?)"),
+        ADD_PROJECT("add-project", "<name>",
+                "INSERT INTO projects (name) VALUES (?)"),
+        REMOVE_MATERIAL("remove-material", "<name>",
+                "DELETE FROM inventory WHERE name = ?");
+
+        final String name;
+        final String usage;
+        final int arguments;
+        private final String sql;
+
+        Command(String name, String usage, String sql) {
+            this.name = name;
+            this.usage = usage;
+            this.arguments = usage.split(" ").length;
+            this.sql = sql;
+        }
+
+        /**
+         * @brief Finds a command by its name
+         *
+         * @param name The command name, such as "add-sale"
+         * @return The command, or null if there is none
+         */
+        static Command of(String name) {
+            for (Command command : values()) {
+                if (command.name.equals(name)) {
+                    return command;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + usage;
+        }
+    }
+
+    /**
+     * @brief The outcome of a batch run
+     */
+    static final class Result {
+        /** @brief Commands that took effect */
+        long executed;
+        /** @brief Lines that were rejected or failed */
+        long failed;
+        /** @brief The first MAX_REPORTED_ERRORS failed lines */
+        final List<CsvImporter.RowError> errors = new ArrayList<>();
+
+        @Override
+        public String toString() {
+            return executed + " commands run, " + failed + " failed";
+        }
+    }
+
+    private final DatabaseExecutor database;
+    private final Result result = new Result();
+
+    private final String[] tokens = new String[MAX_ARGUMENTS + 1];
+    private final StringBuilder token = new StringBuilder();
+
+    private final Batch[] batches = {new Batch(), new Batch()};
+    @SuppressWarnings("unchecked")
+    private final CompletableFuture<String[]>[] writes = new CompletableFuture[2];
+    private int current;
+
+    private CommandBatch(DatabaseExecutor database) {
+        this.database = database;
+    }
+
+    /**
+     * @brief Runs the commands of a file, or of standard input for "-"
+     *
+     * @param file The command file, or "-"
+     * @return The counts and the line errors
+     * @throws IOException If the input cannot be read
+     * @throws SQLException If a batch cannot be committed; the batches
+     *         before it stay committed
+     */
+    static Result run(String file) throws IOException, SQLException {
+        Reader reader = "-".equals(file)
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8);
+        try (BufferedReader in = new BufferedReader(reader, 1 << 16)) {
+            Inventory.awaitDatabase();
+            try {
+                return run(in, DatabaseExecutor.shared());
+            } finally {
+                InventoryCache.invalidateAll();
+                // Restocks and removals of unknown names change fewer rows than commands
+                TableStatistics.reconcile();
+            }
+        }
+    }
+
+    /**
+     * @brief Runs the commands of a reader against a given database
+     *
+     * @param in The commands, one per line
+     * @param database The database
+     * @return The counts and the line errors
+     * @throws IOException If the input cannot be read
+     * @throws SQLException If a batch cannot be committed; the batches
+     *         before it stay committed
+     */
+    static Result run(BufferedReader in, DatabaseExecutor database) throws IOException, SQLException {
+        CommandBatch batch = new CommandBatch(database);
+        try {
+            long line = 0;
+            for (String text = in.readLine(); text != null; text = in.readLine()) {
+                batch.add(text, ++line);
+            }
+            batch.flush();
+        } finally {
+            batch.finishWrites();
+        }
+        return batch.result;
+    }
+
+    /**
+     * @brief Returns the counts and the first errors as lines
+     *
+     * @param result The outcome of a run
+     * @param max The most errors listed
+     * @return The lines to print
+     */
+    static List<String> describe(Result result, int max) {
+        if (result.errors.isEmpty()) {
+            return Collections.singletonList(result.toString());
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(result.toString());
+        for (int i = 0; i < Math.min(max, result.errors.size()); i++) {
+            lines.add(result.errors.get(i).toString());
+        }
+        if (result.failed > max) {
+            lines.add("... and " + (result.failed - max) + " more");
+        }
+        return lines;
+    }
+
+    /**
+     * @brief Splits a line into tokens
+     *
+     * @param text The line
+     * @return The number of tokens, 0 for a blank or comment line, or -1 if
+     *         the line has too many tokens or an unclosed quote
+     */
+    int tokenize(String text) {
+        int count = 0;
+        int i = 0;
+        int length = text.length();
+        while (true) {
+            while (i < length && (text.charAt(i) == ' ' || text.charAt(i) == '\t')) {
+                i++;
+            }
+            if (i == length || (count == 0 && text.charAt(i) == '#')) {
+                return count;
+            }
+            if (count == tokens.length) {
+                return -1;
+            }
+            if (text.charAt(i) == '"') {
+                token.setLength(0);
+                int start = ++i;
+                while (true) {
+                    int quote = text.indexOf('"', i);
+                    if (quote < 0) {
+                        return -1;
+                    }
+                    token.append(text, start, quote);
+                    if (quote + 1 < length && text.charAt(quote + 1) == '"') {
+                        token.append('"');
+                        start = i = quote + 2;
+                    } else {
+                        i = quote + 1;
+                        break;
+                    }
+                }
+                tokens[count++] = token.toString();
+            } else {
+                int start = i;
+                while (i < length && text.charAt(i) != ' ' && text.charAt(i) != '\t') {
+                    i++;
+                }
+                tokens[count++] = text.substring(start, i);
+            }
+        }
+    }
+
+    /**
+     * @brief Validates a line and adds its command to the current batch
+     */
+    private void add(String text, long line) throws SQLException {
+        int count = tokenize(text);
+        if (count == 0) {
+            return;
+        }
+        if (count < 0) {
+            reject(line, "unclosed quote or too many arguments");
+            return;
+        }
+        Command command = Command.of(tokens[0]);
+        if (command == null) {
+            reject(line, "unknown command: " + tokens[0]);
+            return;
+        }
+        if (count - 1 != command.arguments) {
+            reject(line, "usage: " + command);
+            return;
+        }
+        if (tokens[1].trim().isEmpty()) {
+            reject(line, command.usage.substring(1, command.usage.indexOf('>')) + " is empty");
+            return;
+        }
+        int quantity = 0;
+        long amount = 0;
+        if (command.arguments == 3) {
+            try {
+                quantity = Integer.parseInt(tokens[2]);
+            } catch (NumberFormatException e) {
+                reject(line, "quantity is not a whole number: " + tokens[2]);
+                return;
+            }
+        }
+        if (command.arguments >= 2) {
+            try {
+                amount = Money.parseMinor(tokens[count - 1]);
+            } catch (NumberFormatException e) {
+                reject(line, "amount is not a number: " + tokens[count - 1]);
+                return;
+            }
+        }
+        if (quantity < 0 || amount < 0) {
+            reject(line, (quantity < 0 ? "quantity" : "amount") + " is negative");
+            return;
+        }
+        Batch batch = batches[current];
+        batch.add(command, tokens[1], quantity, amount, line);
+        if (batch.size == BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    private void reject(long line, String message) {
+        result.failed++;
+        if (result.errors.size() < MAX_REPORTED_ERRORS) {
+            result.errors.add(new CsvImporter.RowError(line, message));
+        }
+    }
+
+    /**
+     * @brief Queues the current batch and switches to the other one
+     *
+     * Waits for the other batch's write first, so at most two batches exist.
+     */
+    private void flush() throws SQLException {
+        Batch batch = batches[current];
+        if (batch.size == 0) {
+            return;
+        }
+        writes[current] = database.write(DatabaseExecutor.Priority.BATCH, conn -> execute(conn, batch));
+        current = 1 - current;
+        awaitWrite(current);
+        batches[current].size = 0;
+    }
+
+    /**
+     * @brief Runs the commands of a batch on the writer connection
+     *
+     * @return The failure of each command, or null where it took effect
+     */
+    private static String[] execute(Connection conn, Batch batch) throws SQLException {
+        String[] failures = new String[batch.size];
+        PreparedStatement[] statements = new PreparedStatement[Command.values().length];
+        try {
+            for (int i = 0; i < batch.size; i++) {
+                Command command = batch.commands[i];
+                PreparedStatement pstmt = statements[command.ordinal()];
+                if (pstmt == null) {
+                    pstmt = StatementCache.prepare(conn, command.sql);
+                    statements[command.ordinal()] = pstmt;
+                }
+                pstmt.setString(1, batch.texts[i]);
+                if (command.arguments == 3) {
+                    pstmt.setInt(2, batch.quantities[i]);
+                    pstmt.setLong(3, batch.amounts[i]);
+                } else if (command.arguments == 2) {
+                    pstmt.setLong(2, batch.amounts[i]);
+                }
+                Savepoint savepoint = conn.setSavepoint();
+                try {
+                    if (pstmt.executeUpdate() == 0) {
+                        failures[i] = "no material named " + batch.texts[i];
+                    }
+                    conn.releaseSavepoint(savepoint);
+                } catch (SQLException e) {
+                    conn.rollback(savepoint);
+                    failures[i] = e.getMessage();
+                }
+            }
+        } finally {
+            for (PreparedStatement pstmt : statements) {
+                if (pstmt != null) {
+                    pstmt.close();
+                }
+            }
+        }
+        return failures;
+    }
+
+    private void awaitWrite(int index) throws SQLException {
+        CompletableFuture<String[]> write = writes[index];
+        if (write == null) {
+            return;
+        }
+        writes[index] = null;
+        String[] failures = DatabaseExecutor.await(write);
+        Batch batch = batches[index];
+        for (int i = 0; i < failures.length; i++) {
+            if (failures[i] == null) {
+                result.executed++;
+            } else {
+                reject(batch.lines[i], failures[i]);
+            }
+        }
+    }
+
+    private void finishWrites() throws SQLException {
+        awaitWrite(0);
+        awaitWrite(1);
+    }
+
+    /**
+     * @class Batch
+     * @brief Commands waiting to be run, stored column by column
+     */
+    private static final class Batch {
+        final Command[] commands = new Command[BATCH_SIZE];
+        final String[] texts = new String[BATCH_SIZE];
+        final int[] quantities = new int[BATCH_SIZE];
+        final long[] amounts = new long[BATCH_SIZE];
+        final long[] lines = new long[BATCH_SIZE];
+        int size;
+
+        void add(Command command, String text, int quantity, long amount, long line) {
+            commands[size] = command;
+            texts[size] = text;
+            quantities[size] = quantity;
+            amounts[size] = amount;
+            lines[size] = line;
+            size++;
+        }
+    }
+}
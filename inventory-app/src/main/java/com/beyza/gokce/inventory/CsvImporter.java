@@ -0,0 +1,704 @@
+/**
+ * @file CsvImporter.java
+ * @brief Streaming CSV import into the inventory, sales and expenses tables
+ *
+ * This file contains the importer that reads a CSV file through a fixed
+ * buffer, validates every row and inserts the valid ones in batches.
+ */
+package com.beyza.gokce.inventory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @class CsvImporter
+ * @brief Imports CSV files row by row in bounded memory
+ *
+ * The file is read through one BUFFER_SIZE buffer. Records are parsed in
+ * place: a field is a start and an end offset into the buffer, numbers are
+ * parsed from the bytes, and only the text column becomes a String. The
+ * reader follows RFC 4180: quoted fields may contain commas, line breaks and
+ * doubled quotes; CRLF and LF line ends and a UTF-8 byte order mark are
+ * accepted.
+ *
+ * A first row naming the target's columns is a header and may list them in
+ * any order, among other columns that are then ignored, such as the id
+ * column of a TableExporter file. Without one the columns are taken in the
+ * target's order.
+ *
+ * Valid rows are collected into BATCH_SIZE batches, each inserted as one
+ * write on the database writer thread. Two batches alternate, so the next
+ * one is parsed while the previous one is inserted, and memory stays at two
+ * batches however large the file is. A row that fails validation is counted
+ * and reported with its line number; the first MAX_REPORTED_ERRORS are kept.
+ *
+ * Inventory rows naming a stored material restock it, as
+ * Inventory.addMaterialToDatabase does.
+ */
+final class CsvImporter {
+    /**
+     * @brief Size of the read buffer, and the longest record accepted, in bytes
+     */
+    static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * @brief Number of rows inserted in one write
+     */
+    static final int BATCH_SIZE = 10_000;
+
+    /**
+     * @brief Number of row errors kept in the result
+     */
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    /**
+     * @brief Most fields a record may have
+     */
+    private static final int MAX_FIELDS = 64;
+
+    /**
+     * @brief The tables a file can be imported into
+     *
+     * Each target has one text column, at most one whole-number column and
+     * one amount column.
+     */
+    enum Target {
+        INVENTORY("inventory", "name", "quantity", "cost"),
+        SALES("sales", "item", "quantity", "price"),
+        EXPENSES("expenses", "description", null, "amount");
+
+        final String table;
+        final String text;
+        final String quantity;
+        final String amount;
+
+        Target(String table, String text, String quantity, String amount) {
+            this.table = table;
+            this.text = text;
+            this.quantity = quantity;
+            this.amount = amount;
+        }
+
+        /**
+         * @brief Returns the column names in file order
+         */
+        String[] columns() {
+            return quantity == null ? new String[] {text, amount} : new String[] {text, quantity, amount};
+        }
+
+        /**
+         * @brief Finds a target by its table name
+         *
+         * @param table The table name, in any case
+         * @return The target, or null if the table cannot be imported into
+         */
+        static Target of(String table) {
+            for (Target target : values()) {
+                if (target.table.equalsIgnoreCase(table)) {
+                    return target;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return table;
+        }
+
+        private String insertSql() {
+            if (this == INVENTORY) {
+                return Inventory.MERGE_MATERIAL_SQL;
+            }
+            String[] columns = columns();
+            return "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                    + (columns.length == 2 ? "?, ?" : "?, ?, ?") + ")";
+        }
+    }
+
+    /**
+     * @brief Receives the progress of an import
+     */
+    interface Progress {
+        /**
+         * @brief Called after every batch and once at the end
+         *
+         * @param bytesRead The bytes of the file read so far
+         * @param totalBytes The size of the file
+         * @param rowsImported The rows inserted so far
+         */
+        void update(long bytesRead, long totalBytes, long rowsImported);
+    }
+
+    /**
+     * @brief A rejected row
+     */
+    static final class RowError {
+        /** @brief The line the record starts on, counting from 1 */
+        final long line;
+        /** @brief Why the row was rejected */
+        final String message;
+
+        RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + message;
+        }
+    }
+
+    /**
+     * @brief The outcome of an import
+     */
+    static final class Result {
+        /** @brief Rows inserted */
+        long imported;
+        /** @brief Rows rejected */
+        long rejected;
+        /** @brief The first MAX_REPORTED_ERRORS rejected rows */
+        final List<RowError> errors = new ArrayList<>();
+
+        @Override
+        public String toString() {
+            return imported + " rows imported, " + rejected + " rejected";
+        }
+    }
+
+    private final DatabaseExecutor database;
+    private final Target target;
+    private final Progress progress;
+    private final Result result = new Result();
+
+    private final int[] starts = new int[MAX_FIELDS];
+    private final int[] ends = new int[MAX_FIELDS];
+    private final boolean[] quoted = new boolean[MAX_FIELDS];
+    private int fieldCount;
+    private int recordLines;
+    private String recordError;
+    private long bytesRead;
+    private long totalBytes;
+
+    private final int[] order;
+    private int width;
+    private final Batch[] batches = {new Batch(), new Batch()};
+    @SuppressWarnings("unchecked")
+    private final CompletableFuture<Integer>[] writes = new CompletableFuture[2];
+    private int current;
+
+    private CsvImporter(DatabaseExecutor database, Target target, Progress progress) {
+        this.database = database;
+        this.target = target;
+        this.progress = progress;
+        this.order = new int[target.columns().length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        this.width = order.length;
+    }
+
+    /**
+     * @brief Imports a file into the application database
+     *
+     * @param file The CSV file
+     * @param target The table to import into
+     * @param progress Receives progress, or null
+     * @return The counts and the row errors
+     * @throws IOException If the file cannot be read
+     * @throws SQLException If a batch cannot be inserted; the batches before
+     *         it stay imported
+     */
+    static Result importFile(Path file, Target target, Progress progress) throws IOException, SQLException {
+        Inventory.awaitDatabase();
+        Result result = importFile(file, target, progress, DatabaseExecutor.shared());
+        if (target == Target.INVENTORY) {
+            InventoryCache.invalidateAll();
+            // Rows that restocked a stored material were counted as inserts
+            TableStatistics.reconcile();
+        }
+        return result;
+    }
+
+    /**
+     * @brief Imports a file into a given database
+     *
+     * @param file The CSV file
+     * @param target The table to import into
+     * @param progress Receives progress, or null
+     * @param database The database
+     * @return The counts and the row errors
+     * @throws IOException If the file cannot be read
+     * @throws SQLException If a batch cannot be inserted; the batches before
+     *         it stay imported
+     */
+    static Result importFile(Path file, Target target, Progress progress, DatabaseExecutor database)
+            throws IOException, SQLException {
+        CsvImporter importer = new CsvImporter(database, target, progress);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            importer.run(channel);
+        } finally {
+            importer.finishWrites();
+        }
+        TableStatistics.recordInsert(target.table, importer.result.imported);
+        return importer.result;
+    }
+
+    private void run(FileChannel channel) throws IOException, SQLException {
+        totalBytes = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        byte[] bytes = buffer.array();
+        int pos = 0;
+        int limit = 0;
+        long line = 1;
+        boolean eof = false;
+        boolean first = true;
+        boolean skipping = false;
+
+        while (true) {
+            if (skipping) {
+                while (pos < limit && bytes[pos] != '\n') {
+                    pos++;
+                }
+                if (pos < limit) {
+                    pos++;
+                    line++;
+                    skipping = false;
+                }
+            }
+            int next = skipping || (pos == limit && !eof) ? -1 : parseRecord(bytes, pos, limit, eof);
+            if (next >= 0) {
+                if (first && limit - pos >= 3 && (bytes[pos] & 0xFF) == 0xEF && (bytes[pos + 1] & 0xFF) == 0xBB
+                        && (bytes[pos + 2] & 0xFF) == 0xBF) {
+                    pos += 3;
+                    continue;
+                }
+                if (next == pos) {
+                    break;
+                }
+                if (!(first && isHeader(bytes))) {
+                    addRow(bytes, line);
+                }
+                first = false;
+                line += recordLines;
+                pos = next;
+                continue;
+            }
+            if (eof) {
+                break;
+            }
+            if (pos == 0 && limit == bytes.length) {
+                reject(line, "record longer than " + BUFFER_SIZE + " bytes");
+                skipping = true;
+                pos = limit;
+            }
+            System.arraycopy(bytes, pos, bytes, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+            buffer.limit(bytes.length).position(limit);
+            int n = channel.read(buffer);
+            if (n < 0) {
+                eof = true;
+            } else {
+                limit += n;
+                bytesRead += n;
+            }
+            if (eof && skipping) {
+                break;
+            }
+        }
+        flush();
+        finishWrites();
+        if (progress != null) {
+            progress.update(bytesRead, totalBytes, result.imported);
+        }
+    }
+
+    /**
+     * @brief Finds the fields of the record starting at pos
+     *
+     * @return The position after the record, or -1 if the record continues
+     *         past limit and more input is expected
+     */
+    private int parseRecord(byte[] bytes, int pos, int limit, boolean eof) {
+        fieldCount = 0;
+        recordLines = 1;
+        recordError = null;
+        int i = pos;
+        if (i == limit) {
+            return eof ? i : -1;
+        }
+        while (true) {
+            int start;
+            int end;
+            boolean isQuoted = i < limit && bytes[i] == '"';
+            if (isQuoted) {
+                start = ++i;
+                while (true) {
+                    if (i >= limit) {
+                        if (!eof) {
+                            return -1;
+                        }
+                        recordError = "unterminated quoted field";
+                        end = i;
+                        break;
+                    }
+                    if (bytes[i] == '"') {
+                        if (i + 1 >= limit && !eof) {
+                            return -1;
+                        }
+                        if (i + 1 < limit && bytes[i + 1] == '"') {
+                            i += 2;
+                            continue;
+                        }
+                        end = i++;
+                        break;
+                    }
+                    if (bytes[i] == '\n') {
+                        recordLines++;
+                    }
+                    i++;
+                }
+                while (i < limit && bytes[i] != ',' && bytes[i] != '\n') {
+                    if (bytes[i] != '\r' && recordError == null) {
+                        recordError = "text after a closing quote";
+                    }
+                    i++;
+                }
+            } else {
+                start = i;
+                while (i < limit && bytes[i] != ',' && bytes[i] != '\n') {
+                    i++;
+                }
+                end = i;
+                if (end > start && bytes[end - 1] == '\r') {
+                    end--;
+                }
+            }
+            if (i >= limit && !eof) {
+                return -1;
+            }
+            if (fieldCount == MAX_FIELDS) {
+                recordError = "more than " + MAX_FIELDS + " fields";
+            } else {
+                starts[fieldCount] = start;
+                ends[fieldCount] = end;
+                quoted[fieldCount] = isQuoted;
+                fieldCount++;
+            }
+            if (i >= limit) {
+                return i;
+            }
+            if (bytes[i] == '\n') {
+                return i + 1;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * @brief Checks whether the parsed record names the target's columns
+     *
+     * If it does, the column order and the record width are taken from it.
+     */
+    private boolean isHeader(byte[] bytes) {
+        String[] columns = target.columns();
+        if (fieldCount < columns.length || recordError != null) {
+            return false;
+        }
+        int[] found = new int[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            found[c] = -1;
+            for (int f = 0; f < fieldCount; f++) {
+                if (text(bytes, f).trim().toLowerCase(Locale.ROOT).equals(columns[c])) {
+                    found[c] = f;
+                }
+            }
+            if (found[c] < 0) {
+                return false;
+            }
+        }
+        System.arraycopy(found, 0, order, 0, order.length);
+        width = fieldCount;
+        return true;
+    }
+
+    /**
+     * @brief Validates the parsed record and adds it to the current batch
+     */
+    private void addRow(byte[] bytes, long line) throws SQLException {
+        if (fieldCount == 1 && starts[0] == ends[0] && !quoted[0]) {
+            return;
+        }
+        if (recordError != null) {
+            reject(line, recordError);
+            return;
+        }
+        if (fieldCount != width) {
+            reject(line, "expected " + width + " fields, found " + fieldCount);
+            return;
+        }
+        String text = text(bytes, order[0]);
+        if (text.trim().isEmpty()) {
+            reject(line, target.text + " is empty");
+            return;
+        }
+        int quantity = 0;
+        if (target.quantity != null) {
+            long value = parseLong(bytes, order[1]);
+            if (value == Long.MIN_VALUE || value > Integer.MAX_VALUE) {
+                reject(line, target.quantity + " is not a whole number: " + text(bytes, order[1]));
+                return;
+            }
+            if (value < 0) {
+                reject(line, target.quantity + " is negative");
+                return;
+            }
+            quantity = (int) value;
+        }
+        int amountField = order[order.length - 1];
+        long amount = parseMinor(bytes, amountField);
+        if (amount == Long.MIN_VALUE) {
+            reject(line, target.amount + " is not a number: " + text(bytes, amountField));
+            return;
+        }
+        if (amount < 0) {
+            reject(line, target.amount + " is negative");
+            return;
+        }
+        Batch batch = batches[current];
+        batch.add(text, quantity, amount);
+        if (batch.size == BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    private void reject(long line, String message) {
+        result.rejected++;
+        if (result.errors.size() < MAX_REPORTED_ERRORS) {
+            result.errors.add(new RowError(line, message));
+        }
+    }
+
+    /**
+     * @brief Queues the current batch and switches to the other one
+     *
+     * Waits for the other batch's write first, so at most two batches exist.
+     */
+    private void flush() throws SQLException {
+        Batch batch = batches[current];
+        if (batch.size == 0) {
+            return;
+        }
+        String sql = target.insertSql();
+        boolean hasQuantity = target.quantity != null;
+        writes[current] = database.write(DatabaseExecutor.Priority.BATCH, conn -> {
+            try (PreparedStatement insert = conn.prepareStatement(sql)) {
+                for (int i = 0; i < batch.size; i++) {
+                    insert.setString(1, batch.texts[i]);
+                    if (hasQuantity) {
+                        insert.setInt(2, batch.quantities[i]);
+                        insert.setLong(3, batch.amounts[i]);
+                    } else {
+                        insert.setLong(2, batch.amounts[i]);
+                    }
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            return batch.size;
+        });
+        current = 1 - current;
+        awaitWrite(current);
+        batches[current].size = 0;
+        if (progress != null) {
+            progress.update(bytesRead, totalBytes, result.imported);
+        }
+    }
+
+    private void awaitWrite(int index) throws SQLException {
+        CompletableFuture<Integer> write = writes[index];
+        if (write != null) {
+            writes[index] = null;
+            result.imported += DatabaseExecutor.await(write);
+        }
+    }
+
+    private void finishWrites() throws SQLException {
+        awaitWrite(0);
+        awaitWrite(1);
+    }
+
+    private String text(byte[] bytes, int field) {
+        int start = starts[field];
+        int length = ends[field] - start;
+        if (!quoted[field]) {
+            return new String(bytes, start, length, StandardCharsets.UTF_8);
+        }
+        // Undo doubled quotes; without any the bytes are used as they are
+        int out = start;
+        for (int i = start; i < ends[field]; i++) {
+            bytes[out++] = bytes[i];
+            if (bytes[i] == '"') {
+                i++;
+            }
+        }
+        ends[field] = out;
+        quoted[field] = false;
+        return new String(bytes, start, out - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @brief Parses a whole number from a field
+     *
+     * @return The number, or Long.MIN_VALUE if the field is not one
+     */
+    private long parseLong(byte[] bytes, int field) {
+        int i = starts[field];
+        int end = ends[field];
+        while (i < end && bytes[i] == ' ') {
+            i++;
+        }
+        while (end > i && bytes[end - 1] == ' ') {
+            end--;
+        }
+        boolean negative = i < end && bytes[i] == '-';
+        if (negative || (i < end && bytes[i] == '+')) {
+            i++;
+        }
+        if (i == end || end - i > 18) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * @brief Parses an amount from a field into minor units
+     *
+     * Plain decimals with up to 16 whole digits are computed from the bytes:
+     * the digits after the second decimal only round the last minor unit,
+     * half up, as Money.parseMinor does. Anything else, such as exponents,
+     * goes to Money.parseMinor.
+     *
+     * @return The minor units, or Long.MIN_VALUE if the field is not an
+     *         amount or is out of range
+     */
+    private long parseMinor(byte[] bytes, int field) {
+        int i = starts[field];
+        int end = ends[field];
+        while (i < end && bytes[i] == ' ') {
+            i++;
+        }
+        while (end > i && bytes[end - 1] == ' ') {
+            end--;
+        }
+        int from = i;
+        boolean negative = i < end && bytes[i] == '-';
+        if (negative || (i < end && bytes[i] == '+')) {
+            i++;
+        }
+        long units = 0;
+        long fraction = 0;
+        int whole = 0;
+        int decimals = -1;
+        boolean roundUp = false;
+        boolean simple = i < end;
+        for (; i < end && simple; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                if (decimals < 0) {
+                    units = units * 10 + (b - '0');
+                    simple = ++whole <= 16;
+                } else if (++decimals <= Money.SCALE) {
+                    fraction = fraction * 10 + (b - '0');
+                } else if (decimals == Money.SCALE + 1) {
+                    roundUp = b >= '5';
+                }
+            } else if (b == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                simple = false;
+            }
+        }
+        if (simple && whole + Math.max(decimals, 0) > 0) {
+            for (int d = Math.max(decimals, 0); d < Money.SCALE; d++) {
+                fraction *= 10;
+            }
+            long value = units * Money.MINOR_PER_UNIT + fraction + (roundUp ? 1 : 0);
+            return negative ? -value : value;
+        }
+        if (from == end) {
+            return Long.MIN_VALUE;
+        }
+        String text = new String(bytes, from, end - from, StandardCharsets.US_ASCII);
+        // Only plain Java decimals: no hex floats, no "Infinity" spelled out
+        if (!text.matches("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?")) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Money.parseMinor(text);
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * @brief Returns the rows of the result as lines, for a message or the console
+     *
+     * @param result The import result
+     * @param max The number of errors to list
+     * @return The summary line followed by up to max errors
+     */
+    static List<String> describe(Result result, int max) {
+        if (result.errors.isEmpty()) {
+            return Collections.singletonList(result.toString());
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(result.toString());
+        for (int i = 0; i < Math.min(max, result.errors.size()); i++) {
+            lines.add(result.errors.get(i).toString());
+        }
+        if (result.rejected > max) {
+            lines.add("... and " + (result.rejected - max) + " more");
+        }
+        return lines;
+    }
+
+    /**
+     * @class Batch
+     * @brief Rows waiting to be inserted, stored column by column
+     */
+    private static final class Batch {
+        final String[] texts = new String[BATCH_SIZE];
+        final int[] quantities = new int[BATCH_SIZE];
+        final long[] amounts = new long[BATCH_SIZE];
+        int size;
+
+        void add(String text, int quantity, long amount) {
+            texts[size] = text;
+            quantities[size] = quantity;
+            amounts[size] = amount;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,586 @@
+/**
+ * @file DatabaseExecutor.java
+ * @brief Single-writer / multi-reader executor for the SQLite database
+ *
+ * This file contains the executor that owns every connection the persistence
+ * layer uses: one writer connection driven by a dedicated thread and a small
+ * pool of read-only connections.
+ */
+package com.beyza.gokce.inventory;
+
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @class DatabaseExecutor
+ * @brief Runs database work on one writer thread and a pool of readers
+ *
+ * SQLite allows a single writer at a time. Instead of letting every caller
+ * open its own connection and fight over the file lock, all writes are queued
+ * to one thread that owns the only writable connection. Whatever is queued
+ * when the writer wakes up is committed together in one transaction (group
+ * commit); each write runs inside its own savepoint, so one failing write
+ * does not undo the others. Futures complete only after the commit.
+ *
+ * Reads run on a fixed pool of read-only connections. The database is put in
+ * WAL mode so readers never block the writer and vice versa.
+ *
+ * Every connection has a StatementCache, so work that prepares its SQL
+ * through StatementCache.prepare() compiles each statement once per
+ * connection for the life of the executor.
+ *
+ * Work is either INTERACTIVE (a sale, a login, a stock edit) or BATCH (an
+ * export, a report, an import). Queued interactive writes always run before
+ * queued batch writes, and a transaction that started with interactive
+ * writes commits without taking batch work. Batch writes are the chunks their
+ * callers split the job into; they are committed together for at most
+ * BATCH_SLICE_MILLIS, and an interactive write that arrives meanwhile joins
+ * after the running chunk and is committed with it. Batch reads run on
+ * their own pool with one thread fewer than there are read connections, so
+ * when there are several an interactive read always finds one free of batch
+ * work. The queue depth and waiting time of each class are kept in
+ * queueStats().
+ */
+public class DatabaseExecutor implements AutoCloseable {
+    /**
+     * @brief A unit of work run against a connection owned by the executor
+     *
+     * @param <T> The result type
+     */
+    public interface Work<T> {
+        /**
+         * @brief Runs the work
+         *
+         * @param conn The connection; it must not be closed or kept
+         * @return The result
+         * @throws SQLException If the database operation fails
+         */
+        T run(Connection conn) throws SQLException;
+    }
+
+    /**
+     * @brief How urgently a piece of work is wanted
+     */
+    public enum Priority {
+        /** @brief Work a user is waiting on; always scheduled first */
+        INTERACTIVE,
+        /** @brief Long jobs split into chunks that give way to interactive work */
+        BATCH
+    }
+
+    /**
+     * @class QueueStats
+     * @brief Immutable snapshot of the scheduling counters of one priority
+     */
+    public static final class QueueStats {
+        /** @brief The priority counted */
+        public final Priority priority;
+        /** @brief Operations waiting to start now */
+        public final int queued;
+        /** @brief Operations started so far */
+        public final long started;
+        /** @brief Total time started operations waited, in nanoseconds */
+        public final long totalWaitNanos;
+        /** @brief Longest time an operation waited, in nanoseconds */
+        public final long maxWaitNanos;
+
+        QueueStats(Priority priority, int queued, long started, long totalWaitNanos, long maxWaitNanos) {
+            this.priority = priority;
+            this.queued = queued;
+            this.started = started;
+            this.totalWaitNanos = totalWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+        }
+
+        /**
+         * @brief Returns the mean time an operation waited to start
+         *
+         * @return The mean wait in milliseconds, or 0 if none started
+         */
+        public double averageWaitMillis() {
+            return started == 0 ? 0.0 : totalWaitNanos / 1e6 / started;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s queued=%d started=%d avgWaitMs=%.2f maxWaitMs=%.2f",
+                    priority.name().toLowerCase(Locale.ROOT), queued, started, averageWaitMillis(),
+                    maxWaitNanos / 1e6);
+        }
+    }
+
+    /**
+     * @brief Default number of read-only connections
+     */
+    public static final int DEFAULT_READERS = 4;
+
+    /**
+     * @brief Default upper bound on writes committed in one transaction
+     */
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    /**
+     * @brief Time a connection waits on a locked database before failing
+     */
+    private static final int BUSY_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * @brief Longest time batch writes are committed together
+     */
+    public static final long BATCH_SLICE_MILLIS = 50;
+
+    private static DatabaseExecutor shared;
+
+    private final Connection writer;
+    private final Thread writerThread;
+    private final BlockingQueue<WriteTask<?>> writeQueue = new PriorityBlockingQueue<>();
+    private final AtomicLong writeSequence = new AtomicLong();
+    private final BlockingQueue<Connection> readers;
+    private final ExecutorService readExecutor;
+    private final ExecutorService batchReadExecutor;
+    private final Meter[] meters = {new Meter(), new Meter()};
+    private final int maxBatch;
+    private final List<StatementCache> statementCaches = new ArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * @brief Opens the writer and reader connections for a database
+     *
+     * @param url The JDBC URL of the SQLite database
+     * @param readerCount The number of read-only connections
+     * @param maxBatch The largest number of writes committed together
+     * @throws SQLException If a connection cannot be opened
+     */
+    public DatabaseExecutor(String url, int readerCount, int maxBatch) throws SQLException {
+        this.maxBatch = maxBatch;
+
+        SQLiteConfig writerConfig = new SQLiteConfig();
+        writerConfig.setBusyTimeout(BUSY_TIMEOUT_MILLIS);
+        writer = DriverManager.getConnection(url, writerConfig.toProperties());
+        try (Statement stmt = writer.createStatement()) {
+            stmt.execute("PRAGMA journal_mode=WAL");
+            stmt.execute("PRAGMA synchronous=NORMAL");
+        }
+        statementCaches.add(new StatementCache(writer, StatementCache.DEFAULT_CAPACITY));
+
+        SQLiteConfig readerConfig = new SQLiteConfig();
+        readerConfig.setReadOnly(true);
+        readerConfig.setBusyTimeout(BUSY_TIMEOUT_MILLIS);
+        readers = new ArrayBlockingQueue<>(readerCount);
+        for (int i = 0; i < readerCount; i++) {
+            Connection reader = DriverManager.getConnection(url, readerConfig.toProperties());
+            statementCaches.add(new StatementCache(reader, StatementCache.DEFAULT_CAPACITY));
+            readers.add(reader);
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        readExecutor = Executors.newFixedThreadPool(readerCount, r -> {
+            Thread thread = new Thread(r, "inventory-db-reader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // One connection fewer than there are, so batch reads always leave one free
+        AtomicInteger batchCount = new AtomicInteger();
+        batchReadExecutor = Executors.newFixedThreadPool(Math.max(1, readerCount - 1), r -> {
+            Thread thread = new Thread(r, "inventory-db-batch-reader-" + batchCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        writerThread = new Thread(this::writeLoop, "inventory-db-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * @brief Returns the executor for the application database
+     *
+     * The executor is created on first use and closed when the JVM exits.
+     *
+     * @return The shared executor
+     * @throws IllegalStateException If the database cannot be opened
+     */
+    public static synchronized DatabaseExecutor shared() {
+        if (shared == null) {
+            try {
+                shared = new DatabaseExecutor(Inventory.DATABASE_URL, DEFAULT_READERS, DEFAULT_MAX_BATCH);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Database could not be opened: " + e.getMessage(), e);
+            }
+            DatabaseExecutor executor = shared;
+            Runtime.getRuntime().addShutdownHook(new Thread(executor::close));
+        }
+        return shared;
+    }
+
+    /**
+     * @brief Queues an interactive write for the writer thread
+     *
+     * @param work The work to run on the writer connection
+     * @param <T> The result type
+     * @return A future completed once the write has been committed
+     */
+    public <T> CompletableFuture<T> write(Work<T> work) {
+        return write(Priority.INTERACTIVE, work);
+    }
+
+    /**
+     * @brief Queues a write for the writer thread
+     *
+     * @param priority The scheduling class; a batch write should be one
+     *                 bounded chunk of its job
+     * @param work The work to run on the writer connection
+     * @param <T> The result type
+     * @return A future completed once the write has been committed
+     */
+    public <T> CompletableFuture<T> write(Priority priority, Work<T> work) {
+        WriteTask<T> task = new WriteTask<>(priority, writeSequence.incrementAndGet(), work);
+        if (closed) {
+            task.future.completeExceptionally(new IllegalStateException("Database executor is closed"));
+            return task.future;
+        }
+        meters[priority.ordinal()].queued.incrementAndGet();
+        writeQueue.add(task);
+        // close() may have drained the queue between the check and the add.
+        // Whoever removes the task completes it: the writer, the drain or this.
+        if (closed && writeQueue.remove(task)) {
+            meters[priority.ordinal()].queued.decrementAndGet();
+            task.complete(null, new IllegalStateException("Database executor is closed"));
+        }
+        return task.future;
+    }
+
+    /**
+     * @brief Runs an interactive read on one of the read-only connections
+     *
+     * @param work The work to run on a read-only connection
+     * @param <T> The result type
+     * @return A future with the result of the read
+     */
+    public <T> CompletableFuture<T> read(Work<T> work) {
+        return read(Priority.INTERACTIVE, work);
+    }
+
+    /**
+     * @brief Runs a read on one of the read-only connections
+     *
+     * @param priority The scheduling class
+     * @param work The work to run on a read-only connection
+     * @param <T> The result type
+     * @return A future with the result of the read
+     */
+    public <T> CompletableFuture<T> read(Priority priority, Work<T> work) {
+        if (closed) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("Database executor is closed"));
+            return failed;
+        }
+        Meter meter = meters[priority.ordinal()];
+        long queuedAt = System.nanoTime();
+        meter.queued.incrementAndGet();
+        try {
+            return readAsync(priority, work, meter, queuedAt);
+        } catch (RejectedExecutionException e) {
+            // close() shut the read executors down after the check
+            meter.queued.decrementAndGet();
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("Database executor is closed"));
+            return failed;
+        }
+    }
+
+    /**
+     * @brief Submits a read to the executor of its priority
+     */
+    private <T> CompletableFuture<T> readAsync(Priority priority, Work<T> work, Meter meter, long queuedAt) {
+        return CompletableFuture.supplyAsync(() -> {
+            Connection conn = null;
+            try {
+                conn = readers.take();
+                meter.start(queuedAt);
+                return work.run(conn);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                meter.queued.decrementAndGet();
+                throw new CompletionException(e);
+            } finally {
+                if (conn != null) {
+                    readers.add(conn);
+                }
+            }
+        }, priority == Priority.BATCH ? batchReadExecutor : readExecutor);
+    }
+
+    /**
+     * @brief Returns the number of writes waiting for the writer thread
+     *
+     * @return The write queue length
+     */
+    public int pendingWrites() {
+        return writeQueue.size();
+    }
+
+    /**
+     * @brief Returns the scheduling counters of a priority
+     *
+     * @param priority The scheduling class
+     * @return The queue depth and waiting times of its reads and writes
+     */
+    public QueueStats queueStats(Priority priority) {
+        Meter meter = meters[priority.ordinal()];
+        return new QueueStats(priority, meter.queued.get(), meter.started.get(), meter.totalWait.get(),
+                meter.maxWait.get());
+    }
+
+    /**
+     * @brief Returns the combined statement cache counters of every connection
+     *
+     * @return The hits, misses and evictions of the statement caches
+     */
+    public LruCache.Stats statementStats() {
+        return StatementCache.total(statementCaches);
+    }
+
+    /**
+     * @brief Unwraps a CompletableFuture failure into its SQLException cause
+     *
+     * @param future The future to wait for
+     * @param <T> The result type
+     * @return The future's result
+     * @throws SQLException If the work failed with an SQLException
+     */
+    public static <T> T await(CompletableFuture<T> future) throws SQLException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    /**
+     * @brief Finishes queued writes and closes every connection
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        WriteTask<?> orphan;
+        while ((orphan = writeQueue.poll()) != null) {
+            meters[orphan.priority.ordinal()].queued.decrementAndGet();
+            orphan.complete(null, new IllegalStateException("Database executor is closed"));
+        }
+        readExecutor.shutdown();
+        batchReadExecutor.shutdown();
+        try {
+            readExecutor.awaitTermination(10, TimeUnit.SECONDS);
+            batchReadExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (StatementCache cache : statementCaches) {
+            cache.close();
+        }
+        for (Connection reader : readers) {
+            closeQuietly(reader);
+        }
+        closeQuietly(writer);
+    }
+
+    /**
+     * @brief Body of the writer thread
+     *
+     * Waits for the most urgent write and commits it together with what
+     * follows it (see next()) as one transaction. After close() the
+     * remaining queue is drained before the thread exits.
+     */
+    private void writeLoop() {
+        List<WriteTask<?>> batch = new ArrayList<>(maxBatch);
+        while (true) {
+            WriteTask<?> first;
+            try {
+                first = closed ? writeQueue.poll() : writeQueue.take();
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                return;
+            }
+            commitBatch(first, batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * @brief Takes the next write for the running transaction
+     *
+     * Interactive writes are always taken. Batch writes are taken only after
+     * batch writes, and only until the slice is used up.
+     *
+     * @param last The priority of the write that ran last
+     * @param sliceEnd The System.nanoTime() at which the slice ends
+     * @return The write, or null if the transaction should commit
+     */
+    private WriteTask<?> next(Priority last, long sliceEnd) {
+        WriteTask<?> head = writeQueue.peek();
+        if (head == null || (head.priority == Priority.BATCH
+                && (last == Priority.INTERACTIVE || System.nanoTime() - sliceEnd >= 0))) {
+            return null;
+        }
+        return writeQueue.poll();
+    }
+
+    /**
+     * @brief Runs a batch of writes in a single transaction
+     *
+     * @param first The write that starts the transaction
+     * @param batch Receives the writes run, up to maxBatch
+     */
+    private void commitBatch(WriteTask<?> first, List<WriteTask<?>> batch) {
+        Object[] results = new Object[maxBatch];
+        Throwable[] failures = new Throwable[maxBatch];
+        long sliceEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BATCH_SLICE_MILLIS);
+        WriteTask<?> task = first;
+        try {
+            writer.setAutoCommit(false);
+            while (task != null) {
+                int i = batch.size();
+                batch.add(task);
+                meters[task.priority.ordinal()].start(task.queuedAt);
+                Savepoint savepoint = writer.setSavepoint();
+                try {
+                    results[i] = task.work.run(writer);
+                    writer.releaseSavepoint(savepoint);
+                } catch (SQLException | RuntimeException e) {
+                    writer.rollback(savepoint);
+                    failures[i] = e;
+                }
+                task = batch.size() < maxBatch ? next(task.priority, sliceEnd) : null;
+            }
+            writer.commit();
+        } catch (SQLException e) {
+            try {
+                writer.rollback();
+            } catch (SQLException ignored) {
+            }
+            if (batch.isEmpty()) {
+                // The transaction could not even begin
+                batch.add(first);
+                meters[first.priority.ordinal()].start(first.queuedAt);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (failures[i] == null) {
+                    failures[i] = e;
+                }
+            }
+        } finally {
+            try {
+                writer.setAutoCommit(true);
+            } catch (SQLException ignored) {
+            }
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).complete(results[i], failures[i]);
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /**
+     * @class Meter
+     * @brief The live scheduling counters of one priority
+     */
+    private static final class Meter {
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicLong started = new AtomicLong();
+        final AtomicLong totalWait = new AtomicLong();
+        final AtomicLong maxWait = new AtomicLong();
+
+        /**
+         * @brief Counts an operation leaving the queue
+         *
+         * @param queuedAt The System.nanoTime() at which it was queued
+         */
+        void start(long queuedAt) {
+            long wait = System.nanoTime() - queuedAt;
+            queued.decrementAndGet();
+            started.incrementAndGet();
+            totalWait.addAndGet(wait);
+            maxWait.accumulateAndGet(wait, Math::max);
+        }
+    }
+
+    /**
+     * @class WriteTask
+     * @brief A queued write and the future waiting for it
+     *
+     * Tasks order by priority, then by the order they were queued in.
+     */
+    private static class WriteTask<T> implements Comparable<WriteTask<?>> {
+        final Priority priority;
+        final long sequence;
+        final long queuedAt = System.nanoTime();
+        final Work<T> work;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        WriteTask(Priority priority, long sequence, Work<T> work) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.work = work;
+        }
+
+        @Override
+        public int compareTo(WriteTask<?> other) {
+            int order = priority.compareTo(other.priority);
+            return order != 0 ? order : Long.compare(sequence, other.sequence);
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete(Object result, Throwable failure) {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete((T) result);
+            }
+        }
+    }
+}
@@ -0,0 +1,768 @@
+/**
+ * @file IndexedRowSorter.java
+ * @brief Index-backed sorting and name search for the application tables
+ *
+ * This file contains the row sorter installed on the inventory and sales
+ * tables. It keeps one sorted index per column and maintains it row by row as
+ * the table model changes, instead of re-sorting the whole model.
+ */
+package com.beyza.gokce.inventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.swing.JTable;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.TableModel;
+import javax.swing.text.JTextComponent;
+
+/**
+ * @class IndexedRowSorter
+ * @brief RowSorter over per-column indexes with a prefix search on one column
+ *
+ * TableRowSorter sorts the whole model again after every insert, update or
+ * delete. This sorter keeps, for each column, the model rows ordered by that
+ * column's value (case-insensitive for text, ties by model row) together with
+ * a snapshot of the values. A change moves only the affected rows inside each
+ * index; a view is then one pass over the index of the sort column.
+ *
+ * The search column's index is built with the data; the other indexes are
+ * built the first time the table is sorted by them and maintained from then
+ * on. A search is a case-insensitive prefix match: two binary searches on the
+ * search column's index find every matching row.
+ *
+ * Like every Swing model object the sorter is used on the event dispatch
+ * thread only.
+ */
+final class IndexedRowSorter extends RowSorter<TableModel> {
+    /**
+     * @brief Delay between the last keystroke and running the search
+     */
+    static final int SEARCH_DELAY_MILLIS = 150;
+
+    /**
+     * @brief Changes larger than this fraction of the rows rebuild the indexes
+     */
+    private static final int REBUILD_DIVISOR = 8;
+
+    private final TableModel model;
+    private final int searchColumn;
+    private ColumnIndex[] indexes;
+    private int rowCount;
+    private List<SortKey> sortKeys = Collections.emptyList();
+    private String filter = "";
+    private int[] viewToModel;
+    private int[] modelToView;
+    private int viewRowCount;
+    private long[] matches = new long[0];
+
+    /**
+     * @brief Creates a sorter and builds the search column's index
+     *
+     * @param model The table model
+     * @param searchColumn The column matched by setFilter
+     */
+    IndexedRowSorter(TableModel model, int searchColumn) {
+        this.model = model;
+        this.searchColumn = searchColumn;
+        rebuildIndexes();
+        updateView();
+    }
+
+    /**
+     * @brief Installs a new sorter on a table
+     *
+     * @param table The table
+     * @param searchColumn The column matched by the search
+     * @return The installed sorter
+     */
+    static IndexedRowSorter install(JTable table, int searchColumn) {
+        IndexedRowSorter sorter = new IndexedRowSorter(table.getModel(), searchColumn);
+        table.setRowSorter(sorter);
+        return sorter;
+    }
+
+    /**
+     * @brief Runs the search as the user types, once typing pauses
+     *
+     * @param field The search field
+     * @return The debounce timer
+     */
+    Timer bindSearch(JTextComponent field) {
+        return onTypingPause(field, () -> setFilter(field.getText()));
+    }
+
+    /**
+     * @brief Runs an action once typing in a field pauses
+     *
+     * Every edit restarts a single-shot timer, so a burst of keystrokes runs
+     * the action once, SEARCH_DELAY_MILLIS after the last of them.
+     *
+     * @param field The text field
+     * @param action The action, run on the event dispatch thread
+     * @return The debounce timer
+     */
+    static Timer onTypingPause(JTextComponent field, Runnable action) {
+        Timer timer = new Timer(SEARCH_DELAY_MILLIS, e -> action.run());
+        timer.setRepeats(false);
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+        });
+        return timer;
+    }
+
+    /**
+     * @brief Shows only the rows whose search column starts with a prefix
+     *
+     * @param text The prefix, in any case; blank shows every row
+     */
+    void setFilter(String text) {
+        String normalized = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        if (normalized.equals(filter)) {
+            return;
+        }
+        filter = normalized;
+        resort();
+    }
+
+    /**
+     * @brief Returns the active search prefix
+     *
+     * @return The lower-case prefix, or an empty string
+     */
+    String getFilter() {
+        return filter;
+    }
+
+    @Override
+    public TableModel getModel() {
+        return model;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        checkColumn(column);
+        SortOrder order = SortOrder.ASCENDING;
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column) {
+            order = sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING
+                    ? SortOrder.DESCENDING : SortOrder.UNSORTED;
+        }
+        setSortKeys(order == SortOrder.UNSORTED
+                ? Collections.<SortKey>emptyList()
+                : Collections.singletonList(new SortKey(column, order)));
+    }
+
+    /**
+     * @brief Sorts by the first key; further keys are ignored
+     *
+     * @param keys The sort keys, or null to unsort
+     */
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> newKeys = Collections.emptyList();
+        if (keys != null && !keys.isEmpty() && keys.get(0).getSortOrder() != SortOrder.UNSORTED) {
+            checkColumn(keys.get(0).getColumn());
+            newKeys = Collections.singletonList(keys.get(0));
+        }
+        if (newKeys.equals(sortKeys)) {
+            return;
+        }
+        sortKeys = newKeys;
+        fireSortOrderChanged();
+        resort();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (index < 0 || index >= viewRowCount) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return viewToModel == null ? index : viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (index < 0 || index >= rowCount) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        if (viewToModel == null) {
+            return index;
+        }
+        if (modelToView == null) {
+            modelToView = new int[rowCount];
+            Arrays.fill(modelToView, -1);
+            for (int i = 0; i < viewRowCount; i++) {
+                modelToView[viewToModel[i]] = i;
+            }
+        }
+        return modelToView[index];
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return viewRowCount;
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        sortKeys = Collections.emptyList();
+        rebuildIndexes();
+        updateView();
+        fireSortOrderChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        int[] previous = viewToModel;
+        int previousCount = viewRowCount;
+        rebuildIndexes();
+        updateView();
+        fireChange(previous, previousCount);
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        int count = endRow - firstRow + 1;
+        if (firstRow < 0 || firstRow > rowCount || count <= 0) {
+            throw new IndexOutOfBoundsException("Invalid range: " + firstRow + "-" + endRow);
+        }
+        int[] previous = viewToModel;
+        int previousCount = viewRowCount;
+        rowCount += count;
+        for (ColumnIndex index : indexes) {
+            if (index != null) {
+                index.insert(model, firstRow, count, rowCount);
+            }
+        }
+        updateView();
+        fireChange(previous, previousCount);
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        int count = endRow - firstRow + 1;
+        if (firstRow < 0 || endRow >= rowCount || count <= 0) {
+            throw new IndexOutOfBoundsException("Invalid range: " + firstRow + "-" + endRow);
+        }
+        int[] previous = viewToModel;
+        int previousCount = viewRowCount;
+        rowCount -= count;
+        for (ColumnIndex index : indexes) {
+            if (index != null) {
+                index.delete(firstRow, endRow);
+            }
+        }
+        updateView();
+        fireChange(previous, previousCount);
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        if (firstRow < 0 || endRow >= rowCount || firstRow > endRow) {
+            throw new IndexOutOfBoundsException("Invalid range: " + firstRow + "-" + endRow);
+        }
+        int[] previous = viewToModel;
+        int previousCount = viewRowCount;
+        for (ColumnIndex index : indexes) {
+            if (index != null) {
+                index.update(model, firstRow, endRow);
+            }
+        }
+        updateView();
+        fireChange(previous, previousCount);
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        checkColumn(column);
+        if (firstRow < 0 || endRow >= rowCount || firstRow > endRow) {
+            throw new IndexOutOfBoundsException("Invalid range: " + firstRow + "-" + endRow);
+        }
+        ColumnIndex index = indexes[column];
+        if (index == null) {
+            return;
+        }
+        int[] previous = viewToModel;
+        int previousCount = viewRowCount;
+        index.update(model, firstRow, endRow);
+        updateView();
+        fireChange(previous, previousCount);
+    }
+
+    private void checkColumn(int column) {
+        if (column < 0 || column >= model.getColumnCount()) {
+            throw new IndexOutOfBoundsException("Invalid column: " + column);
+        }
+    }
+
+    private void rebuildIndexes() {
+        rowCount = model.getRowCount();
+        indexes = new ColumnIndex[model.getColumnCount()];
+        if (searchColumn < indexes.length) {
+            indexes[searchColumn] = ColumnIndex.build(model, searchColumn, rowCount);
+        }
+        if (!sortKeys.isEmpty()) {
+            index(sortKeys.get(0).getColumn());
+        }
+    }
+
+    private ColumnIndex index(int column) {
+        if (indexes[column] == null) {
+            indexes[column] = ColumnIndex.build(model, column, rowCount);
+        }
+        return indexes[column];
+    }
+
+    private void resort() {
+        int[] previous = viewToModel;
+        int previousCount = viewRowCount;
+        updateView();
+        fireChange(previous, previousCount);
+    }
+
+    /**
+     * @brief Tells the table about a changed view
+     *
+     * A view that was and still is the model order needs no event; the table
+     * already handles the model change itself.
+     *
+     * @param previous The previous view, or null for the model order
+     * @param previousCount The previous number of view rows
+     */
+    private void fireChange(int[] previous, int previousCount) {
+        if (previous == null && viewToModel == null) {
+            return;
+        }
+        if (previous == null) {
+            previous = new int[previousCount];
+            for (int i = 0; i < previousCount; i++) {
+                previous[i] = i;
+            }
+        }
+        fireRowSorterChanged(previous);
+    }
+
+    /**
+     * @brief Recomputes the view from the indexes
+     *
+     * Without a search the view is the sort column's index, read forwards or
+     * backwards. With a search the matches are a contiguous range of the
+     * search column's index; sorted by that column the range is the view,
+     * otherwise the matches are marked in a bit set and picked out of the
+     * sort order in one pass.
+     */
+    private void updateView() {
+        modelToView = null;
+        boolean sorted = !sortKeys.isEmpty();
+        boolean descending = sorted && sortKeys.get(0).getSortOrder() == SortOrder.DESCENDING;
+        ColumnIndex order = sorted ? index(sortKeys.get(0).getColumn()) : null;
+        if (filter.isEmpty() || searchColumn >= indexes.length || indexes[searchColumn] == null) {
+            if (order == null) {
+                viewToModel = null;
+                viewRowCount = rowCount;
+            } else {
+                viewToModel = order.copy(0, rowCount, descending);
+                viewRowCount = rowCount;
+            }
+            return;
+        }
+
+        ColumnIndex search = indexes[searchColumn];
+        int from = search.lowerBound(filter);
+        int to = search.lowerBound(filter + Character.MAX_VALUE);
+        if (order == search) {
+            viewToModel = search.copy(from, to, descending);
+            viewRowCount = viewToModel.length;
+            return;
+        }
+
+        int words = (rowCount + 63) >>> 6;
+        if (matches.length < words) {
+            matches = new long[words];
+        } else {
+            Arrays.fill(matches, 0, words, 0L);
+        }
+        for (int i = from; i < to; i++) {
+            int row = search.order[i];
+            matches[row >>> 6] |= 1L << row;
+        }
+        int[] view = new int[to - from];
+        int count = 0;
+        if (order == null) {
+            for (int w = 0; w < words; w++) {
+                long bits = matches[w];
+                while (bits != 0) {
+                    view[count++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+        } else {
+            for (int i = 0; i < rowCount; i++) {
+                int row = order.order[descending ? rowCount - 1 - i : i];
+                if ((matches[row >>> 6] & (1L << row)) != 0) {
+                    view[count++] = row;
+                }
+            }
+        }
+        viewToModel = view;
+        viewRowCount = count;
+    }
+
+    /**
+     * @class ColumnIndex
+     * @brief The model rows of one column in sorted order
+     *
+     * keys holds the comparable value of every model row, so a row can be
+     * found in the index by its old value after the model has changed it.
+     */
+    static final class ColumnIndex {
+        private final int column;
+        private Object[] keys;
+        private int[] order;
+        private int size;
+
+        private ColumnIndex(int column, int capacity) {
+            this.column = column;
+            keys = new Object[Math.max(16, capacity)];
+            order = new int[keys.length];
+        }
+
+        /**
+         * @brief Builds the index of a column from scratch
+         *
+         * @param model The table model
+         * @param column The column
+         * @param rows The number of rows
+         * @return The index
+         */
+        static ColumnIndex build(TableModel model, int column, int rows) {
+            ColumnIndex index = new ColumnIndex(column, rows);
+            index.fill(model, rows);
+            return index;
+        }
+
+        private void fill(TableModel model, int rows) {
+            ensureCapacity(rows);
+            for (int row = 0; row < rows; row++) {
+                keys[row] = key(model.getValueAt(row, column));
+                order[row] = row;
+            }
+            Arrays.fill(keys, rows, keys.length, null);
+            size = rows;
+            sort();
+        }
+
+        /**
+         * @brief Adds inserted model rows
+         *
+         * @param model The table model, already holding the rows
+         * @param first The first inserted model row
+         * @param count The number of inserted rows
+         * @param rows The row count after the insert
+         */
+        void insert(TableModel model, int first, int count, int rows) {
+            if (count > rows / REBUILD_DIVISOR) {
+                fill(model, rows);
+                return;
+            }
+            ensureCapacity(rows);
+            System.arraycopy(keys, first, keys, first + count, size - first);
+            if (first < size) {
+                for (int i = 0; i < size; i++) {
+                    if (order[i] >= first) {
+                        order[i] += count;
+                    }
+                }
+            }
+            for (int row = first; row < first + count; row++) {
+                keys[row] = key(model.getValueAt(row, column));
+                int position = position(keys[row], row);
+                System.arraycopy(order, position, order, position + 1, size - position);
+                order[position] = row;
+                size++;
+            }
+        }
+
+        /**
+         * @brief Removes deleted model rows and renumbers the ones after them
+         *
+         * @param first The first deleted model row
+         * @param last The last deleted model row
+         */
+        void delete(int first, int last) {
+            int count = last - first + 1;
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int row = order[i];
+                if (row < first) {
+                    order[kept++] = row;
+                } else if (row > last) {
+                    order[kept++] = row - count;
+                }
+            }
+            System.arraycopy(keys, last + 1, keys, first, size - last - 1);
+            Arrays.fill(keys, size - count, size, null);
+            size = kept;
+        }
+
+        /**
+         * @brief Moves updated model rows to their new positions
+         *
+         * @param model The table model, already holding the new values
+         * @param first The first updated model row
+         * @param last The last updated model row
+         */
+        void update(TableModel model, int first, int last) {
+            if (last - first + 1 > size / REBUILD_DIVISOR) {
+                fill(model, size);
+                return;
+            }
+            for (int row = first; row <= last; row++) {
+                Object key = key(model.getValueAt(row, column));
+                if (compareKeys(key, keys[row]) == 0) {
+                    continue;
+                }
+                // Both searches run on the old keys, which the index is sorted by;
+                // only the rows between the old and the new position shift
+                int from = position(keys[row], row);
+                int to = position(key, row);
+                if (to > from) {
+                    to--;
+                    System.arraycopy(order, from + 1, order, from, to - from);
+                } else {
+                    System.arraycopy(order, to, order, to + 1, from - to);
+                }
+                order[to] = row;
+                keys[row] = key;
+            }
+        }
+
+        /**
+         * @brief Returns the first position whose key is not below a text key
+         *
+         * @param text The lower-case text
+         * @return A position in 0..size
+         */
+        int lowerBound(String text) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareKeys(keys[order[mid]], text) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @brief Copies a range of the index
+         *
+         * @param from The first position
+         * @param to The position after the last
+         * @param reversed Whether to copy from the end
+         * @return The model rows in the range
+         */
+        int[] copy(int from, int to, boolean reversed) {
+            if (!reversed) {
+                return Arrays.copyOfRange(order, from, to);
+            }
+            int[] rows = new int[to - from];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = order[to - 1 - i];
+            }
+            return rows;
+        }
+
+        /**
+         * @brief Returns the indexed model rows in order, for tests
+         *
+         * @return A copy of the index
+         */
+        int[] rows() {
+            return Arrays.copyOf(order, size);
+        }
+
+        private int position(Object key, int row) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int other = order[mid];
+                int c = compareKeys(keys[other], key);
+                if (c == 0) {
+                    c = Integer.compare(other, row);
+                }
+                if (c < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void ensureCapacity(int rows) {
+            if (rows > keys.length) {
+                int capacity = Math.max(rows, keys.length + (keys.length >> 1));
+                keys = Arrays.copyOf(keys, capacity);
+                order = Arrays.copyOf(order, capacity);
+            }
+        }
+
+        private int compareRows(int a, int b) {
+            int c = compareKeys(keys[a], keys[b]);
+            return c != 0 ? c : Integer.compare(a, b);
+        }
+
+        /**
+         * @brief Bottom-up merge sort of order by key, without boxing rows
+         */
+        private void sort() {
+            final int run = 32;
+            for (int start = 0; start < size; start += run) {
+                int end = Math.min(start + run, size);
+                for (int i = start + 1; i < end; i++) {
+                    int row = order[i];
+                    int j = i - 1;
+                    while (j >= start && compareRows(order[j], row) > 0) {
+                        order[j + 1] = order[j];
+                        j--;
+                    }
+                    order[j + 1] = row;
+                }
+            }
+            int[] source = order;
+            int[] target = new int[order.length];
+            for (int width = run; width < size; width <<= 1) {
+                for (int low = 0; low < size; low += width << 1) {
+                    int mid = Math.min(low + width, size);
+                    int high = Math.min(low + (width << 1), size);
+                    int i = low;
+                    int j = mid;
+                    int k = low;
+                    while (i < mid && j < high) {
+                        target[k++] = compareRows(source[i], source[j]) <= 0 ? source[i++] : source[j++];
+                    }
+                    while (i < mid) {
+                        target[k++] = source[i++];
+                    }
+                    while (j < high) {
+                        target[k++] = source[j++];
+                    }
+                }
+                int[] swap = source;
+                source = target;
+                target = swap;
+            }
+            order = source;
+        }
+    }
+
+    /**
+     * @brief Returns the value a column is sorted by
+     *
+     * @param value The model value
+     * @return The value, lower-cased if it is text
+     */
+    static Object key(Object value) {
+        return value instanceof String ? ((String) value).toLowerCase(Locale.ROOT) : value;
+    }
+
+    /**
+     * @brief Orders keys: null, then numbers, then text, then anything else
+     *
+     * @param a The first key
+     * @param b The second key
+     * @return Negative, zero or positive as a sorts before, with or after b
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compareKeys(Object a, Object b) {
+        int rankA = rank(a);
+        int rankB = rank(b);
+        if (rankA != rankB) {
+            return Integer.compare(rankA, rankB);
+        }
+        switch (rankA) {
+            case 0:
+                return 0;
+            case 1:
+                if (a instanceof Integer && b instanceof Integer) {
+                    return Integer.compare((Integer) a, (Integer) b);
+                }
+                return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+            case 2:
+                return ((String) a).compareTo((String) b);
+            default:
+                if (a.getClass() == b.getClass() && a instanceof Comparable) {
+                    return ((Comparable) a).compareTo(b);
+                }
+                return a.toString().compareTo(b.toString());
+        }
+    }
+
+    private static int rank(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        if (key instanceof Number) {
+            return 1;
+        }
+        return key instanceof String ? 2 : 3;
+    }
+
+    /**
+     * @brief Returns the model rows in sort order of a column, for tests
+     *
+     * @param column The column
+     * @return The column's index, building it if needed
+     */
+    int[] indexedRows(int column) {
+        return index(column).rows();
+    }
+
+    /**
+     * @brief Returns the current view as model rows, for tests
+     *
+     * @return The model row of every view row
+     */
+    List<Integer> viewRows() {
+        List<Integer> rows = new ArrayList<>(viewRowCount);
+        for (int i = 0; i < viewRowCount; i++) {
+            rows.add(convertRowIndexToModel(i));
+        }
+        return rows;
+    }
+}
@@ -14,6 +14,9 @@ package com.beyza.gokce.inventory;
 
 import org.slf4j.LoggerFactory;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.io.FileOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -35,7 +38,12 @@ import ch.qos.logback.classic.Logger;
  * Implements Serializable to allow object serialization.
  */
 abstract class Record implements Serializable {
+    private static final long serialVersionUID = 5328173437973819157L;
     protected String name;
+    /**
+     * The id of the record's row, or 0 while the record is not stored.
+     */
+    protected long id;
 /**
  * Constructor to initialize a record with a name.
  *
@@ -61,6 +69,22 @@ public String getName() {
 public void setName(String name) {
     this.name = name;
 }
+/**
+ * Retrieves the id of the record's database row.
+ *
+ * @return The row id, or 0 if the record has not been stored.
+ */
+public long getId() {
+    return id;
+}
+/**
+ * Sets the id of the record's database row.
+ *
+ * @param id The row id assigned by the database.
+ */
+public void setId(long id) {
+    this.id = id;
+}
 /**
  * Abstract method to display record information.
  * Must be implemented by subclasses.
@@ -141,19 +165,39 @@ public User(String username, String password) {
  * Extends the Record class to store item details.
  */
 class InventoryItem extends Record {
+  private static final long serialVersionUID = 4079929962808775486L;
+  /** Keeps the serialized form of files written while the cost was a double. */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("quantity", int.class),
+      new ObjectStreamField("cost", double.class),
+      new ObjectStreamField("version", long.class)
+  };
   int quantity;
-  double cost;
+  /** The cost in minor units. */
+  long costMinor;
+  /** The version of the item's row when it was read, for compare-and-set updates. */
+  long version;
   /**
    * Constructor to initialize an inventory item with a name, quantity, and cost.
    *
    * @param name     The name of the inventory item.
    * @param quantity The quantity of the item in stock.
-   * @param cost     The cost of the item.
+   * @param cost     The cost of the item, rounded to the nearest minor unit.
    */
   public InventoryItem(String name, int quantity, double cost) {
+      this(name, quantity, Money.of(cost));
+  }
+  /**
+   * Constructor to initialize an inventory item with an exact cost.
+   *
+   * @param name     The name of the inventory item.
+   * @param quantity The quantity of the item in stock.
+   * @param cost     The cost of the item.
+   */
+  InventoryItem(String name, int quantity, Money cost) {
       super(name);
       this.quantity = quantity;
-      this.cost = cost;
+      this.costMinor = cost.minor();
   }
   /**
    * Retrieves the quantity of the inventory item.
@@ -165,12 +209,22 @@ class InventoryItem extends Record {
   }
 
   /**
-   * Retrieves the cost of the inventory item.
+   * Retrieves the cost of the inventory item as a double, for display and
+   * callers that predate fixed-point amounts.
    *
    * @return The cost of the item.
    */
   public double getCost() {
-      return cost;
+      return Money.toDouble(costMinor);
+  }
+
+  /**
+   * Retrieves the exact cost of the inventory item.
+   *
+   * @return The cost in minor units.
+   */
+  public long getCostMinor() {
+      return costMinor;
   }
 
   /**
@@ -184,10 +238,49 @@ class InventoryItem extends Record {
   /**
    * Sets the cost of the inventory item.
    *
-   * @param cost The new cost of the item.
+   * @param cost The new cost of the item, rounded to the nearest minor unit.
    */
   public void setCost(double cost) {
-      this.cost = cost;
+      this.costMinor = Money.toMinor(cost);
+  }
+
+  /**
+   * Sets the exact cost of the inventory item.
+   *
+   * @param costMinor The new cost in minor units.
+   */
+  public void setCostMinor(long costMinor) {
+      this.costMinor = costMinor;
+  }
+
+  /**
+   * Retrieves the version of the item's row when it was last read or written.
+   *
+   * @return The row version.
+   */
+  public long getVersion() {
+      return version;
+  }
+
+  /**
+   * Sets the row version of the item.
+   *
+   * @param version The row version.
+   */
+  public void setVersion(long version) {
+      this.version = version;
+  }
+
+  /**
+   * Returns a copy of the item, including its row id and version.
+   *
+   * @return The copy.
+   */
+  public InventoryItem copy() {
+      InventoryItem copy = new InventoryItem(name, quantity, Money.ofMinor(costMinor));
+      copy.id = id;
+      copy.version = version;
+      return copy;
   }
 
   /**
@@ -196,7 +289,22 @@ class InventoryItem extends Record {
    */
   @Override
   public void displayInfo() {
-      System.out.println(name + " - " + quantity + " piece - " + cost + " TL");
+      System.out.println(name + " - " + quantity + " piece - " + Money.format(costMinor) + " TL");
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+      ObjectOutputStream.PutField fields = out.putFields();
+      fields.put("quantity", quantity);
+      fields.put("cost", getCost());
+      fields.put("version", version);
+      out.writeFields();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+      ObjectInputStream.GetField fields = in.readFields();
+      quantity = fields.get("quantity", 0);
+      costMinor = Money.toMinor(fields.get("cost", 0.0));
+      version = fields.get("version", 0L);
   }
 }
 /**
@@ -221,6 +329,7 @@ interface Manageable {
  * Extends the Record class and implements the Manageable interface.
  */
 class Project extends Record implements Manageable {
+  private static final long serialVersionUID = -7073310153122977411L;
   List<InventoryItem> materials = new ArrayList<>();
 
   /**
@@ -265,27 +374,51 @@ class Project extends Record implements Manageable {
  * Extends the Record class to include financial details.
  */
 class Expense extends Record {
-  double amount;
+  private static final long serialVersionUID = 8531990412861519452L;
+  /** Keeps the serialized form of files written while the amount was a double. */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("amount", double.class),
+      new ObjectStreamField("description", String.class)
+  };
+  /** The amount in minor units. */
+  long amountMinor;
   String description; 
 
   /**
    * Constructor to initialize an expense with a description and amount.
    *
    * @param description A brief description of the expense.
-   * @param amount      The monetary value of the expense.
+   * @param amount      The monetary value of the expense, rounded to the nearest minor unit.
    */
   public Expense(String description, double amount) {
+      this(description, Money.of(amount));
+  }
+  /**
+   * Constructor to initialize an expense with an exact amount.
+   *
+   * @param description A brief description of the expense.
+   * @param amount      The monetary value of the expense.
+   */
+  Expense(String description, Money amount) {
       super(description);
-      this.amount = amount;
+      this.amountMinor = amount.minor();
       this.description = description; 
   }
   /**
-   * Retrieves the amount of the expense.
+   * Retrieves the amount of the expense as a double.
    *
    * @return The amount spent on the expense.
    */
   public double getAmount() {
-      return amount;
+      return Money.toDouble(amountMinor);
+  }
+  /**
+   * Retrieves the exact amount of the expense.
+   *
+   * @return The amount in minor units.
+   */
+  public long getAmountMinor() {
+      return amountMinor;
   }
   /**
    * Displays information about the expense.
@@ -293,7 +426,20 @@ class Expense extends Record {
    */
   @Override
   public void displayInfo() {
-      System.out.println(description + " - " + amount + " TL"); 
+      System.out.println(description + " - " + Money.format(amountMinor) + " TL"); 
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+      ObjectOutputStream.PutField fields = out.putFields();
+      fields.put("amount", getAmount());
+      fields.put("description", description);
+      out.writeFields();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+      ObjectInputStream.GetField fields = in.readFields();
+      amountMinor = Money.toMinor(fields.get("amount", 0.0));
+      description = (String) fields.get("description", null);
   }
   /**
    * Retrieves the description of the expense.
@@ -301,7 +447,7 @@ class Expense extends Record {
    * @return A short description of the expense.
    */
 public String getDescription() {
-	return getDescription();
+	return description;
 }
 }
 /**
@@ -315,20 +461,38 @@ public String getDescription() {
  */
 
 class Sale extends Record {
+  private static final long serialVersionUID = -1510068463094978721L;
+  /** Keeps the serialized form of files written while the price was a double. */
+  private static final ObjectStreamField[] serialPersistentFields = {
+      new ObjectStreamField("quantity", int.class),
+      new ObjectStreamField("price", double.class),
+      new ObjectStreamField("item", String.class)
+  };
   int quantity; 
-  double price; 
+  /** The unit price in minor units. */
+  long priceMinor; 
   String item;   
   /**
    * Constructor to initialize a sale transaction with item details.
    *
    * @param item     The name of the item being sold.
    * @param quantity The quantity of the item sold.
-   * @param price    The selling price per unit of the item.
+   * @param price    The selling price per unit of the item, rounded to the nearest minor unit.
    */
   public Sale(String item, int quantity, double price) {
+      this(item, quantity, Money.of(price));
+  }
+  /**
+   * Constructor to initialize a sale transaction with an exact unit price.
+   *
+   * @param item     The name of the item being sold.
+   * @param quantity The quantity of the item sold.
+   * @param price    The selling price per unit of the item.
+   */
+  Sale(String item, int quantity, Money price) {
       super(item);
       this.quantity = quantity;
-      this.price = price;
+      this.priceMinor = price.minor();
       this.item = item; 
   }
   /**
@@ -349,7 +513,26 @@ class Sale extends Record {
    */
 
   public double getPrice() {
-      return price;
+      return Money.toDouble(priceMinor);
+  }
+
+  /**
+   * Retrieves the exact unit price of the sold item.
+   *
+   * @return The price per unit in minor units.
+   */
+  public long getPriceMinor() {
+      return priceMinor;
+  }
+
+  /**
+   * Retrieves the exact total of the sale, the unit price times the quantity.
+   *
+   * @return The total in minor units.
+   * @throws ArithmeticException If the total overflows.
+   */
+  public long getTotalMinor() {
+      return Money.multiply(priceMinor, quantity);
   }
 
   /**
@@ -358,7 +541,22 @@ class Sale extends Record {
    */
   @Override
   public void displayInfo() {
-      System.out.println(name + " - " + quantity + " piece - " + price + " TL"); 
+      System.out.println(name + " - " + quantity + " piece - " + Money.format(priceMinor) + " TL"); 
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+      ObjectOutputStream.PutField fields = out.putFields();
+      fields.put("quantity", quantity);
+      fields.put("price", getPrice());
+      fields.put("item", item);
+      out.writeFields();
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+      ObjectInputStream.GetField fields = in.readFields();
+      quantity = fields.get("quantity", 0);
+      priceMinor = Money.toMinor(fields.get("price", 0.0));
+      item = (String) fields.get("item", null);
   }
 
   /**
@@ -387,7 +585,7 @@ public class Inventory {
 	 * that stores inventory data. The database file is named "inventory_manager.db" 
 	 * and is expected to be located in the default directory of the application.
 	 */
-	private static final String DATABASE_URL = "jdbc:sqlite:inventory_manager.db";
+	static final String DATABASE_URL = "jdbc:sqlite:inventory_manager.db";
     /**
      * Establishes a connection to the SQLite database.
      *
@@ -414,12 +612,24 @@ public class Inventory {
 	 * Initializes tables for users, inventory, projects, expenses, and sales
 	 * to ensure the application's data is organized and stored correctly.
 	 * This setup is typically performed during the first launch or when resetting the database.
+	 *
+	 * Launches after the first skip the DDL: one query compares the stored
+	 * schema version and the expected tables and triggers, and only a missing
+	 * object or an older version runs the statements again. The search index
+	 * is checked on its own, so a SQLite build without FTS5 still skips the
+	 * DDL and only retries the index.
 	 */
 
 	static void createTables() {
 	    File dbFile = new java.io.File("sqlite_data/inventory_manager.db");
 	    try (Connection conn = connect()) {
 	        if (conn != null) {
+	            if (isSchemaCurrent(conn)) {
+	                if (!SearchIndex.isInstalled(conn)) {
+	                    SearchIndex.createTables(conn);
+	                }
+	                return;
+	            }
 	            Statement stmt = conn.createStatement();
 	            String createUsersTable = "CREATE TABLE IF NOT EXISTS users ("
 	                    + "id INTEGER PRIMARY KEY AUTOINCREMENT,"
@@ -431,7 +641,8 @@ public class Inventory {
 	                    + "id INTEGER PRIMARY KEY AUTOINCREMENT,"
 	                    + "name TEXT NOT NULL,"
 	                    + "quantity INTEGER NOT NULL,"
-	                    + "cost REAL NOT NULL"
+	                    + "cost INTEGER NOT NULL,"
+	                    + "version INTEGER NOT NULL DEFAULT 0"
 	                    + ");";
 
 	            String createProjectsTable = "CREATE TABLE IF NOT EXISTS projects ("
@@ -442,60 +653,206 @@ public class Inventory {
 	            String createExpensesTable = "CREATE TABLE IF NOT EXISTS expenses ("
 	                    + "id INTEGER PRIMARY KEY AUTOINCREMENT,"
 	                    + "description TEXT NOT NULL,"
-	                    + "amount REAL NOT NULL"
+	                    + "amount INTEGER NOT NULL"
 	                    + ");";
 
 	            String createSalesTable = "CREATE TABLE IF NOT EXISTS sales ("
 	                    + "id INTEGER PRIMARY KEY AUTOINCREMENT,"
 	                    + "item TEXT NOT NULL,"
 	                    + "quantity INTEGER NOT NULL,"
-	                    + "price REAL NOT NULL"
+	                    + "price INTEGER NOT NULL"
 	                    + ");";
 	            stmt.execute(createUsersTable);
 	            stmt.execute(createInventoryTable);
 	            stmt.execute(createProjectsTable);
 	            stmt.execute(createExpensesTable);
 	            stmt.execute(createSalesTable);
+	            addVersionColumn(stmt);
+	            convertToMinorUnits(stmt, "inventory", "cost");
+	            convertToMinorUnits(stmt, "expenses", "amount");
+	            convertToMinorUnits(stmt, "sales", "price");
+	            mergeDuplicateMaterials(stmt);
+	            SearchIndex.createTables(conn);
+	            stmt.execute("PRAGMA user_version = " + SCHEMA_VERSION);
 	            System.out.println("Tables created successfully.");
 	        }
 	    } catch (SQLException e) {
 	        
 	    }
 	}
+
+	/**
+	 * @brief Starts the start-up schema check on a background thread
+	 *
+	 * Loading the SQLite driver and opening the first connection takes a few
+	 * hundred milliseconds on a cold JVM. Both entry points start the check
+	 * here and show their first screen meanwhile; the first action that
+	 * needs the database waits in awaitDatabase().
+	 *
+	 * @return The running or finished check
+	 */
+	static synchronized CompletableFuture<Void> prepareDatabase() {
+	    if (schemaReady == null) {
+	        schemaReady = CompletableFuture.runAsync(() -> {
+	            createTables();
+	            SalesJournal.replayPending();
+	            StartupProfiler.mark("schema check (background)");
+	        });
+	    }
+	    return schemaReady;
+	}
+
+	/**
+	 * @brief Waits for the check started by prepareDatabase, starting it if needed
+	 */
+	static void awaitDatabase() {
+	    prepareDatabase().join();
+	}
+
+	private static CompletableFuture<Void> schemaReady;
+
+	/**
+	 * @brief Version stored in the database's user_version once createTables has run
+	 *
+	 * Raise it whenever the DDL in createTables changes, so existing databases
+	 * run the new statements on their next launch.
+	 */
+	static final int SCHEMA_VERSION = 4;
+
+	/**
+	 * @brief Tables and indexes createTables is expected to leave behind
+	 *
+	 * The search index is left out: it needs FTS5, which not every SQLite
+	 * build has, and SearchIndex.isInstalled checks it separately.
+	 */
+	private static final String[] SCHEMA_OBJECTS = {
+	    "users", "inventory", "projects", "expenses", "sales", "inventory_name"
+	};
+
+	/**
+	 * @brief Adds the row version column to an inventory table from before
+	 * SCHEMA_VERSION 3
+	 *
+	 * @param stmt A statement on the application database
+	 * @throws SQLException If the column cannot be added
+	 */
+	static void addVersionColumn(Statement stmt) throws SQLException {
+	    try (ResultSet rs = stmt.executeQuery("SELECT count(*) FROM pragma_table_info('inventory') WHERE name = 'version'")) {
+	        if (rs.next() && rs.getInt(1) > 0) {
+	            return;
+	        }
+	    }
+	    stmt.execute("ALTER TABLE inventory ADD COLUMN version INTEGER NOT NULL DEFAULT 0");
+	}
+
+	/**
+	 * @brief Turns a REAL money column from before SCHEMA_VERSION 4 into
+	 * INTEGER minor units
+	 *
+	 * The values are rounded to the nearest minor unit into a new column
+	 * that then takes the old column's place, all in one savepoint. A column
+	 * that is already INTEGER is left alone.
+	 *
+	 * @param stmt A statement on the application database
+	 * @param table The table
+	 * @param column The money column
+	 * @throws SQLException If the column cannot be converted
+	 */
+	static void convertToMinorUnits(Statement stmt, String table, String column) throws SQLException {
+	    try (ResultSet rs = stmt.executeQuery("SELECT type FROM pragma_table_info('" + table + "')"
+	            + " WHERE name = '" + column + "'")) {
+	        if (!rs.next() || !"REAL".equalsIgnoreCase(rs.getString(1))) {
+	            return;
+	        }
+	    }
+	    String minor = column + "_minor";
+	    stmt.execute("SAVEPOINT minor_units");
+	    try {
+	        stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + minor + " INTEGER NOT NULL DEFAULT 0");
+	        stmt.execute("UPDATE " + table + " SET " + minor + " = CAST(round(" + column + " * "
+	                + Money.MINOR_PER_UNIT + ") AS INTEGER)");
+	        stmt.execute("ALTER TABLE " + table + " DROP COLUMN " + column);
+	        stmt.execute("ALTER TABLE " + table + " RENAME COLUMN " + minor + " TO " + column);
+	        stmt.execute("RELEASE minor_units");
+	    } catch (SQLException e) {
+	        stmt.execute("ROLLBACK TO minor_units");
+	        stmt.execute("RELEASE minor_units");
+	        throw e;
+	    }
+	}
+
+	/**
+	 * @brief Makes material names unique
+	 *
+	 * Databases from before SCHEMA_VERSION 2 may hold one material under
+	 * several rows. Their quantities are added to the oldest row, which
+	 * takes the cost of the newest row as a restock would, and the other
+	 * rows are deleted, so the unique index on the name can be built.
+	 *
+	 * @param stmt A statement on the application database
+	 * @throws SQLException If the rows cannot be merged
+	 */
+	static void mergeDuplicateMaterials(Statement stmt) throws SQLException {
+	    stmt.execute("UPDATE inventory SET quantity ="
+	            + " (SELECT sum(quantity) FROM inventory same WHERE same.name = inventory.name),"
+	            + " cost = (SELECT cost FROM inventory newest WHERE newest.id ="
+	            + " (SELECT max(id) FROM inventory same WHERE same.name = inventory.name))"
+	            + " WHERE id IN (SELECT min(id) FROM inventory GROUP BY name HAVING count(*) > 1)");
+	    stmt.execute("DELETE FROM inventory WHERE id NOT IN (SELECT min(id) FROM inventory GROUP BY name)");
+	    stmt.execute("CREATE UNIQUE INDEX IF NOT EXISTS inventory_name ON inventory(name)");
+	}
+
+	/**
+	 * @brief Checks whether the schema is already at SCHEMA_VERSION
+	 *
+	 * The version alone is not enough: a table dropped by hand keeps the
+	 * version, so the expected objects are counted in the same query.
+	 *
+	 * @param conn A connection to the application database
+	 * @return true if createTables has nothing to do
+	 */
+	static boolean isSchemaCurrent(Connection conn) {
+	    StringBuilder names = new StringBuilder();
+	    for (String name : SCHEMA_OBJECTS) {
+	        names.append(names.length() == 0 ? "'" : ", '").append(name).append('\'');
+	    }
+	    String sql = "SELECT (SELECT user_version FROM pragma_user_version),"
+	            + " (SELECT count(*) FROM sqlite_master WHERE name IN (" + names + "))";
+	    try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+	        return rs.next() && rs.getInt(1) == SCHEMA_VERSION && rs.getInt(2) == SCHEMA_OBJECTS.length;
+	    } catch (SQLException e) {
+	        return false;
+	    }
+	}
 	
 	/**
 	 * @brief Adds a new user to the database.
 	 *
 	 * Inserts the given user's username and password into the users table
-	 * using a prepared statement to prevent SQL injection.
-	 * Prints a confirmation message upon successful insertion.
+	 * using a prepared statement to prevent SQL injection. The UNIQUE
+	 * constraint on the username makes the existence check part of the one
+	 * insert, so two users registering the same name at once cannot both
+	 * succeed.
 	 *
 	 * @param user The User object containing username and password information.
 	 */
 
 	public static void addUserToDatabase(User user) {
-	    // Önce kullanıcının var olup olmadığını kontrol et
-	    String checkSql = "SELECT * FROM users WHERE username = ?";
-	    String insertSql = "INSERT INTO users (username, password) VALUES (?, ?)";
+	    String sql = "INSERT INTO users (username, password) VALUES (?, ?) ON CONFLICT(username) DO NOTHING";
 	    
-	    try (Connection conn = connect();
-	         PreparedStatement checkStmt = conn.prepareStatement(checkSql);
-	         PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
-	        
-	        // Kullanıcı adı kontrolü
-	        checkStmt.setString(1, user.getUsername());
-	        ResultSet rs = checkStmt.executeQuery();
-	        
-	        if (rs.next()) {
-	            // Kullanıcı zaten var
-	            throw new SQLException("Username already exists");
-	        }
-	        
-	        // Yeni kullanıcı ekle
-	        insertStmt.setString(1, user.getUsername());
-	        insertStmt.setString(2, user.getPassword());
-	        insertStmt.executeUpdate();
-	        
+	    try {
+	        int rows = DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+	            try (PreparedStatement pstmt = StatementCache.prepare(conn, sql)) {
+	                pstmt.setString(1, user.getUsername());
+	                pstmt.setString(2, user.getPassword());
+	                if (pstmt.executeUpdate() == 0) {
+	                    // Kullanıcı zaten var
+	                    throw new SQLException("Username already exists");
+	                }
+	                return 1;
+	            }
+	        }));
+	        TableStatistics.recordInsert("users", rows);
 	    } catch (SQLException e) {
 	        e.printStackTrace();
 	        throw new RuntimeException("Failed to add user: " + e.getMessage());
@@ -507,48 +864,246 @@ public class Inventory {
 	 */
 	static void loadUsersFromDatabase() {
 	    String sql = "SELECT username, password FROM users";
-	    try (Connection conn = connect(); Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+	    try {
+	        List<User> loaded = DatabaseExecutor.await(DatabaseExecutor.shared().read(conn -> {
+	            try (PreparedStatement pstmt = StatementCache.prepare(conn, sql); ResultSet rs = pstmt.executeQuery()) {
+	                return RowMappers.list(rs, RowMappers.USERS);
+	            }
+	        }));
 	        users.clear();
-	        while (rs.next()) {
-	            String username = rs.getString("username");
-	            String password = rs.getString("password");
-	            users.add(new User(username, password));
-	        }
+	        users.addAll(loaded);
+	        usersLoaded = true;
 	        System.out.println("Users loaded from database.");
 	    } catch (SQLException e) {
 	     
 	    }
 	}
 	/**
-	 * Adds a new material (inventory item) to the database.
+	 * Adds a new material (inventory item) to the database and stores the
+	 * id of its row in the item.
+	 * 
+	 * A material whose name is already stored is restocked instead: the
+	 * quantity is added to the stored one and the cost replaces it, in the
+	 * same statement. The item then holds the merged quantity.
 	 * 
 	 * @param item The inventory item to be added.
+	 * @throws SQLException If the material cannot be stored.
 	 */
-	static void addMaterialToDatabase(InventoryItem item) {
-	    String sql = "INSERT INTO inventory (name, quantity, cost) VALUES (?, ?, ?)";
-	    try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-	        pstmt.setString(1, item.getName());
-	        pstmt.setInt(2, item.getQuantity());
-	        pstmt.setDouble(3, item.getCost());
-	        pstmt.executeUpdate();
-	        System.out.println("Material added to database.");
-	    } catch (SQLException e) {
-	       
+	static void addMaterialToDatabase(InventoryItem item) throws SQLException {
+	    String sql = MERGE_MATERIAL_SQL + " RETURNING id, quantity, version";
+	    long[] row = DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+	        try (PreparedStatement pstmt = StatementCache.prepare(conn, sql)) {
+	            pstmt.setString(1, item.getName());
+	            pstmt.setInt(2, item.getQuantity());
+	            pstmt.setLong(3, item.getCostMinor());
+	            try (ResultSet rs = pstmt.executeQuery()) {
+	                rs.next();
+	                return new long[] {rs.getLong(1), rs.getLong(2), rs.getLong(3)};
+	            }
+	        }
+	    }));
+	    // A new row has version 0 and a restock always moves it on; only a new row is counted
+	    boolean merged = row[2] != 0;
+	    item.setId(row[0]);
+	    item.setQuantity((int) row[1]);
+	    item.setVersion(row[2]);
+	    if (!merged) {
+	        TableStatistics.recordInsert("inventory", 1);
+	    }
+	    InventoryCache.invalidate(item.getName());
+	    System.out.println("Material added to database.");
+	}
+	/**
+	 * Inserts a material, or adds its quantity to the stored material of
+	 * the same name, takes its cost and moves its version on. Binds the
+	 * name, quantity and cost.
+	 */
+	static final String MERGE_MATERIAL_SQL = "INSERT INTO inventory (name, quantity, cost) VALUES (?, ?, ?)"
+	        + " ON CONFLICT(name) DO UPDATE SET quantity = quantity + excluded.quantity, cost = excluded.cost,"
+	        + " version = version + 1";
+	/**
+	 * Outcome of saving a material edit with saveMaterialEdit.
+	 */
+	enum EditResult {
+	    /** The row was unchanged since it was read and now holds the edit. */
+	    UPDATED,
+	    /** Another terminal changed the row first; the edit was applied on top of its change. */
+	    MERGED,
+	    /** Another terminal changed a field the edit also changed; nothing was saved. */
+	    CONFLICT,
+	    /** Another terminal deleted the row; nothing was saved. */
+	    MISSING
+	}
+	/**
+	 * Compare-and-set attempts saveMaterialEdit makes before reporting a conflict.
+	 */
+	static final int MAX_EDIT_ATTEMPTS = 3;
+	/**
+	 * Saves an edit of a stored material with optimistic concurrency control.
+	 * 
+	 * The row is only written if its version still equals the version the
+	 * item was read at, and every write moves the version on. When another
+	 * terminal got there first, the current row is read back and the edit is
+	 * merged into it: the quantity changes by the same amount the edit
+	 * changed it, and the name and cost take the edited values unless the
+	 * other terminal changed that same field to something else, which is a
+	 * conflict. Each write is a single compare-and-set statement, so no lock
+	 * is held between reading the row and writing it.
+	 * 
+	 * The item is left holding the row as stored, which for a conflict is
+	 * the other terminal's version. An item that was never stored is only
+	 * edited in memory.
+	 * 
+	 * @param item The material as it was read; updated in place.
+	 * @param name The edited name.
+	 * @param quantity The edited quantity.
+	 * @param cost The edited cost.
+	 * @return The outcome of the edit.
+	 * @throws SQLException If the row cannot be read or written.
+	 */
+	static EditResult saveMaterialEdit(InventoryItem item, String name, int quantity, Money cost)
+	        throws SQLException {
+	    if (item.getId() == 0) {
+	        item.setName(name);
+	        item.setQuantity(quantity);
+	        item.setCostMinor(cost.minor());
+	        return EditResult.UPDATED;
+	    }
+	    String update = "UPDATE inventory SET name = ?, quantity = ?, cost = ?, version = version + 1"
+	            + " WHERE id = ? AND version = ? RETURNING version";
+	    String select = "SELECT name, quantity, cost, version FROM inventory WHERE id = ?";
+	    String previousName = item.getName();
+	    int delta = quantity - item.getQuantity();
+	    InventoryItem target = new InventoryItem(name, quantity, cost);
+	    long expected = item.getVersion();
+	    InventoryItem current = null;
+	    try {
+	        for (int attempt = 1; attempt <= MAX_EDIT_ATTEMPTS; attempt++) {
+	            long version = expected;
+	            Long written = DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+	                try (PreparedStatement pstmt = StatementCache.prepare(conn, update)) {
+	                    pstmt.setString(1, target.getName());
+	                    pstmt.setInt(2, target.getQuantity());
+	                    pstmt.setLong(3, target.getCostMinor());
+	                    pstmt.setLong(4, item.getId());
+	                    pstmt.setLong(5, version);
+	                    try (ResultSet rs = pstmt.executeQuery()) {
+	                        return rs.next() ? rs.getLong(1) : null;
+	                    }
+	                }
+	            }));
+	            if (written != null) {
+	                item.setName(target.getName());
+	                item.setQuantity(target.getQuantity());
+	                item.setCostMinor(target.getCostMinor());
+	                item.setVersion(written);
+	                return attempt == 1 ? EditResult.UPDATED : EditResult.MERGED;
+	            }
+	            current = DatabaseExecutor.await(DatabaseExecutor.shared().read(conn -> {
+	                try (PreparedStatement pstmt = StatementCache.prepare(conn, select)) {
+	                    pstmt.setLong(1, item.getId());
+	                    try (ResultSet rs = pstmt.executeQuery()) {
+	                        if (!rs.next()) {
+	                            return null;
+	                        }
+	                        InventoryItem row = new InventoryItem(rs.getString(1), rs.getInt(2),
+	                                Money.ofMinor(rs.getLong(3)));
+	                        row.setVersion(rs.getLong(4));
+	                        return row;
+	                    }
+	                }
+	            }));
+	            if (current == null) {
+	                return EditResult.MISSING;
+	            }
+	            boolean nameClash = !name.equals(item.getName()) && !current.getName().equals(item.getName())
+	                    && !current.getName().equals(name);
+	            long costMinor = cost.minor();
+	            boolean costClash = costMinor != item.getCostMinor() && current.getCostMinor() != item.getCostMinor()
+	                    && current.getCostMinor() != costMinor;
+	            if (nameClash || costClash) {
+	                break;
+	            }
+	            target.setName(name.equals(item.getName()) ? current.getName() : name);
+	            target.setQuantity(current.getQuantity() + delta);
+	            target.setCostMinor(costMinor == item.getCostMinor() ? current.getCostMinor() : costMinor);
+	            expected = current.getVersion();
+	        }
+	        item.setName(current.getName());
+	        item.setQuantity(current.getQuantity());
+	        item.setCostMinor(current.getCostMinor());
+	        item.setVersion(current.getVersion());
+	        return EditResult.CONFLICT;
+	    } finally {
+	        InventoryCache.invalidate(previousName);
+	        InventoryCache.invalidate(name);
+	    }
+	}
+	/**
+	 * Deletes the row of a stored material by its id.
+	 * 
+	 * An item that was never stored is left alone.
+	 * 
+	 * @param item The inventory item to delete.
+	 * @throws SQLException If the row cannot be deleted.
+	 */
+	static void removeMaterialFromDatabase(InventoryItem item) throws SQLException {
+	    if (item.getId() == 0) {
+	        return;
 	    }
+	    String sql = "DELETE FROM inventory WHERE id = ?";
+	    int rows = DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+	        try (PreparedStatement pstmt = StatementCache.prepare(conn, sql)) {
+	            pstmt.setLong(1, item.getId());
+	            return pstmt.executeUpdate();
+	        }
+	    }));
+	    TableStatistics.recordDelete("inventory", rows);
+	    InventoryCache.invalidate(item.getName());
+	}
+	/**
+	 * Returns the row id generated by the last insert of a statement.
+	 * 
+	 * @param stmt The statement that ran the insert.
+	 * @return The id of the inserted row.
+	 * @throws SQLException If the id cannot be read.
+	 */
+	static long generatedId(Statement stmt) throws SQLException {
+	    try (ResultSet keys = stmt.getGeneratedKeys()) {
+	        if (!keys.next()) {
+	            throw new SQLException("No id was generated");
+	        }
+	        return keys.getLong(1);
+	    }
+	}
+	/**
+	 * Finds a record by the id of its row.
+	 * 
+	 * @param records The records to search.
+	 * @param id The row id.
+	 * @param <T> The record type.
+	 * @return The record, or null if none has the id.
+	 */
+	static <T extends Record> T findById(List<T> records, long id) {
+	    for (T record : records) {
+	        if (record.getId() == id) {
+	            return record;
+	        }
+	    }
+	    return null;
 	}
 	/**
 	 * Loads all inventory items from the database into the inventory list.
-	 * Retrieves name, quantity, and cost fields from the inventory table.
+	 * Retrieves name, quantity, and cost fields from the inventory table,
+	 * served from InventoryCache when the table has not changed since the last load.
 	 */
 	public static void loadInventoryFromDatabase() {
-	    String sql = "SELECT name, quantity, cost FROM inventory";
-	    try (Connection conn = connect(); Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+	    try {
+	        List<InventoryItem> loaded = InventoryCache.all();
 	        inventory.clear(); 
-	        while (rs.next()) {
-	            String name = rs.getString("name");
-	            int quantity = rs.getInt("quantity");
-	            double cost = rs.getDouble("cost");
-	            inventory.add(new InventoryItem(name, quantity, cost));
+	        for (InventoryItem item : loaded) {
+	            // Copies, because the menus edit list items in place.
+	            inventory.add(item.copy());
 	        }
 	        System.out.println("Inventory loaded from database.");
 	    } catch (SQLException e) {
@@ -559,52 +1114,81 @@ public class Inventory {
 	 * Adds a new project to the database.
 	 * 
 	 * @param project The project to be added.
+	 * @throws SQLException If the project cannot be stored.
 	 */
-	static void addProjectToDatabase(Project project) {
+	static void addProjectToDatabase(Project project) throws SQLException {
 	    String sql = "INSERT INTO projects (name) VALUES (?)";
-	    try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-	        pstmt.setString(1, project.getName());
-	        pstmt.executeUpdate();
-	        System.out.println("Project added to database.");
-	    } catch (SQLException e) {
-	        
-	    }
+	    long id = DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+	        try (PreparedStatement pstmt = StatementCache.prepare(conn, sql)) {
+	            pstmt.setString(1, project.getName());
+	            pstmt.executeUpdate();
+	            return generatedId(pstmt);
+	        }
+	    }));
+	    project.setId(id);
+	    TableStatistics.recordInsert("projects", 1);
+	    System.out.println("Project added to database.");
 	}
 	/**
 	 * Adds a new expense entry to the database.
 	 * 
 	 * @param expense The expense to be added.
+	 * @throws SQLException If the expense cannot be stored.
 	 */
-	static void addExpenseToDatabase(Expense expense) {
+	static void addExpenseToDatabase(Expense expense) throws SQLException {
 	    String sql = "INSERT INTO expenses (description, amount) VALUES (?, ?)";
-	    try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-	        pstmt.setString(1, expense.description);
-	        pstmt.setDouble(2, expense.getAmount());
-	        pstmt.executeUpdate();
-	        System.out.println("Expense added to database.");
-	    } catch (SQLException e) {
-	    }
+	    long id = DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+	        try (PreparedStatement pstmt = StatementCache.prepare(conn, sql)) {
+	            pstmt.setString(1, expense.description);
+	            pstmt.setLong(2, expense.getAmountMinor());
+	            pstmt.executeUpdate();
+	            return generatedId(pstmt);
+	        }
+	    }));
+	    expense.setId(id);
+	    TableStatistics.recordInsert("expenses", 1);
+	    System.out.println("Expense added to database.");
 	}
 	/**
 	 * Adds a new sale record to the database.
+	 *
+	 * When the application runs with the sales journal, the sale is appended
+	 * to the journal instead and this returns once it is on disk; the
+	 * journal's compactor inserts it into the sales table shortly after.
 	 * 
 	 * @param sale The sale record to be added.
+	 * @throws SQLException If the sale cannot be stored.
 	 */
-	static void addSaleToDatabase(Sale sale) {
-	    String sql = "INSERT INTO sales (item, quantity, price) VALUES (?, ?, ?)";
-	    try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-	        pstmt.setString(1, sale.item); 
-	        pstmt.setInt(2, sale.getQuantity());
-	        pstmt.setDouble(3, sale.getPrice());
-	        pstmt.executeUpdate(); 
-	        System.out.println("Sale added to database.");
-	    } catch (SQLException e) {
+	static void addSaleToDatabase(Sale sale) throws SQLException {
+	    SalesJournal journal = SalesJournal.active();
+	    if (journal != null && SalesJournal.accepts(sale)) {
+	        try {
+	            journal.append(sale).join();
+	            System.out.println("Sale added to journal.");
+	            return;
+	        } catch (IOException | RuntimeException e) {
+	            System.out.println("Sales journal unavailable, writing to database: " + e.getMessage());
+	        }
 	    }
+	    String sql = "INSERT INTO sales (item, quantity, price) VALUES (?, ?, ?)";
+	    long id = DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+	        try (PreparedStatement pstmt = StatementCache.prepare(conn, sql)) {
+	            pstmt.setString(1, sale.item); 
+	            pstmt.setInt(2, sale.getQuantity());
+	            pstmt.setLong(3, sale.getPriceMinor());
+	            pstmt.executeUpdate();
+	            return generatedId(pstmt);
+	        }
+	    }));
+	    sale.setId(id);
+	    TableStatistics.recordInsert("sales", 1);
+	    System.out.println("Sale added to database.");
 	}
 
 	// Global scanner and lists for managing users, inventory, projects, expenses, and sales.
 	    static Scanner scanner = new Scanner(System.in);
 	    static List<User> users = new ArrayList<>();
+	    static boolean usersLoaded = false;
 	    static List<InventoryItem> inventory = new ArrayList<>();
 	    static List<Project> projects = new ArrayList<>();
 	    static List<Expense> expenses = new ArrayList<>();
@@ -617,6 +1201,37 @@ public class Inventory {
  */
 	
 
+   /**
+    * Loads the stored users the first time they are needed.
+    *
+    * The CLI no longer reads the users table at start-up; the first login
+    * does. Users already in the list, such as ones registered in this
+    * session, are kept; stored users with other names are added after them.
+    */
+   static void ensureUsersLoaded() {
+       if (usersLoaded) {
+           return;
+       }
+       List<User> present = new ArrayList<>(users);
+       loadUsersFromDatabase();
+       List<User> stored = new ArrayList<>(users);
+       users.clear();
+       users.addAll(present);
+       for (User user : stored) {
+           boolean known = false;
+           for (User existing : present) {
+               if (existing.getUsername().equals(user.getUsername())) {
+                   known = true;
+                   break;
+               }
+           }
+           if (!known) {
+               users.add(user);
+           }
+       }
+       usersLoaded = true;
+   }
+
    /**
     * Handles user login by checking credentials against the stored users list.
     * 
@@ -628,6 +1243,7 @@ public class Inventory {
        System.out.print("Password: ");
        String password = scanner.nextLine();
 
+       ensureUsersLoaded();
        for (User user : users) {
            if (user.getUsername().equals(username) && user.authenticate(password)) {
                currentUser = user;
@@ -638,29 +1254,86 @@ public class Inventory {
        System.out.println("Login failed! Please try again.");
 	return false;
    }
+   /**
+    * The screens of the console menu.
+    * 
+    * Each screen shows its options once, runs the chosen action and returns
+    * the screen that comes next. mainMenu() moves between them in one loop,
+    * so a sub-menu going back to the main menu returns instead of calling
+    * mainMenu() again, and the stack stays flat however long a session runs.
+    */
+   enum Menu {
+       MAIN, MATERIALS, PROJECTS, EXPENSES, SALES, EXIT
+   }
+
    /**
     * Displays the main menu for inventory management, project tracking, expense logging, and sales tracking.
     * 
     * @return False when the user chooses to exit.
     */
    static boolean mainMenu() {
-       while (true) {
-           System.out.println("1. Material Inventory\n2. Project Tacking\n3. Expense Logging\n4. Sales Tracker\n5. Exit");
-           int choice = scanner.nextInt();
-           scanner.nextLine();
-           switch (choice) {
-               case 1: materialInventory();
-               break;
-               case 2: projectTacking();
-               break;
-               case 3: expenseLogging();
-               break;
-               case 4: salesTracker();
-               break;
-               case 5: return false;
-               default: System.out.println("Invalid choice. Please try again.");
-           }
+       Menu menu = Menu.MAIN;
+       while (menu != Menu.EXIT) {
+           menu = showMenu(menu);
        }
+       return false;
+   }
+
+   /**
+    * Shows one screen of the console menu and runs the chosen action.
+    * 
+    * @param menu The screen to show.
+    * @return The screen to show next.
+    */
+   static Menu showMenu(Menu menu) {
+       switch (menu) {
+           case MATERIALS: return materialInventoryMenu();
+           case PROJECTS: return projectTrackingMenu();
+           case EXPENSES: return expenseLoggingMenu();
+           case SALES: return salesTrackerMenu();
+           case EXIT: return Menu.EXIT;
+           default: break;
+       }
+       System.out.println("1. Material Inventory\n2. Project Tacking\n3. Expense Logging\n4. Sales Tracker\n5. Exit\n6. Export Data");
+       int choice = scanner.nextInt();
+       scanner.nextLine();
+       switch (choice) {
+           case 1: return Menu.MATERIALS;
+           case 2: return Menu.PROJECTS;
+           case 3: return Menu.EXPENSES;
+           case 4: return Menu.SALES;
+           case 5: return Menu.EXIT;
+           case 6: exportData();
+           break;
+           default: System.out.println("Invalid choice. Please try again.");
+       }
+       return Menu.MAIN;
+   }
+   /**
+    * Exports one table to a CSV or JSON file.
+    * 
+    * The format follows the file name: ".json" writes JSON, anything else
+    * CSV, and a further ".gz" compresses the file.
+    * 
+    * @return false to indicate the menu continues.
+    */
+   static boolean exportData() {
+       System.out.print("Table (" + String.join(", ", TableStatistics.TABLES) + "): ");
+       String table = scanner.nextLine().trim();
+       if (!TableExporter.isExportable(table)) {
+           System.out.println("Unknown table: " + table);
+           return false;
+       }
+       System.out.print("File (.csv or .json, add .gz to compress): ");
+       Path file = Paths.get(scanner.nextLine().trim());
+       try {
+           long rows = TableExporter.export(table, TableExporter.Format.forFile(file), file,
+                   TableExporter.isGzip(file), null);
+           System.out.println("Exported " + rows + " rows to " + file + ".");
+       } catch (IOException | SQLException e) {
+           System.out.println("Export failed: " + e.getMessage());
+       }
+       return false;
    }
    /**
     * Manages the material inventory system, providing options to add, view, edit, 
@@ -669,6 +1342,16 @@ public class Inventory {
     * @return false to indicate the menu continues.
     */
    static boolean materialInventory() {
+       materialInventoryMenu();
+	return false;
+   }
+
+   /**
+    * Shows the material inventory menu once and runs the chosen action.
+    * 
+    * @return The main menu, which every choice goes back to.
+    */
+   private static Menu materialInventoryMenu() {
        System.out.println("1. Add Material\n2. View Inventory\n3. Edit Material\n4. Remove Material\n5. Return to main menu");
        int choice = scanner.nextInt();
        scanner.nextLine();
@@ -681,11 +1364,11 @@ public class Inventory {
        break;
        case 4:removeMaterial();
        break;
-       case 5: mainMenu();
+       case 5:
        break;
        default: System.out.println("Invalid choice. Please try again."); 
        }
-	return false;
+       return Menu.MAIN;
    }
    /**
     * @brief Adds a new material to the inventory and saves it to the database.
@@ -705,8 +1388,28 @@ public class Inventory {
        System.out.print("Cost: ");
        double cost = scanner.nextDouble();
        InventoryItem item = new InventoryItem(name, quantity, cost);
-       inventory.add(item);
-       addMaterialToDatabase(item);
+       try {
+           addMaterialToDatabase(item);
+       } catch (SQLException e) {
+           System.out.println("Material could not be saved: " + e.getMessage());
+           return false;
+       }
+       // A known name was restocked; the listed item takes the stored row, version included
+       InventoryItem existing = null;
+       for (InventoryItem known : inventory) {
+           if (known.name.equals(name)) {
+               existing = known;
+               break;
+           }
+       }
+       if (existing != null) {
+           existing.setId(item.getId());
+           existing.setQuantity(item.getQuantity());
+           existing.setCostMinor(item.getCostMinor());
+           existing.setVersion(item.getVersion());
+       } else {
+           inventory.add(item);
+       }
        System.out.println("Material added successfully.");
 	return false;
    }
@@ -714,18 +1417,28 @@ public class Inventory {
     * Displays the materials currently available in the inventory.
     * If the inventory is empty, no items will be listed.
     * 
+    * The rows are streamed from the database in pages, see Listing.
+    * 
     * @return false to indicate the operation is complete.
     */
     static boolean viewInventory() {
-         if (inventory.isEmpty()) {
-         } else {
-            for (InventoryItem item : inventory) {
-                System.out.println(item.name + " - " + item.quantity + " piece - " + item.cost + " TL");
-            }
-         }
+         list(Listing.Table.INVENTORY);
 		return false;
    }
 
+   /**
+    * Prints every row of a table through Listing.
+    * 
+    * @param table The table to list.
+    */
+   static void list(Listing.Table table) {
+       try {
+           Listing.print(table);
+       } catch (SQLException e) {
+           System.out.println("Listing failed: " + e.getMessage());
+       }
+   }
+
     /**
      * Allows the user to edit the details of an existing material in the inventory.
      * 
@@ -737,16 +1450,56 @@ public class Inventory {
           for (InventoryItem item : inventory) {
               if (item.name.equalsIgnoreCase(name)) {
                   System.out.print("New Amount: ");
-                  item.quantity = scanner.nextInt();
+                  int quantity = scanner.nextInt();
                   System.out.print("New Cost: ");
-                  item.cost = scanner.nextDouble();
+                  Money cost = Money.of(scanner.nextDouble());
                   scanner.nextLine();
-                  System.out.println("Material updated successfully.");
+                  EditResult result;
+                  try {
+                      result = saveMaterialEdit(item, item.name, quantity, cost);
+                  } catch (SQLException e) {
+                      System.out.println("Material could not be updated: " + e.getMessage());
+                      return false;
+                  }
+                  switch (result) {
+                      case MERGED:
+                          System.out.println("Material was changed on another terminal; your change was applied on top of it.");
+                          System.out.println("Material updated successfully.");
+                          break;
+                      case CONFLICT:
+                          System.out.println("Material was changed on another terminal and was not updated. Now: "
+                                  + item.quantity + " piece - " + Money.format(item.costMinor) + " TL");
+                          break;
+                      case MISSING:
+                          inventory.remove(item);
+                          System.out.println("Material was removed on another terminal.");
+                          break;
+                      default:
+                          System.out.println("Material updated successfully.");
+                  }
                   return false;
               }
           }
+          printSuggestions(name);
 		return false;
    }
+   /**
+    * Prints the materials whose names best match a name that was not found.
+    * 
+    * @param name The name the user typed.
+    */
+   static void printSuggestions(String name) {
+       try {
+           List<SearchIndex.Result> results = SearchIndex.search(name, 5, SearchIndex.INVENTORY);
+           if (!results.isEmpty()) {
+               System.out.println("Material not found. Did you mean:");
+               for (SearchIndex.Result result : results) {
+                   System.out.println("  " + result.name);
+               }
+           }
+       } catch (SQLException e) {
+       }
+   }
    /**
     * Allows the user to remove a material from the inventory.
     * 
@@ -755,10 +1508,23 @@ public class Inventory {
    static boolean removeMaterial() {
    	  System.out.print("Enter material name to remove: ");
          String name = scanner.nextLine();
-         if (inventory.removeIf(item -> item.name.equalsIgnoreCase(name))) {
-             System.out.println("Material removed successfully.");
+         InventoryItem match = null;
+         for (InventoryItem item : inventory) {
+             if (item.name.equalsIgnoreCase(name)) {
+                 match = item;
+                 break;
+             }
+         }
+         if (match != null) {
+             try {
+                 removeMaterialFromDatabase(match);
+                 inventory.remove(match);
+                 System.out.println("Material removed successfully.");
+             } catch (SQLException e) {
+                 System.out.println("Material could not be removed: " + e.getMessage());
+             }
          } else {
-             
+             printSuggestions(name);
          }
          return false;
    }
@@ -775,6 +1541,16 @@ public class Inventory {
     */
 
    static boolean projectTacking() {
+       projectTrackingMenu();
+	return false;
+   }
+
+   /**
+    * Shows the project tracking menu once and runs the chosen action.
+    * 
+    * @return The main menu, which every choice goes back to.
+    */
+   private static Menu projectTrackingMenu() {
        System.out.println("1. Add Project\n2. View Project\n3. Return to main menu");
        int choice = scanner.nextInt();
        scanner.nextLine();
@@ -783,11 +1559,11 @@ public class Inventory {
        break;
        case 2: viewProject();
        break;
-       case 3: mainMenu();
+       case 3:
        break;
        default: System.out.println("Invalid choice. Please try again.");
        }
-	return false;
+       return Menu.MAIN;
    }
 
 /**
@@ -798,15 +1574,17 @@ public class Inventory {
          String name = scanner.nextLine();
          Project project = new Project(name);
          projects.add(project); 
-         addProjectToDatabase(project); 
+         try {
+             addProjectToDatabase(project);
+         } catch (SQLException e) {
+             System.out.println("Project could not be saved: " + e.getMessage());
+         }
    }
    /**
     * Displays the list of all projects.
     */
    static void viewProject() {
-       for (Project project : projects) {
-           System.out.println(project.name);
-       } 
+       list(Listing.Table.PROJECTS);
    } 
 
 /**
@@ -816,6 +1594,16 @@ public class Inventory {
  * @return false to indicate the menu continues.
  */
    static boolean expenseLogging() {
+       expenseLoggingMenu();
+	return false;
+   }
+
+   /**
+    * Shows the expense logging menu once and runs the chosen action.
+    * 
+    * @return The main menu, which every choice goes back to.
+    */
+   private static Menu expenseLoggingMenu() {
        System.out.println("1. Add Expense\n2. Expenses List\n3. Return to main menu");
        int choice = scanner.nextInt();
        scanner.nextLine();
@@ -824,11 +1612,11 @@ public class Inventory {
        break;
        case 2: expensesList();
        break;
-       case 3: mainMenu();
+       case 3:
        break;
        default: System.out.println("Invalid choice. Please try again.");
        }
-	return false;
+       return Menu.MAIN;
    }
    /**
     * Adds a new expense to the expense list and database.
@@ -842,17 +1630,18 @@ public class Inventory {
           double amount = scanner.nextDouble();
           Expense expense = new Expense(description, amount); 
           expenses.add(expense); 
-          addExpenseToDatabase(expense); 
+          try {
+              addExpenseToDatabase(expense);
+          } catch (SQLException e) {
+              System.out.println("Expense could not be saved: " + e.getMessage());
+          }
           return false;
    }
    /**
     * Displays the list of all logged expenses.
     */
    static void expensesList() {
-       for (Expense expense : expenses) {
-       	System.out.println((expense.description));
-           System.out.println((expense.amount));
-       }
+       list(Listing.Table.EXPENSES);
    }
    /**
     * Manages sales tracking, including adding sales, listing sales, 
@@ -861,6 +1650,16 @@ public class Inventory {
     * @return false to indicate the menu continues.
     */
    static boolean salesTracker() {
+       salesTrackerMenu();
+	return false;
+   }
+
+   /**
+    * Shows the sales tracking menu once and runs the chosen action.
+    * 
+    * @return The main menu, which every choice goes back to.
+    */
+   private static Menu salesTrackerMenu() {
        System.out.println("1. Add Sales\n2. List Sales\n3. Calculate Profit\n4. Return to main menu");
        int choice = scanner.nextInt();
        scanner.nextLine();
@@ -871,11 +1670,11 @@ public class Inventory {
        break;
        case 3: calculateProfit();
        break;
-       case 4: mainMenu();
+       case 4:
        break; 
        default: System.out.println("Invalid choice. Please try again.");
        }
-	return false;
+       return Menu.MAIN;
    }
    /**
     * Adds a new sale to the sales list and database.
@@ -891,52 +1690,54 @@ public class Inventory {
        double price = scanner.nextDouble();
        Sale sale = new Sale(item, quantity, price); 
        sales.add(sale); 
-       addSaleToDatabase(sale); 
+       try {
+           addSaleToDatabase(sale);
+       } catch (SQLException e) {
+           System.out.println("Sale could not be saved: " + e.getMessage());
+       }
        return false;
    }
    /**
     * Lists all sales in the system.
+    * 
+    * Sales still in the sales journal are listed once they are compacted
+    * into the table.
     */
    static void listSales() {
-       for (Sale sale : sales) {
-           System.out.println(sale.item + " - " + sale.quantity + " piece - " + sale.price + " TL"); 
-       } 
+       list(Listing.Table.SALES);
    }
 
 /**
  * Calculates the total profit from sales by subtracting the cost price from the sale price.
  */
    static void calculateProfit() {
-  	 double totalProfit = 0;
+  	 long totalProfit = 0;
   	    
   	    for (Sale sale : sales) {
   	        System.out.print("Enter cost for " + sale.item() + " : ");
-  	        double costPrice = scanner.nextDouble();
+  	        long costPrice = Money.toMinor(scanner.nextDouble());
   	        
-  	        double profit = (sale.getPrice() - costPrice) * sale.getQuantity();
-  	        totalProfit += profit;
+  	        long profit = Money.multiply(Money.subtract(sale.priceMinor, costPrice), sale.getQuantity());
+  	        totalProfit = Money.add(totalProfit, profit);
   	    }
-  	    System.out.println("Total profit: " + totalProfit + " TL");
+  	    System.out.println("Total profit: " + Money.format(totalProfit) + " TL");
   }
    
 public static boolean authenticateUser(String username, String password) {
     String sql = "SELECT * FROM users WHERE username = ? AND password = ?";
     
-    try (Connection conn = connect();
-         PreparedStatement pstmt = conn.prepareStatement(sql)) {
-        
-        pstmt.setString(1, username);
-        pstmt.setString(2, password);
-        
-        ResultSet rs = pstmt.executeQuery();
-        if (rs.next()) {
-            // Kullanıcı bulundu, giriş başarılı
-            return true;
-        }
-        
-        // Kullanıcı bulunamadı, giriş başarısız
-        return false;
-        
+    try {
+        return DatabaseExecutor.await(DatabaseExecutor.shared().read(conn -> {
+            try (PreparedStatement pstmt = StatementCache.prepare(conn, sql)) {
+                pstmt.setString(1, username);
+                pstmt.setString(2, password);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    // Kullanıcı bulundu ise giriş başarılı
+                    return rs.next();
+                }
+            }
+        }));
     } catch (SQLException e) {
         return false;
     }
@@ -961,6 +1762,9 @@ public static void runMainMenu() {
         int choice = scanner.nextInt();
         scanner.nextLine();
 
+        if (choice >= 1 && choice <= 3) {
+            awaitDatabase();
+        }
         switch (choice) {
             case 1:
                 login();
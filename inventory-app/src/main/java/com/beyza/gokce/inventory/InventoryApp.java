@@ -11,7 +11,10 @@
 */
 package com.beyza.gokce.inventory;
 
-import java.sql.Connection;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Scanner;
 
@@ -45,20 +48,143 @@ public class InventoryApp {
 	 * Establishes a database connection, initializes the inventory system,
 	 * and provides a menu for user interaction.
 	 *
-	 * @param args Command-line arguments (not used in this application).
+	 * When started with "--server [port]" the application runs headless and
+	 * serves the REST API instead of the interactive menu.
+	 *
+	 * Start-up does only what the first menu needs: the schema check runs in
+	 * the background while the menu waits for input, and the users are read
+	 * at the first login. "--startup-report" prints the time of each phase.
+	 *
+	 * With "--sales-journal" new sales are captured in the memory-mapped
+	 * sales journal and compacted into the database in the background.
+	 * "--import table file.csv" imports a CSV file and exits, and
+	 * "--export table file" exports a table to CSV or JSON and exits.
+	 * "--batch file" runs the commands of a file, or of standard input for
+	 * "-" or no file, and exits. "--list table" prints a table, optionally
+	 * filtered, paged with "--after id" and cut off with "--limit rows".
+	 *
+	 * @param args Command-line arguments, optionally "--server" and a port,
+	 *             "--import" or "--export" with a table and a file,
+	 *             "--batch" with a file, "--list" with a table,
+	 *             "--startup-report" and
+	 *             "--sales-journal".
 	 */
 	public static void main(String[] args) {
+		args = StartupProfiler.configure(args);
+		if (Arrays.asList(args).contains(SalesJournal.FLAG)) {
+			args = Arrays.stream(args).filter(arg -> !SalesJournal.FLAG.equals(arg)).toArray(String[]::new);
+			try {
+				SalesJournal.start();
+			} catch (IOException | SQLException e) {
+				System.out.println("Sales journal could not be opened: " + e.getMessage());
+			}
+		}
+		if (args.length > 0 && "--import".equals(args[0])) {
+			importCsv(args);
+			return;
+		}
+		if (args.length > 0 && "--export".equals(args[0])) {
+			exportTable(args);
+			return;
+		}
+		if (args.length > 0 && CommandBatch.FLAG.equals(args[0])) {
+			runBatch(args);
+			return;
+		}
+		if (args.length > 0 && Listing.FLAG.equals(args[0])) {
+			Listing.run(args);
+			return;
+		}
+		if (args.length > 0 && "--server".equals(args[0])) {
+			try {
+				InventoryServer.run(Arrays.copyOfRange(args, 1, args.length));
+			} catch (IOException e) {
+				System.out.println("Server could not be started: " + e.getMessage());
+			}
+			return;
+		}
 		Inventory.scanner = new Scanner(System.in);
-	    Connection conn = DatabaseConnection.connect(); 
-	    DatabaseConnection.disconnect(conn);
-	    
-	    Inventory.createTables(); 
-	    Inventory.loadUsersFromDatabase(); 
-	    
-	    Scanner scanner = new Scanner(System.in);
+	    StartupProfiler.mark("console");
+
+	    Inventory.prepareDatabase();
+	    StartupProfiler.printReport("CLI");
 	    Inventory.runMainMenu();
 	}
 
+	/**
+	 * Imports a CSV file given on the command line and prints the outcome.
+	 *
+	 * @param args "--import", the table (inventory, sales or expenses) and the file.
+	 */
+	static void importCsv(String[] args) {
+		CsvImporter.Target target = args.length == 3 ? CsvImporter.Target.of(args[1]) : null;
+		if (target == null) {
+			System.out.println("Usage: --import inventory|sales|expenses <file.csv>");
+			return;
+		}
+		try {
+			CsvImporter.Result result = CsvImporter.importFile(Paths.get(args[2]), target,
+					(read, total, rows) -> System.out.print("\r" + (total == 0 ? 100 : read * 100 / total)
+							+ "% read, " + rows + " rows imported"));
+			System.out.println();
+			for (String line : CsvImporter.describe(result, 20)) {
+				System.out.println(line);
+			}
+		} catch (IOException | SQLException e) {
+			System.out.println();
+			System.out.println("Import failed: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Exports a table given on the command line and prints the outcome.
+	 *
+	 * The format follows the file name: ".json" writes JSON, anything else
+	 * CSV, and a further ".gz" compresses the file.
+	 *
+	 * @param args "--export", the table and the file.
+	 */
+	static void exportTable(String[] args) {
+		if (args.length != 3 || !TableExporter.isExportable(args[1])) {
+			System.out.println("Usage: --export " + String.join("|", TableStatistics.TABLES)
+					+ " <file.csv|file.json>[.gz]");
+			return;
+		}
+		Path file = Paths.get(args[2]);
+		try {
+			long rows = TableExporter.export(args[1], TableExporter.Format.forFile(file), file,
+					TableExporter.isGzip(file), count -> System.out.print("\r" + count + " rows exported"));
+			System.out.println();
+			System.out.println("Exported " + rows + " rows to " + file + ".");
+		} catch (IOException | SQLException e) {
+			System.out.println();
+			System.out.println("Export failed: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Runs the commands of a file given on the command line and prints the outcome.
+	 *
+	 * @param args "--batch" and the file, or "-" or nothing for standard input.
+	 */
+	static void runBatch(String[] args) {
+		if (args.length > 2) {
+			System.out.println("Usage: --batch [file|-]");
+			for (CommandBatch.Command command : CommandBatch.Command.values()) {
+				System.out.println("  " + command);
+			}
+			return;
+		}
+		try {
+			CommandBatch.Result result = CommandBatch.run(args.length == 2 ? args[1] : "-");
+			for (String line : CommandBatch.describe(result, 20)) {
+				System.out.println(line);
+			}
+		} catch (IOException | SQLException e) {
+			System.out.println("Batch failed: " + e.getMessage());
+		}
+	}
+
 
 
 }
\ No newline at end of file
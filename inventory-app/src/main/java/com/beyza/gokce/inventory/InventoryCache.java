@@ -0,0 +1,124 @@
+/**
+ * @file InventoryCache.java
+ * @brief Read-through cache in front of inventory table reads
+ *
+ * This file contains the cache used by the CLI, the GUI screens and the
+ * server when they read inventory items, and the invalidation hooks called
+ * by every code path that writes the inventory table.
+ */
+package com.beyza.gokce.inventory;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @class InventoryCache
+ * @brief Caches inventory queries and drops them when the table changes
+ *
+ * Two kinds of query are cached: the full listing, and the rows matching a
+ * material name. The cache is bounded by an estimate of the bytes held, so a
+ * listing larger than the whole cache is simply served uncached.
+ *
+ * Returned lists are shared and unmodifiable; callers copy them before
+ * changing the list. Writers must call invalidate() after the write commits.
+ */
+final class InventoryCache {
+    /**
+     * @brief Default memory budget of the cache in bytes
+     */
+    public static final long DEFAULT_MAX_BYTES = 8L * 1024 * 1024;
+
+    /**
+     * @brief Cache key of the full inventory listing
+     */
+    private static final String ALL = "*";
+
+    /**
+     * @brief Prefix of the cache keys of single-name lookups
+     */
+    private static final String NAME_PREFIX = "name:";
+
+    private static final LruCache<String, List<InventoryItem>> CACHE =
+            new LruCache<>(DEFAULT_MAX_BYTES, InventoryCache::weigh);
+
+    private InventoryCache() {
+    }
+
+    /**
+     * @brief Returns every inventory item, in table order
+     *
+     * @return An unmodifiable, possibly shared list
+     * @throws SQLException If the table cannot be read
+     */
+    public static List<InventoryItem> all() throws SQLException {
+        return CACHE.get(ALL, key -> query("SELECT id, name, quantity, cost, version FROM inventory", null));
+    }
+
+    /**
+     * @brief Returns the inventory items with the given name
+     *
+     * @param name The material name
+     * @return An unmodifiable, possibly shared list; empty if none match
+     * @throws SQLException If the table cannot be read
+     */
+    public static List<InventoryItem> byName(String name) throws SQLException {
+        return CACHE.get(NAME_PREFIX + name,
+                key -> query("SELECT id, name, quantity, cost, version FROM inventory WHERE name = ?", name));
+    }
+
+    /**
+     * @brief Drops the cached queries affected by a write to one material
+     *
+     * @param name The name of the written material
+     */
+    public static void invalidate(String name) {
+        CACHE.invalidate(ALL);
+        CACHE.invalidate(NAME_PREFIX + name);
+    }
+
+    /**
+     * @brief Drops every cached query
+     */
+    public static void invalidateAll() {
+        CACHE.invalidateAll();
+    }
+
+    /**
+     * @brief Returns the hit, miss and eviction counters
+     *
+     * @return A snapshot of the cache statistics
+     */
+    public static LruCache.Stats stats() {
+        return CACHE.stats();
+    }
+
+    private static List<InventoryItem> query(String sql, String name) throws SQLException {
+        return DatabaseExecutor.await(DatabaseExecutor.shared().read(conn -> {
+            try (PreparedStatement pstmt = StatementCache.prepare(conn, sql)) {
+                if (name != null) {
+                    pstmt.setString(1, name);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return Collections.unmodifiableList(RowMappers.list(rs, RowMappers.INVENTORY));
+                }
+            }
+        }));
+    }
+
+    /**
+     * @brief Estimates the heap used by a cached query result
+     *
+     * Counts the list slot, the item object and the name's characters.
+     */
+    private static long weigh(String key, List<InventoryItem> items) {
+        long bytes = 64 + 2L * key.length();
+        for (InventoryItem item : items) {
+            String name = item.getName();
+            bytes += 8 + 40 + 40 + (name == null ? 0 : 2L * name.length());
+        }
+        return bytes;
+    }
+}
@@ -13,7 +13,9 @@
 package com.beyza.gokce.inventory;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableCellRenderer;
 import java.awt.*;
@@ -21,9 +23,17 @@ import java.awt.event.*;
 import java.sql.*;
 import javax.imageio.ImageIO;
 import java.io.IOException;
+import java.io.File;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * @class InventoryGUI
@@ -172,6 +182,11 @@ public class InventoryGUI extends JFrame {
      * Loaded from an external URL
      */
     public ImageIcon logoIcon;
+
+    /**
+     * @brief Shows the logo once it has been downloaded
+     */
+    private JLabel logoLabel;
     
     /**
      * @brief Table displaying inventory items
@@ -208,6 +223,11 @@ public class InventoryGUI extends JFrame {
      * Manages the data displayed in the project table
      */
     public DefaultTableModel projectModel;
+    
+    /**
+     * @brief The running load of the project table, if any
+     */
+    private QueryPublisher.TableModelSubscriber<Project> projectLoad;
 
     /**
      * @brief Data model for the expense table
@@ -221,6 +241,11 @@ public class InventoryGUI extends JFrame {
      */
     public DefaultTableModel salesModel;
     
+    /**
+     * @brief The running load of the sales table, if any
+     */
+    private QueryPublisher.TableModelSubscriber<Sale> salesLoad;
+    
     /**
      * @brief List storing inventory items
      * Contains all materials in the inventory
@@ -244,6 +269,51 @@ public class InventoryGUI extends JFrame {
      * Contains all sales recorded in the system
      */
     public List<Sale> sales = new ArrayList<>();
+
+    /**
+     * @brief Names of the screens kept in the screen registry
+     */
+    private static final String MAIN_MENU = "Main Menu";
+    private static final String MATERIAL_INVENTORY = "Material Inventory";
+    private static final String PROJECT_TRACKING = "Project Tracking";
+    private static final String EXPENSE_LOGGING = "Expense Logging";
+    private static final String SALES_TRACKER = "Sales Tracker";
+    private static final String DATABASE_MANAGER = "Database Manager";
+    
+    /**
+     * @brief File extension of the snapshots written by Backup DB
+     */
+    private static final String SNAPSHOT_EXTENSION = "snapshot";
+
+    /**
+     * @brief Module screens, built once and switched through a CardLayout
+     */
+    private final ScreenRegistry screens = new ScreenRegistry(ScreenRegistry.DEFAULT_MAX_AGE_MILLIS);
+
+    /**
+     * @brief Greeting on the main menu, updated when the user changes
+     */
+    private JLabel welcomeLabel;
+
+    /**
+     * @brief Row counts shown on the database manager screen
+     */
+    private DefaultTableModel dbModel;
+
+    /**
+     * @brief Statement cache hit rate shown on the database manager screen
+     */
+    private JLabel statementStatsLabel;
+
+    /**
+     * @brief Sorts and searches the inventory table
+     */
+    private IndexedRowSorter inventorySorter;
+
+    /**
+     * @brief Sorts and searches the sales table
+     */
+    private IndexedRowSorter salesSorter;
  
     /**
      * @brief Constructor for the InventoryGUI class
@@ -252,18 +322,31 @@ public class InventoryGUI extends JFrame {
      * Creates the database tables and loads the application logo.
      * 
      * @details The constructor:
+     * - Starts the schema check and the font loading in the background
      * - Sets up the main window properties
-     * - Initializes the database
+     * - Starts downloading the application logo
      * - Creates the welcome screen
-     * - Loads the application logo
+     *
+     * The welcome screen needs neither the database nor the logo, so it is
+     * shown without waiting for them; actions that use the database wait
+     * for the schema check first.
      */
     public InventoryGUI() {
         super("Inventory Management System");
+        Inventory.prepareDatabase();
+        CompletableFuture.runAsync(() -> {
+            Theme.preloadFonts();
+            StartupProfiler.mark("fonts (background)");
+        });
         initializeFrame();
+        StartupProfiler.mark("frame");
         loadLogo();
         setupMainPanel();
+        registerScreens();
         createWelcomeScreen();
         setVisible(true);
+        StartupProfiler.mark("welcome screen");
+        SwingUtilities.invokeLater(() -> StartupProfiler.printReport("GUI"));
     }
     
     /**
@@ -283,32 +366,70 @@ public class InventoryGUI extends JFrame {
     /**
      * @brief Loads and scales the application logo
      * 
-     * Attempts to load the logo from a URL and scales it to appropriate dimensions.
+     * Downloads the logo from a URL on a background thread and scales it to
+     * appropriate dimensions; the welcome screen shows it when it arrives.
      * If loading fails, the error is printed to the console.
-     * 
-     * @throws IOException If the logo cannot be loaded from the URL
      */
     private void loadLogo() {
-        try {
-            URL logoUrl = new URL("https://cdn-icons-png.flaticon.com/512/2103/2103633.png");
-            Image logo = ImageIO.read(logoUrl);
-            Image scaledLogo = logo.getScaledInstance(150, 150, Image.SCALE_SMOOTH);
-            logoIcon = new ImageIcon(scaledLogo);
-        } catch (IOException e) {
-            e.printStackTrace();
+        new SwingWorker<ImageIcon, Void>() {
+            @Override
+            protected ImageIcon doInBackground() throws IOException {
+                URL logoUrl = new URL("https://cdn-icons-png.flaticon.com/512/2103/2103633.png");
+                Image logo = ImageIO.read(logoUrl);
+                if (logo == null) {
+                    throw new IOException("Unsupported logo image: " + logoUrl);
+                }
+                Image scaledLogo = logo.getScaledInstance(150, 150, Image.SCALE_SMOOTH);
+                return new ImageIcon(scaledLogo);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    logoIcon = get();
+                    if (logoLabel != null) {
+                        logoLabel.setIcon(logoIcon);
+                    }
+                    StartupProfiler.mark("logo (background)");
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * @brief Runs an action once the start-up schema check has finished
+     *
+     * The action runs at once if the check is done, which it is after the
+     * first few hundred milliseconds of the session. Otherwise the window
+     * shows the wait cursor and the action runs on the event dispatch
+     * thread when the check finishes, so the window keeps repainting
+     * meanwhile.
+     *
+     * @param action The action that needs the database
+     */
+    private void whenDatabaseReady(Runnable action) {
+        CompletableFuture<Void> ready = Inventory.prepareDatabase();
+        if (ready.isDone()) {
+            action.run();
+            return;
         }
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        ready.whenComplete((result, ex) -> SwingUtilities.invokeLater(() -> {
+            setCursor(Cursor.getDefaultCursor());
+            action.run();
+        }));
     }
     
     /**
      * @brief Sets up the main panel of the application
      * 
      * Initializes the main panel with appropriate layout and background color.
-     * Creates the database tables for the application.
      * 
      * @details The method:
      * - Creates the main panel with BorderLayout
      * - Sets up the content panel
-     * - Initializes the database tables
      */
     private void setupMainPanel() {
         mainPanel = new JPanel(new BorderLayout());
@@ -318,8 +439,6 @@ public class InventoryGUI extends JFrame {
         contentPanel = new JPanel();
         contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
         contentPanel.setBackground(MODERN_BACKGROUND);
-        
-        Inventory.createTables();
     }
  
     /**
@@ -372,17 +491,15 @@ public class InventoryGUI extends JFrame {
         logoPanel.setMaximumSize(new Dimension(200, 200));
         logoPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
-        if (logoIcon != null) {
-            JLabel logoLabel = new JLabel(logoIcon);
-            logoLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-            logoPanel.add(logoLabel);
-        }
+        logoLabel = new JLabel(logoIcon);
+        logoLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        logoPanel.add(logoLabel);
         return logoPanel;
     }
     
     private JLabel createWelcomeLabel() {
         JLabel welcomeLabel = new JLabel("INVENTORY MANAGEMENT SYSTEM");
-        welcomeLabel.setFont(new Font("Segoe UI", Font.BOLD, 28));
+        welcomeLabel.setFont(Theme.font(Font.BOLD, 28));
         welcomeLabel.setForeground(MODERN_PRIMARY);
         welcomeLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         return welcomeLabel;
@@ -390,7 +507,7 @@ public class InventoryGUI extends JFrame {
     
     private JLabel createSubTitleLabel() {
         JLabel subTitleLabel = new JLabel("Manage your system efficiently");
-        subTitleLabel.setFont(new Font("Segoe UI", Font.ITALIC, 18));
+        subTitleLabel.setFont(Theme.font(Font.ITALIC, 18));
         subTitleLabel.setForeground(MODERN_TEXT);
         subTitleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         return subTitleLabel;
@@ -435,7 +552,7 @@ public class InventoryGUI extends JFrame {
      * - Error handling for invalid credentials
      */
     private void showLoginPanel() {
-        contentPanel.removeAll();
+        contentPanel = new JPanel();
         contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
         contentPanel.setBackground(MODERN_BACKGROUND);
         
@@ -445,24 +562,24 @@ public class InventoryGUI extends JFrame {
         formPanel.setMaximumSize(new Dimension(400, 150));
         
         JLabel usernameLabel = new JLabel("Username:");
-        usernameLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        usernameLabel.setFont(Theme.font(Font.PLAIN, 14));
         usernameField = new JTextField();
         usernameField.setPreferredSize(new Dimension(200, 30));
         
         JLabel passwordLabel = new JLabel("Password:");
-        passwordLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        passwordLabel.setFont(Theme.font(Font.PLAIN, 14));
         passwordField = new JPasswordField();
         passwordField.setPreferredSize(new Dimension(200, 30));
         
         JButton loginButton = new JButton("Login");
-        loginButton.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        loginButton.setFont(Theme.font(Font.BOLD, 14));
         loginButton.setBackground(MODERN_PRIMARY);
         loginButton.setForeground(Color.WHITE);
         loginButton.setFocusPainted(false);
         loginButton.setBorderPainted(false);
         
         JButton backButton = new JButton("Back");
-        backButton.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        backButton.setFont(Theme.font(Font.PLAIN, 14));
         backButton.setBackground(Color.GRAY);
         backButton.setForeground(Color.WHITE);
         backButton.setFocusPainted(false);
@@ -487,15 +604,17 @@ public class InventoryGUI extends JFrame {
                 return;
             }
             
-            if (Inventory.authenticateUser(username, password)) {
-                currentUser = username;
-                showMainMenu();
-            } else {
-                JOptionPane.showMessageDialog(this, 
-                    "Invalid username or password.",
-                    "Login Failed",
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            whenDatabaseReady(() -> {
+                if (Inventory.authenticateUser(username, password)) {
+                    currentUser = username;
+                    showMainMenu();
+                } else {
+                    JOptionPane.showMessageDialog(this, 
+                        "Invalid username or password.",
+                        "Login Failed",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            });
         });
         
         backButton.addActionListener(e -> createWelcomeScreen());
@@ -525,13 +644,13 @@ public class InventoryGUI extends JFrame {
      * - Input validation
      */
     private void showRegisterPanel() {
-        contentPanel.removeAll();
+        contentPanel = new JPanel();
         contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
         contentPanel.setBackground(MODERN_BACKGROUND);
         contentPanel.setBorder(BorderFactory.createEmptyBorder(50, 100, 50, 100));
         
         JLabel titleLabel = new JLabel("Register");
-        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 28));
+        titleLabel.setFont(Theme.font(Font.BOLD, 28));
         titleLabel.setForeground(MODERN_PRIMARY);
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
@@ -542,17 +661,17 @@ public class InventoryGUI extends JFrame {
         formPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
         JLabel usernameLabel = new JLabel("Username:");
-        usernameLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        usernameLabel.setFont(Theme.font(Font.PLAIN, 16));
         JTextField usernameField = new JTextField();
         usernameField.setPreferredSize(new Dimension(200, 30));
         
         JLabel passwordLabel = new JLabel("Password:");
-        passwordLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        passwordLabel.setFont(Theme.font(Font.PLAIN, 16));
         JPasswordField passwordField = new JPasswordField();
         passwordField.setPreferredSize(new Dimension(200, 30));
         
         JLabel confirmPasswordLabel = new JLabel("Confirm Password:");
-        confirmPasswordLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+        confirmPasswordLabel.setFont(Theme.font(Font.PLAIN, 16));
         JPasswordField confirmPasswordField = new JPasswordField();
         confirmPasswordField.setPreferredSize(new Dimension(200, 30));
 
@@ -590,21 +709,23 @@ public class InventoryGUI extends JFrame {
                 return;
             }
             
-            try {
-                User newUser = new User(username, password);
-                Inventory.addUserToDatabase(newUser);
-                
-                JOptionPane.showMessageDialog(this, 
-                    "Registration successful! Please login.", 
-                    "Success",
-                    JOptionPane.INFORMATION_MESSAGE);
-                showLoginPanel();
-            } catch (RuntimeException ex) {
-                JOptionPane.showMessageDialog(this, 
-                    ex.getMessage(),
-                    "Registration Error", 
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            whenDatabaseReady(() -> {
+                try {
+                    User newUser = new User(username, password);
+                    Inventory.addUserToDatabase(newUser);
+                    
+                    JOptionPane.showMessageDialog(this, 
+                        "Registration successful! Please login.", 
+                        "Success",
+                        JOptionPane.INFORMATION_MESSAGE);
+                    showLoginPanel();
+                } catch (RuntimeException ex) {
+                    JOptionPane.showMessageDialog(this, 
+                        ex.getMessage(),
+                        "Registration Error", 
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            });
         });
         
         JButton backButton = createStyledButton("Back", MODERN_ACCENT);
@@ -627,6 +748,44 @@ public class InventoryGUI extends JFrame {
         mainPanel.repaint();
     }
     
+    /**
+     * @brief Registers every module screen with the screen registry
+     * 
+     * Nothing is built here; each screen is built the first time it is shown.
+     */
+    private void registerScreens() {
+        screens.register(MAIN_MENU, this::buildMainMenu, null);
+        screens.register(MATERIAL_INVENTORY, this::buildMaterialInventory, this::loadMaterialInventory);
+        screens.register(PROJECT_TRACKING, this::buildProjectTracking, this::loadProjects);
+        screens.register(EXPENSE_LOGGING, this::buildExpenseLogging, null);
+        screens.register(SALES_TRACKER, this::buildSalesTracker, this::loadSales);
+        screens.register(DATABASE_MANAGER, this::buildDatabaseManager, () -> loadDatabaseInfo(dbModel));
+    }
+    
+    /**
+     * @brief Shows a registered screen next to the side menu
+     * 
+     * The side menu and the screen deck are put into the main panel only when
+     * something else (the welcome, login or register screen) replaced them.
+     * 
+     * @param name The screen name
+     */
+    private void showScreen(String name) {
+        if (sideMenuPanel == null) {
+            createSideMenuPanel();
+        }
+        JPanel deck = screens.getDeck();
+        if (deck.getParent() != mainPanel || sideMenuPanel.getParent() != mainPanel) {
+            mainPanel.removeAll();
+            mainPanel.add(deck, BorderLayout.CENTER);
+            mainPanel.add(sideMenuPanel, BorderLayout.WEST);
+        }
+        contentPanel = screens.show(name);
+        
+        mainPanel.revalidate();
+        mainPanel.repaint();
+    }
+    
     /**
      * @brief Shows the main menu of the application
      * 
@@ -639,23 +798,34 @@ public class InventoryGUI extends JFrame {
      * - Side menu for navigation
      */
     private void showMainMenu() {
-        contentPanel = new JPanel();
-        contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
-        contentPanel.setBackground(MODERN_BACKGROUND);
-        contentPanel.setBorder(BorderFactory.createEmptyBorder(30, 30, 30, 30));
+        whenDatabaseReady(() -> {
+            showScreen(MAIN_MENU);
+            if (currentUser != null) {
+                welcomeLabel.setText("Welcome, " + currentUser + "!");
+            } else {
+                welcomeLabel.setText("Welcome, guest!");
+            }
+        });
+    }
+    
+    /**
+     * @brief Builds the main menu screen
+     * 
+     * @return The main menu panel
+     */
+    private JPanel buildMainMenu() {
+        JPanel screen = new JPanel();
+        screen.setLayout(new BoxLayout(screen, BoxLayout.Y_AXIS));
+        screen.setBackground(MODERN_BACKGROUND);
+        screen.setBorder(BorderFactory.createEmptyBorder(30, 30, 30, 30));
         
         JPanel welcomePanel = new JPanel();
         welcomePanel.setLayout(new BoxLayout(welcomePanel, BoxLayout.Y_AXIS));
         welcomePanel.setBackground(MODERN_BACKGROUND);
         welcomePanel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
-        JLabel welcomeLabel;
-        if (currentUser != null) {
-            welcomeLabel = new JLabel("Welcome, " + currentUser + "!");
-        } else {
-            welcomeLabel = new JLabel("Welcome, guest!");
-        }
-        welcomeLabel.setFont(new Font("Segoe UI", Font.BOLD, 32));
+        welcomeLabel = new JLabel("Welcome, guest!");
+        welcomeLabel.setFont(Theme.font(Font.BOLD, 32));
         welcomeLabel.setForeground(MODERN_PRIMARY);
         welcomeLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         welcomePanel.add(welcomeLabel);
@@ -679,20 +849,13 @@ public class InventoryGUI extends JFrame {
         dashboardPanel.add(expenseBtn);
         dashboardPanel.add(salesBtn);
         
-        contentPanel.add(Box.createVerticalGlue());
-        contentPanel.add(welcomePanel);
-        contentPanel.add(Box.createRigidArea(new Dimension(0, 30)));
-        contentPanel.add(dashboardPanel);
-        contentPanel.add(Box.createVerticalGlue());
-        
-        createSideMenuPanel();
+        screen.add(Box.createVerticalGlue());
+        screen.add(welcomePanel);
+        screen.add(Box.createRigidArea(new Dimension(0, 30)));
+        screen.add(dashboardPanel);
+        screen.add(Box.createVerticalGlue());
         
-        mainPanel.removeAll();
-        mainPanel.add(contentPanel, BorderLayout.CENTER);
-        mainPanel.add(sideMenuPanel, BorderLayout.WEST);
-        
-        mainPanel.revalidate();
-        mainPanel.repaint();
+        return screen;
     }
     
     /**
@@ -717,7 +880,7 @@ public class InventoryGUI extends JFrame {
         sideMenuPanel.setBorder(BorderFactory.createEmptyBorder(20, 10, 20, 10));
         
         JLabel menuTitle = new JLabel("Menu");
-        menuTitle.setFont(new Font("Segoe UI", Font.BOLD, 18));
+        menuTitle.setFont(Theme.font(Font.BOLD, 18));
         menuTitle.setForeground(Color.WHITE);
         menuTitle.setAlignmentX(Component.CENTER_ALIGNMENT);
         sideMenuPanel.add(menuTitle);
@@ -763,7 +926,7 @@ public class InventoryGUI extends JFrame {
      * @brief Shows the material inventory management screen
      * 
      * Displays the inventory table and provides options for adding, editing,
-     * and deleting inventory items.
+     * and deleting inventory items. The table is reloaded only when stale.
      * 
      * @details The inventory screen includes:
      * - Inventory table
@@ -773,16 +936,24 @@ public class InventoryGUI extends JFrame {
      * - Show Database button
      */
     public void showMaterialInventory() {
-        contentPanel.removeAll();
-        contentPanel.setLayout(new BorderLayout());
-        contentPanel.setBackground(MODERN_BACKGROUND);
+        showScreen(MATERIAL_INVENTORY);
+    }
+    
+    /**
+     * @brief Builds the material inventory screen
+     * 
+     * @return The material inventory panel
+     */
+    private JPanel buildMaterialInventory() {
+        JPanel screen = new JPanel(new BorderLayout());
+        screen.setBackground(MODERN_BACKGROUND);
         
         JPanel headerPanel = new JPanel();
         headerPanel.setBackground(MODERN_PRIMARY);
         headerPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
         
         JLabel titleLabel = new JLabel("Material Inventory");
-        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        titleLabel.setFont(Theme.font(Font.BOLD, 24));
         titleLabel.setForeground(MODERN_TEXT);
         headerPanel.add(titleLabel);
         
@@ -807,7 +978,7 @@ public class InventoryGUI extends JFrame {
         headerPanel.add(buttonPanel);
         
         // Create table model
-        String[] columns = {"Name", "Quantity", "Cost"};
+        String[] columns = {"Name", "Quantity", "Cost", "ID"};
         inventoryModel = new DefaultTableModel(columns, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -815,41 +986,36 @@ public class InventoryGUI extends JFrame {
             }
         };
         
-        // Create table
+        // Create table; the ID column stays in the model only
         inventoryTable = createStyledTable(inventoryModel);
+        inventoryTable.removeColumn(inventoryTable.getColumnModel().getColumn(3));
+        inventorySorter = IndexedRowSorter.install(inventoryTable, 0);
+        headerPanel.add(createSearchField(inventorySorter));
         JScrollPane scrollPane = new JScrollPane(inventoryTable);
         scrollPane.getViewport().setBackground(TABLE_COLOR);
         
-        contentPanel.add(headerPanel, BorderLayout.NORTH);
-        contentPanel.add(scrollPane, BorderLayout.CENTER);
-        
-        mainPanel.removeAll();
-        mainPanel.add(contentPanel, BorderLayout.CENTER);
-        mainPanel.add(sideMenuPanel, BorderLayout.WEST);
-        
-        mainPanel.revalidate();
-        mainPanel.repaint();
+        screen.add(headerPanel, BorderLayout.NORTH);
+        screen.add(scrollPane, BorderLayout.CENTER);
         
+        return screen;
+    }
+    
+    /**
+     * @brief Reloads the material inventory table from the database
+     */
+    private void loadMaterialInventory() {
         // Load data from database
         try {
-            String sql = "SELECT name, quantity, cost FROM inventory";
-            try (Connection conn = DatabaseConnection.connect();
-                 Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery(sql)) {
-                
-                inventory.clear();
-                inventoryModel.setRowCount(0);
-                
-                while (rs.next()) {
-                    String name = rs.getString("name");
-                    int quantity = rs.getInt("quantity");
-                    double cost = rs.getDouble("cost");
-                    
-                    InventoryItem item = new InventoryItem(name, quantity, cost);
-                    inventory.add(item);
-                    inventoryModel.addRow(new Object[]{name, quantity, cost});
-                }
+            inventory.clear();
+            List<Object[]> rows = new ArrayList<>();
+
+            for (InventoryItem cached : InventoryCache.all()) {
+                // Copy, because the edit dialog updates list items in place
+                InventoryItem item = cached.copy();
+                inventory.add(item);
+                rows.add(new Object[]{item.getName(), item.getQuantity(), item.getCost(), item.getId()});
             }
+            replaceRows(inventoryModel, rows);
         } catch (SQLException ex) {
             ex.printStackTrace();
             JOptionPane.showMessageDialog(this,
@@ -863,7 +1029,7 @@ public class InventoryGUI extends JFrame {
      * @brief Shows the project tracking screen
      * 
      * Displays the project management interface with options to add new projects
-     * and view project details.
+     * and view project details. The project list is reloaded only when stale.
      * 
      * @details The project tracking screen includes:
      * - Project table
@@ -872,16 +1038,24 @@ public class InventoryGUI extends JFrame {
      * - Show Database button
      */
     public void showProjectTracking() {
-        contentPanel.removeAll();
-        contentPanel.setLayout(new BorderLayout());
-        contentPanel.setBackground(MODERN_BACKGROUND);
+        showScreen(PROJECT_TRACKING);
+    }
+    
+    /**
+     * @brief Builds the project tracking screen
+     * 
+     * @return The project tracking panel
+     */
+    private JPanel buildProjectTracking() {
+        JPanel screen = new JPanel(new BorderLayout());
+        screen.setBackground(MODERN_BACKGROUND);
         
         JPanel headerPanel = new JPanel();
         headerPanel.setBackground(MODERN_SECONDARY);
         headerPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
         
         JLabel titleLabel = new JLabel("Project Tracking");
-        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        titleLabel.setFont(Theme.font(Font.BOLD, 24));
         titleLabel.setForeground(MODERN_TEXT);
         headerPanel.add(titleLabel);
         
@@ -916,37 +1090,35 @@ public class InventoryGUI extends JFrame {
         JScrollPane scrollPane = new JScrollPane(projectTable);
         scrollPane.getViewport().setBackground(TABLE_COLOR);
         
-        contentPanel.add(headerPanel, BorderLayout.NORTH);
-        contentPanel.add(scrollPane, BorderLayout.CENTER);
-        
-        mainPanel.removeAll();
-        mainPanel.add(contentPanel, BorderLayout.CENTER);
-        mainPanel.add(sideMenuPanel, BorderLayout.WEST);
-        
-        mainPanel.revalidate();
-        mainPanel.repaint();
+        screen.add(headerPanel, BorderLayout.NORTH);
+        screen.add(scrollPane, BorderLayout.CENTER);
         
-        // Load data from database
-        try {
-            String sql = "SELECT name FROM projects";
-            try (Connection conn = DatabaseConnection.connect();
-                 Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery(sql)) {
-                
-                projectModel.setRowCount(0);
-                
-                while (rs.next()) {
-                    String name = rs.getString("name");
-                    projectModel.addRow(new Object[]{name});
-                }
-            }
-        } catch (SQLException ex) {
-            ex.printStackTrace();
-            JOptionPane.showMessageDialog(this,
-                "Error loading projects: " + ex.getMessage(),
-                "Database Error",
-                JOptionPane.ERROR_MESSAGE);
+        return screen;
+    }
+    
+    /**
+     * @brief Reloads the project table from the database
+     */
+    private void loadProjects() {
+        // Rows are streamed in as they are read; a reload drops the rows of the last one
+        if (projectLoad != null) {
+            projectLoad.cancel();
         }
+        projectModel.setRowCount(0);
+        projects.clear();
+        projectLoad = new QueryPublisher.TableModelSubscriber<>(projectModel,
+            project -> new Object[]{project.getName()},
+            projects::add,
+            ex -> {
+                if (ex != null) {
+                    ex.printStackTrace();
+                    JOptionPane.showMessageDialog(this,
+                        "Error loading projects: " + ex.getMessage(),
+                        "Database Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            });
+        QueryPublisher.projects().subscribe(projectLoad);
     }
     
     /**
@@ -959,16 +1131,24 @@ public class InventoryGUI extends JFrame {
      * - Show Database button
      */
     public void showExpenseLogging() {
-        contentPanel.removeAll();
-        contentPanel.setLayout(new BorderLayout());
-        contentPanel.setBackground(MODERN_BACKGROUND);
+        showScreen(EXPENSE_LOGGING);
+    }
+    
+    /**
+     * @brief Builds the expense logging screen
+     * 
+     * @return The expense logging panel
+     */
+    private JPanel buildExpenseLogging() {
+        JPanel screen = new JPanel(new BorderLayout());
+        screen.setBackground(MODERN_BACKGROUND);
         
         JPanel headerPanel = new JPanel();
         headerPanel.setBackground(MODERN_ACCENT);
         headerPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
         
         JLabel titleLabel = new JLabel("Expense Logging");
-        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        titleLabel.setFont(Theme.font(Font.BOLD, 24));
         titleLabel.setForeground(MODERN_TEXT);
         headerPanel.add(titleLabel);
         
@@ -986,15 +1166,10 @@ public class InventoryGUI extends JFrame {
         
         headerPanel.add(buttonPanel);
         
-        contentPanel.add(headerPanel, BorderLayout.NORTH);
+        screen.add(headerPanel, BorderLayout.NORTH);
         // Table and scrollPane REMOVED from main screen
         
-        mainPanel.removeAll();
-        mainPanel.add(contentPanel, BorderLayout.CENTER);
-        mainPanel.add(sideMenuPanel, BorderLayout.WEST);
-        
-        mainPanel.revalidate();
-        mainPanel.repaint();
+        return screen;
     }
     
     /**
@@ -1009,16 +1184,24 @@ public class InventoryGUI extends JFrame {
      * - Show Database button
      */
     public void showSalesTracker() {
-        contentPanel.removeAll();
-        contentPanel.setLayout(new BorderLayout());
-        contentPanel.setBackground(MODERN_BACKGROUND);
+        showScreen(SALES_TRACKER);
+    }
+    
+    /**
+     * @brief Builds the sales tracking screen
+     * 
+     * @return The sales tracking panel
+     */
+    private JPanel buildSalesTracker() {
+        JPanel screen = new JPanel(new BorderLayout());
+        screen.setBackground(MODERN_BACKGROUND);
         
         JPanel headerPanel = new JPanel();
         headerPanel.setBackground(new Color(46, 204, 113));
         headerPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
         
         JLabel titleLabel = new JLabel("Sales Tracker");
-        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        titleLabel.setFont(Theme.font(Font.BOLD, 24));
         titleLabel.setForeground(MODERN_TEXT);
         headerPanel.add(titleLabel);
         
@@ -1039,15 +1222,50 @@ public class InventoryGUI extends JFrame {
         
         headerPanel.add(buttonPanel);
         
-        contentPanel.add(headerPanel, BorderLayout.NORTH);
-        // Table and scrollPane REMOVED from main screen
+        String[] columns = {"Item", "Quantity", "Price", "Total"};
+        salesModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
         
-        mainPanel.removeAll();
-        mainPanel.add(contentPanel, BorderLayout.CENTER);
-        mainPanel.add(sideMenuPanel, BorderLayout.WEST);
+        salesTable = createStyledTable(salesModel);
+        salesSorter = IndexedRowSorter.install(salesTable, 0);
+        headerPanel.add(createSearchField(salesSorter));
+        JScrollPane scrollPane = new JScrollPane(salesTable);
+        scrollPane.getViewport().setBackground(TABLE_COLOR);
         
-        mainPanel.revalidate();
-        mainPanel.repaint();
+        screen.add(headerPanel, BorderLayout.NORTH);
+        screen.add(scrollPane, BorderLayout.CENTER);
+        
+        return screen;
+    }
+    
+    /**
+     * @brief Reloads the sales table from the database
+     */
+    private void loadSales() {
+        // The sales list is refilled row by row as the table is, so the profit sums what is shown
+        if (salesLoad != null) {
+            salesLoad.cancel();
+        }
+        salesModel.setRowCount(0);
+        sales.clear();
+        salesLoad = new QueryPublisher.TableModelSubscriber<>(salesModel,
+            sale -> new Object[]{sale.item(), sale.getQuantity(), sale.getPrice(),
+                Money.toDouble(sale.getTotalMinor())},
+            sales::add,
+            ex -> {
+                if (ex != null) {
+                    ex.printStackTrace();
+                    JOptionPane.showMessageDialog(this,
+                        "Error loading sales: " + ex.getMessage(),
+                        "Database Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            });
+        QueryPublisher.sales().subscribe(salesLoad);
     }
     
     /**
@@ -1076,6 +1294,7 @@ public class InventoryGUI extends JFrame {
         JTextField nameField = new JTextField();
         JTextField quantityField = new JTextField();
         JTextField costField = new JTextField();
+        Autocomplete.attach(nameField, PrefixTrie.of(materialNames()));
         
         JLabel nameLabel = new JLabel("Name:");
         nameLabel.setForeground(MODERN_TEXT);
@@ -1101,25 +1320,39 @@ public class InventoryGUI extends JFrame {
             try {
                 String name = nameField.getText();
                 int quantity = Integer.parseInt(quantityField.getText());
-                double cost = Double.parseDouble(costField.getText());
+                Money cost = Money.parse(costField.getText());
                 
                 if (!name.isEmpty()) {
-                    String sql = "INSERT INTO inventory (name, quantity, cost) VALUES (?, ?, ?)";
-        try (Connection conn = DatabaseConnection.connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-                        pstmt.setString(1, name);
-                        pstmt.setInt(2, quantity);
-                        pstmt.setDouble(3, cost);
-                        pstmt.executeUpdate();
-
-                        dialog.dispose();
-                        
-                        JOptionPane.showMessageDialog(this,
-                            "Material added successfully!",
-                            "Success",
-                            JOptionPane.INFORMATION_MESSAGE);
+                    // A known name is restocked; the item comes back holding the stored row
+                    InventoryItem item = new InventoryItem(name, quantity, cost);
+                    Inventory.addMaterialToDatabase(item);
+                    long id = item.getId();
+                    int stored = item.getQuantity();
+                    if (screens.isBuilt(MATERIAL_INVENTORY)) {
+                        InventoryItem known = Inventory.findById(inventory, id);
+                        if (known == null) {
+                            // Append rather than reload, so the table indexes move one row
+                            inventory.add(item);
+                            inventoryModel.addRow(new Object[]{name, stored, cost.toDouble(), id});
+                        } else {
+                            known.setQuantity(stored);
+                            known.setCostMinor(item.getCostMinor());
+                            known.setVersion(item.getVersion());
+                            for (int modelRow = 0; modelRow < inventoryModel.getRowCount(); modelRow++) {
+                                if (Long.valueOf(id).equals(inventoryModel.getValueAt(modelRow, 3))) {
+                                    inventoryModel.setValueAt(stored, modelRow, 1);
+                                    inventoryModel.setValueAt(cost.toDouble(), modelRow, 2);
+                                }
+                            }
+                        }
                     }
+
+                    dialog.dispose();
+                    
+                    JOptionPane.showMessageDialog(this,
+                        "Material added successfully!",
+                        "Success",
+                        JOptionPane.INFORMATION_MESSAGE);
                 } else {
                     JOptionPane.showMessageDialog(this,
                         "Please enter a material name.",
@@ -1177,7 +1410,11 @@ public class InventoryGUI extends JFrame {
             return;
         }
         
-        InventoryItem item = inventory.get(selectedRow);
+        int modelRow = inventoryTable.convertRowIndexToModel(selectedRow);
+        InventoryItem item = materialAt(modelRow);
+        if (item == null) {
+            return;
+        }
         
         JDialog dialog = new JDialog(this, "Edit Material", true);
         dialog.setLayout(new BorderLayout());
@@ -1189,7 +1426,7 @@ public class InventoryGUI extends JFrame {
         
         JTextField nameField = new JTextField(item.getName());
         JTextField quantityField = new JTextField(String.valueOf(item.getQuantity()));
-        JTextField costField = new JTextField(String.valueOf(item.getCost()));
+        JTextField costField = new JTextField(Money.format(item.getCostMinor()));
         
         JLabel nameLabel = new JLabel("Name:");
         nameLabel.setForeground(MODERN_TEXT);
@@ -1215,29 +1452,39 @@ public class InventoryGUI extends JFrame {
             try {
                 String name = nameField.getText();
                 int quantity = Integer.parseInt(quantityField.getText());
-                double cost = Double.parseDouble(costField.getText());
+                Money cost = Money.parse(costField.getText());
                 
                 if (!name.isEmpty()) {
-                    String sql = "UPDATE inventory SET name = ?, quantity = ?, cost = ? WHERE name = ?";
-                    try (Connection conn = DatabaseConnection.connect();
-                         PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                        
-                        pstmt.setString(1, name);
-                        pstmt.setInt(2, quantity);
-                        pstmt.setDouble(3, cost);
-                        pstmt.setString(4, item.getName());
-                        pstmt.executeUpdate();
-                        
-                        // Update local list
-                        item.setName(name);
-                        item.setQuantity(quantity);
-                        item.setCost(cost);
-                        
-                        refreshInventoryTable();
-                        dialog.dispose();
-                        
+                    // Updates the local item to the row as stored
+                    Inventory.EditResult result = Inventory.saveMaterialEdit(item, name, quantity, cost);
+                    dialog.dispose();
+                    if (result == Inventory.EditResult.MISSING) {
+                        inventory.remove(item);
+                        inventoryModel.removeRow(modelRow);
                         JOptionPane.showMessageDialog(this,
-                            "Material updated successfully!",
+                            "This material was removed on another terminal.",
+                            "Edit Conflict",
+                            JOptionPane.WARNING_MESSAGE);
+                        return;
+                    }
+                    
+                    // Update the one row, so the table indexes move only it
+                    inventoryModel.setValueAt(item.getName(), modelRow, 0);
+                    inventoryModel.setValueAt(item.getQuantity(), modelRow, 1);
+                    inventoryModel.setValueAt(item.getCost(), modelRow, 2);
+                    
+                    if (result == Inventory.EditResult.CONFLICT) {
+                        JOptionPane.showMessageDialog(this,
+                            "This material was changed on another terminal and was not updated.\n"
+                                + "The table now shows the saved values.",
+                            "Edit Conflict",
+                            JOptionPane.WARNING_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(this,
+                            result == Inventory.EditResult.MERGED
+                                ? "Material updated. It was changed on another terminal;\n"
+                                    + "your change was applied on top of it."
+                                : "Material updated successfully!",
                             "Success",
                             JOptionPane.INFORMATION_MESSAGE);
                     }
@@ -1295,7 +1542,11 @@ public class InventoryGUI extends JFrame {
             return;
         }
         
-        InventoryItem item = inventory.get(selectedRow);
+        int modelRow = inventoryTable.convertRowIndexToModel(selectedRow);
+        InventoryItem item = materialAt(modelRow);
+        if (item == null) {
+            return;
+        }
         
         int confirm = JOptionPane.showConfirmDialog(this,
             "Are you sure you want to delete this material?",
@@ -1304,22 +1555,16 @@ public class InventoryGUI extends JFrame {
             
         if (confirm == JOptionPane.YES_OPTION) {
             try {
-                String sql = "DELETE FROM inventory WHERE name = ?";
-                try (Connection conn = DatabaseConnection.connect();
-                     PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                    
-                    pstmt.setString(1, item.getName());
-                    pstmt.executeUpdate();
-                    
-                    // Remove from local list
-                    inventory.remove(selectedRow);
-                    refreshInventoryTable();
-                    
-                    JOptionPane.showMessageDialog(this,
-                        "Material deleted successfully!",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                }
+                Inventory.removeMaterialFromDatabase(item);
+                
+                // Remove from local list and the one table row
+                inventory.remove(item);
+                inventoryModel.removeRow(modelRow);
+                
+                JOptionPane.showMessageDialog(this,
+                    "Material deleted successfully!",
+                    "Success",
+                    JOptionPane.INFORMATION_MESSAGE);
             } catch (SQLException ex) {
                 ex.printStackTrace();
                 JOptionPane.showMessageDialog(this,
@@ -1346,11 +1591,33 @@ public class InventoryGUI extends JFrame {
             inventoryModel.addRow(new Object[]{
                 item.getName(),
                 item.getQuantity(),
-                item.getCost()
+                item.getCost(),
+                item.getId()
             });
         }
     }
     
+    /**
+     * @brief Returns the material shown in a row of the inventory model
+     * 
+     * The row carries the id of the material, so the match does not depend
+     * on the list and the model keeping the same order. A table whose model
+     * has no ID column falls back to the list index.
+     * 
+     * @param modelRow The row index in the model
+     * @return The material, or null if it is no longer in the list
+     */
+    private InventoryItem materialAt(int modelRow) {
+        TableModel model = inventoryTable.getModel();
+        for (int column = 0; column < model.getColumnCount(); column++) {
+            if ("ID".equals(model.getColumnName(column))) {
+                Object id = model.getValueAt(modelRow, column);
+                return id instanceof Number ? Inventory.findById(inventory, ((Number) id).longValue()) : null;
+            }
+        }
+        return modelRow < inventory.size() ? inventory.get(modelRow) : null;
+    }
+    
     /**
      * @brief Shows the dialog for adding new projects
      * 
@@ -1372,6 +1639,7 @@ public class InventoryGUI extends JFrame {
         formPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         
         JTextField nameField = new JTextField();
+        Autocomplete.attach(nameField, PrefixTrie.of(namesOf(projects)));
         
         JLabel nameLabel = new JLabel("Project Name:");
         nameLabel.setForeground(MODERN_TEXT);
@@ -1389,23 +1657,19 @@ public class InventoryGUI extends JFrame {
             String name = nameField.getText();
             if (!name.isEmpty()) {
                 try {
-                    String sql = "INSERT INTO projects (name) VALUES (?)";
-                    try (Connection conn = DatabaseConnection.connect();
-                         PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                        
-                        pstmt.setString(1, name);
-                        pstmt.executeUpdate();
-                        
-                        // Add to table
-                        projectModel.addRow(new Object[]{name});
-                        
-                        dialog.dispose();
-                        
-                        JOptionPane.showMessageDialog(this,
-                            "Project added successfully!",
-                            "Success",
-                            JOptionPane.INFORMATION_MESSAGE);
-                    }
+                    Project project = new Project(name);
+                    Inventory.addProjectToDatabase(project);
+                    
+                    // Add to the list and the table
+                    projects.add(project);
+                    projectModel.addRow(new Object[]{name});
+                    
+                    dialog.dispose();
+                    
+                    JOptionPane.showMessageDialog(this,
+                        "Project added successfully!",
+                        "Success",
+                        JOptionPane.INFORMATION_MESSAGE);
                 } catch (SQLException ex) {
                     ex.printStackTrace();
                     JOptionPane.showMessageDialog(this,
@@ -1486,6 +1750,7 @@ public class InventoryGUI extends JFrame {
         
         JTextField descriptionField = new JTextField();
         JTextField amountField = new JTextField();
+        Autocomplete.attach(descriptionField, PrefixTrie.of(namesOf(expenses)));
         
         JLabel descLabel = new JLabel("Description:");
         descLabel.setForeground(MODERN_TEXT);
@@ -1506,24 +1771,19 @@ public class InventoryGUI extends JFrame {
         addButton.addActionListener(e -> {
             try {
                 String description = descriptionField.getText();
-                double amount = Double.parseDouble(amountField.getText());
+                Money amount = Money.parse(amountField.getText());
                 
                 if (!description.isEmpty()) {
-                    String sql = "INSERT INTO expenses (description, amount) VALUES (?, ?)";
-        try (Connection conn = DatabaseConnection.connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-                        pstmt.setString(1, description);
-                        pstmt.setDouble(2, amount);
-                        pstmt.executeUpdate();
+                    Expense expense = new Expense(description, amount);
+                    Inventory.addExpenseToDatabase(expense);
+                    expenses.add(expense);
 
-                        dialog.dispose();
-                        
-                        JOptionPane.showMessageDialog(this,
-                            "Expense added successfully!",
-                            "Success",
-                            JOptionPane.INFORMATION_MESSAGE);
-                    }
+                    dialog.dispose();
+                    
+                    JOptionPane.showMessageDialog(this,
+                        "Expense added successfully!",
+                        "Success",
+                        JOptionPane.INFORMATION_MESSAGE);
                 } else {
                     JOptionPane.showMessageDialog(this,
                         "Please enter a description.",
@@ -1583,6 +1843,7 @@ public class InventoryGUI extends JFrame {
         JTextField itemField = new JTextField();
         JTextField quantityField = new JTextField();
         JTextField priceField = new JTextField();
+        Autocomplete.attach(itemField, PrefixTrie.of(materialNames()));
         
         JLabel itemLabel = new JLabel("Item:");
         itemLabel.setForeground(MODERN_TEXT);
@@ -1608,7 +1869,7 @@ public class InventoryGUI extends JFrame {
             try {
                 String item = itemField.getText();
                 int quantity = Integer.parseInt(quantityField.getText());
-                double price = Double.parseDouble(priceField.getText());
+                Money price = Money.parse(priceField.getText());
                 
                 if (!item.isEmpty()) {
                     try {
@@ -1628,7 +1889,8 @@ public class InventoryGUI extends JFrame {
                         }
                         
                         // Add to table
-                        salesModel.addRow(new Object[]{item, quantity, price, price * quantity});
+                        salesModel.addRow(new Object[]{item, quantity, price.toDouble(),
+                            Money.toDouble(sale.getTotalMinor())});
                         
                         dialog.dispose();
                         
@@ -1679,22 +1941,23 @@ public class InventoryGUI extends JFrame {
      * - Displays results in a dialog
      */
     public void calculateProfit() {
-        double totalSales = 0;
-        double totalExpenses = 0;
+        // Minor units add up exactly, without a Money per row
+        long totalSales = 0;
+        long totalExpenses = 0;
         
         for (Sale sale : sales) {
-            totalSales += sale.getPrice() * sale.getQuantity();
+            totalSales = Money.add(totalSales, sale.getTotalMinor());
         }
         
         for (Expense expense : expenses) {
-            totalExpenses += expense.getAmount();
+            totalExpenses = Money.add(totalExpenses, expense.getAmountMinor());
         }
         
-        double profit = totalSales - totalExpenses;
+        long profit = Money.subtract(totalSales, totalExpenses);
         
         JOptionPane.showMessageDialog(this,
-            String.format("Total Sales: %.2f TL\nTotal Expenses: %.2f TL\nProfit: %.2f TL",
-                totalSales, totalExpenses, profit),
+            "Total Sales: " + Money.format(totalSales) + " TL\nTotal Expenses: " + Money.format(totalExpenses)
+                + " TL\nProfit: " + Money.format(profit) + " TL",
             "Profit Calculation",
             JOptionPane.INFORMATION_MESSAGE);
     }
@@ -1716,7 +1979,7 @@ public class InventoryGUI extends JFrame {
                 sale.item(),
                 sale.getQuantity(),
                 sale.getPrice(),
-                sale.getPrice() * sale.getQuantity()
+                Money.toDouble(sale.getTotalMinor())
             });
         }
     }
@@ -1737,9 +2000,9 @@ public class InventoryGUI extends JFrame {
      */
     private JButton createMenuButton(String text) {
         JButton button = new JButton(text);
-        button.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        button.setFont(Theme.font(Font.PLAIN, 14));
         button.setForeground(Color.WHITE);
-        button.setBackground(new Color(52, 73, 94));
+        button.setBackground(PANEL_COLOR);
         button.setBorderPainted(false);
         button.setFocusPainted(false);
         button.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -1748,11 +2011,11 @@ public class InventoryGUI extends JFrame {
         
         button.addMouseListener(new MouseAdapter() {
             public void mouseEntered(MouseEvent evt) {
-                button.setBackground(new Color(41, 128, 185));
+                button.setBackground(PRIMARY_COLOR);
             }
             
             public void mouseExited(MouseEvent evt) {
-                button.setBackground(new Color(52, 73, 94));
+                button.setBackground(PANEL_COLOR);
             }
         });
         
@@ -1775,31 +2038,9 @@ public class InventoryGUI extends JFrame {
      * - Press effects
      */
     private JButton createStyledButton(String text, Color color) {
-        JButton button = new JButton(text) {
-            @Override
-            protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                if (getModel().isPressed()) {
-                    g2d.setColor(color.darker());
-                } else if (getModel().isRollover()) {
-                    g2d.setColor(color.brighter());
-                } else {
-                    g2d.setColor(color);
-                }
-                
-                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 15, 15);
-                
-                g2d.setColor(Color.WHITE);
-                FontMetrics metrics = g2d.getFontMetrics();
-                int x = (getWidth() - metrics.stringWidth(getText())) / 2;
-                int y = ((getHeight() - metrics.getHeight()) / 2) + metrics.getAscent();
-                g2d.drawString(getText(), x, y);
-            }
-        };
+        JButton button = new Theme.RoundedButton(text, color);
         
-        button.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        button.setFont(Theme.font(Font.BOLD, 14));
         button.setForeground(Color.WHITE);
         button.setBorderPainted(false);
         button.setContentAreaFilled(false);
@@ -1826,18 +2067,8 @@ public class InventoryGUI extends JFrame {
      * - Custom font
      */
     private JButton createDashboardButton(String title, Color color) {
-        JButton button = new JButton(title) {
-            @Override
-            protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                GradientPaint gp = new GradientPaint(0, 0, color, 0, getHeight(), color.darker());
-                g2d.setPaint(gp);
-                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 30, 30);
-                super.paintComponent(g);
-            }
-        };
-        button.setFont(new Font("Segoe UI", Font.BOLD, 28));
+        JButton button = new Theme.GradientButton(title, color);
+        button.setFont(Theme.font(Font.BOLD, 28));
         button.setForeground(Color.WHITE);
         button.setContentAreaFilled(false);
         button.setFocusPainted(false);
@@ -1862,16 +2093,26 @@ public class InventoryGUI extends JFrame {
      * - Clear button
      */
     public void showDatabaseManager() {
-        contentPanel.removeAll();
-        contentPanel.setLayout(new BorderLayout());
-        contentPanel.setBackground(MODERN_BACKGROUND);
+        // Counts come from TableStatistics, so reloading them costs nothing
+        screens.invalidate(DATABASE_MANAGER);
+        showScreen(DATABASE_MANAGER);
+    }
+    
+    /**
+     * @brief Builds the database manager screen
+     * 
+     * @return The database manager panel
+     */
+    private JPanel buildDatabaseManager() {
+        JPanel screen = new JPanel(new BorderLayout());
+        screen.setBackground(MODERN_BACKGROUND);
         
         JPanel headerPanel = new JPanel();
         headerPanel.setBackground(new Color(155, 89, 182)); // Purple color for DB Manager
         headerPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
         
         JLabel titleLabel = new JLabel("Database Manager");
-        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        titleLabel.setFont(Theme.font(Font.BOLD, 24));
         titleLabel.setForeground(MODERN_TEXT);
         headerPanel.add(titleLabel);
         
@@ -1881,8 +2122,19 @@ public class InventoryGUI extends JFrame {
         JButton backupButton = createStyledButton("Backup DB", MODERN_PRIMARY);
         JButton restoreButton = createStyledButton("Restore DB", MODERN_SECONDARY);
         JButton clearButton = createStyledButton("Clear DB", MODERN_ACCENT);
-        
-        
+        JButton searchButton = createStyledButton("Search", MODERN_SECONDARY);
+        JButton importButton = createStyledButton("Import CSV", MODERN_PRIMARY);
+        JButton exportButton = createStyledButton("Export", MODERN_PRIMARY);
+        
+        searchButton.addActionListener(e -> showSearchDialog());
+        importButton.addActionListener(e -> showImportDialog());
+        exportButton.addActionListener(e -> showExportDialog());
+        backupButton.addActionListener(e -> showBackupDialog());
+        restoreButton.addActionListener(e -> showRestoreDialog());
+        
+        buttonPanel.add(searchButton);
+        buttonPanel.add(importButton);
+        buttonPanel.add(exportButton);
         buttonPanel.add(backupButton);
         buttonPanel.add(restoreButton);
         buttonPanel.add(clearButton);
@@ -1891,7 +2143,7 @@ public class InventoryGUI extends JFrame {
         
         // Create table to show database tables
         String[] columns = {"Table Name", "Record Count"};
-        DefaultTableModel dbModel = new DefaultTableModel(columns, 0) {
+        dbModel = new DefaultTableModel(columns, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
             return false;
@@ -1903,22 +2155,20 @@ public class InventoryGUI extends JFrame {
         dbTable.setGridColor(TABLE_HEADER_COLOR);
         dbTable.getTableHeader().setBackground(TABLE_HEADER_COLOR);
         dbTable.getTableHeader().setForeground(TABLE_TEXT_COLOR);
-        dbTable.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        dbTable.setFont(Theme.font(Font.PLAIN, 14));
         
         JScrollPane scrollPane = new JScrollPane(dbTable);
         scrollPane.getViewport().setBackground(TABLE_COLOR);
         
-        contentPanel.add(headerPanel, BorderLayout.NORTH);
-        contentPanel.add(scrollPane, BorderLayout.CENTER);
+        statementStatsLabel = new JLabel();
+        statementStatsLabel.setForeground(TABLE_TEXT_COLOR);
+        statementStatsLabel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
         
-        mainPanel.removeAll();
-        mainPanel.add(contentPanel, BorderLayout.CENTER);
-        mainPanel.add(sideMenuPanel, BorderLayout.WEST);
+        screen.add(headerPanel, BorderLayout.NORTH);
+        screen.add(scrollPane, BorderLayout.CENTER);
+        screen.add(statementStatsLabel, BorderLayout.SOUTH);
         
-        mainPanel.revalidate();
-        mainPanel.repaint();
-        
-        loadDatabaseInfo(dbModel);
+        return screen;
     }
     
     /**
@@ -1930,24 +2180,24 @@ public class InventoryGUI extends JFrame {
      * 
      * @details The method:
      * - Clears existing data
-     * - Queries database for table information
+     * - Reads the row counts kept by TableStatistics, so no table is scanned
      * - Updates the table display
+     * - Shows the hit rate of the prepared statement caches
      */
     private void loadDatabaseInfo(DefaultTableModel model) {
         model.setRowCount(0);
         try {
-            String[] tables = {"users", "inventory", "projects", "project_materials", "expenses", "sales"};
-            try (Connection conn = DatabaseConnection.connect();
-                 Statement stmt = conn.createStatement()) {
-                
-                for (String table : tables) {
-                    ResultSet rs = stmt.executeQuery("SELECT COUNT(*) as count FROM " + table);
-                    if (rs.next()) {
-                        int count = rs.getInt("count");
-                        model.addRow(new Object[]{table, count});
-                    }
-                }
+            for (Map.Entry<String, Long> entry : TableStatistics.rowCounts().entrySet()) {
+                model.addRow(new Object[]{entry.getKey(), entry.getValue()});
             }
+            DatabaseExecutor database = DatabaseExecutor.shared();
+            LruCache.Stats stats = database.statementStats();
+            DatabaseExecutor.QueueStats interactive = database.queueStats(DatabaseExecutor.Priority.INTERACTIVE);
+            DatabaseExecutor.QueueStats batch = database.queueStats(DatabaseExecutor.Priority.BATCH);
+            statementStatsLabel.setText(String.format("Statement cache: %.0f%% hits (%d hits, %d misses, %d cached)"
+                + "  |  Queued: %d interactive, %d batch (longest waits %.0f ms, %.0f ms)",
+                stats.hitRate() * 100, stats.hits, stats.misses, stats.size, interactive.queued, batch.queued,
+                interactive.maxWaitNanos / 1e6, batch.maxWaitNanos / 1e6));
         } catch (SQLException e) {
             e.printStackTrace();
             JOptionPane.showMessageDialog(this,
@@ -1980,7 +2230,7 @@ public class InventoryGUI extends JFrame {
         headerPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
         
         JLabel titleLabel = new JLabel(moduleName + " Database");
-        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        titleLabel.setFont(Theme.font(Font.BOLD, 24));
         titleLabel.setForeground(MODERN_TEXT);
         headerPanel.add(titleLabel);
         
@@ -1995,7 +2245,7 @@ public class InventoryGUI extends JFrame {
         table.setGridColor(TABLE_HEADER_COLOR);
         table.getTableHeader().setBackground(TABLE_HEADER_COLOR);
         table.getTableHeader().setForeground(TABLE_TEXT_COLOR);
-        table.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        table.setFont(Theme.font(Font.PLAIN, 14));
         
         JButton refreshButton = createStyledButton("Refresh", MODERN_PRIMARY);
         JButton closeButton = createStyledButton("Close", MODERN_ACCENT);
@@ -2038,30 +2288,20 @@ public class InventoryGUI extends JFrame {
     private void loadTableData(DefaultTableModel model, String tableName) {
         model.setRowCount(0);
         try {
-            try (Connection conn = DatabaseConnection.connect();
-                 Statement stmt = conn.createStatement()) {
-                
-                // Get column names
-                ResultSet rs = stmt.executeQuery("SELECT * FROM " + tableName + " LIMIT 1");
-                java.sql.ResultSetMetaData metaData = rs.getMetaData();
-                int columnCount = metaData.getColumnCount();
-                
-                // Set column names
-                String[] columns = new String[columnCount];
-                for (int i = 1; i <= columnCount; i++) {
-                    columns[i-1] = metaData.getColumnName(i);
-                }
-                model.setColumnIdentifiers(columns);
-                
-                // Get all data
-                rs = stmt.executeQuery("SELECT * FROM " + tableName);
-                while (rs.next()) {
-                    Object[] row = new Object[columnCount];
-                    for (int i = 1; i <= columnCount; i++) {
-                        row[i-1] = rs.getObject(i);
-                    }
-                    model.addRow(row);
+            List<Object[]> rows = new ArrayList<>();
+            // The Database Manager is bulk work: it must not hold up sales
+            String[] columns = DatabaseExecutor.await(DatabaseExecutor.shared().read(
+                    DatabaseExecutor.Priority.BATCH, conn -> {
+                try (PreparedStatement pstmt = StatementCache.prepare(conn, "SELECT * FROM " + tableName);
+                     ResultSet rs = pstmt.executeQuery()) {
+                    // Each column's getter is chosen once; money is shown in major units
+                    rows.addAll(RowMappers.list(rs, RowMappers.cells(tableName)));
+                    return RowMappers.columnNames(rs);
                 }
+            }));
+            model.setColumnIdentifiers(columns);
+            for (Object[] row : rows) {
+                model.addRow(row);
             }
         } catch (SQLException e) {
         }
@@ -2077,26 +2317,16 @@ public class InventoryGUI extends JFrame {
      * 
      * @details The table styling includes:
      * - Custom fonts
-     * - Alternating row colors
+     * - Alternating row colors, painted by the TableRenderers cell renderers
+     * - Fixed row height
      * - Custom header styling
      * - Selection colors
      */
     public JTable createStyledTable(DefaultTableModel model) {
-        JTable table = new JTable(model) {
-            @Override
-            public Component prepareRenderer(TableCellRenderer renderer, int row, int column) {
-                Component comp = super.prepareRenderer(renderer, row, column);
-                
-                if (!isRowSelected(row)) {
-                    comp.setBackground(row % 2 == 0 ? MODERN_PANEL : MODERN_BACKGROUND);
-                    comp.setForeground(MODERN_TEXT);
-                }
-                
-                return comp;
-            }
-        };
+        JTable table = new JTable(model);
+        TableRenderers.install(table, MODERN_PANEL, MODERN_BACKGROUND, MODERN_TEXT);
         
-        table.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        table.setFont(Theme.font(Font.PLAIN, 14));
         table.setRowHeight(30);
         table.setShowGrid(false);
         table.setIntercellSpacing(new Dimension(0, 0));
@@ -2105,7 +2335,7 @@ public class InventoryGUI extends JFrame {
         
         // Style header
         JTableHeader header = table.getTableHeader();
-        header.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        header.setFont(Theme.font(Font.BOLD, 14));
         header.setBackground(MODERN_PRIMARY);
         header.setForeground(Color.WHITE);
         header.setPreferredSize(new Dimension(header.getWidth(), 40));
@@ -2127,20 +2357,9 @@ public class InventoryGUI extends JFrame {
      * - Padding
      */
     public JTextField createStyledTextField() {
-        JTextField field = new JTextField() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                g2d.setColor(MODERN_PANEL);
-                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 10, 10);
-                
-                super.paintComponent(g);
-            }
-        };
+        JTextField field = new Theme.RoundedTextField(MODERN_PANEL);
         
-        field.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        field.setFont(Theme.font(Font.PLAIN, 14));
         field.setForeground(MODERN_TEXT);
         field.setCaretColor(MODERN_TEXT);
         field.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
@@ -2149,6 +2368,420 @@ public class InventoryGUI extends JFrame {
         return field;
     }
     
+    /**
+     * @brief Creates a search field that filters a table as the user types
+     * 
+     * @param sorter The sorter of the table to filter
+     * @return JTextField The search field
+     * 
+     * @details The search matches the start of the name column, ignoring
+     * case, and runs once typing pauses.
+     */
+    private JTextField createSearchField(IndexedRowSorter sorter) {
+        JTextField field = createStyledTextField();
+        field.setColumns(15);
+        field.setToolTipText("Search by name");
+        sorter.bindSearch(field);
+        return field;
+    }
+    
+    /**
+     * @brief Shows the search dialog for materials, projects and expenses
+     * 
+     * Searches the full-text index as the user types and lists the matches,
+     * best first. The search field also completes whole names.
+     * 
+     * @details The search dialog includes:
+     * - Search field with name completion
+     * - Results table (source, name, score)
+     * - Close button
+     */
+    private void showSearchDialog() {
+        JDialog dialog = new JDialog(this, "Search", true);
+        dialog.setLayout(new BorderLayout());
+        dialog.getContentPane().setBackground(MODERN_BACKGROUND);
+        
+        JTextField searchField = createStyledTextField();
+        searchField.setColumns(30);
+        List<String> names = new ArrayList<>(materialNames());
+        names.addAll(namesOf(projects));
+        names.addAll(namesOf(expenses));
+        Autocomplete.attach(searchField, PrefixTrie.of(names));
+        
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        searchPanel.setBackground(MODERN_PANEL);
+        JLabel searchLabel = new JLabel("Search:");
+        searchLabel.setForeground(MODERN_TEXT);
+        searchPanel.add(searchLabel);
+        searchPanel.add(searchField);
+        
+        String[] columns = {"Source", "Name", "Score"};
+        DefaultTableModel resultModel = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable resultTable = createStyledTable(resultModel);
+        JScrollPane scrollPane = new JScrollPane(resultTable);
+        scrollPane.getViewport().setBackground(TABLE_COLOR);
+        
+        IndexedRowSorter.onTypingPause(searchField, () -> {
+            try {
+                List<Object[]> rows = new ArrayList<>();
+                for (SearchIndex.Result result : SearchIndex.search(searchField.getText(), SearchIndex.DEFAULT_LIMIT)) {
+                    // bm25 is negative, better matches more so; show a positive score
+                    rows.add(new Object[]{result.table, result.name, -result.rank});
+                }
+                replaceRows(resultModel, rows);
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+            }
+        });
+        
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.setBackground(MODERN_PANEL);
+        JButton closeButton = createStyledButton("Close", MODERN_ACCENT);
+        closeButton.addActionListener(e -> dialog.dispose());
+        buttonPanel.add(closeButton);
+        
+        dialog.add(searchPanel, BorderLayout.NORTH);
+        dialog.add(scrollPane, BorderLayout.CENTER);
+        dialog.add(buttonPanel, BorderLayout.SOUTH);
+        
+        dialog.setSize(600, 450);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+    
+    /**
+     * @brief Saves every table to a snapshot file
+     * 
+     * Asks for the file, then reads the tables and writes them as a
+     * Snapshot in the background.
+     */
+    private void showBackupDialog() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Inventory snapshots", SNAPSHOT_EXTENSION));
+        chooser.setSelectedFile(new File("inventory-backup." + SNAPSHOT_EXTENSION));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+        
+        new SwingWorker<Snapshot, Void>() {
+            @Override
+            protected Snapshot doInBackground() throws Exception {
+                Snapshot snapshot = Snapshot.load(DatabaseExecutor.shared());
+                snapshot.write(file);
+                return snapshot;
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    JOptionPane.showMessageDialog(InventoryGUI.this,
+                        "Saved " + describe(get()) + " to " + file.getFileName() + ".",
+                        "Backup DB",
+                        JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException | ExecutionException ex) {
+                    ex.printStackTrace();
+                    JOptionPane.showMessageDialog(InventoryGUI.this,
+                        "Backup failed: " + ex.getCause().getMessage(),
+                        "Backup Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
+    /**
+     * @brief Replaces every table with the content of a snapshot file
+     * 
+     * Asks for the file and a confirmation, then writes the snapshot to the
+     * database in the background. Files written by the old serialization
+     * code are read as well. The module screens reload afterwards.
+     */
+    private void showRestoreDialog() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Inventory snapshots", SNAPSHOT_EXTENSION, "bin"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+        int choice = JOptionPane.showConfirmDialog(this,
+            "Replace every table with the content of " + file.getFileName() + "?",
+            "Restore DB",
+            JOptionPane.OK_CANCEL_OPTION,
+            JOptionPane.WARNING_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) {
+            return;
+        }
+        
+        new SwingWorker<Snapshot, Void>() {
+            @Override
+            protected Snapshot doInBackground() throws Exception {
+                Snapshot snapshot = Snapshot.read(file);
+                snapshot.store(DatabaseExecutor.shared());
+                InventoryCache.invalidateAll();
+                TableStatistics.reconcile();
+                return snapshot;
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    Snapshot snapshot = get();
+                    Inventory.usersLoaded = false;
+                    JOptionPane.showMessageDialog(InventoryGUI.this,
+                        "Restored " + describe(snapshot) + " from " + file.getFileName() + ".",
+                        "Restore DB",
+                        JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException | ExecutionException ex) {
+                    ex.printStackTrace();
+                    JOptionPane.showMessageDialog(InventoryGUI.this,
+                        "Restore failed, the database was not changed: " + ex.getCause().getMessage(),
+                        "Restore Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+                for (String screen : new String[]{MATERIAL_INVENTORY, PROJECT_TRACKING, EXPENSE_LOGGING,
+                        SALES_TRACKER}) {
+                    screens.invalidate(screen);
+                }
+                loadDatabaseInfo(dbModel);
+            }
+        }.execute();
+    }
+    
+    /**
+     * @brief Summarizes the records of a snapshot for a message
+     * 
+     * @param snapshot The snapshot
+     * @return For example "2 users, 10 materials, 1 projects, 3 expenses and 5 sales"
+     */
+    private static String describe(Snapshot snapshot) {
+        return snapshot.users.size() + " users, " + snapshot.inventory.size() + " materials, "
+            + snapshot.projects.size() + " projects, " + snapshot.expenses.size() + " expenses and "
+            + snapshot.sales.size() + " sales";
+    }
+    
+    /**
+     * @brief Imports a CSV file into the inventory, sales or expenses table
+     * 
+     * Asks for the file and the table, then imports in the background while
+     * a progress dialog shows how much of the file has been read. When the
+     * import ends, the counts and the first rejected rows are shown.
+     * 
+     * @details The import:
+     * - Reads the file in a SwingWorker, off the event dispatch thread
+     * - Updates the progress bar after every inserted batch
+     * - Rebuilds the affected screen and refreshes the table statistics
+     */
+    private void showImportDialog() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV files", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        CsvImporter.Target target = (CsvImporter.Target) JOptionPane.showInputDialog(this,
+            "Import into which table?", "Import CSV", JOptionPane.QUESTION_MESSAGE, null,
+            CsvImporter.Target.values(), CsvImporter.Target.INVENTORY);
+        if (target == null) {
+            return;
+        }
+        Path file = chooser.getSelectedFile().toPath();
+        
+        JDialog dialog = new JDialog(this, "Importing " + file.getFileName(), false);
+        dialog.setLayout(new BorderLayout(10, 10));
+        dialog.getContentPane().setBackground(MODERN_BACKGROUND);
+        JProgressBar progressBar = new JProgressBar(0, 1000);
+        progressBar.setStringPainted(true);
+        JLabel rowsLabel = new JLabel("0 rows imported");
+        rowsLabel.setForeground(MODERN_TEXT);
+        dialog.add(progressBar, BorderLayout.CENTER);
+        dialog.add(rowsLabel, BorderLayout.SOUTH);
+        dialog.setSize(400, 100);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+        
+        new SwingWorker<CsvImporter.Result, long[]>() {
+            @Override
+            protected CsvImporter.Result doInBackground() throws Exception {
+                return CsvImporter.importFile(file, target,
+                    (read, total, rows) -> publish(new long[]{read, total, rows}));
+            }
+            
+            @Override
+            protected void process(List<long[]> chunks) {
+                long[] last = chunks.get(chunks.size() - 1);
+                progressBar.setValue(last[1] == 0 ? 1000 : (int) (last[0] * 1000 / last[1]));
+                rowsLabel.setText(last[2] + " rows imported");
+            }
+            
+            @Override
+            protected void done() {
+                dialog.dispose();
+                try {
+                    CsvImporter.Result result = get();
+                    JOptionPane.showMessageDialog(InventoryGUI.this,
+                        String.join("\n", CsvImporter.describe(result, 10)),
+                        "Import CSV",
+                        result.rejected == 0 ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+                } catch (InterruptedException | ExecutionException ex) {
+                    ex.printStackTrace();
+                    JOptionPane.showMessageDialog(InventoryGUI.this,
+                        "Import failed: " + ex.getCause().getMessage(),
+                        "Import Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+                screens.invalidate(target == CsvImporter.Target.INVENTORY ? MATERIAL_INVENTORY
+                    : target == CsvImporter.Target.SALES ? SALES_TRACKER : EXPENSE_LOGGING);
+                loadDatabaseInfo(dbModel);
+            }
+        }.execute();
+    }
+    
+    /**
+     * @brief Exports a table to a CSV or JSON file
+     * 
+     * Asks for the table and the file, then streams the table to the file in
+     * the background while a progress dialog counts the rows written. The
+     * format follows the chosen file type; the checkbox in the file chooser
+     * compresses the file with gzip.
+     * 
+     * @details The export:
+     * - Reads the table through a forward-only cursor, off the event dispatch thread
+     * - Sizes the progress bar from the TableStatistics row count
+     * - Reports the number of rows written when it ends
+     */
+    private void showExportDialog() {
+        String table = (String) JOptionPane.showInputDialog(this,
+            "Export which table?", "Export", JOptionPane.QUESTION_MESSAGE, null,
+            TableStatistics.TABLES, TableStatistics.TABLES[1]);
+        if (table == null) {
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        FileNameExtensionFilter csvFilter = new FileNameExtensionFilter("CSV files", "csv");
+        FileNameExtensionFilter jsonFilter = new FileNameExtensionFilter("JSON files", "json");
+        chooser.addChoosableFileFilter(csvFilter);
+        chooser.addChoosableFileFilter(jsonFilter);
+        chooser.setFileFilter(csvFilter);
+        chooser.setSelectedFile(new File(table + ".csv"));
+        JCheckBox gzipBox = new JCheckBox("Compress (gzip)");
+        chooser.setAccessory(gzipBox);
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        TableExporter.Format format = chooser.getFileFilter() == jsonFilter
+            ? TableExporter.Format.JSON : TableExporter.Format.forFile(chooser.getSelectedFile().toPath());
+        String name = chooser.getSelectedFile().getPath();
+        if (!name.toLowerCase().endsWith("." + format.extension)) {
+            name = name.replaceFirst("\\.(?i)(csv|json)$", "") + "." + format.extension;
+        }
+        boolean gzip = gzipBox.isSelected();
+        Path file = Paths.get(gzip ? name + ".gz" : name);
+        
+        long total;
+        try {
+            total = TableStatistics.rowCounts().get(table);
+        } catch (SQLException ex) {
+            total = 0;
+        }
+        JDialog dialog = new JDialog(this, "Exporting " + table, false);
+        dialog.setLayout(new BorderLayout(10, 10));
+        dialog.getContentPane().setBackground(MODERN_BACKGROUND);
+        JProgressBar progressBar = new JProgressBar(0, (int) Math.max(1, Math.min(total, Integer.MAX_VALUE)));
+        progressBar.setIndeterminate(total == 0);
+        JLabel rowsLabel = new JLabel("0 rows exported");
+        rowsLabel.setForeground(MODERN_TEXT);
+        dialog.add(progressBar, BorderLayout.CENTER);
+        dialog.add(rowsLabel, BorderLayout.SOUTH);
+        dialog.setSize(400, 100);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+        
+        new SwingWorker<Long, Long>() {
+            @Override
+            protected Long doInBackground() throws Exception {
+                return TableExporter.export(table, format, file, gzip, this::publish);
+            }
+            
+            @Override
+            protected void process(List<Long> chunks) {
+                long rows = chunks.get(chunks.size() - 1);
+                progressBar.setValue((int) Math.min(rows, progressBar.getMaximum()));
+                rowsLabel.setText(rows + " rows exported");
+            }
+            
+            @Override
+            protected void done() {
+                dialog.dispose();
+                try {
+                    JOptionPane.showMessageDialog(InventoryGUI.this,
+                        "Exported " + get() + " rows to " + file,
+                        "Export",
+                        JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException | ExecutionException ex) {
+                    ex.printStackTrace();
+                    JOptionPane.showMessageDialog(InventoryGUI.this,
+                        "Export failed: " + ex.getCause().getMessage(),
+                        "Export Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
+    /**
+     * @brief Returns the names of records, for completing dialog fields
+     * 
+     * @param records The materials, projects or expenses
+     * @return Their names
+     */
+    private static List<String> namesOf(List<? extends Record> records) {
+        List<String> names = new ArrayList<>(records.size());
+        for (Record record : records) {
+            names.add(record.getName());
+        }
+        return names;
+    }
+    
+    /**
+     * @brief Returns every material name, from the inventory cache
+     * 
+     * @return The material names; the loaded list if the database is unreadable
+     */
+    private List<String> materialNames() {
+        try {
+            return namesOf(InventoryCache.all());
+        } catch (SQLException ex) {
+            ex.printStackTrace();
+            return namesOf(inventory);
+        }
+    }
+    
+    /**
+     * @brief Replaces every row of a table model with one change event
+     * 
+     * Adding rows one at a time fires an event per row, and every event moves
+     * a row in the table's sort indexes; a single data-changed event lets the
+     * sorter rebuild them once.
+     * 
+     * @param model The table model
+     * @param rows The new rows
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void replaceRows(DefaultTableModel model, List<Object[]> rows) {
+        Vector<Vector> data = model.getDataVector();
+        data.clear();
+        data.ensureCapacity(rows.size());
+        for (Object[] row : rows) {
+            data.add(new Vector<>(Arrays.asList(row)));
+        }
+        model.fireTableDataChanged();
+    }
+    
     /**
      * @brief Creates a styled password field with custom appearance
      * 
@@ -2163,20 +2796,9 @@ public class InventoryGUI extends JFrame {
      * - Padding
      */
     public JPasswordField createStyledPasswordField() {
-        JPasswordField field = new JPasswordField() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                g2d.setColor(MODERN_PANEL);
-                g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 10, 10);
-                
-                super.paintComponent(g);
-            }
-        };
+        JPasswordField field = new Theme.RoundedPasswordField(MODERN_PANEL);
         
-        field.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        field.setFont(Theme.font(Font.PLAIN, 14));
         field.setForeground(MODERN_TEXT);
         field.setCaretColor(MODERN_TEXT);
         field.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
@@ -2199,11 +2821,13 @@ public class InventoryGUI extends JFrame {
      * - Starts the application
      */
     public static void main(String[] args) {
+        StartupProfiler.configure(args);
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
             e.printStackTrace();
         }
+        StartupProfiler.mark("look and feel");
         SwingUtilities.invokeLater(() -> new InventoryGUI());
     }
 }
\ No newline at end of file
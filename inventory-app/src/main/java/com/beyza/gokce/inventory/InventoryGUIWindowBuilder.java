@@ -14,6 +14,7 @@ package com.beyza.gokce.inventory;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableCellRenderer;
 import java.awt.*;
@@ -385,12 +386,12 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		loadLogo();
 
 		JLabel welcomeLabel = new JLabel("INVENTORY MANAGEMENT SYSTEM");
-		welcomeLabel.setFont(new Font("Segoe UI", Font.BOLD, 28));
+		welcomeLabel.setFont(Theme.font(Font.BOLD, 28));
 		welcomeLabel.setForeground(MODERN_PRIMARY);
 		welcomeLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
 		JLabel subTitleLabel = new JLabel("Manage your system efficiently");
-		subTitleLabel.setFont(new Font("Segoe UI", Font.ITALIC, 18));
+		subTitleLabel.setFont(Theme.font(Font.ITALIC, 18));
 		subTitleLabel.setForeground(MODERN_TEXT);
 		subTitleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
@@ -411,7 +412,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		registerButton.setBorderPainted(false);
 		registerButton.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
 		registerButton.setForeground(new Color(255, 255, 255));
-		registerButton.setFont(new Font("Segoe UI", Font.BOLD, 14));
+		registerButton.setFont(Theme.font(Font.BOLD, 14));
 		registerButton.setBackground(new Color(26, 188, 156));
 		styleButton(registerButton, MODERN_SECONDARY);
 		registerButton.addActionListener(new java.awt.event.ActionListener() {
@@ -422,7 +423,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 
 		guestButton = new JButton("Guest Mode");
 		guestButton.setForeground(new Color(255, 255, 255));
-		guestButton.setFont(new Font("Segoe UI", Font.BOLD, 14));
+		guestButton.setFont(Theme.font(Font.BOLD, 14));
 		guestButton.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
 		guestButton.setBorderPainted(false);
 		guestButton.setBackground(new Color(26, 188, 156));
@@ -464,15 +465,16 @@ public class InventoryGUIWindowBuilder extends JFrame {
 	 * This styling ensures a consistent and professional appearance across all buttons in the application.
 	 */
 	private void styleButton(JButton button, Color color) {
-		button.setFont(new Font("Segoe UI", Font.BOLD, 14));
+		button.setFont(Theme.font(Font.BOLD, 14));
 		button.setForeground(Color.WHITE);
 		button.setBackground(color);
 		button.setFocusPainted(false);
 		button.setBorderPainted(false);
 		button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+		Color rollover = Theme.palette(color).rollover;
 		button.addMouseListener(new java.awt.event.MouseAdapter() {
 			public void mouseEntered(java.awt.event.MouseEvent evt) {
-				button.setBackground(color.brighter());
+				button.setBackground(rollover);
 			}
 			public void mouseExited(java.awt.event.MouseEvent evt) {
 				button.setBackground(color);
@@ -501,12 +503,12 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		formPanel.setMaximumSize(new Dimension(400, 150));
 		
 		JLabel usernameLabel = new JLabel("Username:");
-		usernameLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+		usernameLabel.setFont(Theme.font(Font.PLAIN, 14));
 		usernameField = new JTextField(); 
 		usernameField.setPreferredSize(new Dimension(200, 30));
 		
 		JLabel passwordLabel = new JLabel("Password:");
-		passwordLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+		passwordLabel.setFont(Theme.font(Font.PLAIN, 14));
 		passwordField = new JPasswordField();
 		passwordField.setPreferredSize(new Dimension(200, 30));
 		
@@ -572,7 +574,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		contentPanel.setBorder(BorderFactory.createEmptyBorder(50, 100, 50, 100));
 		
 		JLabel titleLabel = new JLabel("Register");
-		titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 28));
+		titleLabel.setFont(Theme.font(Font.BOLD, 28));
 		titleLabel.setForeground(MODERN_PRIMARY);
 		titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 		
@@ -583,17 +585,17 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		formPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
 		
 		JLabel usernameLabel = new JLabel("Username:");
-		usernameLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+		usernameLabel.setFont(Theme.font(Font.PLAIN, 16));
 		JTextField usernameField = new JTextField();
 		usernameField.setPreferredSize(new Dimension(200, 30));
 		
 		JLabel passwordLabel = new JLabel("Password:");
-		passwordLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+		passwordLabel.setFont(Theme.font(Font.PLAIN, 16));
 		JPasswordField passwordField = new JPasswordField();
 		passwordField.setPreferredSize(new Dimension(200, 30));
 		
 		JLabel confirmPasswordLabel = new JLabel("Confirm Password:");
-		confirmPasswordLabel.setFont(new Font("Segoe UI", Font.PLAIN, 16));
+		confirmPasswordLabel.setFont(Theme.font(Font.PLAIN, 16));
 		JPasswordField confirmPasswordField = new JPasswordField();
 		confirmPasswordField.setPreferredSize(new Dimension(200, 30));
 
@@ -696,7 +698,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		} else {
 			welcomeLabel = new JLabel("Welcome, guest!");
 		}
-		welcomeLabel.setFont(new Font("Segoe UI", Font.BOLD, 32));
+		welcomeLabel.setFont(Theme.font(Font.BOLD, 32));
 		welcomeLabel.setForeground(MODERN_PRIMARY);
 		welcomeLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 		welcomePanel.add(welcomeLabel);
@@ -741,8 +743,8 @@ public class InventoryGUIWindowBuilder extends JFrame {
 	 * @param title The text to display on the button
 	 * @param color The base color to use for the button's gradient
 	 * @return JButton A fully styled dashboard button with gradient background and hover effects
-	 * @details This method creates a custom JButton with advanced styling features. It implements
-	 * a custom paintComponent method to create a gradient background effect. The button features
+	 * @details This method creates a custom JButton with advanced styling features. It uses
+	 * Theme.GradientButton, which paints a gradient background pre-rendered once per size. The button features
 	 * rounded corners (30px radius), anti-aliasing for smooth edges, and a gradient that transitions
 	 * from the specified color to a darker shade. The button is configured with a large font
 	 * (Segoe UI Bold 28pt), white text, and proper padding. It includes hover effects and
@@ -750,18 +752,8 @@ public class InventoryGUIWindowBuilder extends JFrame {
 	 * appealing and clearly visible in the dashboard layout.
 	 */
 	public static JButton createDashboardButton(String title, Color color) {
-		JButton button = new JButton(title) {
-			@Override
-			protected void paintComponent(Graphics g) {
-				Graphics2D g2d = (Graphics2D) g;
-				g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-				GradientPaint gp = new GradientPaint(0, 0, color, 0, getHeight(), color.darker());
-				g2d.setPaint(gp);
-				g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 30, 30);
-				super.paintComponent(g);
-			}
-		};
-		button.setFont(new Font("Segoe UI", Font.BOLD, 28));
+		JButton button = new Theme.GradientButton(title, color);
+		button.setFont(Theme.font(Font.BOLD, 28));
 		button.setForeground(Color.WHITE);
 		button.setContentAreaFilled(false);
 		button.setFocusPainted(false);
@@ -791,7 +783,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		sideMenuPanel.setBorder(BorderFactory.createEmptyBorder(20, 10, 20, 10));
 		
 		JLabel menuTitle = new JLabel("Menu");
-		menuTitle.setFont(new Font("Segoe UI", Font.BOLD, 18));
+		menuTitle.setFont(Theme.font(Font.BOLD, 18));
 		menuTitle.setForeground(Color.WHITE);
 		menuTitle.setAlignmentX(Component.CENTER_ALIGNMENT);
 		sideMenuPanel.add(menuTitle);
@@ -830,7 +822,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 	 */
 	public JButton createMenuButton(String text) {
 		JButton button = new JButton(text);
-		button.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+		button.setFont(Theme.font(Font.PLAIN, 14));
 		button.setForeground(Color.WHITE);
 		button.setBackground(new Color(52, 73, 94));
 		button.setBorderPainted(false);
@@ -902,7 +894,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		headerPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
 		
 		JLabel titleLabel = new JLabel("Material Inventory");
-		titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+		titleLabel.setFont(Theme.font(Font.BOLD, 24));
 		titleLabel.setForeground(MODERN_TEXT);
 		headerPanel.add(titleLabel);
 		
@@ -927,7 +919,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		headerPanel.add(buttonPanel);
 		
 		// Create table model
-		String[] columns = {"Name", "Quantity", "Cost"};
+		String[] columns = {"Name", "Quantity", "Cost", "ID"};
 		inventoryModel = new DefaultTableModel(columns, 0) {
 			@Override
 			public boolean isCellEditable(int row, int column) {
@@ -935,8 +927,9 @@ public class InventoryGUIWindowBuilder extends JFrame {
 			}
 		};
 		
-		// Create table
+		// Create table; the ID column stays in the model only
 		inventoryTable = createStyledTable(inventoryModel);
+		inventoryTable.removeColumn(inventoryTable.getColumnModel().getColumn(3));
 		JScrollPane scrollPane = new JScrollPane(inventoryTable);
 		scrollPane.getViewport().setBackground(TABLE_COLOR);
 		
@@ -952,23 +945,14 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		
 		// Load data from database
 		try {
-			String sql = "SELECT name, quantity, cost FROM inventory";
-			try (Connection conn = DatabaseConnection.connect();
-				 Statement stmt = conn.createStatement();
-				 ResultSet rs = stmt.executeQuery(sql)) {
-				
-				inventory.clear();
-				inventoryModel.setRowCount(0);
-				
-				while (rs.next()) {
-					String name = rs.getString("name");
-					int quantity = rs.getInt("quantity");
-					double cost = rs.getDouble("cost");
-					
-					InventoryItem item = new InventoryItem(name, quantity, cost);
-					inventory.add(item);
-					inventoryModel.addRow(new Object[]{name, quantity, cost});
-				}
+			inventory.clear();
+			inventoryModel.setRowCount(0);
+
+			for (InventoryItem cached : InventoryCache.all()) {
+				// Copy, because the edit dialog updates list items in place
+				InventoryItem item = cached.copy();
+				inventory.add(item);
+				inventoryModel.addRow(new Object[]{item.getName(), item.getQuantity(), item.getCost(), item.getId()});
 			}
 		} catch (SQLException ex) {
 			ex.printStackTrace();
@@ -1027,25 +1011,18 @@ public class InventoryGUIWindowBuilder extends JFrame {
 			try {
 				String name = nameField.getText();
 				int quantity = Integer.parseInt(quantityField.getText());
-				double cost = Double.parseDouble(costField.getText());
+				Money cost = Money.parse(costField.getText());
 				
 				if (!name.isEmpty()) {
-					String sql = "INSERT INTO inventory (name, quantity, cost) VALUES (?, ?, ?)";
-					try (Connection conn = DatabaseConnection.connect();
-						 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-						
-						pstmt.setString(1, name);
-						pstmt.setInt(2, quantity);
-						pstmt.setDouble(3, cost);
-						pstmt.executeUpdate();
+					// A known name is restocked in the same statement
+					Inventory.addMaterialToDatabase(new InventoryItem(name, quantity, cost));
 
-						dialog.dispose();
-						
-						JOptionPane.showMessageDialog(this,
-							"Material added successfully!",
-							"Success",
-							JOptionPane.INFORMATION_MESSAGE);
-					}
+					dialog.dispose();
+					
+					JOptionPane.showMessageDialog(this,
+						"Material added successfully!",
+						"Success",
+						JOptionPane.INFORMATION_MESSAGE);
 				} else {
 					JOptionPane.showMessageDialog(this,
 						"Please enter a material name.",
@@ -1100,7 +1077,10 @@ public class InventoryGUIWindowBuilder extends JFrame {
 			return;
 		}
 		
-		InventoryItem item = inventory.get(selectedRow);
+		InventoryItem item = materialAt(inventoryTable.convertRowIndexToModel(selectedRow));
+		if (item == null) {
+			return;
+		}
 		
 		JDialog dialog = new JDialog(this, "Edit Material", true);
 		dialog.getContentPane().setLayout(new BorderLayout());
@@ -1112,7 +1092,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		
 		JTextField nameField = new JTextField(item.getName());
 		JTextField quantityField = new JTextField(String.valueOf(item.getQuantity()));
-		JTextField costField = new JTextField(String.valueOf(item.getCost()));
+		JTextField costField = new JTextField(Money.format(item.getCostMinor()));
 		
 		JLabel nameLabel = new JLabel("Name:");
 		nameLabel.setForeground(MODERN_TEXT);
@@ -1138,29 +1118,32 @@ public class InventoryGUIWindowBuilder extends JFrame {
 			try {
 				String name = nameField.getText();
 				int quantity = Integer.parseInt(quantityField.getText());
-				double cost = Double.parseDouble(costField.getText());
+				Money cost = Money.parse(costField.getText());
 				
 				if (!name.isEmpty()) {
-					String sql = "UPDATE inventory SET name = ?, quantity = ?, cost = ? WHERE name = ?";
-					try (Connection conn = DatabaseConnection.connect();
-						 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-						
-						pstmt.setString(1, name);
-						pstmt.setInt(2, quantity);
-						pstmt.setDouble(3, cost);
-						pstmt.setString(4, item.getName());
-						pstmt.executeUpdate();
-						
-						// Update local list
-						item.setName(name);
-						item.setQuantity(quantity);
-						item.setCost(cost);
-						
-						refreshInventoryTable();
-						dialog.dispose();
-						
+					// Updates the local item to the row as stored
+					Inventory.EditResult result = Inventory.saveMaterialEdit(item, name, quantity, cost);
+					if (result == Inventory.EditResult.MISSING) {
+						inventory.remove(item);
+					}
+					
+					refreshInventoryTable();
+					dialog.dispose();
+					
+					if (result == Inventory.EditResult.MISSING || result == Inventory.EditResult.CONFLICT) {
 						JOptionPane.showMessageDialog(this,
-							"Material updated successfully!",
+							result == Inventory.EditResult.MISSING
+								? "This material was removed on another terminal."
+								: "This material was changed on another terminal and was not updated.\n"
+									+ "The table now shows the saved values.",
+							"Edit Conflict",
+							JOptionPane.WARNING_MESSAGE);
+					} else {
+						JOptionPane.showMessageDialog(this,
+							result == Inventory.EditResult.MERGED
+								? "Material updated. It was changed on another terminal;\n"
+									+ "your change was applied on top of it."
+								: "Material updated successfully!",
 							"Success",
 							JOptionPane.INFORMATION_MESSAGE);
 					}
@@ -1217,7 +1200,10 @@ public class InventoryGUIWindowBuilder extends JFrame {
 			return;
 		}
 		
-		InventoryItem item = inventory.get(selectedRow);
+		InventoryItem item = materialAt(inventoryTable.convertRowIndexToModel(selectedRow));
+		if (item == null) {
+			return;
+		}
 		
 		int confirm = JOptionPane.showConfirmDialog(this,
 			"Are you sure you want to delete this material?",
@@ -1226,22 +1212,16 @@ public class InventoryGUIWindowBuilder extends JFrame {
 			
 		if (confirm == JOptionPane.YES_OPTION) {
 			try {
-				String sql = "DELETE FROM inventory WHERE name = ?";
-				try (Connection conn = DatabaseConnection.connect();
-					 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-					
-					pstmt.setString(1, item.getName());
-					pstmt.executeUpdate();
-					
-					// Remove from local list
-					inventory.remove(selectedRow);
-					refreshInventoryTable();
-					
-					JOptionPane.showMessageDialog(this,
-						"Material deleted successfully!",
-						"Success",
-						JOptionPane.INFORMATION_MESSAGE);
-				}
+				Inventory.removeMaterialFromDatabase(item);
+				
+				// Remove from local list
+				inventory.remove(item);
+				refreshInventoryTable();
+				
+				JOptionPane.showMessageDialog(this,
+					"Material deleted successfully!",
+					"Success",
+					JOptionPane.INFORMATION_MESSAGE);
 			} catch (SQLException ex) {
 				ex.printStackTrace();
 				JOptionPane.showMessageDialog(this,
@@ -1268,17 +1248,37 @@ public class InventoryGUIWindowBuilder extends JFrame {
 			inventoryModel.addRow(new Object[]{
 				item.getName(),
 				item.getQuantity(),
-				item.getCost()
+				item.getCost(),
+				item.getId()
 			});
 		}
 	}
 
+	/**
+	 * @brief Returns the material shown in a row of the inventory model
+	 * @details The row carries the id of the material, so the match does not
+	 * depend on the list and the model keeping the same order. A table whose
+	 * model has no ID column falls back to the list index.
+	 * @param modelRow The row index in the model
+	 * @return The material, or null if it is no longer in the list
+	 */
+	private InventoryItem materialAt(int modelRow) {
+		TableModel model = inventoryTable.getModel();
+		for (int column = 0; column < model.getColumnCount(); column++) {
+			if ("ID".equals(model.getColumnName(column))) {
+				Object id = model.getValueAt(modelRow, column);
+				return id instanceof Number ? Inventory.findById(inventory, ((Number) id).longValue()) : null;
+			}
+		}
+		return modelRow < inventory.size() ? inventory.get(modelRow) : null;
+	}
+
 	/**
 	 * @brief Creates a sophisticated styled table with modern appearance and functionality
 	 * @param model The table model to use for data display
 	 * @return JTable A fully styled table component with modern appearance and features
 	 * @details This method creates a custom JTable with advanced styling features. It
-	 * implements a custom prepareRenderer method to create alternating row colors and
+	 * installs the TableRenderers cell renderers, which paint alternating row colors and
 	 * proper selection highlighting. The table features a modern font (Segoe UI 14pt),
 	 * increased row height (30px), and no grid lines for a cleaner appearance. The
 	 * table header is styled with a bold font and proper background color. The method
@@ -1286,21 +1286,10 @@ public class InventoryGUIWindowBuilder extends JFrame {
 	 * good readability and visual appeal.
 	 */
 	public JTable createStyledTable(DefaultTableModel model) {
-		JTable table = new JTable(model) {
-			@Override
-			public Component prepareRenderer(TableCellRenderer renderer, int row, int column) {
-				Component comp = super.prepareRenderer(renderer, row, column);
-				
-				if (!isRowSelected(row)) {
-					comp.setBackground(row % 2 == 0 ? MODERN_PANEL : MODERN_BACKGROUND);
-					comp.setForeground(MODERN_TEXT);
-				}
-				
-				return comp;
-			}
-		};
+		JTable table = new JTable(model);
+		TableRenderers.install(table, MODERN_PANEL, MODERN_BACKGROUND, MODERN_TEXT);
 		
-		table.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+		table.setFont(Theme.font(Font.PLAIN, 14));
 		table.setRowHeight(30);
 		table.setShowGrid(false);
 		table.setIntercellSpacing(new Dimension(0, 0));
@@ -1309,7 +1298,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		
 		// Style header
 		JTableHeader header = table.getTableHeader();
-		header.setFont(new Font("Segoe UI", Font.BOLD, 14));
+		header.setFont(Theme.font(Font.BOLD, 14));
 		header.setBackground(MODERN_PRIMARY);
 		header.setForeground(Color.WHITE);
 		header.setPreferredSize(new Dimension(header.getWidth(), 40));
@@ -1338,7 +1327,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		headerPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
 		
 		JLabel titleLabel = new JLabel("Project Tracking");
-		titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+		titleLabel.setFont(Theme.font(Font.BOLD, 24));
 		titleLabel.setForeground(MODERN_TEXT);
 		headerPanel.add(titleLabel);
 		
@@ -1383,27 +1372,20 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		mainPanel.revalidate();
 		mainPanel.repaint();
 		
-		// Load data from database
-		try {
-			String sql = "SELECT name FROM projects";
-			try (Connection conn = DatabaseConnection.connect();
-				 Statement stmt = conn.createStatement();
-				 ResultSet rs = stmt.executeQuery(sql)) {
-				
-				projectModel.setRowCount(0);
-				
-				while (rs.next()) {
-					String name = rs.getString("name");
-					projectModel.addRow(new Object[]{name});
+		// Load data from database; rows are added as they are read
+		projects.clear();
+		QueryPublisher.projects().subscribe(new QueryPublisher.TableModelSubscriber<>(projectModel,
+			project -> new Object[]{project.getName()},
+			projects::add,
+			ex -> {
+				if (ex != null) {
+					ex.printStackTrace();
+					JOptionPane.showMessageDialog(this,
+						"Error loading projects: " + ex.getMessage(),
+						"Database Error",
+						JOptionPane.ERROR_MESSAGE);
 				}
-			}
-		} catch (SQLException ex) {
-			ex.printStackTrace();
-			JOptionPane.showMessageDialog(this,
-				"Error loading projects: " + ex.getMessage(),
-				"Database Error",
-				JOptionPane.ERROR_MESSAGE);
-		}
+			}));
 	}
 
 	/**
@@ -1444,23 +1426,19 @@ public class InventoryGUIWindowBuilder extends JFrame {
 			String name = nameField.getText();
 			if (!name.isEmpty()) {
 				try {
-					String sql = "INSERT INTO projects (name) VALUES (?)";
-					try (Connection conn = DatabaseConnection.connect();
-						 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-						
-						pstmt.setString(1, name);
-						pstmt.executeUpdate();
-						
-						// Add to table
-						projectModel.addRow(new Object[]{name});
-						
-						dialog.dispose();
-						
-						JOptionPane.showMessageDialog(this,
-							"Project added successfully!",
-							"Success",
-							JOptionPane.INFORMATION_MESSAGE);
-					}
+					Project project = new Project(name);
+					Inventory.addProjectToDatabase(project);
+					
+					// Add to the list and the table
+					projects.add(project);
+					projectModel.addRow(new Object[]{name});
+					
+					dialog.dispose();
+					
+					JOptionPane.showMessageDialog(this,
+						"Project added successfully!",
+						"Success",
+						JOptionPane.INFORMATION_MESSAGE);
 				} catch (SQLException ex) {
 					ex.printStackTrace();
 					JOptionPane.showMessageDialog(this,
@@ -1536,7 +1514,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		headerPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
 		
 		JLabel titleLabel = new JLabel("Expense Logging");
-		titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+		titleLabel.setFont(Theme.font(Font.BOLD, 24));
 		titleLabel.setForeground(MODERN_TEXT);
 		headerPanel.add(titleLabel);
 		
@@ -1606,24 +1584,19 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		addButton.addActionListener(e -> {
 			try {
 				String description = descriptionField.getText();
-				double amount = Double.parseDouble(amountField.getText());
+				Money amount = Money.parse(amountField.getText());
 				
 				if (!description.isEmpty()) {
-					String sql = "INSERT INTO expenses (description, amount) VALUES (?, ?)";
-					try (Connection conn = DatabaseConnection.connect();
-						 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-						
-						pstmt.setString(1, description);
-						pstmt.setDouble(2, amount);
-						pstmt.executeUpdate();
+					Expense expense = new Expense(description, amount);
+					Inventory.addExpenseToDatabase(expense);
+					expenses.add(expense);
 
-						dialog.dispose();
-						
-						JOptionPane.showMessageDialog(this,
-							"Expense added successfully!",
-							"Success",
-							JOptionPane.INFORMATION_MESSAGE);
-					}
+					dialog.dispose();
+					
+					JOptionPane.showMessageDialog(this,
+						"Expense added successfully!",
+						"Success",
+						JOptionPane.INFORMATION_MESSAGE);
 				} else {
 					JOptionPane.showMessageDialog(this,
 						"Please enter a description.",
@@ -1677,7 +1650,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		headerPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
 		
 		JLabel titleLabel = new JLabel("Sales Tracker");
-		titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+		titleLabel.setFont(Theme.font(Font.BOLD, 24));
 		titleLabel.setForeground(MODERN_TEXT);
 		headerPanel.add(titleLabel);
 		
@@ -1756,7 +1729,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 			try {
 				String item = itemField.getText();
 				int quantity = Integer.parseInt(quantityField.getText());
-				double price = Double.parseDouble(priceField.getText());
+				Money price = Money.parse(priceField.getText());
 				
 				if (!item.isEmpty()) {
 					try {
@@ -1776,7 +1749,8 @@ public class InventoryGUIWindowBuilder extends JFrame {
 						}
 						
 						// Add to table
-						salesModel.addRow(new Object[]{item, quantity, price, price * quantity});
+						salesModel.addRow(new Object[]{item, quantity, price.toDouble(),
+							Money.toDouble(sale.getTotalMinor())});
 						
 						dialog.dispose();
 						
@@ -1828,22 +1802,23 @@ public class InventoryGUIWindowBuilder extends JFrame {
 	 * The calculation provides a clear overview of the business's financial performance.
 	 */
 	public void calculateProfit() {
-		double totalSales = 0;
-		double totalExpenses = 0;
+		// Minor units add up exactly, without a Money per row
+		long totalSales = 0;
+		long totalExpenses = 0;
 		
 		for (Sale sale : sales) {
-			totalSales += sale.getPrice() * sale.getQuantity();
+			totalSales = Money.add(totalSales, sale.getTotalMinor());
 		}
 		
 		for (Expense expense : expenses) {
-			totalExpenses += expense.getAmount();
+			totalExpenses = Money.add(totalExpenses, expense.getAmountMinor());
 		}
 		
-		double profit = totalSales - totalExpenses;
+		long profit = Money.subtract(totalSales, totalExpenses);
 		
 		JOptionPane.showMessageDialog(this,
-			String.format("Total Sales: %.2f TL\nTotal Expenses: %.2f TL\nProfit: %.2f TL",
-				totalSales, totalExpenses, profit),
+			"Total Sales: " + Money.format(totalSales) + " TL\nTotal Expenses: " + Money.format(totalExpenses)
+				+ " TL\nProfit: " + Money.format(profit) + " TL",
 			"Profit Calculation",
 			JOptionPane.INFORMATION_MESSAGE);
 	}
@@ -1865,7 +1840,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 				sale.item(),
 				sale.getQuantity(),
 				sale.getPrice(),
-				sale.getPrice() * sale.getQuantity()
+				Money.toDouble(sale.getTotalMinor())
 			});
 		}
 	}
@@ -1893,7 +1868,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		headerPanel.setLayout(new FlowLayout(FlowLayout.LEFT));
 		
 		JLabel titleLabel = new JLabel(moduleName + " Database");
-		titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+		titleLabel.setFont(Theme.font(Font.BOLD, 24));
 		titleLabel.setForeground(MODERN_TEXT);
 		headerPanel.add(titleLabel);
 		
@@ -1908,7 +1883,7 @@ public class InventoryGUIWindowBuilder extends JFrame {
 		table.setGridColor(TABLE_HEADER_COLOR);
 		table.getTableHeader().setBackground(TABLE_HEADER_COLOR);
 		table.getTableHeader().setForeground(TABLE_TEXT_COLOR);
-		table.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+		table.setFont(Theme.font(Font.PLAIN, 14));
 		
 		JButton refreshButton = new JButton("Refresh");
 		JButton closeButton = new JButton("Close");
@@ -1950,30 +1925,20 @@ public class InventoryGUIWindowBuilder extends JFrame {
 	public void loadTableData(DefaultTableModel model, String tableName) {
 		model.setRowCount(0);
 		try {
-			try (Connection conn = DatabaseConnection.connect();
-				 Statement stmt = conn.createStatement()) {
-				
-				// Get column names
-				ResultSet rs = stmt.executeQuery("SELECT * FROM " + tableName + " LIMIT 1");
-				java.sql.ResultSetMetaData metaData = rs.getMetaData();
-				int columnCount = metaData.getColumnCount();
-				
-				// Set column names
-				String[] columns = new String[columnCount];
-				for (int i = 1; i <= columnCount; i++) {
-					columns[i-1] = metaData.getColumnName(i);
-				}
-				model.setColumnIdentifiers(columns);
-				
-				// Get all data
-				rs = stmt.executeQuery("SELECT * FROM " + tableName);
-				while (rs.next()) {
-					Object[] row = new Object[columnCount];
-					for (int i = 1; i <= columnCount; i++) {
-						row[i-1] = rs.getObject(i);
-					}
-					model.addRow(row);
+			List<Object[]> rows = new ArrayList<>();
+			// The Database Manager is bulk work: it must not hold up sales
+			String[] columns = DatabaseExecutor.await(DatabaseExecutor.shared().read(
+					DatabaseExecutor.Priority.BATCH, conn -> {
+				try (PreparedStatement pstmt = StatementCache.prepare(conn, "SELECT * FROM " + tableName);
+					 ResultSet rs = pstmt.executeQuery()) {
+					// Each column's getter is chosen once; money is shown in major units
+					rows.addAll(RowMappers.list(rs, RowMappers.cells(tableName)));
+					return RowMappers.columnNames(rs);
 				}
+			}));
+			model.setColumnIdentifiers(columns);
+			for (Object[] row : rows) {
+				model.addRow(row);
 			}
 		} catch (SQLException e) {
 			e.printStackTrace();
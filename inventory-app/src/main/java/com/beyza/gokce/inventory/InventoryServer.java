@@ -0,0 +1,676 @@
+/**
+ * @file InventoryServer.java
+ * @brief Headless HTTP API server for the Inventory Management System
+ *
+ * This file contains the embedded HTTP server that exposes the inventory,
+ * sales, expenses, projects and login operations as REST endpoints so that
+ * other tills can use the same database without running the GUI or the CLI.
+ */
+package com.beyza.gokce.inventory;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * @class InventoryServer
+ * @brief Embedded REST server built on the JDK's com.sun.net.httpserver
+ *
+ * The server runs requests on a bounded thread pool, or on virtual threads
+ * (see RequestExecution), and keeps HTTP/1.1 connections alive between
+ * requests. Database access is gated by RequestExecution so bursts of
+ * requests do not contend on the SQLite lock. Listings are streamed as JSON one
+ * page of rows at a time, so large tables are never materialized in memory.
+ * When every worker is busy and the queue is full, requests are answered
+ * 503 from a separate thread (see RequestExecution.withOverflow), so the
+ * thread that accepts connections never runs a request itself.
+ *
+ * @details Endpoints:
+ * - GET/POST /api/inventory (name, quantity, cost)
+ * - GET/POST /api/sales (item, quantity, price)
+ * - GET/POST /api/expenses (description, amount)
+ * - GET/POST /api/projects (name)
+ * - POST /api/login (username, password)
+ * - GET /api/metrics (database queue depth and waits per priority)
+ *
+ * POST bodies are read as application/x-www-form-urlencoded parameters.
+ */
+public class InventoryServer {
+    /**
+     * @brief Port used when none is given on the command line or in PORT
+     */
+    public static final int DEFAULT_PORT = 8080;
+
+    /**
+     * @brief Default number of request worker threads
+     */
+    public static final int DEFAULT_THREADS = 16;
+
+    /**
+     * @brief Default number of requests allowed to wait for a worker
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    /**
+     * @brief Largest request body accepted by the POST endpoints, in bytes
+     */
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    /**
+     * @brief Size of the buffer used when streaming JSON listings
+     */
+    private static final int RESPONSE_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * @brief Rows read per database read when streaming a listing
+     */
+    static final int STREAM_PAGE_ROWS = 500;
+
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    /**
+     * @brief Answers 503 to requests the worker pool had no room for
+     */
+    private static final Filter BUSY = new Filter() {
+        @Override
+        public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+            if (!RequestExecution.overflowing()) {
+                chain.doFilter(exchange);
+                return;
+            }
+            try {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendJson(exchange, 503, "{\"error\":\"Server is busy\"}");
+            } finally {
+                exchange.close();
+            }
+        }
+
+        @Override
+        public String description() {
+            return "Answers 503 when the worker pool is full";
+        }
+    };
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ExecutorService overflow;
+
+    /**
+     * @brief Creates a server bound to the given port using platform threads
+     *
+     * @param port The TCP port to listen on, or 0 for an ephemeral port
+     * @param threads The number of request worker threads
+     * @param queueCapacity The number of requests that may wait for a worker
+     * @throws IOException If the port cannot be bound
+     */
+    public InventoryServer(int port, int threads, int queueCapacity) throws IOException {
+        this(port, RequestExecution.Mode.PLATFORM, threads, queueCapacity);
+    }
+
+    /**
+     * @brief Creates a server bound to the given port
+     *
+     * @param port The TCP port to listen on, or 0 for an ephemeral port
+     * @param mode Whether requests run on platform or virtual threads
+     * @param threads The number of platform worker threads
+     * @param queueCapacity The number of requests that may wait for a platform worker
+     * @throws IOException If the port cannot be bound
+     */
+    public InventoryServer(int port, RequestExecution.Mode mode, int threads, int queueCapacity) throws IOException {
+        configureKeepAlive();
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        executor = RequestExecution.newExecutor(mode, threads, queueCapacity);
+        overflow = RequestExecution.newOverflowExecutor();
+        server.setExecutor(RequestExecution.withOverflow(executor, overflow));
+
+        createContext("/api/inventory", new TableHandler(
+                "SELECT id, name, quantity, " + majorUnits("cost") + " FROM inventory", params -> {
+                    Inventory.addMaterialToDatabase(new InventoryItem(required(params, "name"),
+                            Integer.parseInt(required(params, "quantity")),
+                            money(params, "cost")));
+                }));
+        createContext("/api/sales", new TableHandler(
+                "SELECT id, item, quantity, " + majorUnits("price") + " FROM sales", params -> {
+                    Inventory.addSaleToDatabase(new Sale(required(params, "item"),
+                            Integer.parseInt(required(params, "quantity")),
+                            money(params, "price")));
+                }));
+        createContext("/api/expenses", new TableHandler(
+                "SELECT id, description, " + majorUnits("amount") + " FROM expenses", params -> {
+                    Inventory.addExpenseToDatabase(new Expense(required(params, "description"),
+                            money(params, "amount")));
+                }));
+        createContext("/api/projects", new TableHandler(
+                "SELECT id, name FROM projects", params -> {
+                    Inventory.addProjectToDatabase(new Project(required(params, "name")));
+                }));
+        createContext("/api/login", this::handleLogin);
+        createContext("/api/metrics", this::handleMetrics);
+    }
+
+    /**
+     * @brief Registers a handler behind the busy filter
+     *
+     * @param path The context path
+     * @param handler The handler of the endpoint
+     */
+    private void createContext(String path, HttpHandler handler) {
+        server.createContext(path, handler).getFilters().add(BUSY);
+    }
+
+    /**
+     * @brief Starts accepting requests
+     */
+    public void start() {
+        server.start();
+        System.out.println("Inventory server listening on port " + getPort());
+    }
+
+    /**
+     * @brief Stops the server and its worker pool
+     *
+     * @param delaySeconds The time allowed for in-flight exchanges to finish
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        overflow.shutdown();
+    }
+
+    /**
+     * @brief Returns the port the server is bound to
+     *
+     * @return The local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @brief Starts the server in headless mode
+     *
+     * The HTTP dispatcher thread keeps the JVM running until it is shut down.
+     *
+     * @param args Optional port and "--virtual"; PORT and EXECUTION_MODE are used otherwise
+     * @throws IOException If the port cannot be bound
+     */
+    public static void run(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        String env = System.getenv("PORT");
+        if (env != null && !env.isEmpty()) {
+            port = Integer.parseInt(env);
+        }
+        RequestExecution.Mode mode = RequestExecution.parseMode(System.getenv("EXECUTION_MODE"));
+        for (String arg : args) {
+            if ("--virtual".equals(arg)) {
+                mode = RequestExecution.Mode.VIRTUAL;
+            } else {
+                port = Integer.parseInt(arg);
+            }
+        }
+
+        Inventory.createTables();
+        InventoryServer inventoryServer = new InventoryServer(port, mode, DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> inventoryServer.stop(1)));
+        inventoryServer.start();
+    }
+
+    /**
+     * @brief Enables HTTP/1.1 keep-alive tuning unless already configured
+     *
+     * The JDK server reads these properties once, when the first server is created.
+     */
+    private static void configureKeepAlive() {
+        if (System.getProperty("sun.net.httpserver.idleInterval") == null) {
+            System.setProperty("sun.net.httpserver.idleInterval", "30");
+        }
+        if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null) {
+            System.setProperty("sun.net.httpserver.maxIdleConnections", "200");
+        }
+    }
+
+    /**
+     * @brief Handles POST /api/login
+     *
+     * @param exchange The HTTP exchange
+     * @throws IOException If the response cannot be written
+     */
+    private void handleLogin(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendJson(exchange, 405, "{\"error\":\"Method not allowed\"}");
+                return;
+            }
+            Map<String, String> params = readForm(exchange);
+            String username = required(params, "username");
+            String password = required(params, "password");
+            boolean authenticated = RequestExecution.read(() -> Inventory.authenticateUser(username, password));
+            sendJson(exchange, authenticated ? 200 : 401, "{\"authenticated\":" + authenticated + "}");
+        } catch (Exception e) {
+            sendError(exchange, e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @brief Handles GET /api/metrics
+     *
+     * Reports, for each database priority, the operations waiting now, the
+     * operations started and their mean and longest wait, plus the writes
+     * queued for the writer thread.
+     *
+     * @param exchange The HTTP exchange
+     * @throws IOException If the response cannot be written
+     */
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendJson(exchange, 405, "{\"error\":\"Method not allowed\"}");
+                return;
+            }
+            sendJson(exchange, 200, metricsJson(DatabaseExecutor.shared()));
+        } catch (Exception e) {
+            sendError(exchange, e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @brief Formats the scheduling counters of a database as JSON
+     *
+     * @param database The executor
+     * @return The JSON object
+     */
+    static String metricsJson(DatabaseExecutor database) {
+        StringBuilder json = new StringBuilder("{");
+        for (DatabaseExecutor.Priority priority : DatabaseExecutor.Priority.values()) {
+            DatabaseExecutor.QueueStats stats = database.queueStats(priority);
+            json.append(quote(priority.name().toLowerCase(Locale.ROOT)))
+                    .append(String.format(Locale.ROOT,
+                            ":{\"queued\":%d,\"started\":%d,\"avgWaitMs\":%.3f,\"maxWaitMs\":%.3f},",
+                            stats.queued, stats.started, stats.averageWaitMillis(), stats.maxWaitNanos / 1e6));
+        }
+        return json.append("\"pendingWrites\":").append(database.pendingWrites()).append('}').toString();
+    }
+
+    /**
+     * @brief Operation that inserts a record built from request parameters
+     */
+    interface Insert {
+        /**
+         * @brief Inserts a record
+         *
+         * @param params The decoded form parameters
+         * @throws SQLException If the record cannot be stored
+         */
+        void insert(Map<String, String> params) throws SQLException;
+    }
+
+    /**
+     * @class TableHandler
+     * @brief Lists a table as streamed JSON on GET and inserts a record on POST
+     */
+    private static class TableHandler implements HttpHandler {
+        private final String selectSql;
+        private final Insert insert;
+
+        TableHandler(String selectSql, Insert insert) {
+            this.selectSql = selectSql;
+            this.insert = insert;
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                switch (exchange.getRequestMethod()) {
+                    case "GET":
+                        streamRows(exchange, selectSql);
+                        break;
+                    case "POST":
+                        Map<String, String> params = readForm(exchange);
+                        RequestExecution.write(() -> {
+                            insert.insert(params);
+                            return null;
+                        });
+                        sendJson(exchange, 201, "{\"created\":true}");
+                        break;
+                    default:
+                        sendJson(exchange, 405, "{\"error\":\"Method not allowed\"}");
+                }
+            } catch (Exception e) {
+                sendError(exchange, e);
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    /**
+     * @brief Streams every row of a query as a JSON array of objects
+     *
+     * The rows are read STREAM_PAGE_ROWS at a time, by id, as batch reads
+     * on the shared DatabaseExecutor. Each page is formatted while its read
+     * holds a reader permit and a connection, and written to the client
+     * after both are given back, so a slow client holds neither. The
+     * response uses chunked transfer encoding and column labels become the
+     * object keys.
+     *
+     * @param exchange The HTTP exchange
+     * @param sql The query to run, selecting the id first and without a
+     *        WHERE clause
+     * @throws Exception If the rows cannot be read or the response written
+     */
+    static void streamRows(HttpExchange exchange, String sql) throws Exception {
+        String pageSql = sql + " WHERE id > ? ORDER BY id LIMIT ?";
+        DatabaseExecutor database = DatabaseExecutor.shared();
+        Writer out = null;
+        try {
+            long after = Long.MIN_VALUE;
+            boolean first = true;
+            while (true) {
+                long from = after;
+                boolean leading = first;
+                JsonPage page = RequestExecution.read(() -> DatabaseExecutor.await(
+                        database.read(DatabaseExecutor.Priority.BATCH, conn -> readPage(conn, pageSql, from, leading))));
+                if (out == null) {
+                    exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+                    exchange.sendResponseHeaders(200, 0);
+                    out = new BufferedWriter(new OutputStreamWriter(
+                            exchange.getResponseBody(), StandardCharsets.UTF_8), RESPONSE_BUFFER_SIZE);
+                    out.write('[');
+                }
+                out.write(page.json);
+                if (page.rows < STREAM_PAGE_ROWS) {
+                    break;
+                }
+                after = page.lastId;
+                first = false;
+            }
+            out.write(']');
+        } finally {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * @brief One page of rows formatted as JSON objects
+     */
+    private static final class JsonPage {
+        final String json;
+        final int rows;
+        final long lastId;
+
+        JsonPage(String json, int rows, long lastId) {
+            this.json = json;
+            this.rows = rows;
+            this.lastId = lastId;
+        }
+    }
+
+    /**
+     * @brief Reads one keyset page and formats its rows
+     *
+     * @param conn A read-only connection
+     * @param pageSql The query, binding the last id seen and the page size
+     * @param after The last id seen
+     * @param first Whether no row has been written yet
+     * @return The rows as comma-separated JSON objects
+     * @throws SQLException If the rows cannot be read
+     */
+    private static JsonPage readPage(Connection conn, String pageSql, long after, boolean first)
+            throws SQLException {
+        try (PreparedStatement pstmt = StatementCache.prepare(conn, pageSql)) {
+            pstmt.setLong(1, after);
+            pstmt.setInt(2, STREAM_PAGE_ROWS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                int columnCount = rs.getMetaData().getColumnCount();
+                String[] keys = new String[columnCount];
+                for (int i = 1; i <= columnCount; i++) {
+                    keys[i - 1] = quote(rs.getMetaData().getColumnLabel(i)) + ":";
+                }
+                StringBuilder json = new StringBuilder();
+                int rows = 0;
+                long lastId = after;
+                while (rs.next()) {
+                    if (!first || rows > 0) {
+                        json.append(',');
+                    }
+                    json.append('{');
+                    for (int i = 1; i <= columnCount; i++) {
+                        if (i > 1) {
+                            json.append(',');
+                        }
+                        json.append(keys[i - 1]);
+                        Object value = rs.getObject(i);
+                        if (value == null) {
+                            json.append("null");
+                        } else if (value instanceof Number) {
+                            json.append(value);
+                        } else {
+                            json.append(quote(value.toString()));
+                        }
+                    }
+                    json.append('}');
+                    lastId = rs.getLong(1);
+                    rows++;
+                }
+                return new JsonPage(json.toString(), rows, lastId);
+            }
+        }
+    }
+
+    /**
+     * @brief Maps a failed request to an error response
+     *
+     * Validation failures become 400, records that break a constraint of
+     * their table 409, a locked database or an interrupted wait for it 503
+     * and anything else 500. Nothing is sent once a streamed body has started.
+     *
+     * @param exchange The HTTP exchange
+     * @param e The failure
+     * @throws IOException If the response cannot be written
+     */
+    static void sendError(HttpExchange exchange, Exception e) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            return;
+        }
+        if (e instanceof IllegalArgumentException) {
+            sendJson(exchange, 400, "{\"error\":" + quote(String.valueOf(e.getMessage())) + "}");
+        } else if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            sendJson(exchange, 503, "{\"error\":\"Server is shutting down\"}");
+        } else if (e instanceof IOException) {
+            throw (IOException) e;
+        } else if (e instanceof SQLException) {
+            e.printStackTrace();
+            // SQLite result codes; the extended codes keep them in the low byte
+            int code = ((SQLException) e).getErrorCode() & 0xff;
+            if (code == SQLITE_CONSTRAINT) {
+                sendJson(exchange, 409, "{\"error\":\"Record conflicts with a stored record\"}");
+            } else if (code == SQLITE_BUSY || code == SQLITE_LOCKED) {
+                sendJson(exchange, 503, "{\"error\":\"Database is busy\"}");
+            } else {
+                sendJson(exchange, 500, "{\"error\":\"Database error\"}");
+            }
+        } else {
+            e.printStackTrace();
+            sendJson(exchange, 500, "{\"error\":\"Internal server error\"}");
+        }
+    }
+
+    /**
+     * @brief Sends a small JSON document with a known length
+     *
+     * @param exchange The HTTP exchange
+     * @param status The HTTP status code
+     * @param json The JSON body
+     * @throws IOException If the response cannot be written
+     */
+    static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * @brief Reads and decodes an application/x-www-form-urlencoded body
+     *
+     * The body is always drained so the connection can be reused.
+     *
+     * @param exchange The HTTP exchange
+     * @return The decoded parameters
+     * @throws IOException If the body cannot be read
+     */
+    static Map<String, String> readForm(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (body.size() + read > MAX_BODY_BYTES) {
+                    throw new IllegalArgumentException("Request body too large");
+                }
+                body.write(buffer, 0, read);
+            }
+        }
+        return parseForm(new String(body.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @brief Parses URL-encoded key/value pairs
+     *
+     * @param form The encoded form, for example "name=Wood&quantity=3"
+     * @return The decoded parameters
+     */
+    static Map<String, String> parseForm(String form) {
+        Map<String, String> params = new HashMap<>();
+        if (form == null || form.isEmpty()) {
+            return params;
+        }
+        try {
+            for (String pair : form.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(URLDecoder.decode(pair.substring(0, eq), "UTF-8"),
+                            URLDecoder.decode(pair.substring(eq + 1), "UTF-8"));
+                }
+            }
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return params;
+    }
+
+    /**
+     * @brief Returns a required parameter
+     *
+     * @param params The decoded parameters
+     * @param key The parameter name
+     * @return The non-empty parameter value
+     * @throws IllegalArgumentException If the parameter is missing or empty
+     */
+    static String required(Map<String, String> params, String key) {
+        String value = params.get(key);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + key);
+        }
+        return value;
+    }
+
+    /**
+     * @brief Returns a required amount of money
+     *
+     * @param params The decoded parameters
+     * @param key The parameter name
+     * @return The amount, rounded half up to the minor unit
+     * @throws IllegalArgumentException If the parameter is missing, not a
+     *         number or out of range
+     */
+    static Money money(Map<String, String> params, String key) {
+        String value = required(params, key);
+        try {
+            return Money.parse(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not an amount: " + key + "=" + value);
+        }
+    }
+
+    /**
+     * @brief Returns the SQL that selects a money column in major units
+     *
+     * @param column A column holding minor units
+     * @return The column divided by Money.MINOR_PER_UNIT as a REAL, under its own name
+     */
+    static String majorUnits(String column) {
+        return "CAST(" + column + " AS REAL) / " + Money.MINOR_PER_UNIT + " AS " + column;
+    }
+
+    /**
+     * @brief Quotes and escapes a string as a JSON string literal
+     *
+     * @param value The raw string
+     * @return The JSON string literal
+     */
+    static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,291 @@
+/**
+ * @file Listing.java
+ * @brief Streaming, paginated console listings of the application tables
+ *
+ * This file contains the listing that the console menus and the "--list"
+ * option use to print materials, projects, expenses and sales page by page
+ * straight from the database.
+ */
+package com.beyza.gokce.inventory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * @class Listing
+ * @brief Prints a table in keyset-paginated pages through one buffer
+ *
+ * Rows are read PAGE_SIZE at a time with "WHERE id > ? ORDER BY id LIMIT ?",
+ * each page on a reader connection of the database executor that is given
+ * back before the page is written. No read transaction stays open while the
+ * output is slow, and every page is found through the primary key however
+ * deep into the table it is. A page is formatted into one reused
+ * StringBuilder and written to a BUFFER_SIZE writer, so printing a million
+ * rows takes a few hundred writes to the stream instead of a million
+ * synchronized println calls.
+ *
+ * A listing may be narrowed to the rows whose text contains a filter,
+ * started after a row id and cut off after a number of rows. When rows are
+ * left over, the result carries the id to continue after.
+ */
+final class Listing {
+    /**
+     * @brief The command-line flag that prints a listing
+     */
+    static final String FLAG = "--list";
+
+    /**
+     * @brief Rows read from the database per query
+     */
+    static final int PAGE_SIZE = 1000;
+
+    /**
+     * @brief Size of the output buffer in characters
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * @brief The tables that can be listed
+     *
+     * Each has one text column, an optional whole-number column and an
+     * optional money column, printed as the console menus always have.
+     */
+    enum Table {
+        INVENTORY("inventory", "name", "quantity", "cost"),
+        PROJECTS("projects", "name", null, null),
+        EXPENSES("expenses", "description", null, "amount"),
+        SALES("sales", "item", "quantity", "price");
+
+        final String table;
+        final String text;
+        final String quantity;
+        final String amount;
+
+        Table(String table, String text, String quantity, String amount) {
+            this.table = table;
+            this.text = text;
+            this.quantity = quantity;
+            this.amount = amount;
+        }
+
+        /**
+         * @brief Finds a table by its name
+         *
+         * @param table The table name, in any case
+         * @return The table, or null if it cannot be listed
+         */
+        static Table of(String table) {
+            for (Table value : values()) {
+                if (value.table.equalsIgnoreCase(table)) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return table;
+        }
+
+        private String sql(boolean filtered) {
+            return "SELECT id, " + text + (quantity == null ? "" : ", " + quantity)
+                    + (amount == null ? "" : ", " + amount) + " FROM " + table + " WHERE id > ?"
+                    + (filtered ? " AND " + text + " LIKE ? ESCAPE '\\'" : "") + " ORDER BY id LIMIT ?";
+        }
+
+        /**
+         * @brief Appends one row in the console format
+         */
+        private void append(StringBuilder line, ResultSet rs) throws SQLException {
+            line.append(rs.getString(2));
+            if (quantity != null) {
+                line.append(" - ").append(rs.getInt(3)).append(" piece - ");
+                Money.append(line, rs.getLong(4)).append(" TL");
+            } else if (amount != null) {
+                Money.append(line.append('\n'), rs.getLong(3));
+            }
+            line.append('\n');
+        }
+    }
+
+    /**
+     * @brief The outcome of a listing
+     */
+    static final class Result {
+        /** @brief Rows printed */
+        long rows;
+        /** @brief The id of the last row printed, or the starting id */
+        long lastId;
+        /** @brief True if the limit cut off further rows */
+        boolean more;
+
+        @Override
+        public String toString() {
+            return rows + " rows" + (more ? ", more after id " + lastId : "");
+        }
+    }
+
+    private Listing() {
+    }
+
+    /**
+     * @brief Prints a whole table to standard output
+     *
+     * @param table The table
+     * @return The counts
+     * @throws SQLException If the table cannot be read
+     */
+    static Result print(Table table) throws SQLException {
+        return print(table, null, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * @brief Prints part of a table to standard output
+     *
+     * @param table The table
+     * @param filter Text the rows must contain, ignoring ASCII case, or null
+     * @param after Only rows with a greater id are printed
+     * @param limit The most rows printed
+     * @return The counts and where to continue
+     * @throws SQLException If the table cannot be read
+     */
+    static Result print(Table table, String filter, long after, long limit) throws SQLException {
+        Inventory.awaitDatabase();
+        // Not closed: that would close System.out
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        try {
+            return write(table, filter, after, limit, out, DatabaseExecutor.shared());
+        } finally {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * @brief Writes part of a table through a given database
+     *
+     * @param table The table
+     * @param filter Text the rows must contain, ignoring ASCII case, or null
+     * @param after Only rows with a greater id are written
+     * @param limit The most rows written
+     * @param out The writer; it is not flushed
+     * @param database The executor whose reader connections run the queries
+     * @return The counts and where to continue
+     * @throws SQLException If the table cannot be read or the writer fails
+     */
+    static Result write(Table table, String filter, long after, long limit, Writer out, DatabaseExecutor database)
+            throws SQLException {
+        boolean filtered = filter != null && !filter.isEmpty();
+        String sql = table.sql(filtered);
+        String pattern = filtered ? "%" + escapeLike(filter) + "%" : null;
+        StringBuilder page = new StringBuilder(BUFFER_SIZE);
+        Result result = new Result();
+        result.lastId = after;
+        while (result.rows < limit) {
+            long remaining = limit - result.rows;
+            // One row beyond the limit tells whether anything is left
+            int size = remaining < PAGE_SIZE ? (int) remaining + 1 : PAGE_SIZE;
+            long from = result.lastId;
+            page.setLength(0);
+            long[] read = DatabaseExecutor.await(database.read(conn -> {
+                try (PreparedStatement pstmt = StatementCache.prepare(conn, sql)) {
+                    pstmt.setLong(1, from);
+                    if (filtered) {
+                        pstmt.setString(2, pattern);
+                    }
+                    pstmt.setInt(filtered ? 3 : 2, size);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        long rows = 0;
+                        long last = from;
+                        while (rs.next()) {
+                            if (rows == remaining) {
+                                return new long[] {rows, last, 1};
+                            }
+                            last = rs.getLong(1);
+                            table.append(page, rs);
+                            rows++;
+                        }
+                        return new long[] {rows, last, 0};
+                    }
+                }
+            }));
+            result.rows += read[0];
+            result.lastId = read[1];
+            result.more = read[2] == 1;
+            try {
+                out.append(page);
+            } catch (IOException e) {
+                throw new SQLException("Listing could not be written: " + e.getMessage(), e);
+            }
+            if (read[0] < size) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @brief Prints a listing given on the command line
+     *
+     * The rows go to standard output and the continuation hint to standard
+     * error, so the output can be piped as it is.
+     *
+     * @param args "--list", the table and optionally "--filter text",
+     *             "--after id" and "--limit rows"
+     */
+    static void run(String[] args) {
+        Table table = args.length >= 2 ? Table.of(args[1]) : null;
+        String filter = null;
+        long after = 0;
+        long limit = Long.MAX_VALUE;
+        boolean valid = table != null && args.length % 2 == 0;
+        for (int i = 2; valid && i < args.length; i += 2) {
+            try {
+                switch (args[i].toLowerCase(Locale.ROOT)) {
+                    case "--filter": filter = args[i + 1]; break;
+                    case "--after": after = Long.parseLong(args[i + 1]); break;
+                    case "--limit": limit = Long.parseLong(args[i + 1]); break;
+                    default: valid = false;
+                }
+            } catch (NumberFormatException e) {
+                valid = false;
+            }
+        }
+        if (!valid || limit < 0) {
+            System.out.println("Usage: --list inventory|projects|expenses|sales"
+                    + " [--filter text] [--after id] [--limit rows]");
+            return;
+        }
+        try {
+            Result result = print(table, filter, after, limit);
+            if (result.more) {
+                System.err.println("More rows: --after " + result.lastId);
+            }
+        } catch (SQLException e) {
+            System.out.println("Listing failed: " + e.getMessage());
+        }
+    }
+
+    private static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * @file LruCache.java
+ * @brief Bounded, size-aware least-recently-used cache
+ *
+ * This file contains a small thread-safe LRU cache used in front of database
+ * reads. Entries are weighed so the bound is on estimated memory rather than
+ * on the number of entries.
+ */
+package com.beyza.gokce.inventory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @class LruCache
+ * @brief Read-through LRU cache bounded by total entry weight
+ *
+ * Values are loaded through a Loader on a miss. The loader runs outside the
+ * cache lock so a slow query does not block hits on other keys. A generation
+ * counter, bumped by every invalidation, keeps a load that raced with a write
+ * from putting a stale value back into the cache.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class LruCache<K, V> {
+    /**
+     * @brief Estimates the memory used by an entry
+     *
+     * @param <K> The key type
+     * @param <V> The value type
+     */
+    public interface Weigher<K, V> {
+        /**
+         * @brief Returns the weight of an entry
+         *
+         * @param key The key
+         * @param value The value
+         * @return The weight, in the same unit as the cache bound
+         */
+        long weigh(K key, V value);
+    }
+
+    /**
+     * @brief Loads the value for a missing key
+     *
+     * @param <K> The key type
+     * @param <V> The value type
+     * @param <E> The exception the loader may throw
+     */
+    public interface Loader<K, V, E extends Exception> {
+        /**
+         * @brief Loads a value
+         *
+         * @param key The key
+         * @return The value, never null
+         * @throws E If the value cannot be loaded
+         */
+        V load(K key) throws E;
+    }
+
+    /**
+     * @class Stats
+     * @brief Immutable snapshot of the cache counters
+     */
+    public static final class Stats {
+        /** @brief Number of lookups served from the cache */
+        public final long hits;
+        /** @brief Number of lookups that had to load */
+        public final long misses;
+        /** @brief Number of entries evicted to stay under the bound */
+        public final long evictions;
+        /** @brief Number of entries currently cached */
+        public final int size;
+        /** @brief Total weight of the cached entries */
+        public final long weight;
+
+        Stats(long hits, long misses, long evictions, int size, long weight) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        /**
+         * @brief Returns the fraction of lookups served from the cache
+         *
+         * @return The hit rate between 0 and 1
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d misses=%d evictions=%d hitRate=%.2f size=%d weight=%d",
+                    hits, misses, evictions, hitRate(), size, weight);
+        }
+    }
+
+    private final long maxWeight;
+    private final Weigher<K, V> weigher;
+    private final LinkedHashMap<K, Weighted<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @brief Creates an empty cache
+     *
+     * @param maxWeight The largest total weight the cache may hold
+     * @param weigher Estimates the weight of each entry
+     */
+    public LruCache(long maxWeight, Weigher<K, V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * @brief Returns the cached value, loading and caching it on a miss
+     *
+     * A value heavier than the whole cache is returned but not cached.
+     *
+     * @param key The key
+     * @param loader Loads the value on a miss
+     * @param <E> The exception the loader may throw
+     * @return The cached or freshly loaded value
+     * @throws E If the loader fails
+     */
+    public <E extends Exception> V get(K key, Loader<K, V, E> loader) throws E {
+        long loadGeneration;
+        synchronized (this) {
+            Weighted<V> cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+                return cached.value;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        V loaded = loader.load(key);
+
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                put(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * @brief Returns the cached value without loading
+     *
+     * @param key The key
+     * @return The cached value, or null when absent
+     */
+    public synchronized V getIfPresent(K key) {
+        Weighted<V> cached = entries.get(key);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return cached.value;
+    }
+
+    /**
+     * @brief Removes one entry and fences off loads that started before it
+     *
+     * @param key The key to remove
+     */
+    public synchronized void invalidate(K key) {
+        generation++;
+        Weighted<V> removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    /**
+     * @brief Removes every entry and fences off loads in progress
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * @brief Returns a snapshot of the cache counters
+     *
+     * @return The current statistics
+     */
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, entries.size(), weight);
+    }
+
+    private void put(K key, V value) {
+        long entryWeight = weigher.weigh(key, value);
+        if (entryWeight > maxWeight) {
+            return;
+        }
+        Weighted<V> previous = entries.put(key, new Weighted<>(value, entryWeight));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entryWeight;
+
+        Iterator<Map.Entry<K, Weighted<V>>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            weight -= eldest.next().getValue().weight;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * @class Weighted
+     * @brief A cached value and the weight it was admitted with
+     *
+     * Keeping the admission weight means a value mutated after caching
+     * cannot make the running total drift.
+     */
+    private static final class Weighted<V> {
+        final V value;
+        final long weight;
+
+        Weighted(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/**
+ * @file Money.java
+ * @brief Fixed-point money amounts in minor units
+ *
+ * This file contains the money type used for costs, prices and expense
+ * amounts, and the static helpers that do the same arithmetic on plain
+ * long minor units.
+ */
+package com.beyza.gokce.inventory;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * @class Money
+ * @brief An exact amount of money held as a long count of minor units
+ *
+ * One unit is MINOR_PER_UNIT minor units, so 12.50 TL is 1250. Amounts are
+ * stored in the database as INTEGER minor units and added up as longs, so
+ * sums are exact where adding doubles drifts by fractions of a kuruş.
+ *
+ * The static methods work on raw minor units and allocate nothing, for
+ * loops that add up many amounts. Instances wrap one amount for the domain
+ * objects and the GUI tables, where they sort numerically and print with
+ * two decimals. Every operation checks for overflow and throws
+ * ArithmeticException instead of wrapping around.
+ *
+ * Conversions from text and from double round half up to the nearest minor
+ * unit. Doubles are only used at the edges: files written before amounts
+ * were fixed-point, and values typed as numbers.
+ */
+final class Money implements Comparable<Money>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @brief Digits after the decimal point
+     */
+    static final int SCALE = 2;
+
+    /**
+     * @brief Minor units in one unit
+     */
+    static final long MINOR_PER_UNIT = 100;
+
+    /**
+     * @brief The zero amount
+     */
+    static final Money ZERO = new Money(0);
+
+    private final long minor;
+
+    private Money(long minor) {
+        this.minor = minor;
+    }
+
+    /**
+     * @brief Returns the amount of a number of minor units
+     *
+     * @param minor The minor units
+     * @return The amount
+     */
+    static Money ofMinor(long minor) {
+        return minor == 0 ? ZERO : new Money(minor);
+    }
+
+    /**
+     * @brief Returns the amount nearest to a double
+     *
+     * @param value The amount in units
+     * @return The amount
+     * @throws ArithmeticException If the value is not finite or out of range
+     */
+    static Money of(double value) {
+        return ofMinor(toMinor(value));
+    }
+
+    /**
+     * @brief Parses an amount such as "12.5", "-0.05" or "1e3"
+     *
+     * @param text The amount in units
+     * @return The amount
+     * @throws NumberFormatException If the text is not a number or the
+     *         amount is out of range
+     */
+    static Money parse(String text) {
+        return ofMinor(parseMinor(text));
+    }
+
+    /**
+     * @brief Parses an amount to minor units
+     *
+     * @param text The amount in units
+     * @return The minor units
+     * @throws NumberFormatException If the text is not a number or the
+     *         amount is out of range
+     */
+    static long parseMinor(String text) {
+        try {
+            return new BigDecimal(text.trim()).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+
+    /**
+     * @brief Converts an amount in units to the nearest minor unit
+     *
+     * The double's shortest decimal form is rounded, so 0.285 becomes 29
+     * even though the nearest double is slightly below 0.285.
+     *
+     * @param value The amount in units
+     * @return The minor units
+     * @throws ArithmeticException If the value is not finite or out of range
+     */
+    static long toMinor(double value) {
+        if (!Double.isFinite(value)) {
+            throw new ArithmeticException("Not an amount: " + value);
+        }
+        return BigDecimal.valueOf(value).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * @brief Converts minor units to the nearest double in units
+     *
+     * @param minor The minor units
+     * @return The amount in units
+     */
+    static double toDouble(long minor) {
+        return minor / (double) MINOR_PER_UNIT;
+    }
+
+    /**
+     * @brief Adds two amounts in minor units
+     *
+     * @throws ArithmeticException If the sum overflows
+     */
+    static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /**
+     * @brief Subtracts two amounts in minor units
+     *
+     * @throws ArithmeticException If the difference overflows
+     */
+    static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * @brief Multiplies an amount in minor units by a count
+     *
+     * @throws ArithmeticException If the product overflows
+     */
+    static long multiply(long minor, long count) {
+        return Math.multiplyExact(minor, count);
+    }
+
+    /**
+     * @brief Formats minor units with two decimals, such as "-0.05"
+     *
+     * @param minor The minor units
+     * @return The amount in units
+     */
+    static String format(long minor) {
+        return append(new StringBuilder(24), minor).toString();
+    }
+
+    /**
+     * @brief Appends minor units with two decimals, without a String
+     *
+     * @param text The builder to append to
+     * @param minor The minor units
+     * @return The builder
+     */
+    static StringBuilder append(StringBuilder text, long minor) {
+        if (minor < 0) {
+            text.append('-');
+        }
+        // Negated in two steps, so Long.MIN_VALUE does not overflow
+        long units = Math.abs(minor / MINOR_PER_UNIT);
+        int cents = (int) Math.abs(minor % MINOR_PER_UNIT);
+        text.append(units).append('.');
+        if (cents < 10) {
+            text.append('0');
+        }
+        return text.append(cents);
+    }
+
+    /**
+     * @brief Returns the amount in minor units
+     */
+    long minor() {
+        return minor;
+    }
+
+    /**
+     * @brief Returns the nearest double in units
+     */
+    double toDouble() {
+        return toDouble(minor);
+    }
+
+    /**
+     * @brief Returns this amount plus another
+     *
+     * @throws ArithmeticException If the sum overflows
+     */
+    Money plus(Money other) {
+        return ofMinor(add(minor, other.minor));
+    }
+
+    /**
+     * @brief Returns this amount minus another
+     *
+     * @throws ArithmeticException If the difference overflows
+     */
+    Money minus(Money other) {
+        return ofMinor(subtract(minor, other.minor));
+    }
+
+    /**
+     * @brief Returns this amount times a count
+     *
+     * @throws ArithmeticException If the product overflows
+     */
+    Money times(long count) {
+        return ofMinor(multiply(minor, count));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money && ((Money) other).minor == minor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minor);
+    }
+
+    /**
+     * @brief Returns the amount with two decimals, such as "12.50"
+     */
+    @Override
+    public String toString() {
+        return format(minor);
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * @file PrefixTrie.java
+ * @brief In-memory prefix tree for autocompleting names
+ *
+ * This file contains the trie the GUI dialogs complete material, project and
+ * expense names from while the user types.
+ */
+package com.beyza.gokce.inventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * @class PrefixTrie
+ * @brief Case-insensitive prefix tree ranking completions by frequency
+ *
+ * Every added name counts once; a name added again (two inventory rows with
+ * the same material, say) ranks higher. Each node records the highest count
+ * below it, so complete() visits nodes best-first and stops after the
+ * requested number of names instead of walking the whole subtree. Equal
+ * counts come out in alphabetical order.
+ *
+ * Children are kept in sorted parallel arrays rather than maps, which keeps
+ * a node to two small arrays.
+ */
+final class PrefixTrie {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * @brief Builds a trie from a collection of names
+     *
+     * @param names The names; nulls and blanks are skipped
+     * @return The trie
+     */
+    static PrefixTrie of(Collection<String> names) {
+        PrefixTrie trie = new PrefixTrie();
+        for (String name : names) {
+            trie.add(name);
+        }
+        return trie;
+    }
+
+    /**
+     * @brief Adds one occurrence of a name
+     *
+     * The first spelling added is the one completions return.
+     *
+     * @param name The name; null and blank names are ignored
+     */
+    void add(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        Node node = root;
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            path[i + 1] = node;
+        }
+        if (node.count == 0) {
+            node.name = name;
+            size++;
+        }
+        node.count++;
+        for (Node step : path) {
+            if (step.best < node.count) {
+                step.best = node.count;
+            }
+        }
+    }
+
+    /**
+     * @brief Returns the number of distinct names
+     *
+     * @return The name count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @brief Returns how often a name was added
+     *
+     * @param name The name, in any case
+     * @return Its count, or 0 if it was never added
+     */
+    int count(String name) {
+        Node node = find(name.toLowerCase(Locale.ROOT));
+        return node == null ? 0 : node.count;
+    }
+
+    /**
+     * @brief Returns the most frequent names starting with a prefix
+     *
+     * @param prefix The typed text, in any case
+     * @param limit The maximum number of names
+     * @return Up to limit names, most frequent first, then alphabetically
+     */
+    List<String> complete(String prefix, int limit) {
+        List<String> result = new ArrayList<>();
+        String key = prefix.toLowerCase(Locale.ROOT);
+        Node start = find(key);
+        if (start == null || limit <= 0) {
+            return result;
+        }
+        PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        queue.add(new Candidate(start, key, start.best, false));
+        while (!queue.isEmpty() && result.size() < limit) {
+            Candidate candidate = queue.poll();
+            Node node = candidate.node;
+            if (candidate.terminal) {
+                result.add(node.name);
+                continue;
+            }
+            if (node.count > 0) {
+                queue.add(new Candidate(node, candidate.path, node.count, true));
+            }
+            for (int i = 0; i < node.keys.length; i++) {
+                Node child = node.children[i];
+                queue.add(new Candidate(child, candidate.path + node.keys[i], child.best, false));
+            }
+        }
+        return result;
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * @class Node
+     * @brief One character of the tree
+     */
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        String name;
+        int count;
+        int best;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[keys.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, keys.length - at);
+            Node node = new Node();
+            newKeys[at] = c;
+            newChildren[at] = node;
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+    }
+
+    /**
+     * @class Candidate
+     * @brief A subtree or a finished name waiting in the best-first queue
+     *
+     * A subtree is ranked by the best count inside it, so it is expanded
+     * before any name it could outrank. At equal rank the shorter path, and
+     * a name before its own subtree, come first, which yields alphabetical
+     * order.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+        final Node node;
+        final String path;
+        final int rank;
+        final boolean terminal;
+
+        Candidate(Node node, String path, int rank, boolean terminal) {
+            this.node = node;
+            this.path = path;
+            this.rank = rank;
+            this.terminal = terminal;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            if (rank != other.rank) {
+                return Integer.compare(other.rank, rank);
+            }
+            int c = path.compareTo(other.path);
+            if (c != 0) {
+                return c;
+            }
+            return Boolean.compare(other.terminal, terminal);
+        }
+    }
+}
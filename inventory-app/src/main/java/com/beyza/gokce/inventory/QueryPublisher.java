@@ -0,0 +1,391 @@
+/**
+ * @file QueryPublisher.java
+ * @brief Demand-driven streams of the rows of the application tables
+ *
+ * This file contains a java.util.concurrent.Flow publisher of materials,
+ * sales, expenses and projects, and the subscriber that feeds the rows into
+ * a Swing table model as they arrive.
+ */
+package com.beyza.gokce.inventory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.DefaultTableModel;
+
+/**
+ * @class QueryPublisher
+ * @brief Publishes the rows of one table as far as the subscriber asks
+ *
+ * Nothing is read until the subscriber requests rows. Each request is served
+ * with keyset pages, "WHERE id > ? ORDER BY id LIMIT ?", of at most the
+ * fetch size rows and never more than the outstanding demand. A page is read
+ * on a reader connection of the database executor, which is given back with
+ * its cursor closed before any row is handed to the subscriber, so a slow
+ * subscriber holds no connection and a subscriber may itself read the
+ * database. At most one page is held in memory, whatever the table size.
+ *
+ * Cancelling stops the stream: a page being read closes its cursor at the
+ * next row, and rows already read are dropped. Rows are signalled on the
+ * reader threads, one page at a time and never concurrently.
+ *
+ * @tparam T The record type of the rows
+ */
+final class QueryPublisher<T> implements Flow.Publisher<T> {
+    /**
+     * @brief Default number of rows read per page
+     */
+    static final int DEFAULT_FETCH_SIZE = Listing.PAGE_SIZE;
+
+    private final DatabaseExecutor database;
+    private final String sql;
+    private final RowMappers.Binder<T> binder;
+    private final int fetchSize;
+
+    /**
+     * @brief Creates a publisher of the rows of a keyset query
+     *
+     * @param database The executor whose reader connections run the queries
+     * @param sql The query; it selects the id first and takes the id to
+     *            start after and the page size as its two parameters
+     * @param binder Maps the rows of each page to records
+     * @param fetchSize The most rows read per page
+     */
+    QueryPublisher(DatabaseExecutor database, String sql, RowMappers.Binder<T> binder, int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+        this.database = database;
+        this.sql = sql;
+        this.binder = binder;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * @brief Publishes the sales of the shared database
+     *
+     * @return The publisher
+     */
+    static QueryPublisher<Sale> sales() {
+        Inventory.awaitDatabase();
+        return sales(DatabaseExecutor.shared());
+    }
+
+    /**
+     * @brief Publishes the sales of a given database
+     *
+     * @param database The executor whose reader connections run the queries
+     * @return The publisher
+     */
+    static QueryPublisher<Sale> sales(DatabaseExecutor database) {
+        return new QueryPublisher<>(database,
+                "SELECT id, item, quantity, price FROM sales WHERE id > ? ORDER BY id LIMIT ?",
+                RowMappers.SALES, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * @brief Publishes the projects of the shared database
+     *
+     * @return The publisher
+     */
+    static QueryPublisher<Project> projects() {
+        Inventory.awaitDatabase();
+        return projects(DatabaseExecutor.shared());
+    }
+
+    /**
+     * @brief Publishes the projects of a given database
+     *
+     * @param database The executor whose reader connections run the queries
+     * @return The publisher
+     */
+    static QueryPublisher<Project> projects(DatabaseExecutor database) {
+        return new QueryPublisher<>(database,
+                "SELECT id, name FROM projects WHERE id > ? ORDER BY id LIMIT ?",
+                RowMappers.PROJECTS, DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * @brief Returns a publisher of the same rows with another page size
+     *
+     * @param fetchSize The most rows read per page
+     * @return The publisher
+     */
+    QueryPublisher<T> withFetchSize(int fetchSize) {
+        return new QueryPublisher<>(database, sql, binder, fetchSize);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        new RowSubscription(subscriber).start();
+    }
+
+    /**
+     * @brief The state of one subscriber's stream
+     *
+     * The running flag is held while a page is read and signalled, so pages
+     * follow each other; a request made meanwhile is picked up when the page
+     * is done.
+     */
+    private final class RowSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        // Held until onSubscribe returns, so no row overtakes it
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private volatile boolean cancelled;
+        private boolean done;
+        private long lastId;
+
+        RowSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void start() {
+            subscriber.onSubscribe(this);
+            running.set(false);
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (!cancelled) {
+                    cancelled = true;
+                    subscriber.onError(new IllegalArgumentException("Requested rows must be positive: " + n));
+                }
+                return;
+            }
+            demand.accumulateAndGet(n, (current, added) -> {
+                long sum = current + added;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * @brief Reads the next page if rows are wanted and none is being read
+         */
+        private void drain() {
+            if (cancelled || demand.get() == 0 || !running.compareAndSet(false, true)) {
+                return;
+            }
+            if (done) {
+                running.set(false);
+                return;
+            }
+            int size = (int) Math.min(demand.get(), fetchSize);
+            long from = lastId;
+            CompletableFuture<List<T>> page;
+            try {
+                page = database.read(conn -> fetch(conn, from, size));
+            } catch (RuntimeException e) {
+                page = CompletableFuture.failedFuture(e);
+            }
+            page.whenComplete((rows, error) -> deliver(rows, error, size));
+        }
+
+        private List<T> fetch(Connection conn, long from, int size) throws SQLException {
+            List<T> rows = new ArrayList<>(size);
+            try (PreparedStatement pstmt = StatementCache.prepare(conn, sql)) {
+                pstmt.setLong(1, from);
+                pstmt.setInt(2, size);
+                pstmt.setFetchSize(size);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    RowMappers.RowMapper<T> mapper = RowMappers.bind(rs, binder);
+                    while (!cancelled && rs.next()) {
+                        rows.add(mapper.map(rs));
+                        lastId = rs.getLong(1);
+                    }
+                }
+            }
+            return rows;
+        }
+
+        private void deliver(List<T> rows, Throwable error, int size) {
+            if (error != null) {
+                done = true;
+                if (!cancelled) {
+                    cancelled = true;
+                    subscriber.onError(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                }
+                return;
+            }
+            int count = rows.size();
+            demand.getAndUpdate(current -> current == Long.MAX_VALUE ? current : current - count);
+            for (T row : rows) {
+                if (cancelled) {
+                    return;
+                }
+                try {
+                    subscriber.onNext(row);
+                } catch (Throwable e) {
+                    // As SubmissionPublisher does, a subscriber that throws is cancelled and told why
+                    done = true;
+                    cancelled = true;
+                    subscriber.onError(e);
+                    return;
+                }
+            }
+            if (count < size) {
+                done = true;
+                if (!cancelled) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            running.set(false);
+            drain();
+        }
+    }
+
+    /**
+     * @brief Streams rows into a Swing table model in batches
+     *
+     * Rows are requested BATCH_SIZE at a time and appended on the event
+     * dispatch thread with one insert event per batch. The next batch is only
+     * requested once the previous one is in the model, so the stream never
+     * runs ahead of the screen. Cancelling drops the batches not yet added.
+     *
+     * @tparam T The record type of the rows
+     */
+    static final class TableModelSubscriber<T> implements Flow.Subscriber<T> {
+        /**
+         * @brief Rows requested and added to the model at a time
+         */
+        static final int BATCH_SIZE = 200;
+
+        private final DefaultTableModel model;
+        private final Function<? super T, Object[]> columns;
+        private final Consumer<? super T> added;
+        private final Consumer<Throwable> done;
+        private List<T> pending = new ArrayList<>(BATCH_SIZE);
+        private volatile Flow.Subscription subscription;
+        private volatile boolean cancelled;
+
+        /**
+         * @brief Creates a subscriber that appends to a model
+         *
+         * @param model The model; its rows are appended to, not replaced
+         * @param columns Maps a record to the cells of its table row
+         * @param done Called on the event dispatch thread when the stream
+         *             ends, with the error or null; it is not called once
+         *             cancelled
+         */
+        TableModelSubscriber(DefaultTableModel model, Function<? super T, Object[]> columns,
+                Consumer<Throwable> done) {
+            this(model, columns, item -> { }, done);
+        }
+
+        /**
+         * @brief Creates a subscriber that appends to a model and hands each
+         *        record to the caller
+         *
+         * @param model The model; its rows are appended to, not replaced
+         * @param columns Maps a record to the cells of its table row
+         * @param added Called on the event dispatch thread with each record
+         *              as its row is added to the model
+         * @param done Called on the event dispatch thread when the stream
+         *             ends, with the error or null; it is not called once
+         *             cancelled
+         */
+        TableModelSubscriber(DefaultTableModel model, Function<? super T, Object[]> columns,
+                Consumer<? super T> added, Consumer<Throwable> done) {
+            this.model = model;
+            this.columns = columns;
+            this.added = added;
+            this.done = done;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(BATCH_SIZE);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            pending.add(item);
+            if (pending.size() == BATCH_SIZE) {
+                flush(null, false);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            flush(throwable, true);
+        }
+
+        @Override
+        public void onComplete() {
+            flush(null, true);
+        }
+
+        /**
+         * @brief Stops the stream and drops rows not yet in the model
+         */
+        void cancel() {
+            cancelled = true;
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        private void flush(Throwable error, boolean last) {
+            List<T> rows = pending;
+            pending = new ArrayList<>(BATCH_SIZE);
+            SwingUtilities.invokeLater(() -> {
+                if (cancelled) {
+                    return;
+                }
+                if (!rows.isEmpty()) {
+                    @SuppressWarnings({"rawtypes", "unchecked"})
+                    Vector<Vector> data = model.getDataVector();
+                    int first = data.size();
+                    for (T item : rows) {
+                        Object[] row = columns.apply(item);
+                        Vector<Object> cells = new Vector<>(row.length);
+                        for (Object cell : row) {
+                            cells.add(cell);
+                        }
+                        data.add(cells);
+                        added.accept(item);
+                    }
+                    model.fireTableRowsInserted(first, data.size() - 1);
+                }
+                if (last) {
+                    done.accept(error);
+                } else {
+                    subscription.request(BATCH_SIZE);
+                }
+            });
+        }
+    }
+}
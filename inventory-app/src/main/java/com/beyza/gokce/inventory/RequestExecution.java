@@ -0,0 +1,245 @@
+/**
+ * @file RequestExecution.java
+ * @brief Execution modes for requests served against the persistence layer
+ *
+ * This file contains the factory for the executors used by the server mode
+ * and the semaphores that bound how many of those requests may touch the
+ * SQLite database at the same time.
+ */
+package com.beyza.gokce.inventory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @class RequestExecution
+ * @brief Creates request executors and gates access to the database
+ *
+ * Requests can run on a bounded pool of platform threads or on one virtual
+ * thread per request. Virtual threads need Java 21; the executor is looked up
+ * reflectively so the application still builds and runs on Java 17, falling
+ * back to the platform pool when virtual threads are not available.
+ *
+ * Whatever the mode, database work goes through a fair semaphore: one permit
+ * for the single SQLite writer and a small number for readers. A burst of
+ * thousands of virtual threads therefore queues cheaply on the semaphore
+ * instead of piling up on the SQLite file lock.
+ *
+ * A platform pool whose queue is full rejects the request rather than
+ * running it on the caller, which for the HTTP server is the one thread
+ * that accepts every connection. withOverflow() runs rejected requests on
+ * a separate thread that only answers that the server is busy.
+ */
+public final class RequestExecution {
+    /**
+     * @brief The ways a request can be scheduled
+     */
+    public enum Mode {
+        /** A bounded pool of platform threads */
+        PLATFORM,
+        /** One virtual thread per request (Java 21 and later) */
+        VIRTUAL
+    }
+
+    /**
+     * @brief Default number of concurrent readers allowed into SQLite
+     */
+    public static final int DEFAULT_READ_PERMITS = 8;
+
+    /**
+     * @brief Number of rejected requests that may wait for their busy answer
+     */
+    static final int OVERFLOW_QUEUE_CAPACITY = 64;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestExecution.class);
+
+    /**
+     * @brief Serializes writers in front of the single SQLite writer
+     */
+    private static final Semaphore WRITE_GATE = new Semaphore(1, true);
+
+    /**
+     * @brief Bounds the number of concurrent SQLite readers
+     */
+    private static final Semaphore READ_GATE = new Semaphore(DEFAULT_READ_PERMITS, true);
+
+    /**
+     * @brief Executors.newVirtualThreadPerTaskExecutor, or null before Java 21
+     */
+    private static final Method VIRTUAL_EXECUTOR_FACTORY = findVirtualExecutorFactory();
+
+    /**
+     * @brief Set while a rejected request runs on the overflow thread
+     */
+    private static final ThreadLocal<Boolean> OVERFLOW = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private RequestExecution() {
+    }
+
+    /**
+     * @brief Tells whether this JVM can create virtual threads
+     *
+     * @return True on Java 21 and later
+     */
+    public static boolean virtualThreadsSupported() {
+        return VIRTUAL_EXECUTOR_FACTORY != null;
+    }
+
+    /**
+     * @brief Creates an executor for the given mode
+     *
+     * @param mode The requested execution mode
+     * @param platformThreads The pool size used in PLATFORM mode or as fallback
+     * @param queueCapacity The pool queue length used in PLATFORM mode
+     * @return A new executor; the caller owns and must shut it down. In
+     *         PLATFORM mode it throws RejectedExecutionException when the
+     *         queue is full
+     */
+    public static ExecutorService newExecutor(Mode mode, int platformThreads, int queueCapacity) {
+        if (mode == Mode.VIRTUAL) {
+            if (virtualThreadsSupported()) {
+                try {
+                    return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    LOGGER.warn("Virtual thread executor could not be created", e);
+                }
+            }
+            LOGGER.info("Virtual threads are not available on this JVM, using platform threads.");
+        }
+        return newPool("inventory-worker-", platformThreads, queueCapacity);
+    }
+
+    /**
+     * @brief Creates the executor that runs requests rejected by a full pool
+     *
+     * @return A single daemon thread with a short queue; it rejects as well
+     *         once that queue is full
+     */
+    public static ExecutorService newOverflowExecutor() {
+        return newPool("inventory-overflow-", 1, OVERFLOW_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @brief Runs tasks on an executor and rejected ones on an overflow executor
+     *
+     * A task that the overflow executor runs sees overflowing() return true,
+     * so its handler can answer at once instead of doing the work.
+     *
+     * @param executor The executor for normal requests
+     * @param overflow The executor for rejected requests
+     * @return The combined executor
+     */
+    public static Executor withOverflow(Executor executor, Executor overflow) {
+        return task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                overflow.execute(() -> {
+                    OVERFLOW.set(Boolean.TRUE);
+                    try {
+                        task.run();
+                    } finally {
+                        OVERFLOW.remove();
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * @brief Tells whether the current task was rejected by the request pool
+     *
+     * @return True on the overflow thread of withOverflow()
+     */
+    public static boolean overflowing() {
+        return OVERFLOW.get();
+    }
+
+    /**
+     * @brief Parses a mode name, accepting "platform" and "virtual"
+     *
+     * @param name The mode name, case-insensitive; null selects PLATFORM
+     * @return The parsed mode
+     * @throws IllegalArgumentException If the name is not a known mode
+     */
+    public static Mode parseMode(String name) {
+        if (name == null || name.isEmpty()) {
+            return Mode.PLATFORM;
+        }
+        return Mode.valueOf(name.trim().toUpperCase());
+    }
+
+    /**
+     * @brief Runs a write operation while holding the writer permit
+     *
+     * @param operation The operation to run
+     * @param <T> The result type
+     * @return The operation's result
+     * @throws Exception Whatever the operation throws
+     */
+    public static <T> T write(Callable<T> operation) throws Exception {
+        return gated(WRITE_GATE, operation);
+    }
+
+    /**
+     * @brief Runs a read operation while holding a reader permit
+     *
+     * @param operation The operation to run
+     * @param <T> The result type
+     * @return The operation's result
+     * @throws Exception Whatever the operation throws
+     */
+    public static <T> T read(Callable<T> operation) throws Exception {
+        return gated(READ_GATE, operation);
+    }
+
+    /**
+     * @brief Returns how many callers are waiting for the writer permit
+     *
+     * @return An estimate of the writer queue length
+     */
+    public static int queuedWriters() {
+        return WRITE_GATE.getQueueLength();
+    }
+
+    private static <T> T gated(Semaphore gate, Callable<T> operation) throws Exception {
+        gate.acquire();
+        try {
+            return operation.call();
+        } finally {
+            gate.release();
+        }
+    }
+
+    private static ExecutorService newPool(String prefix, int threads, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, prefix + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static Method findVirtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+/**
+ * @file RowMappers.java
+ * @brief Maps result set rows by column position instead of column label
+ *
+ * This file contains the mappers that turn rows of the users, inventory,
+ * projects, expenses and sales tables into records, and rows of any table
+ * into table cells, with the column positions looked up once per query.
+ */
+package com.beyza.gokce.inventory;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * @class RowMappers
+ * @brief Binds a mapper to the columns of one result set
+ *
+ * Reading a column by label makes the driver find the label among the
+ * columns on every row. A binder instead finds each column it needs once,
+ * from the result set's metadata, and returns a mapper that reads every
+ * row by position. Queries may therefore select the columns in any order
+ * and with other columns between them; only the labels must match.
+ *
+ * The id and version columns are optional: a record is given them when
+ * they are selected. Any other missing column fails the bind.
+ */
+final class RowMappers {
+    /**
+     * @brief Maps the current row of a result set
+     *
+     * @tparam T The record type
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        /**
+         * @brief Maps the current row
+         *
+         * @param rs The result set, positioned on a row
+         * @return The record
+         * @throws SQLException If a column cannot be read
+         */
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * @brief Finds the columns of a result set and returns its row mapper
+     *
+     * @tparam T The record type
+     */
+    @FunctionalInterface
+    interface Binder<T> {
+        /**
+         * @brief Resolves the column positions
+         *
+         * @param meta The metadata of the result set
+         * @return A mapper that reads those positions
+         * @throws SQLException If a required column is not selected
+         */
+        RowMapper<T> bind(ResultSetMetaData meta) throws SQLException;
+    }
+
+    /**
+     * @brief Maps users rows: username, password
+     */
+    static final Binder<User> USERS = meta -> {
+        int username = column(meta, "username");
+        int password = column(meta, "password");
+        return rs -> new User(rs.getString(username), rs.getString(password));
+    };
+
+    /**
+     * @brief Maps inventory rows: name, quantity, cost and optionally id, version
+     */
+    static final Binder<InventoryItem> INVENTORY = meta -> {
+        int id = optionalColumn(meta, "id");
+        int name = column(meta, "name");
+        int quantity = column(meta, "quantity");
+        int cost = column(meta, "cost");
+        int version = optionalColumn(meta, "version");
+        return rs -> {
+            InventoryItem item = new InventoryItem(rs.getString(name), rs.getInt(quantity),
+                    Money.ofMinor(rs.getLong(cost)));
+            if (id != 0) {
+                item.setId(rs.getLong(id));
+            }
+            if (version != 0) {
+                item.setVersion(rs.getLong(version));
+            }
+            return item;
+        };
+    };
+
+    /**
+     * @brief Maps projects rows: name and optionally id
+     */
+    static final Binder<Project> PROJECTS = meta -> {
+        int id = optionalColumn(meta, "id");
+        int name = column(meta, "name");
+        return rs -> {
+            Project project = new Project(rs.getString(name));
+            if (id != 0) {
+                project.setId(rs.getLong(id));
+            }
+            return project;
+        };
+    };
+
+    /**
+     * @brief Maps expenses rows: description, amount and optionally id
+     */
+    static final Binder<Expense> EXPENSES = meta -> {
+        int id = optionalColumn(meta, "id");
+        int description = column(meta, "description");
+        int amount = column(meta, "amount");
+        return rs -> {
+            Expense expense = new Expense(rs.getString(description), Money.ofMinor(rs.getLong(amount)));
+            if (id != 0) {
+                expense.setId(rs.getLong(id));
+            }
+            return expense;
+        };
+    };
+
+    /**
+     * @brief Maps sales rows: item, quantity, price and optionally id
+     */
+    static final Binder<Sale> SALES = meta -> {
+        int id = optionalColumn(meta, "id");
+        int item = column(meta, "item");
+        int quantity = column(meta, "quantity");
+        int price = column(meta, "price");
+        return rs -> {
+            Sale sale = new Sale(rs.getString(item), rs.getInt(quantity), Money.ofMinor(rs.getLong(price)));
+            if (id != 0) {
+                sale.setId(rs.getLong(id));
+            }
+            return sale;
+        };
+    };
+
+    /**
+     * @brief Maps any row to the cells of a table row
+     *
+     * Each column is read with the getter of its declared type, chosen once:
+     * INTEGER columns as Integer, or Long when the value needs it, REAL as
+     * Double and TEXT as String, which is what getObject returns for them
+     * without it asking the driver for the type of every value. Columns
+     * without one of those types still go through getObject.
+     */
+    static final Binder<Object[]> CELLS = meta -> {
+        int count = meta.getColumnCount();
+        int[] types = new int[count];
+        for (int i = 0; i < count; i++) {
+            String type = meta.getColumnTypeName(i + 1);
+            type = type == null ? "" : type.toUpperCase(Locale.ROOT);
+            types[i] = type.equals("INTEGER") ? 1 : type.equals("REAL") ? 2 : type.equals("TEXT") ? 3 : 0;
+        }
+        return rs -> {
+            Object[] row = new Object[count];
+            for (int i = 0; i < count; i++) {
+                int c = i + 1;
+                switch (types[i]) {
+                    case 1:
+                        long whole = rs.getLong(c);
+                        row[i] = rs.wasNull() ? null
+                                : whole == (int) whole ? (Object) Integer.valueOf((int) whole) : (Object) whole;
+                        break;
+                    case 2:
+                        double real = rs.getDouble(c);
+                        row[i] = rs.wasNull() ? null : (Object) real;
+                        break;
+                    case 3:
+                        row[i] = rs.getString(c);
+                        break;
+                    default:
+                        row[i] = rs.getObject(c);
+                }
+            }
+            return row;
+        };
+    };
+
+    private RowMappers() {
+    }
+
+    /**
+     * @brief Maps any row of a table to table cells, with money in major units
+     *
+     * Like CELLS, except that the money column of the table (see
+     * TableExporter.moneyColumn), stored as minor units, becomes a Double
+     * such as 20.5, as the module tables show it.
+     *
+     * @param table The table the rows come from
+     * @return The binder; CELLS if the table has no money column
+     */
+    static Binder<Object[]> cells(String table) {
+        String money = TableExporter.moneyColumn(table);
+        if (money == null) {
+            return CELLS;
+        }
+        return meta -> {
+            RowMapper<Object[]> cells = CELLS.bind(meta);
+            int column = optionalColumn(meta, money) - 1;
+            if (column < 0) {
+                return cells;
+            }
+            return rs -> {
+                Object[] row = cells.map(rs);
+                if (row[column] instanceof Integer || row[column] instanceof Long) {
+                    row[column] = Money.toDouble(((Number) row[column]).longValue());
+                }
+                return row;
+            };
+        };
+    }
+
+    /**
+     * @brief Binds a mapper to the columns of a result set
+     *
+     * @param rs The result set
+     * @param binder The binder of the record type
+     * @return The mapper for the rows of this result set
+     * @throws SQLException If a required column is not selected
+     */
+    static <T> RowMapper<T> bind(ResultSet rs, Binder<T> binder) throws SQLException {
+        return binder.bind(rs.getMetaData());
+    }
+
+    /**
+     * @brief Maps every remaining row of a result set
+     *
+     * @param rs The result set; it is not closed
+     * @param binder The binder of the record type
+     * @return The records, in row order
+     * @throws SQLException If a column is missing or cannot be read
+     */
+    static <T> List<T> list(ResultSet rs, Binder<T> binder) throws SQLException {
+        RowMapper<T> mapper = bind(rs, binder);
+        List<T> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(mapper.map(rs));
+        }
+        return rows;
+    }
+
+    /**
+     * @brief Returns the names of the columns of a result set
+     *
+     * @param rs The result set
+     * @return The column names, in column order
+     * @throws SQLException If the metadata cannot be read
+     */
+    static String[] columnNames(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        String[] names = new String[meta.getColumnCount()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = meta.getColumnName(i + 1);
+        }
+        return names;
+    }
+
+    /**
+     * @brief Finds a required column
+     *
+     * @param meta The metadata of the result set
+     * @param label The column label, in any case
+     * @return The 1-based column position
+     * @throws SQLException If no column has the label
+     */
+    static int column(ResultSetMetaData meta, String label) throws SQLException {
+        int column = optionalColumn(meta, label);
+        if (column == 0) {
+            throw new SQLException("Column not in result: " + label);
+        }
+        return column;
+    }
+
+    /**
+     * @brief Finds an optional column
+     *
+     * @param meta The metadata of the result set
+     * @param label The column label, in any case
+     * @return The 1-based column position, or 0 if no column has the label
+     * @throws SQLException If the metadata cannot be read
+     */
+    static int optionalColumn(ResultSetMetaData meta, String label) throws SQLException {
+        int count = meta.getColumnCount();
+        for (int i = 1; i <= count; i++) {
+            if (label.equalsIgnoreCase(meta.getColumnLabel(i))) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
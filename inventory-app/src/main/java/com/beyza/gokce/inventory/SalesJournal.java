@@ -0,0 +1,566 @@
+/**
+ * @file SalesJournal.java
+ * @brief Append-only, memory-mapped journal that captures sales ahead of SQLite
+ *
+ * This file contains the journal that records sales into mapped segment
+ * files, acknowledges them once they are on disk, and compacts them into the
+ * sales table in the background.
+ */
+package com.beyza.gokce.inventory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * @class SalesJournal
+ * @brief Captures sales in mapped segments and replays them into the sales table
+ *
+ * Every sale becomes one RECORD_SIZE record: a sequence number, the quantity,
+ * the price in minor units, the record layout, the item name and a CRC32 of
+ * the rest. Records of layout 0, written before the layout byte existed, hold
+ * the price as a double in the same eight bytes and a zero where the layout
+ * byte now is, so existing segments still replay. Records are copied into
+ * the mapped segment under a short lock; a flusher forces the segment every
+ * FORCE_INTERVAL_MILLIS and then completes the futures of the records it
+ * made durable, so an acknowledged sale survives a crash of the process or
+ * the machine. A full segment is sealed and a new one is created.
+ *
+ * The compactor inserts the durable records into the sales table in batches.
+ * Each batch also stores the sequence of its last record in the
+ * sales_journal table, in the same transaction, and records at or below that
+ * sequence are skipped: a crash between the commit and the deletion of a
+ * segment never inserts a sale twice. Sealed segments whose records are all
+ * in the table are deleted.
+ *
+ * Opening a journal, and Inventory.prepareDatabase on every start, first
+ * replays whatever segments are left. A record torn by a crash fails its
+ * checksum and ends its segment; it was never acknowledged.
+ */
+final class SalesJournal implements AutoCloseable {
+    /**
+     * @brief Command-line flag that routes new sales through the journal
+     */
+    static final String FLAG = "--sales-journal";
+
+    /**
+     * @brief Directory of the application's journal, next to its database
+     */
+    static final Path DEFAULT_DIRECTORY = Paths.get("sales_journal");
+
+    /**
+     * @brief Size of one record in bytes
+     */
+    static final int RECORD_SIZE = 128;
+
+    /**
+     * @brief Largest item name, in UTF-8 bytes, that fits in a record
+     */
+    static final int MAX_ITEM_BYTES = 102;
+
+    /**
+     * @brief Records per segment file of the application's journal
+     */
+    static final int SEGMENT_RECORDS = 65536;
+
+    /**
+     * @brief Time between two forces of the written records
+     */
+    static final long FORCE_INTERVAL_MILLIS = 20;
+
+    /**
+     * @brief Time between two compactions of the application's journal
+     */
+    static final long COMPACT_INTERVAL_MILLIS = 1000;
+
+    /**
+     * @brief Largest number of records inserted in one transaction
+     */
+    static final int COMPACT_BATCH = 8192;
+
+    private static final int SEQUENCE_AT = 0;
+    private static final int QUANTITY_AT = 8;
+    private static final int PRICE_AT = 12;
+    private static final int LAYOUT_AT = 20;
+    private static final int ITEM_LENGTH_AT = 21;
+    private static final int ITEM_AT = 22;
+
+    /**
+     * @brief Record layout written by append: the price as a long in minor units
+     */
+    static final byte LAYOUT = 1;
+    private static final int CHECKSUM_AT = RECORD_SIZE - 4;
+    private static final String PREFIX = "sales-";
+    private static final String SUFFIX = ".journal";
+
+    private static SalesJournal active;
+
+    private final Path directory;
+    private final DatabaseExecutor database;
+    private final int segmentRecords;
+    private final ScheduledExecutorService scheduler;
+    private final byte[] record = new byte[RECORD_SIZE];
+    private final CRC32 crc = new CRC32();
+    private final Object forceLock = new Object();
+
+    private MappedByteBuffer segment;
+    private int slot;
+    private long nextSequence;
+    private final List<MappedByteBuffer> unforced = new ArrayList<>();
+    private final ArrayDeque<CompletableFuture<Void>> pending = new ArrayDeque<>();
+    private volatile long forcedSequence;
+    private boolean closed;
+
+    private SalesJournal(Path directory, DatabaseExecutor database, int segmentRecords, long nextSequence)
+            throws IOException {
+        this.directory = directory;
+        this.database = database;
+        this.segmentRecords = segmentRecords;
+        this.nextSequence = nextSequence;
+        this.forcedSequence = nextSequence - 1;
+        AtomicInteger count = new AtomicInteger();
+        scheduler = Executors.newScheduledThreadPool(2, r -> {
+            Thread thread = new Thread(r, "inventory-sales-journal-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        roll();
+    }
+
+    /**
+     * @brief Replays a journal directory and opens it for new sales
+     *
+     * @param directory The segment directory; created if missing
+     * @param database The database holding the sales table
+     * @param segmentRecords The number of records per segment
+     * @param compactIntervalMillis The time between compactions, or 0 to
+     *        compact only when the journal is closed
+     * @return The open journal
+     * @throws IOException If the directory or a segment cannot be used
+     * @throws SQLException If the left-over records cannot be replayed
+     */
+    static SalesJournal open(Path directory, DatabaseExecutor database, int segmentRecords,
+            long compactIntervalMillis) throws IOException, SQLException {
+        Files.createDirectories(directory);
+        long last = replay(directory, database, Long.MAX_VALUE, null, new int[1]);
+        SalesJournal journal = new SalesJournal(directory, database, segmentRecords, last + 1);
+        journal.scheduler.scheduleWithFixedDelay(journal::force, FORCE_INTERVAL_MILLIS, FORCE_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+        if (compactIntervalMillis > 0) {
+            journal.scheduler.scheduleWithFixedDelay(journal::compactQuietly, compactIntervalMillis,
+                    compactIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        return journal;
+    }
+
+    /**
+     * @brief Opens the application's journal and routes new sales through it
+     *
+     * Waits for the start-up schema check first. On exit the journal is
+     * forced; records not compacted by then are replayed on the next start.
+     *
+     * @return The journal
+     * @throws IOException If the journal directory cannot be used
+     * @throws SQLException If the left-over records cannot be replayed
+     */
+    static synchronized SalesJournal start() throws IOException, SQLException {
+        if (active == null) {
+            Inventory.awaitDatabase();
+            SalesJournal journal = open(DEFAULT_DIRECTORY, DatabaseExecutor.shared(), SEGMENT_RECORDS,
+                    COMPACT_INTERVAL_MILLIS);
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::force));
+            active = journal;
+        }
+        return active;
+    }
+
+    /**
+     * @brief Returns the application's journal
+     *
+     * @return The journal, or null if sales go straight to the database
+     */
+    static synchronized SalesJournal active() {
+        return active;
+    }
+
+    /**
+     * @brief Replays the application's left-over segments, if there are any
+     *
+     * Called on every start, so sales captured by a run that crashed reach
+     * the table even if this run does not use the journal.
+     *
+     * @return The number of sales inserted
+     */
+    static int replayPending() {
+        if (!Files.isDirectory(DEFAULT_DIRECTORY)) {
+            return 0;
+        }
+        try {
+            return replayPending(DEFAULT_DIRECTORY, DatabaseExecutor.shared());
+        } catch (IOException | SQLException e) {
+            System.out.println("Sales journal could not be replayed: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * @brief Replays and deletes the segments of a journal directory
+     *
+     * The journal in the directory must not be open.
+     *
+     * @param directory The segment directory
+     * @param database The database holding the sales table
+     * @return The number of sales inserted
+     * @throws IOException If a segment cannot be read
+     * @throws SQLException If the sales cannot be inserted
+     */
+    static int replayPending(Path directory, DatabaseExecutor database) throws IOException, SQLException {
+        int[] inserted = new int[1];
+        replay(directory, database, Long.MAX_VALUE, null, inserted);
+        return inserted[0];
+    }
+
+    /**
+     * @brief Returns whether a sale fits into a journal record
+     *
+     * @param sale The sale
+     * @return false if the item is missing or longer than MAX_ITEM_BYTES
+     */
+    static boolean accepts(Sale sale) {
+        return sale.item != null && sale.item.getBytes(StandardCharsets.UTF_8).length <= MAX_ITEM_BYTES;
+    }
+
+    /**
+     * @brief Appends a sale to the journal
+     *
+     * @param sale The sale; accepts(sale) must be true
+     * @return A future completed once the sale is on disk
+     * @throws IOException If a new segment cannot be created
+     */
+    CompletableFuture<Void> append(Sale sale) throws IOException {
+        byte[] item = sale.item.getBytes(StandardCharsets.UTF_8);
+        if (item.length > MAX_ITEM_BYTES) {
+            throw new IllegalArgumentException("Item name too long for the sales journal: " + sale.item);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Sales journal is closed");
+            }
+            if (slot == segmentRecords) {
+                unforced.add(segment);
+                roll();
+            }
+            long sequence = nextSequence++;
+            ByteBuffer out = ByteBuffer.wrap(record);
+            out.putLong(SEQUENCE_AT, sequence);
+            out.putInt(QUANTITY_AT, sale.getQuantity());
+            out.putLong(PRICE_AT, sale.getPriceMinor());
+            out.put(LAYOUT_AT, LAYOUT);
+            out.put(ITEM_LENGTH_AT, (byte) item.length);
+            System.arraycopy(item, 0, record, ITEM_AT, item.length);
+            Arrays.fill(record, ITEM_AT + item.length, CHECKSUM_AT, (byte) 0);
+            crc.reset();
+            crc.update(record, 0, CHECKSUM_AT);
+            out.putInt(CHECKSUM_AT, (int) crc.getValue());
+            segment.put(slot * RECORD_SIZE, record);
+            slot++;
+            pending.add(future);
+        }
+        return future;
+    }
+
+    /**
+     * @brief Forces the written records to disk and acknowledges them
+     */
+    void force() {
+        // Appends continue while the segment is forced; forces run one at a time
+        synchronized (forceLock) {
+            List<MappedByteBuffer> buffers;
+            List<CompletableFuture<Void>> done;
+            long written;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                buffers = new ArrayList<>(unforced);
+                buffers.add(segment);
+                unforced.clear();
+                done = new ArrayList<>(pending);
+                pending.clear();
+                written = nextSequence - 1;
+            }
+            try {
+                for (MappedByteBuffer buffer : buffers) {
+                    buffer.force();
+                }
+            } catch (RuntimeException e) {
+                for (CompletableFuture<Void> future : done) {
+                    future.completeExceptionally(e);
+                }
+                return;
+            }
+            forcedSequence = written;
+            for (CompletableFuture<Void> future : done) {
+                future.complete(null);
+            }
+        }
+    }
+
+    /**
+     * @brief Inserts the acknowledged records into the sales table
+     *
+     * @return The number of sales inserted
+     * @throws IOException If a segment cannot be read
+     * @throws SQLException If the sales cannot be inserted
+     */
+    int compact() throws IOException, SQLException {
+        int[] inserted = new int[1];
+        Path current;
+        synchronized (this) {
+            current = segmentPath(nextSequence - slot);
+        }
+        replay(directory, database, forcedSequence, current, inserted);
+        return inserted[0];
+    }
+
+    /**
+     * @brief Returns the sequence of the last record on disk
+     *
+     * @return The sequence, or the one before the first record
+     */
+    long forcedSequence() {
+        return forcedSequence;
+    }
+
+    /**
+     * @brief Forces, compacts and closes the journal
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        force();
+        compactQuietly();
+        synchronized (SalesJournal.class) {
+            if (active == this) {
+                active = null;
+            }
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | SQLException | RuntimeException e) {
+            System.out.println("Sales journal compaction failed: " + e.getMessage());
+        }
+    }
+
+    private void roll() throws IOException {
+        Path path = segmentPath(nextSequence);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE_NEW)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+        }
+        slot = 0;
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+    }
+
+    /**
+     * @brief Inserts the records of a directory up to a sequence
+     *
+     * A segment is deleted once all its records are in the table, except
+     * the one being written and any created after it.
+     *
+     * @param limit The last sequence that may be inserted
+     * @param current The segment being written, or null if the journal is
+     *        not open and every segment may go
+     * @param inserted Receives the number of sales inserted
+     * @return The last sequence found on disk or already compacted
+     */
+    private static long replay(Path directory, DatabaseExecutor database, long limit, Path current,
+            int[] inserted) throws IOException, SQLException {
+        long compacted = DatabaseExecutor.await(database.write(SalesJournal::watermark));
+        long last = compacted;
+        for (Path path : segments(directory)) {
+            List<Entry> batch = new ArrayList<>();
+            for (Entry entry : read(path)) {
+                last = Math.max(last, entry.sequence);
+                if (entry.sequence <= compacted || entry.sequence > limit) {
+                    continue;
+                }
+                batch.add(entry);
+                if (batch.size() == COMPACT_BATCH) {
+                    inserted[0] += insert(database, batch);
+                    compacted = entry.sequence;
+                    batch = new ArrayList<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                inserted[0] += insert(database, batch);
+                compacted = batch.get(batch.size() - 1).sequence;
+            }
+            if (current == null || (path.compareTo(current) < 0 && last <= compacted)) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    // Still mapped on some platforms: the watermark skips it next time
+                }
+            }
+        }
+        return last;
+    }
+
+    private static int insert(DatabaseExecutor database, List<Entry> entries) throws SQLException {
+        long lastSequence = entries.get(entries.size() - 1).sequence;
+        int rows = DatabaseExecutor.await(database.write(DatabaseExecutor.Priority.BATCH, conn -> {
+            // Re-read inside the transaction: another replay may have won the race
+            long compacted = watermark(conn);
+            int count = 0;
+            try (PreparedStatement insert = conn.prepareStatement(
+                    "INSERT INTO sales (item, quantity, price) VALUES (?, ?, ?)")) {
+                for (Entry entry : entries) {
+                    if (entry.sequence <= compacted) {
+                        continue;
+                    }
+                    Sale sale = entry.sale;
+                    insert.setString(1, sale.item);
+                    insert.setInt(2, sale.getQuantity());
+                    insert.setLong(3, sale.getPriceMinor());
+                    insert.addBatch();
+                    count++;
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement mark = conn.prepareStatement(
+                    "UPDATE sales_journal SET last_sequence = ? WHERE id = 1 AND last_sequence < ?")) {
+                mark.setLong(1, lastSequence);
+                mark.setLong(2, lastSequence);
+                mark.executeUpdate();
+            }
+            return count;
+        }));
+        TableStatistics.recordInsert("sales", rows);
+        return rows;
+    }
+
+    /**
+     * @brief Returns the last compacted sequence, creating its table if needed
+     */
+    private static long watermark(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS sales_journal ("
+                    + "id INTEGER PRIMARY KEY CHECK (id = 1),"
+                    + "last_sequence INTEGER NOT NULL)");
+            stmt.execute("INSERT OR IGNORE INTO sales_journal (id, last_sequence) VALUES (1, 0)");
+            try (ResultSet rs = stmt.executeQuery("SELECT last_sequence FROM sales_journal WHERE id = 1")) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path path : stream) {
+                segments.add(path);
+            }
+        }
+        // Zero-padded first sequences: name order is sequence order
+        Collections.sort(segments);
+        return segments;
+    }
+
+    /**
+     * @brief Reads the valid records of a segment
+     *
+     * Stops at the first empty slot or the first record whose checksum
+     * fails, which is where the writer stopped.
+     */
+    private static List<Entry> read(Path path) throws IOException {
+        List<Entry> records = new ArrayList<>();
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return records;
+        }
+        byte[] bytes = new byte[RECORD_SIZE];
+        CRC32 checksum = new CRC32();
+        for (int offset = 0; offset + RECORD_SIZE <= buffer.capacity(); offset += RECORD_SIZE) {
+            buffer.get(offset, bytes);
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            long sequence = in.getLong(SEQUENCE_AT);
+            if (sequence == 0) {
+                break;
+            }
+            checksum.reset();
+            checksum.update(bytes, 0, CHECKSUM_AT);
+            byte layout = in.get(LAYOUT_AT);
+            int length = in.get(ITEM_LENGTH_AT) & 0xFF;
+            if ((int) checksum.getValue() != in.getInt(CHECKSUM_AT) || layout < 0 || layout > LAYOUT
+                    || length > MAX_ITEM_BYTES) {
+                break;
+            }
+            String item = new String(bytes, ITEM_AT, length, StandardCharsets.UTF_8);
+            Money price = layout == 0 ? Money.of(in.getDouble(PRICE_AT)) : Money.ofMinor(in.getLong(PRICE_AT));
+            records.add(new Entry(sequence, new Sale(item, in.getInt(QUANTITY_AT), price)));
+        }
+        return records;
+    }
+
+    /**
+     * @class Entry
+     * @brief A sale read back from a segment
+     */
+    private static final class Entry {
+        final long sequence;
+        final Sale sale;
+
+        Entry(long sequence, Sale sale) {
+            this.sequence = sequence;
+            this.sale = sale;
+        }
+    }
+}
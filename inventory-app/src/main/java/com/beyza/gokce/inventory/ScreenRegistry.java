@@ -0,0 +1,155 @@
+/**
+ * @file ScreenRegistry.java
+ * @brief Retained module screens shown through a CardLayout
+ *
+ * This file contains the registry the main window uses to build each module
+ * screen once and switch between them without rebuilding any components.
+ */
+package com.beyza.gokce.inventory;
+
+import java.awt.CardLayout;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.swing.JPanel;
+
+/**
+ * @class ScreenRegistry
+ * @brief Builds screens on first use and refreshes their data only when stale
+ *
+ * Each screen is registered with a builder, which creates its panels, buttons
+ * and table models, and an optional refresher, which reloads its data. The
+ * builder runs the first time the screen is shown. The refresher runs when
+ * the screen is shown and its data is stale: never loaded, invalidated by a
+ * write, or older than the registry's maximum age.
+ *
+ * All methods must be called on the event dispatch thread.
+ */
+class ScreenRegistry {
+    /**
+     * @brief Default time after which a screen's data is reloaded on navigation
+     */
+    static final long DEFAULT_MAX_AGE_MILLIS = 60_000;
+
+    private final CardLayout cards = new CardLayout();
+    private final JPanel deck = new JPanel(cards);
+    private final Map<String, Screen> screens = new HashMap<>();
+    private final long maxAgeMillis;
+    private String current;
+
+    /**
+     * @brief Creates an empty registry
+     *
+     * @param maxAgeMillis How long loaded data counts as fresh
+     */
+    ScreenRegistry(long maxAgeMillis) {
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * @brief Returns the panel that holds every built screen
+     *
+     * @return The CardLayout panel to place in the window
+     */
+    JPanel getDeck() {
+        return deck;
+    }
+
+    /**
+     * @brief Registers a screen; nothing is built until it is first shown
+     *
+     * @param name The unique screen name
+     * @param builder Creates the screen's root panel
+     * @param refresher Reloads the screen's data, or null if it has none
+     */
+    void register(String name, Supplier<JPanel> builder, Runnable refresher) {
+        screens.put(name, new Screen(builder, refresher));
+    }
+
+    /**
+     * @brief Brings a screen to the front, building or refreshing it as needed
+     *
+     * @param name The screen name
+     * @return The screen's root panel
+     * @throws IllegalArgumentException If no screen has that name
+     */
+    JPanel show(String name) {
+        Screen screen = screens.get(name);
+        if (screen == null) {
+            throw new IllegalArgumentException("Unknown screen: " + name);
+        }
+        if (screen.panel == null) {
+            screen.panel = screen.builder.get();
+            deck.add(screen.panel, name);
+        }
+        if (screen.refresher != null && isStale(screen)) {
+            screen.refresher.run();
+            screen.loadedAt = System.currentTimeMillis();
+            screen.stale = false;
+        }
+        cards.show(deck, name);
+        current = name;
+        return screen.panel;
+    }
+
+    /**
+     * @brief Marks a screen's data as stale
+     *
+     * The screen on display is refreshed immediately; any other screen is
+     * refreshed the next time it is shown.
+     *
+     * @param name The screen name
+     */
+    void invalidate(String name) {
+        Screen screen = screens.get(name);
+        if (screen == null) {
+            return;
+        }
+        screen.stale = true;
+        if (name.equals(current) && screen.panel != null) {
+            show(name);
+        }
+    }
+
+    /**
+     * @brief Returns whether a screen has been built
+     *
+     * @param name The screen name
+     * @return true once the screen has been shown at least once
+     */
+    boolean isBuilt(String name) {
+        Screen screen = screens.get(name);
+        return screen != null && screen.panel != null;
+    }
+
+    /**
+     * @brief Returns the name of the screen on display
+     *
+     * @return The current screen name, or null before the first show()
+     */
+    String getCurrent() {
+        return current;
+    }
+
+    private boolean isStale(Screen screen) {
+        return screen.stale || System.currentTimeMillis() - screen.loadedAt > maxAgeMillis;
+    }
+
+    /**
+     * @class Screen
+     * @brief A registered screen and the freshness of its data
+     */
+    private static class Screen {
+        final Supplier<JPanel> builder;
+        final Runnable refresher;
+        JPanel panel;
+        boolean stale = true;
+        long loadedAt;
+
+        Screen(Supplier<JPanel> builder, Runnable refresher) {
+            this.builder = builder;
+            this.refresher = refresher;
+        }
+    }
+}
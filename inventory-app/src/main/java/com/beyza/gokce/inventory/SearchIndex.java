@@ -0,0 +1,310 @@
+/**
+ * @file SearchIndex.java
+ * @brief Full-text search over material, project and expense names
+ *
+ * This file contains the SQLite FTS5 tables that index the inventory,
+ * projects and expenses tables, the triggers that keep them in sync, and the
+ * ranked search across all three.
+ */
+package com.beyza.gokce.inventory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @class SearchIndex
+ * @brief Ranked full-text search across the named tables
+ *
+ * Each source table gets an external-content FTS5 table: the index stores
+ * only the tokens and reads the text back from the source row, so names are
+ * not stored twice. Insert, delete and update triggers on the source table
+ * keep the index in sync inside the writing transaction. The tokenizer folds
+ * case and diacritics, so "celik" finds "Çelik".
+ *
+ * A query matches rows containing every typed word as a word prefix, in any
+ * order. Results from the three tables are merged by their bm25 score, best
+ * first, and capped at MAX_RESULTS.
+ *
+ * If the SQLite build lacks FTS5, createTables leaves the index out and
+ * search falls back to a case-insensitive LIKE prefix match.
+ */
+final class SearchIndex {
+    /**
+     * @brief Number of results returned when the caller does not say
+     */
+    static final int DEFAULT_LIMIT = 20;
+
+    /**
+     * @brief Upper bound on the results of one search
+     */
+    static final int MAX_RESULTS = 100;
+
+    /**
+     * @brief Indexed source tables
+     */
+    static final String INVENTORY = "inventory";
+    static final String PROJECTS = "projects";
+    static final String EXPENSES = "expenses";
+
+    /**
+     * @brief The source tables and their name columns, in that order
+     */
+    private static final String[][] SOURCES = {
+        {INVENTORY, "name"},
+        {PROJECTS, "name"},
+        {EXPENSES, "description"},
+    };
+
+    private static volatile boolean fullText = true;
+
+    private SearchIndex() {
+    }
+
+    /**
+     * @brief One search hit
+     */
+    static final class Result {
+        /** @brief The source table: INVENTORY, PROJECTS or EXPENSES */
+        final String table;
+        /** @brief The id of the source row */
+        final long id;
+        /** @brief The matched name or description */
+        final String name;
+        /** @brief The bm25 score; lower is a better match */
+        final double rank;
+
+        Result(String table, long id, String name, double rank) {
+            this.table = table;
+            this.id = id;
+            this.name = name;
+            this.rank = rank;
+        }
+
+        @Override
+        public String toString() {
+            return table + ": " + name;
+        }
+    }
+
+    /**
+     * @brief Creates the FTS5 tables and triggers if they do not exist
+     *
+     * An index is rebuilt from its source table whenever its insert trigger
+     * is missing: on first creation, and after the source table was dropped
+     * and created again, which drops its triggers too. All of it runs in
+     * one savepoint: if any statement fails, no trigger is left writing to
+     * an index that is not there.
+     *
+     * @param conn A connection to the application database
+     */
+    static void createTables(Connection conn) {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SAVEPOINT search_index");
+            try {
+                createIndexes(conn, stmt);
+                stmt.execute("RELEASE search_index");
+            } catch (SQLException e) {
+                stmt.execute("ROLLBACK TO search_index");
+                stmt.execute("RELEASE search_index");
+                throw e;
+            }
+            fullText = true;
+        } catch (SQLException e) {
+            System.out.println("Full-text search unavailable, using prefix search: " + e.getMessage());
+            fullText = false;
+        }
+    }
+
+    private static void createIndexes(Connection conn, Statement stmt) throws SQLException {
+        for (String[] source : SOURCES) {
+            String table = source[0];
+            String column = source[1];
+            String fts = table + "_fts";
+            boolean rebuild = !triggerExists(conn, fts + "_insert");
+
+            stmt.execute("CREATE VIRTUAL TABLE IF NOT EXISTS " + fts + " USING fts5(" + column
+                    + ", content='" + table + "', content_rowid='id', tokenize='unicode61 remove_diacritics 2')");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS " + fts + "_insert AFTER INSERT ON " + table
+                    + " BEGIN INSERT INTO " + fts + "(rowid, " + column + ") VALUES (new.id, new." + column + "); END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS " + fts + "_delete AFTER DELETE ON " + table
+                    + " BEGIN INSERT INTO " + fts + "(" + fts + ", rowid, " + column + ")"
+                    + " VALUES ('delete', old.id, old." + column + "); END");
+            stmt.execute("CREATE TRIGGER IF NOT EXISTS " + fts + "_update AFTER UPDATE OF " + column + " ON " + table
+                    + " BEGIN INSERT INTO " + fts + "(" + fts + ", rowid, " + column + ")"
+                    + " VALUES ('delete', old.id, old." + column + ");"
+                    + " INSERT INTO " + fts + "(rowid, " + column + ") VALUES (new.id, new." + column + "); END");
+            if (rebuild) {
+                stmt.execute("INSERT INTO " + fts + "(" + fts + ") VALUES ('rebuild')");
+            }
+        }
+    }
+
+    /**
+     * @brief Searches all indexed tables through the shared executor
+     *
+     * @param text The words to look for
+     * @param limit The maximum number of results, capped at MAX_RESULTS
+     * @return The results, best match first
+     * @throws SQLException If the index cannot be read
+     */
+    static List<Result> search(String text, int limit) throws SQLException {
+        return search(text, limit, INVENTORY, PROJECTS, EXPENSES);
+    }
+
+    /**
+     * @brief Searches some of the indexed tables through the shared executor
+     *
+     * @param text The words to look for
+     * @param limit The maximum number of results, capped at MAX_RESULTS
+     * @param tables The source tables to search
+     * @return The results, best match first
+     * @throws SQLException If the index cannot be read
+     */
+    static List<Result> search(String text, int limit, String... tables) throws SQLException {
+        if (toMatchQuery(text).isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        return DatabaseExecutor.await(DatabaseExecutor.shared().read(conn -> search(conn, text, limit, tables)));
+    }
+
+    /**
+     * @brief Searches on a given connection
+     *
+     * @param conn The connection
+     * @param text The words to look for
+     * @param limit The maximum number of results, capped at MAX_RESULTS
+     * @param tables The source tables to search
+     * @return The results, best match first
+     * @throws SQLException If the index cannot be read
+     */
+    static List<Result> search(Connection conn, String text, int limit, String... tables) throws SQLException {
+        String match = toMatchQuery(text);
+        List<String[]> sources = sources(tables);
+        if (match.isEmpty() || limit <= 0 || sources.isEmpty()) {
+            return Collections.emptyList();
+        }
+        limit = Math.min(limit, MAX_RESULTS);
+
+        StringBuilder sql = new StringBuilder();
+        for (String[] source : sources) {
+            if (sql.length() > 0) {
+                sql.append(" UNION ALL ");
+            }
+            String fts = source[0] + "_fts";
+            if (fullText) {
+                sql.append("SELECT '").append(source[0]).append("' AS source, rowid AS id, ").append(source[1])
+                        .append(" AS name, bm25(").append(fts).append(") AS rank FROM ").append(fts)
+                        .append(" WHERE ").append(fts).append(" MATCH ?");
+            } else {
+                sql.append("SELECT '").append(source[0]).append("' AS source, id, ").append(source[1])
+                        .append(" AS name, 0.0 AS rank FROM ").append(source[0])
+                        .append(" WHERE ").append(source[1]).append(" LIKE ? ESCAPE '\\'");
+            }
+        }
+        sql.append(" ORDER BY rank, name LIMIT ?");
+
+        String parameter = fullText ? match : likePattern(text);
+        List<Result> results = new ArrayList<>();
+        try (PreparedStatement pstmt = StatementCache.prepare(conn, sql.toString())) {
+            int index = 1;
+            for (int i = 0; i < sources.size(); i++) {
+                pstmt.setString(index++, parameter);
+            }
+            pstmt.setInt(index, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(new Result(rs.getString("source"), rs.getLong("id"), rs.getString("name"),
+                            rs.getDouble("rank")));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @brief Turns typed text into an FTS5 query
+     *
+     * Every run of letters and digits becomes a quoted prefix term, so the
+     * user's punctuation can never be read as FTS5 syntax.
+     *
+     * @param text The typed text
+     * @return The query, or an empty string if the text has no words
+     */
+    static String toMatchQuery(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder query = new StringBuilder();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                if (query.length() > 0) {
+                    query.append(' ');
+                }
+                query.append('"').append(word).append("\"*");
+            }
+        }
+        return query.toString();
+    }
+
+    /**
+     * @brief Checks whether the index triggers of every source table exist
+     *
+     * @param conn A connection to the application database
+     * @return false if createTables has not run or FTS5 was unavailable
+     */
+    static boolean isInstalled(Connection conn) {
+        StringBuilder names = new StringBuilder();
+        for (String[] source : SOURCES) {
+            names.append(names.length() == 0 ? "'" : ", '").append(source[0]).append("_fts_insert'");
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT count(*) FROM sqlite_master WHERE type = 'trigger'"
+                     + " AND name IN (" + names + ")")) {
+            return rs.next() && rs.getInt(1) == SOURCES.length;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @brief Returns whether searches use the FTS5 index
+     *
+     * @return false if the SQLite build has no FTS5
+     */
+    static boolean isFullText() {
+        return fullText;
+    }
+
+    private static String likePattern(String text) {
+        return text.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private static List<String[]> sources(String... tables) {
+        List<String[]> sources = new ArrayList<>();
+        for (String[] source : SOURCES) {
+            for (String table : tables) {
+                if (source[0].equals(table)) {
+                    sources.add(source);
+                    break;
+                }
+            }
+        }
+        return sources;
+    }
+
+    private static boolean triggerExists(Connection conn, String name) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'trigger' AND name = ?")) {
+            pstmt.setString(1, name);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
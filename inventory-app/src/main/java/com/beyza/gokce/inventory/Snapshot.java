@@ -0,0 +1,684 @@
+/**
+ * @file Snapshot.java
+ * @brief Versioned binary snapshot of the in-memory records
+ *
+ * This file contains the snapshot that saves the users, inventory items,
+ * projects, expenses and sales held by Inventory to one file and loads them
+ * back, replacing the ObjectOutputStream files the application used to write.
+ */
+package com.beyza.gokce.inventory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @class Snapshot
+ * @brief The record lists of one moment, with their binary encoding
+ *
+ * A snapshot file starts with a header: the magic number, the format version
+ * and a schema listing every record type with its field names and kinds. A
+ * section per type follows, holding a record count and the records, each
+ * prefixed with its length in bytes. Strings are a length and UTF-8 bytes;
+ * ints and longs are big-endian. Money is stored as a long in minor units
+ * since VERSION 2; version 1 files stored it as a double, and are read with
+ * that schema and rounded to minor units.
+ *
+ * The reader checks that the stored fields of each type begin with the
+ * fields it knows, reads those and jumps to the end of the record. A later
+ * version may therefore append fields or add whole types without breaking
+ * older readers; removing or reordering fields requires a new VERSION.
+ *
+ * Writing goes through one direct buffer flushed to a FileChannel, into a
+ * temporary file that replaces the target only when complete. Reading maps
+ * the file and decodes straight from the mapping.
+ *
+ * Files written by the old ObjectOutputStream code, a serialized list of
+ * records, are still read, so existing .bin files can be converted by
+ * reading and writing them once.
+ *
+ * load() and store() move a snapshot between a file and the application
+ * database; they back the Backup DB and Restore DB buttons of the Database
+ * Manager.
+ */
+final class Snapshot {
+    /**
+     * @brief First four bytes of every snapshot, "INVS"
+     */
+    static final int MAGIC = 0x494E5653;
+
+    /**
+     * @brief Format version written by this class
+     */
+    static final int VERSION = 2;
+
+    /**
+     * @brief Size of the write buffer in bytes
+     */
+    static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * @brief Record type tags
+     */
+    static final byte USER = 1;
+    static final byte INVENTORY_ITEM = 2;
+    static final byte PROJECT = 3;
+    static final byte EXPENSE = 4;
+    static final byte SALE = 5;
+
+    private static final byte END = 0;
+    private static final byte STRING = 'S';
+    private static final byte INT = 'I';
+    private static final byte LONG = 'J';
+    private static final byte DOUBLE = 'D';
+    private static final byte LIST = 'L';
+    private static final short JAVA_SERIALIZATION_MAGIC = (short) 0xACED;
+
+    /**
+     * @brief The schema this version writes and expects
+     */
+    private static final Type[] TYPES = types(LONG);
+
+    /**
+     * @brief The schema of VERSION 1 files, with money as doubles
+     */
+    private static final Type[] VERSION_1_TYPES = types(DOUBLE);
+
+    private static Type[] types(byte money) {
+        return new Type[] {
+            new Type(USER, "User", new Field("username", STRING), new Field("password", STRING)),
+            new Type(INVENTORY_ITEM, "InventoryItem", new Field("name", STRING), new Field("quantity", INT),
+                    new Field("cost", money)),
+            new Type(PROJECT, "Project", new Field("name", STRING), new Field("materials", LIST, INVENTORY_ITEM)),
+            new Type(EXPENSE, "Expense", new Field("description", STRING), new Field("amount", money)),
+            new Type(SALE, "Sale", new Field("item", STRING), new Field("quantity", INT), new Field("price", money)),
+        };
+    }
+
+    final List<User> users;
+    final List<InventoryItem> inventory;
+    final List<Project> projects;
+    final List<Expense> expenses;
+    final List<Sale> sales;
+
+    /**
+     * @brief Creates a snapshot of the given lists
+     *
+     * The lists are kept, not copied.
+     *
+     * @param users The users
+     * @param inventory The inventory items
+     * @param projects The projects with their materials
+     * @param expenses The expenses
+     * @param sales The sales
+     */
+    Snapshot(List<User> users, List<InventoryItem> inventory, List<Project> projects, List<Expense> expenses,
+            List<Sale> sales) {
+        this.users = users;
+        this.inventory = inventory;
+        this.projects = projects;
+        this.expenses = expenses;
+        this.sales = sales;
+    }
+
+    /**
+     * @brief Copies the record lists held by Inventory
+     *
+     * @return The snapshot
+     */
+    static Snapshot capture() {
+        return new Snapshot(new ArrayList<>(Inventory.users), new ArrayList<>(Inventory.inventory),
+                new ArrayList<>(Inventory.projects), new ArrayList<>(Inventory.expenses),
+                new ArrayList<>(Inventory.sales));
+    }
+
+    /**
+     * @brief Reads every application table into a snapshot
+     *
+     * The tables are read in one read transaction, so the snapshot is
+     * consistent even while other terminals write.
+     *
+     * @param database The executor of the application database
+     * @return The snapshot, with the rows of each table in id order
+     * @throws SQLException If a table cannot be read
+     */
+    static Snapshot load(DatabaseExecutor database) throws SQLException {
+        return DatabaseExecutor.await(database.read(DatabaseExecutor.Priority.BATCH, conn -> {
+            conn.setAutoCommit(false);
+            try {
+                return new Snapshot(rows(conn, "SELECT * FROM users ORDER BY id", RowMappers.USERS),
+                        rows(conn, "SELECT * FROM inventory ORDER BY id", RowMappers.INVENTORY),
+                        rows(conn, "SELECT * FROM projects ORDER BY id", RowMappers.PROJECTS),
+                        rows(conn, "SELECT * FROM expenses ORDER BY id", RowMappers.EXPENSES),
+                        rows(conn, "SELECT * FROM sales ORDER BY id", RowMappers.SALES));
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        }));
+    }
+
+    /**
+     * @brief Replaces the rows of every application table with this snapshot
+     *
+     * Runs as one write, so the tables are either all restored or, if any
+     * row is rejected, all left as they were. Materials listed twice are
+     * merged as a restock would merge them. Project materials are not
+     * stored in the database and are not written. The caller refreshes
+     * InventoryCache and TableStatistics.
+     *
+     * @param database The executor of the application database
+     * @throws SQLException If the rows cannot be written
+     */
+    void store(DatabaseExecutor database) throws SQLException {
+        DatabaseExecutor.await(database.write(DatabaseExecutor.Priority.BATCH, conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                for (String table : new String[] {"users", "inventory", "projects", "expenses", "sales"}) {
+                    stmt.executeUpdate("DELETE FROM " + table);
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO users (username, password) VALUES (?, ?)")) {
+                for (User user : users) {
+                    pstmt.setString(1, user.getUsername());
+                    pstmt.setString(2, user.getPassword());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(Inventory.MERGE_MATERIAL_SQL)) {
+                for (InventoryItem item : inventory) {
+                    pstmt.setString(1, item.getName());
+                    pstmt.setInt(2, item.getQuantity());
+                    pstmt.setLong(3, item.getCostMinor());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO projects (name) VALUES (?)")) {
+                for (Project project : projects) {
+                    pstmt.setString(1, project.getName());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO expenses (description, amount) VALUES (?, ?)")) {
+                for (Expense expense : expenses) {
+                    pstmt.setString(1, expense.getDescription());
+                    pstmt.setLong(2, expense.getAmountMinor());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO sales (item, quantity, price) VALUES (?, ?, ?)")) {
+                for (Sale sale : sales) {
+                    pstmt.setString(1, sale.item());
+                    pstmt.setInt(2, sale.getQuantity());
+                    pstmt.setLong(3, sale.getPriceMinor());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            return null;
+        }));
+    }
+
+    private static <T> List<T> rows(Connection conn, String sql, RowMappers.Binder<T> binder) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            return RowMappers.list(rs, binder);
+        }
+    }
+
+    /**
+     * @brief Replaces the record lists held by Inventory with this snapshot
+     */
+    void restore() {
+        replace(Inventory.users, users);
+        replace(Inventory.inventory, inventory);
+        replace(Inventory.projects, projects);
+        replace(Inventory.expenses, expenses);
+        replace(Inventory.sales, sales);
+    }
+
+    /**
+     * @brief Writes the snapshot to a file
+     *
+     * The file is written next to the target and moved over it when
+     * complete, so a crash leaves the previous snapshot in place.
+     *
+     * @param path The snapshot file
+     * @throws IOException If the file cannot be written
+     */
+    void write(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Encoder out = new Encoder(channel);
+            out.header();
+
+            out.section(USER, users.size());
+            for (User user : users) {
+                int start = out.begin(Encoder.size(user.getUsername()) + Encoder.size(user.getPassword()));
+                out.string(user.getUsername());
+                out.string(user.getPassword());
+                out.end(start);
+            }
+            out.section(INVENTORY_ITEM, inventory.size());
+            for (InventoryItem item : inventory) {
+                out.item(item);
+            }
+            out.section(PROJECT, projects.size());
+            for (Project project : projects) {
+                int size = Encoder.size(project.getName()) + 4;
+                for (InventoryItem item : project.materials) {
+                    size += 4 + Encoder.size(item.getName()) + 12;
+                }
+                int start = out.begin(size);
+                out.string(project.getName());
+                out.buffer.putInt(project.materials.size());
+                for (InventoryItem item : project.materials) {
+                    out.item(item);
+                }
+                out.end(start);
+            }
+            out.section(EXPENSE, expenses.size());
+            for (Expense expense : expenses) {
+                int start = out.begin(Encoder.size(expense.description) + 8);
+                out.string(expense.description);
+                out.buffer.putLong(expense.getAmountMinor());
+                out.end(start);
+            }
+            out.section(SALE, sales.size());
+            for (Sale sale : sales) {
+                int start = out.begin(Encoder.size(sale.item) + 12);
+                out.string(sale.item);
+                out.buffer.putInt(sale.getQuantity());
+                out.buffer.putLong(sale.getPriceMinor());
+                out.end(start);
+            }
+            out.ensure(1);
+            out.buffer.put(END);
+            out.flush();
+            channel.force(false);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * @brief Reads a snapshot file
+     *
+     * @param path A snapshot file, or a list written by ObjectOutputStream
+     * @return The snapshot
+     * @throws IOException If the file cannot be read, is truncated, or has an
+     *         incompatible version or schema
+     */
+    static Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size >= 2 && buffer.getShort(0) == JAVA_SERIALIZATION_MAGIC) {
+                return readLegacy(path);
+            }
+            return new Decoder(buffer).snapshot();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated or corrupt snapshot: " + path, e);
+        }
+    }
+
+    /**
+     * @brief Reads a record list written by ObjectOutputStream
+     *
+     * @param path The file
+     * @return The records, sorted into a snapshot by type
+     * @throws IOException If the file is not a serialized list of records
+     */
+    private static Snapshot readLegacy(Path path) throws IOException {
+        Snapshot snapshot = new Snapshot(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(),
+                new ArrayList<>());
+        Object content;
+        try (InputStream file = Files.newInputStream(path);
+             ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(file))) {
+            content = in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unknown class in serialized file: " + path, e);
+        }
+        if (!(content instanceof Collection)) {
+            throw new IOException("Serialized file does not hold a list: " + path);
+        }
+        for (Object record : (Collection<?>) content) {
+            if (record instanceof User) {
+                snapshot.users.add((User) record);
+            } else if (record instanceof InventoryItem) {
+                snapshot.inventory.add((InventoryItem) record);
+            } else if (record instanceof Project) {
+                snapshot.projects.add((Project) record);
+            } else if (record instanceof Expense) {
+                snapshot.expenses.add((Expense) record);
+            } else if (record instanceof Sale) {
+                snapshot.sales.add((Sale) record);
+            } else {
+                throw new IOException("Unexpected object in serialized file: " + record);
+            }
+        }
+        return snapshot;
+    }
+
+    private static <T> void replace(List<T> target, List<T> content) {
+        target.clear();
+        target.addAll(content);
+    }
+
+    /**
+     * @class Field
+     * @brief One field of a record type in the schema
+     */
+    private static final class Field {
+        final String name;
+        final byte kind;
+        final byte element;
+
+        Field(String name, byte kind) {
+            this(name, kind, END);
+        }
+
+        Field(String name, byte kind, byte element) {
+            this.name = name;
+            this.kind = kind;
+            this.element = element;
+        }
+
+        boolean sameAs(Field other) {
+            return name.equals(other.name) && kind == other.kind && element == other.element;
+        }
+    }
+
+    /**
+     * @class Type
+     * @brief One record type in the schema
+     */
+    private static final class Type {
+        final byte tag;
+        final String name;
+        final Field[] fields;
+
+        Type(byte tag, String name, Field... fields) {
+            this.tag = tag;
+            this.name = name;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * @class Encoder
+     * @brief Fills the write buffer and flushes it to the channel
+     *
+     * A record is written in place: begin() makes room for its largest
+     * possible size and reserves the length, end() fills the length in.
+     */
+    private static final class Encoder {
+        private final FileChannel channel;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        Encoder(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * @brief Returns the largest encoded size of a string
+         */
+        static int size(String value) {
+            return 4 + (value == null ? 0 : 3 * value.length());
+        }
+
+        void header() throws IOException {
+            ensure(64);
+            buffer.putInt(MAGIC);
+            buffer.putShort((short) VERSION);
+            buffer.putShort((short) TYPES.length);
+            for (Type type : TYPES) {
+                ensure(2 + size(type.name));
+                buffer.put(type.tag);
+                string(type.name);
+                buffer.put((byte) type.fields.length);
+                for (Field field : type.fields) {
+                    ensure(2 + size(field.name));
+                    string(field.name);
+                    buffer.put(field.kind);
+                    buffer.put(field.element);
+                }
+            }
+        }
+
+        void section(byte tag, int count) throws IOException {
+            ensure(5);
+            buffer.put(tag);
+            buffer.putInt(count);
+        }
+
+        void item(InventoryItem item) throws IOException {
+            int start = begin(size(item.getName()) + 12);
+            string(item.getName());
+            buffer.putInt(item.getQuantity());
+            buffer.putLong(item.getCostMinor());
+            end(start);
+        }
+
+        int begin(int maxBytes) throws IOException {
+            ensure(4 + maxBytes);
+            int start = buffer.position();
+            buffer.putInt(0);
+            return start;
+        }
+
+        void end(int start) {
+            buffer.putInt(start, buffer.position() - start - 4);
+        }
+
+        /**
+         * @brief Writes a string as UTF-8; the caller has ensured size(value) bytes
+         */
+        void string(String value) {
+            if (value == null) {
+                buffer.putInt(-1);
+                return;
+            }
+            int lengthAt = buffer.position();
+            buffer.putInt(0);
+            int length = value.length();
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer.put((byte) c);
+                } else if (c < 0x800) {
+                    buffer.put((byte) (0xC0 | c >> 6));
+                    buffer.put((byte) (0x80 | c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    buffer.put((byte) (0xF0 | cp >> 18));
+                    buffer.put((byte) (0x80 | cp >> 12 & 0x3F));
+                    buffer.put((byte) (0x80 | cp >> 6 & 0x3F));
+                    buffer.put((byte) (0x80 | cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    buffer.put((byte) '?');
+                } else {
+                    buffer.put((byte) (0xE0 | c >> 12));
+                    buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                    buffer.put((byte) (0x80 | c & 0x3F));
+                }
+            }
+            buffer.putInt(lengthAt, buffer.position() - lengthAt - 4);
+        }
+
+        void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+                if (buffer.capacity() < bytes) {
+                    buffer = ByteBuffer.allocateDirect(bytes);
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * @class Decoder
+     * @brief Reads a snapshot from a mapped buffer
+     */
+    private static final class Decoder {
+        private final ByteBuffer buffer;
+        private byte[] scratch = new byte[256];
+        private boolean doubleMoney;
+
+        Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        Snapshot snapshot() throws IOException {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a snapshot file");
+            }
+            int version = buffer.getShort();
+            if (version > VERSION) {
+                throw new IOException("Snapshot version " + version + " is newer than " + VERSION);
+            }
+            doubleMoney = version < 2;
+            checkSchema(doubleMoney ? VERSION_1_TYPES : TYPES);
+
+            Snapshot snapshot = new Snapshot(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(),
+                    new ArrayList<>(), new ArrayList<>());
+            for (byte tag = buffer.get(); tag != END; tag = buffer.get()) {
+                int count = buffer.getInt();
+                for (int i = 0; i < count; i++) {
+                    int length = buffer.getInt();
+                    int end = buffer.position() + length;
+                    switch (tag) {
+                        case USER:
+                            snapshot.users.add(new User(string(), string()));
+                            break;
+                        case INVENTORY_ITEM:
+                            snapshot.inventory.add(item());
+                            break;
+                        case PROJECT:
+                            Project project = new Project(string());
+                            int materials = buffer.getInt();
+                            for (int m = 0; m < materials; m++) {
+                                int itemEnd = buffer.getInt();
+                                itemEnd += buffer.position();
+                                project.addMaterial(item());
+                                buffer.position(itemEnd);
+                            }
+                            snapshot.projects.add(project);
+                            break;
+                        case EXPENSE:
+                            snapshot.expenses.add(new Expense(string(), money()));
+                            break;
+                        case SALE:
+                            snapshot.sales.add(new Sale(string(), buffer.getInt(), money()));
+                            break;
+                        default:
+                            // A type added by a later version: skipped
+                            break;
+                    }
+                    buffer.position(end);
+                }
+            }
+            return snapshot;
+        }
+
+        /**
+         * @brief Reads the stored schema and checks it against the expected one
+         *
+         * @param expected The schema of the file's version
+         */
+        private void checkSchema(Type[] expected) throws IOException {
+            Map<Byte, List<Field>> stored = new HashMap<>();
+            int types = buffer.getShort();
+            for (int t = 0; t < types; t++) {
+                byte tag = buffer.get();
+                string();
+                int fieldCount = buffer.get() & 0xFF;
+                List<Field> fields = new ArrayList<>();
+                for (int f = 0; f < fieldCount; f++) {
+                    fields.add(new Field(string(), buffer.get(), buffer.get()));
+                }
+                stored.put(tag, fields);
+            }
+            for (Type type : expected) {
+                List<Field> fields = stored.get(type.tag);
+                if (fields == null) {
+                    continue;
+                }
+                if (fields.size() < type.fields.length) {
+                    throw new IOException("Snapshot lacks fields of " + type.name);
+                }
+                for (int f = 0; f < type.fields.length; f++) {
+                    if (!type.fields[f].sameAs(fields.get(f))) {
+                        throw new IOException("Snapshot field " + fields.get(f).name + " of " + type.name
+                                + " does not match " + type.fields[f].name);
+                    }
+                }
+            }
+        }
+
+        private InventoryItem item() {
+            return new InventoryItem(string(), buffer.getInt(), money());
+        }
+
+        /**
+         * @brief Reads an amount stored in the money kind of the file's version
+         */
+        private Money money() {
+            return doubleMoney ? Money.of(buffer.getDouble()) : Money.ofMinor(buffer.getLong());
+        }
+
+        private String string() {
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, 2 * scratch.length)];
+            }
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * @file StartupProfiler.java
+ * @brief Start-up phase timings for the CLI and the GUI
+ *
+ * This file contains the recorder both entry points mark their start-up
+ * phases with, and the report it prints on request.
+ */
+package com.beyza.gokce.inventory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @class StartupProfiler
+ * @brief Records how long each start-up phase took
+ *
+ * Each mark() closes the phase that began at the previous mark, or at the
+ * first use of this class. The report lists the phases, the JVM's own start
+ * before main, and the total against BUDGET_MILLIS.
+ *
+ * The report is printed when the application is started with
+ * --startup-report or with -Dinventory.startupReport=true. Phases that end
+ * after the report, such as background loading in the GUI, are printed as
+ * they finish.
+ */
+final class StartupProfiler {
+    /**
+     * @brief Command-line flag that turns the report on
+     */
+    static final String FLAG = "--startup-report";
+
+    /**
+     * @brief System property that turns the report on
+     */
+    static final String PROPERTY = "inventory.startupReport";
+
+    /**
+     * @brief Cold-start target for the CLI and the GUI, in milliseconds
+     */
+    static final long BUDGET_MILLIS = 300;
+
+    private static final long START = System.nanoTime();
+    private static final List<String> PHASES = new ArrayList<>();
+    private static final List<Long> ENDS = new ArrayList<>();
+    private static boolean enabled = Boolean.getBoolean(PROPERTY);
+    private static boolean reported;
+
+    private StartupProfiler() {
+    }
+
+    /**
+     * @brief Turns the report on if the arguments contain FLAG
+     *
+     * @param args The command-line arguments
+     * @return The arguments without FLAG
+     */
+    static synchronized String[] configure(String[] args) {
+        List<String> rest = new ArrayList<>();
+        for (String arg : args) {
+            if (FLAG.equals(arg)) {
+                enabled = true;
+            } else {
+                rest.add(arg);
+            }
+        }
+        return rest.toArray(new String[0]);
+    }
+
+    /**
+     * @brief Ends the current phase
+     *
+     * @param phase The name of the phase that just finished
+     */
+    static synchronized void mark(String phase) {
+        long now = System.nanoTime();
+        long previous = ENDS.isEmpty() ? START : ENDS.get(ENDS.size() - 1);
+        PHASES.add(phase);
+        ENDS.add(now);
+        if (enabled && reported) {
+            System.out.println(String.format("  %-24s %6d ms  (at %d ms)", phase,
+                    millis(now - previous), millis(now - START)));
+        }
+    }
+
+    /**
+     * @brief Returns the time since the first use of this class
+     *
+     * @return The elapsed milliseconds
+     */
+    static long elapsedMillis() {
+        return millis(System.nanoTime() - START);
+    }
+
+    /**
+     * @brief Formats the phases recorded so far
+     *
+     * @param title What started, such as "CLI" or "GUI"
+     * @return The report, one line per phase
+     */
+    static synchronized String report(String title) {
+        long main = Math.max(0, ManagementFactory.getRuntimeMXBean().getUptime() - elapsedMillis());
+        StringBuilder report = new StringBuilder();
+        report.append(title).append(" start-up:\n");
+        report.append(String.format("  %-24s %6d ms%n", "JVM start", main));
+        long previous = START;
+        for (int i = 0; i < PHASES.size(); i++) {
+            report.append(String.format("  %-24s %6d ms%n", PHASES.get(i), millis(ENDS.get(i) - previous)));
+            previous = ENDS.get(i);
+        }
+        long total = main + millis(previous - START);
+        report.append(String.format("  %-24s %6d ms (budget %d ms%s)", "total", total, BUDGET_MILLIS,
+                total > BUDGET_MILLIS ? ", over" : ""));
+        return report.toString();
+    }
+
+    /**
+     * @brief Prints the report if it was requested
+     *
+     * @param title What started, such as "CLI" or "GUI"
+     */
+    static synchronized void printReport(String title) {
+        if (enabled && !reported) {
+            System.out.println(report(title));
+            reported = true;
+        }
+    }
+
+    /**
+     * @brief Clears the recorded phases
+     *
+     * Used by the tests.
+     */
+    static synchronized void reset() {
+        PHASES.clear();
+        ENDS.clear();
+        reported = false;
+        enabled = Boolean.getBoolean(PROPERTY);
+    }
+
+    /**
+     * @brief Returns the names of the recorded phases
+     *
+     * @return The phases in order
+     */
+    static synchronized List<String> phases() {
+        return new ArrayList<>(PHASES);
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
@@ -0,0 +1,292 @@
+/**
+ * @file StatementCache.java
+ * @brief Per-connection cache of prepared statements keyed by SQL text
+ *
+ * This file contains the statement cache the database executor keeps for
+ * each of its connections, so a fixed query is compiled by SQLite once per
+ * connection instead of once per call.
+ */
+package com.beyza.gokce.inventory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * @class StatementCache
+ * @brief Bounded LRU cache of the prepared statements of one connection
+ *
+ * Preparing a statement makes SQLite parse the SQL and compile it into a
+ * VDBE program. The cache keeps up to a fixed number of compiled statements
+ * per connection, evicting and closing the least recently used one when a
+ * new SQL string arrives.
+ *
+ * prepare() hands out a lease on the cached statement. Callers keep the
+ * usual try-with-resources shape: closing the lease closes its last result
+ * set, clears the parameters and any pending batch, and returns the
+ * statement to the cache instead of closing it. While a statement is leased
+ * a second prepare() of the same SQL gets a fresh, uncached statement, so a
+ * statement is never shared between two users.
+ *
+ * Caches are bound to one connection and registered by the connection they
+ * serve, so statements never cross connections. The static prepare() uses
+ * the cache registered for the connection it is given, and plain
+ * Connection.prepareStatement() for any other connection.
+ */
+final class StatementCache implements AutoCloseable {
+    /**
+     * @brief Statements kept per connection
+     */
+    static final int DEFAULT_CAPACITY = 64;
+
+    private static final Map<Connection, StatementCache> REGISTRY =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Connection conn;
+    private final int capacity;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long hits;
+    private long misses;
+    private long evictions;
+    private boolean closed;
+
+    /**
+     * @brief Creates an empty cache for a connection and registers it
+     *
+     * @param conn The connection whose statements are cached
+     * @param capacity The largest number of statements kept
+     */
+    StatementCache(Connection conn, int capacity) {
+        this.conn = conn;
+        this.capacity = capacity;
+        REGISTRY.put(conn, this);
+    }
+
+    /**
+     * @brief Prepares a statement through the cache registered for a connection
+     *
+     * @param conn The connection
+     * @param sql The SQL text
+     * @return A leased cached statement, or a plain statement when the
+     *         connection has no cache
+     * @throws SQLException If the statement cannot be prepared
+     */
+    static PreparedStatement prepare(Connection conn, String sql) throws SQLException {
+        StatementCache cache = REGISTRY.get(conn);
+        return cache == null ? conn.prepareStatement(sql) : cache.prepare(sql);
+    }
+
+    /**
+     * @brief Returns a statement for the SQL, compiling it only on a miss
+     *
+     * @param sql The SQL text
+     * @return A lease on the statement; close it to return the statement
+     * @throws SQLException If the statement cannot be prepared
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        synchronized (this) {
+            Entry entry = entries.get(sql);
+            if (entry != null && !entry.leased && !closed) {
+                hits++;
+                entry.leased = true;
+                return lease(entry);
+            }
+            misses++;
+            if (entry != null || closed) {
+                return conn.prepareStatement(sql);
+            }
+        }
+        PreparedStatement statement = conn.prepareStatement(sql);
+        Entry entry = new Entry(statement);
+        entry.leased = true;
+        List<PreparedStatement> evicted = new ArrayList<>();
+        synchronized (this) {
+            Entry previous = entries.put(sql, entry);
+            if (previous != null) {
+                previous.evicted = true;
+                if (!previous.leased) {
+                    evicted.add(previous.statement);
+                }
+            }
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > capacity && eldest.hasNext()) {
+                Entry candidate = eldest.next();
+                if (candidate == entry) {
+                    continue;
+                }
+                eldest.remove();
+                evictions++;
+                candidate.evicted = true;
+                if (!candidate.leased) {
+                    evicted.add(candidate.statement);
+                }
+            }
+        }
+        for (PreparedStatement old : evicted) {
+            closeQuietly(old);
+        }
+        return lease(entry);
+    }
+
+    /**
+     * @brief Returns a snapshot of the cache counters
+     *
+     * The weight of the snapshot is the number of cached statements.
+     *
+     * @return The current statistics
+     */
+    synchronized LruCache.Stats stats() {
+        return new LruCache.Stats(hits, misses, evictions, entries.size(), entries.size());
+    }
+
+    /**
+     * @brief Adds up the counters of several caches
+     *
+     * @param caches The caches
+     * @return The combined statistics
+     */
+    static LruCache.Stats total(Iterable<StatementCache> caches) {
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        int size = 0;
+        for (StatementCache cache : caches) {
+            LruCache.Stats stats = cache.stats();
+            hits += stats.hits;
+            misses += stats.misses;
+            evictions += stats.evictions;
+            size += stats.size;
+        }
+        return new LruCache.Stats(hits, misses, evictions, size, size);
+    }
+
+    /**
+     * @brief Closes every cached statement and unregisters the cache
+     *
+     * Statements leased at this point are closed when their lease is.
+     */
+    @Override
+    public void close() {
+        List<PreparedStatement> statements = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            for (Entry entry : entries.values()) {
+                entry.evicted = true;
+                if (!entry.leased) {
+                    statements.add(entry.statement);
+                }
+            }
+            entries.clear();
+        }
+        REGISTRY.remove(conn);
+        for (PreparedStatement statement : statements) {
+            closeQuietly(statement);
+        }
+    }
+
+    private PreparedStatement lease(Entry entry) {
+        return (PreparedStatement) Proxy.newProxyInstance(StatementCache.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, new Lease(entry));
+    }
+
+    private void release(Entry entry) throws SQLException {
+        try {
+            entry.statement.clearParameters();
+            entry.statement.clearBatch();
+        } finally {
+            boolean close;
+            synchronized (this) {
+                entry.leased = false;
+                close = entry.evicted;
+            }
+            if (close) {
+                entry.statement.close();
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @class Entry
+     * @brief A cached statement and whether it is in use
+     */
+    private static final class Entry {
+        final PreparedStatement statement;
+        boolean leased;
+        boolean evicted;
+
+        Entry(PreparedStatement statement) {
+            this.statement = statement;
+        }
+    }
+
+    /**
+     * @class Lease
+     * @brief Forwards to the cached statement until the lease is closed
+     */
+    private final class Lease implements InvocationHandler {
+        private final Entry entry;
+        private ResultSet lastResult;
+        private boolean released;
+
+        Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        if (lastResult != null) {
+                            lastResult.close();
+                        }
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return released;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "StatementCache lease of " + entry.statement;
+                default:
+                    break;
+            }
+            if (released) {
+                throw new SQLException("Statement is closed");
+            }
+            try {
+                Object result = method.invoke(entry.statement, args);
+                if (result instanceof ResultSet) {
+                    lastResult = (ResultSet) result;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,411 @@
+/**
+ * @file TableExporter.java
+ * @brief Streaming export of the application tables to CSV and JSON
+ *
+ * This file contains the exporter that copies a table to a file row by row,
+ * straight from a forward-only cursor into a buffered writer.
+ */
+package com.beyza.gokce.inventory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * @class TableExporter
+ * @brief Exports a table to a file in constant memory
+ *
+ * The table is read through one forward-only, read-only statement with
+ * FETCH_SIZE as its fetch size, on a reader connection of the database
+ * executor. Each row is written to a BUFFER_SIZE writer as soon as the
+ * cursor reaches it, so only the current row and the buffer are held in
+ * memory however many rows the table has. The file may be gzip compressed
+ * on the way out.
+ *
+ * Output goes to a temporary file next to the target that replaces it only
+ * once the export has finished, so a failed export never leaves a truncated
+ * file behind. A table that does not exist yet exports as empty.
+ */
+final class TableExporter {
+    /**
+     * @brief Rows the driver is asked to fetch per round trip
+     */
+    static final int FETCH_SIZE = 1000;
+
+    /**
+     * @brief Size of the output buffer in bytes
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * @brief Rows written between two progress updates
+     */
+    static final int PROGRESS_INTERVAL = 10_000;
+
+    /**
+     * @brief The file formats a table can be exported to
+     */
+    enum Format {
+        CSV("csv"),
+        JSON("json");
+
+        final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        /**
+         * @brief Picks the format from a file name
+         *
+         * A ".gz" suffix is ignored, so "sales.json.gz" is JSON. Names that
+         * are not ".json" are CSV.
+         *
+         * @param file The output file
+         * @return The format the name asks for
+         */
+        static Format forFile(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".gz")) {
+                name = name.substring(0, name.length() - 3);
+            }
+            return name.endsWith("." + JSON.extension) ? JSON : CSV;
+        }
+
+        @Override
+        public String toString() {
+            return extension;
+        }
+    }
+
+    /**
+     * @brief Receives the progress of an export
+     */
+    interface Progress {
+        /**
+         * @brief Called every PROGRESS_INTERVAL rows and once at the end
+         *
+         * @param rowsExported The rows written so far
+         */
+        void update(long rowsExported);
+    }
+
+    private TableExporter() {
+    }
+
+    /**
+     * @brief Tells whether a table may be exported
+     *
+     * Only the tables listed in TableStatistics.TABLES are exported, which
+     * also keeps the table name safe to put into SQL.
+     *
+     * @param table The table name
+     * @return True if the table can be exported
+     */
+    static boolean isExportable(String table) {
+        for (String known : TableStatistics.TABLES) {
+            if (known.equals(table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @brief Tells whether a file name asks for gzip compression
+     *
+     * @param file The output file
+     * @return True if the name ends with ".gz"
+     */
+    static boolean isGzip(Path file) {
+        return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+    }
+
+    /**
+     * @brief Exports a table of the application database
+     *
+     * @param table The table to export
+     * @param format The file format
+     * @param file The output file, replaced if it exists
+     * @param gzip True to compress the output
+     * @param progress Receives progress updates, or null
+     * @return The number of rows exported
+     * @throws IOException If the file cannot be written
+     * @throws SQLException If the table is unknown or cannot be read
+     */
+    static long export(String table, Format format, Path file, boolean gzip, Progress progress)
+            throws IOException, SQLException {
+        Inventory.awaitDatabase();
+        return export(table, format, file, gzip, progress, DatabaseExecutor.shared());
+    }
+
+    /**
+     * @brief Exports a table through the given database executor
+     *
+     * @param table The table to export
+     * @param format The file format
+     * @param file The output file, replaced if it exists
+     * @param gzip True to compress the output
+     * @param progress Receives progress updates, or null
+     * @param database The executor whose reader connection runs the query
+     * @return The number of rows exported
+     * @throws IOException If the file cannot be written
+     * @throws SQLException If the table is unknown or cannot be read
+     */
+    static long export(String table, Format format, Path file, boolean gzip, Progress progress,
+            DatabaseExecutor database) throws IOException, SQLException {
+        if (!isExportable(table)) {
+            throw new SQLException("Table cannot be exported: " + table);
+        }
+        Path absolute = file.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        long rows;
+        try {
+            try (OutputStream stream = Files.newOutputStream(temp)) {
+                OutputStream target = gzip ? new GZIPOutputStream(stream, BUFFER_SIZE) : stream;
+                try (Writer out = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8),
+                        BUFFER_SIZE)) {
+                    rows = DatabaseExecutor.await(database.read(DatabaseExecutor.Priority.BATCH, conn -> {
+                        try (Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                                ResultSet.CONCUR_READ_ONLY)) {
+                            stmt.setFetchSize(FETCH_SIZE);
+                            try (ResultSet rs = stmt.executeQuery("SELECT * FROM " + table)) {
+                                return write(rs, format, out, progress, moneyColumn(table));
+                            }
+                        } catch (SQLException e) {
+                            if (e.getMessage() == null || !e.getMessage().contains("no such table")) {
+                                throw e;
+                            }
+                            write(null, format, out, progress);
+                            return 0L;
+                        }
+                    }));
+                }
+            }
+            try {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(temp);
+            throw e.getCause();
+        } catch (IOException | SQLException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return rows;
+    }
+
+    /**
+     * @brief Writes every remaining row of a cursor
+     *
+     * CSV output starts with a header of the column names and quotes only
+     * the fields that need it. JSON output is an array with one object per
+     * row, one row per line. Blobs are written as Base64 text and non-finite
+     * numbers as empty fields or null.
+     *
+     * @param rs The cursor, or null for an empty table
+     * @param format The file format
+     * @param out The writer
+     * @param progress Receives progress updates, or null
+     * @return The number of rows written
+     * @throws SQLException If the cursor fails
+     */
+    static long write(ResultSet rs, Format format, Writer out, Progress progress) throws SQLException {
+        return write(rs, format, out, progress, null);
+    }
+
+    /**
+     * @brief Writes every remaining row of a cursor, with one money column
+     *
+     * Whole numbers in the money column are minor units and are written in
+     * units with two decimals, such as 12.50, so the file reads and imports
+     * back as the amount it was.
+     *
+     * @param rs The cursor, or null for an empty table
+     * @param format The file format
+     * @param out The writer
+     * @param progress Receives progress updates, or null
+     * @param moneyColumn The name of the money column, or null
+     * @return The number of rows written
+     * @throws SQLException If the cursor fails
+     */
+    static long write(ResultSet rs, Format format, Writer out, Progress progress, String moneyColumn)
+            throws SQLException {
+        try {
+            String[] columns = new String[0];
+            int money = -1;
+            if (rs != null) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                columns = new String[metaData.getColumnCount()];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = metaData.getColumnName(i + 1);
+                    if (columns[i].equalsIgnoreCase(moneyColumn)) {
+                        money = i;
+                    }
+                }
+            }
+            if (format == Format.JSON) {
+                out.write('[');
+            } else if (columns.length > 0) {
+                for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) {
+                        out.write(',');
+                    }
+                    writeCsvField(out, columns[i]);
+                }
+                out.write("\r\n");
+            }
+
+            long rows = 0;
+            while (rs != null && rs.next()) {
+                if (format == Format.JSON) {
+                    out.write(rows == 0 ? "\n{" : ",\n{");
+                    for (int i = 0; i < columns.length; i++) {
+                        if (i > 0) {
+                            out.write(',');
+                        }
+                        writeJsonString(out, columns[i]);
+                        out.write(':');
+                        writeJsonValue(out, money(rs.getObject(i + 1), i == money));
+                    }
+                    out.write('}');
+                } else {
+                    for (int i = 0; i < columns.length; i++) {
+                        if (i > 0) {
+                            out.write(',');
+                        }
+                        writeCsvValue(out, money(rs.getObject(i + 1), i == money));
+                    }
+                    out.write("\r\n");
+                }
+                rows++;
+                if (progress != null && rows % PROGRESS_INTERVAL == 0) {
+                    progress.update(rows);
+                }
+            }
+            if (format == Format.JSON) {
+                out.write(rows == 0 ? "]\n" : "\n]\n");
+            }
+            if (progress != null) {
+                progress.update(rows);
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @brief Returns the column of a table that holds minor units of money
+     *
+     * @param table The table name
+     * @return The column name, or null if the table has no money column
+     */
+    static String moneyColumn(String table) {
+        CsvImporter.Target target = CsvImporter.Target.of(table);
+        return target == null ? null : target.amount;
+    }
+
+    private static Object money(Object value, boolean money) {
+        if (money && (value instanceof Long || value instanceof Integer)) {
+            return Money.ofMinor(((Number) value).longValue());
+        }
+        return value;
+    }
+
+    private static void writeCsvValue(Writer out, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            if (Double.isFinite(number)) {
+                out.write(value.toString());
+            }
+        } else if (value instanceof Number || value instanceof Money) {
+            out.write(value.toString());
+        } else if (value instanceof byte[]) {
+            out.write(Base64.getEncoder().encodeToString((byte[]) value));
+        } else {
+            writeCsvField(out, value.toString());
+        }
+    }
+
+    private static void writeCsvField(Writer out, String text) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(text);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                out.write(text, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(text, start, text.length() - start);
+        out.write('"');
+    }
+
+    private static void writeJsonValue(Writer out, Object value) throws IOException {
+        if (value == null) {
+            out.write("null");
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            out.write(Double.isFinite(number) ? value.toString() : "null");
+        } else if (value instanceof Number || value instanceof Money) {
+            out.write(value.toString());
+        } else if (value instanceof byte[]) {
+            writeJsonString(out, Base64.getEncoder().encodeToString((byte[]) value));
+        } else {
+            writeJsonString(out, value.toString());
+        }
+    }
+
+    private static void writeJsonString(Writer out, String text) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            out.write(text, start, i - start);
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default: out.write(String.format("\\u%04x", (int) c));
+            }
+            start = i + 1;
+        }
+        out.write(text, start, text.length() - start);
+        out.write('"');
+    }
+}
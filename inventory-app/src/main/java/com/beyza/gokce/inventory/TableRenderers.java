@@ -0,0 +1,407 @@
+/**
+ * @file TableRenderers.java
+ * @brief Type-specialized, striped cell renderers for the application tables
+ *
+ * This file contains the cell renderers installed by the styled table
+ * factories of the GUI: one for integer quantities, one for monetary doubles
+ * and one for text, all painting alternating row stripes.
+ */
+package com.beyza.gokce.inventory;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.text.NumberFormat;
+
+import javax.swing.JComponent;
+import javax.swing.JTable;
+import javax.swing.plaf.basic.BasicTableUI;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumnModel;
+
+/**
+ * @class TableRenderers
+ * @brief Installs the striped renderers on a table
+ *
+ * DefaultTableCellRenderer is a full JLabel: every cell runs the label UI's
+ * text layout, and the old prepareRenderer override pushed colours into it
+ * for every cell on every repaint. These renderers are bare components that
+ * fill their stripe and draw one string at a baseline computed once per font
+ * and row height. With a fixed row height, as the styled tables use, that is
+ * all a cell costs, so scrolling does not slow down with the row count.
+ *
+ * DefaultTableModel reports Object for every column, so the renderer picks
+ * the specialization from the value's runtime type.
+ */
+final class TableRenderers {
+    /**
+     * @brief Horizontal padding inside every cell
+     */
+    static final int PADDING = 6;
+
+    /**
+     * @brief Number of cached quantity strings
+     */
+    private static final int CACHED_INTS = 1024;
+
+    private static final String[] INT_STRINGS = new String[CACHED_INTS];
+
+    static {
+        for (int i = 0; i < CACHED_INTS; i++) {
+            INT_STRINGS[i] = Integer.toString(i);
+        }
+    }
+
+    private TableRenderers() {
+    }
+
+    /**
+     * @brief Replaces a table's renderers with the striped renderers
+     *
+     * Also installs StripedTableUI. A later look-and-feel change replaces the
+     * UI again; the renderers keep working through the standard painting.
+     *
+     * @param table The table to style
+     * @param even Background of even rows
+     * @param odd Background of odd rows
+     * @param text Text colour of unselected rows
+     * @return The renderer that was installed
+     */
+    static TypedRenderer install(JTable table, Color even, Color odd, Color text) {
+        TypedRenderer renderer = new TypedRenderer(new Stripes(even, odd, text));
+        table.setUI(new StripedTableUI());
+        table.setDefaultRenderer(Object.class, renderer);
+        table.setDefaultRenderer(String.class, renderer);
+        table.setDefaultRenderer(Number.class, renderer);
+        table.setDefaultRenderer(Integer.class, renderer);
+        table.setDefaultRenderer(Double.class, renderer);
+        return renderer;
+    }
+
+    /**
+     * @brief Formats an int, reusing cached strings for small quantities
+     *
+     * @param value The value
+     * @return Its decimal representation
+     */
+    static String formatInt(int value) {
+        return value >= 0 && value < CACHED_INTS ? INT_STRINGS[value] : Integer.toString(value);
+    }
+
+    /**
+     * @class Stripes
+     * @brief The colours of a striped table
+     */
+    static final class Stripes {
+        final Color even;
+        final Color odd;
+        final Color text;
+
+        Stripes(Color even, Color odd, Color text) {
+            this.even = even;
+            this.odd = odd;
+            this.text = text;
+        }
+    }
+
+    /**
+     * @class TypedRenderer
+     * @brief Chooses the int, double or text renderer from the cell value
+     */
+    static final class TypedRenderer implements TableCellRenderer {
+        final IntRenderer ints;
+        final DoubleRenderer doubles;
+        final TextRenderer texts;
+
+        TypedRenderer(Stripes stripes) {
+            ints = new IntRenderer(stripes);
+            doubles = new DoubleRenderer(stripes);
+            texts = new TextRenderer(stripes);
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                boolean hasFocus, int row, int column) {
+            if (value instanceof Integer) {
+                return ints.prepare(table, (Integer) value, isSelected, row);
+            }
+            if (value instanceof Double || value instanceof Float) {
+                return doubles.prepare(table, ((Number) value).doubleValue(), isSelected, row);
+            }
+            return texts.prepare(table, value == null ? "" : value.toString(), isSelected, row);
+        }
+    }
+
+    /**
+     * @class CellRenderer
+     * @brief A component that paints one stripe and one string
+     *
+     * Like DefaultTableCellRenderer it overrides the invalidation methods to
+     * do nothing, since a renderer is only ever painted, never laid out.
+     */
+    abstract static class CellRenderer extends JComponent {
+        private static final long serialVersionUID = 1L;
+
+        private final Stripes stripes;
+        private final boolean rightAligned;
+        private String text = "";
+        private Color background;
+        private Color foreground;
+        private Font baselineFont;
+        private int baselineHeight = -1;
+        private int baseline;
+
+        CellRenderer(Stripes stripes, boolean rightAligned) {
+            this.stripes = stripes;
+            this.rightAligned = rightAligned;
+            setOpaque(true);
+        }
+
+        /**
+         * @brief Points the renderer at one cell
+         *
+         * @param table The table being painted
+         * @param text The text to draw
+         * @param isSelected Whether the row is selected
+         * @param row The view row index
+         * @return This renderer
+         */
+        Component prepareText(JTable table, String text, boolean isSelected, int row) {
+            this.text = text;
+            if (isSelected) {
+                background = table.getSelectionBackground();
+                foreground = table.getSelectionForeground();
+            } else {
+                background = (row & 1) == 0 ? stripes.even : stripes.odd;
+                foreground = stripes.text;
+            }
+            Font font = table.getFont();
+            if (font != getFont()) {
+                setFont(font);
+            }
+            return this;
+        }
+
+        /**
+         * @brief Returns the text the renderer will draw
+         *
+         * @return The current cell text
+         */
+        String getText() {
+            return text;
+        }
+
+        /**
+         * @brief Returns the colour the renderer will fill the cell with
+         *
+         * @return The current stripe or selection colour
+         */
+        Color getCellBackground() {
+            return background;
+        }
+
+        /**
+         * @brief Returns the colour the renderer will draw the text in
+         *
+         * @return The current text colour
+         */
+        Color getCellForeground() {
+            return foreground;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            paintCell(g, 0, 0, getWidth(), getHeight());
+        }
+
+        /**
+         * @brief Paints the prepared cell at a position of the table
+         *
+         * Used by StripedTableUI to paint straight into the table's graphics,
+         * without the per-cell graphics copy a CellRendererPane makes. Only
+         * text wider than its cell needs a clipped copy.
+         *
+         * @param g The graphics to paint into
+         * @param x The left edge of the cell
+         * @param y The top edge of the cell
+         * @param width The cell width
+         * @param height The cell height
+         */
+        void paintCell(Graphics g, int x, int y, int width, int height) {
+            g.setColor(background);
+            g.fillRect(x, y, width, height);
+
+            Font font = getFont();
+            FontMetrics metrics = getFontMetrics(font);
+            if (font != baselineFont || height != baselineHeight) {
+                // Fixed row height: computed once per table, not per cell
+                baseline = (height - metrics.getHeight()) / 2 + metrics.getAscent();
+                baselineFont = font;
+                baselineHeight = height;
+            }
+            int textWidth = metrics.stringWidth(text);
+            int textX = rightAligned ? width - PADDING - textWidth : PADDING;
+            if (textWidth <= width - 2 * PADDING) {
+                g.setColor(foreground);
+                g.setFont(font);
+                g.drawString(text, x + textX, y + baseline);
+            } else {
+                Graphics clipped = g.create(x, y, width, height);
+                try {
+                    clipped.setColor(foreground);
+                    clipped.setFont(font);
+                    clipped.drawString(text, Math.max(PADDING, textX), baseline);
+                } finally {
+                    clipped.dispose();
+                }
+            }
+        }
+
+        @Override
+        public void invalidate() {
+        }
+
+        @Override
+        public void validate() {
+        }
+
+        @Override
+        public void revalidate() {
+        }
+
+        @Override
+        public void repaint(long tm, int x, int y, int width, int height) {
+        }
+
+        @Override
+        public void repaint() {
+        }
+
+        @Override
+        protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+        }
+
+        @Override
+        public void firePropertyChange(String propertyName, boolean oldValue, boolean newValue) {
+        }
+    }
+
+    /**
+     * @class StripedTableUI
+     * @brief Table UI that paints striped cells straight into the table graphics
+     *
+     * BasicTableUI paints every cell through a CellRendererPane, which copies
+     * the Graphics once per cell. With a fixed row height, no grid lines and
+     * the striped renderers installed, the visible rows follow from the clip
+     * by one division and each cell is painted in place. Anything else, such
+     * as an active editor, a per-row height or a foreign renderer, falls back
+     * to the standard painting.
+     */
+    static final class StripedTableUI extends BasicTableUI {
+        @Override
+        public void paint(Graphics g, JComponent c) {
+            Rectangle clip = g.getClipBounds();
+            if (clip == null || !canPaintDirectly()) {
+                super.paint(g, c);
+                return;
+            }
+            int rowHeight = table.getRowHeight();
+            int firstRow = clip.y / rowHeight;
+            int lastRow = Math.min(table.getRowCount() - 1, (clip.y + clip.height - 1) / rowHeight);
+            for (int row = firstRow; row <= lastRow; row++) {
+                if (table.getRowHeight(row) != rowHeight) {
+                    super.paint(g, c);
+                    return;
+                }
+            }
+
+            TableColumnModel columns = table.getColumnModel();
+            int clipRight = clip.x + clip.width;
+            for (int row = firstRow; row <= lastRow; row++) {
+                int y = row * rowHeight;
+                int x = 0;
+                for (int column = 0; column < columns.getColumnCount() && x < clipRight; column++) {
+                    int width = columns.getColumn(column).getWidth();
+                    if (x + width > clip.x) {
+                        Component cell = table.prepareRenderer(table.getCellRenderer(row, column), row, column);
+                        if (cell instanceof CellRenderer) {
+                            ((CellRenderer) cell).paintCell(g, x, y, width, rowHeight);
+                        } else {
+                            rendererPane.paintComponent(g, cell, table, x, y, width, rowHeight, true);
+                        }
+                    }
+                    x += width;
+                }
+            }
+            rendererPane.removeAll();
+        }
+
+        private boolean canPaintDirectly() {
+            return table.getRowCount() > 0
+                    && table.getRowHeight() > 0
+                    && !table.isEditing()
+                    && !table.getShowHorizontalLines()
+                    && !table.getShowVerticalLines()
+                    && table.getComponentOrientation().isLeftToRight()
+                    && (table.getTableHeader() == null || table.getTableHeader().getDraggedColumn() == null);
+        }
+    }
+
+    /**
+     * @class IntRenderer
+     * @brief Right-aligned integer quantities
+     */
+    static final class IntRenderer extends CellRenderer {
+        private static final long serialVersionUID = 1L;
+
+        IntRenderer(Stripes stripes) {
+            super(stripes, true);
+        }
+
+        Component prepare(JTable table, int value, boolean isSelected, int row) {
+            return prepareText(table, formatInt(value), isSelected, row);
+        }
+    }
+
+    /**
+     * @class DoubleRenderer
+     * @brief Right-aligned amounts with two decimals
+     *
+     * The NumberFormat is created once per renderer and reused for every
+     * cell; renderers run on the event dispatch thread only.
+     */
+    static final class DoubleRenderer extends CellRenderer {
+        private static final long serialVersionUID = 1L;
+
+        private final NumberFormat format = NumberFormat.getNumberInstance();
+
+        DoubleRenderer(Stripes stripes) {
+            super(stripes, true);
+            format.setMinimumFractionDigits(2);
+            format.setMaximumFractionDigits(2);
+        }
+
+        Component prepare(JTable table, double value, boolean isSelected, int row) {
+            return prepareText(table, format.format(value), isSelected, row);
+        }
+    }
+
+    /**
+     * @class TextRenderer
+     * @brief Left-aligned names and other text
+     */
+    static final class TextRenderer extends CellRenderer {
+        private static final long serialVersionUID = 1L;
+
+        TextRenderer(Stripes stripes) {
+            super(stripes, false);
+        }
+
+        Component prepare(JTable table, String value, boolean isSelected, int row) {
+            return prepareText(table, value, isSelected, row);
+        }
+    }
+}
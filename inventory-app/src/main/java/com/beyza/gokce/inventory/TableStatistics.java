@@ -0,0 +1,166 @@
+/**
+ * @file TableStatistics.java
+ * @brief Incrementally maintained row counts of the application tables
+ *
+ * This file contains the statistics service behind the Database Manager
+ * screen. Row counts are computed once, then kept current by the code paths
+ * that insert and delete rows, and reconciled against the database in the
+ * background.
+ */
+package com.beyza.gokce.inventory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @class TableStatistics
+ * @brief Row counts that cost nothing to read
+ *
+ * SQLite has no stored row count: COUNT(*) walks the whole table. Here the
+ * counts are seeded by one COUNT(*) per table on first use and afterwards
+ * adjusted by recordInsert() and recordDelete(), so reading them is a map
+ * lookup however large the tables grow.
+ *
+ * Writes that bypass the hooks (another process, a manual SQL session) make
+ * the counts drift; a background task re-runs COUNT(*) every few minutes to
+ * pull them back. Counts are therefore exact for this process's own writes
+ * and eventually exact for everything else.
+ */
+final class TableStatistics {
+    /**
+     * @brief The tables shown on the Database Manager screen, in display order
+     */
+    static final String[] TABLES = {"users", "inventory", "projects", "project_materials", "expenses", "sales"};
+
+    /**
+     * @brief Minutes between two background reconciliations
+     */
+    static final long RECONCILE_MINUTES = 5;
+
+    private static final Map<String, AtomicLong> COUNTS = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService reconciler;
+
+    private TableStatistics() {
+    }
+
+    /**
+     * @brief Returns the row count of every tracked table
+     *
+     * The first call counts the tables; later calls only read memory.
+     *
+     * @return An unmodifiable map from table name to row count, in TABLES order
+     * @throws SQLException If the first count fails
+     */
+    static Map<String, Long> rowCounts() throws SQLException {
+        ensureStarted();
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String table : TABLES) {
+            AtomicLong count = COUNTS.get(table);
+            counts.put(table, count == null ? 0L : count.get());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * @brief Records rows added to a table
+     *
+     * @param table The table name
+     * @param rows The number of rows inserted
+     */
+    static void recordInsert(String table, long rows) {
+        AtomicLong count = COUNTS.get(table);
+        if (count != null) {
+            count.addAndGet(rows);
+        }
+    }
+
+    /**
+     * @brief Records rows removed from a table
+     *
+     * @param table The table name
+     * @param rows The number of rows deleted
+     */
+    static void recordDelete(String table, long rows) {
+        AtomicLong count = COUNTS.get(table);
+        if (count != null) {
+            count.updateAndGet(current -> Math.max(0, current - rows));
+        }
+    }
+
+    /**
+     * @brief Recounts every tracked table and corrects the cached counts
+     *
+     * The cached count of each table is noted just before its COUNT(*) and
+     * only the difference is applied afterwards, so inserts and deletes
+     * recorded while the recount ran are kept. A table that does not exist
+     * yet is counted as empty.
+     *
+     * @throws SQLException If the database cannot be read
+     */
+    static synchronized void reconcile() throws SQLException {
+        DatabaseExecutor database = DatabaseExecutor.shared();
+        Map<String, long[]> counted = DatabaseExecutor.await(database.read(DatabaseExecutor.Priority.BATCH, conn -> {
+            Map<String, long[]> result = new LinkedHashMap<>();
+            try (Statement stmt = conn.createStatement()) {
+                for (String table : TABLES) {
+                    AtomicLong cached = COUNTS.get(table);
+                    long before = cached == null ? 0L : cached.get();
+                    try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+                        result.put(table, new long[] {before, rs.next() ? rs.getLong(1) : 0L});
+                    } catch (SQLException e) {
+                        if (e.getMessage() == null || !e.getMessage().contains("no such table")) {
+                            throw e;
+                        }
+                        result.put(table, new long[] {before, 0L});
+                    }
+                }
+            }
+            return result;
+        }));
+        for (Map.Entry<String, long[]> entry : counted.entrySet()) {
+            correct(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+        }
+    }
+
+    /**
+     * @brief Moves a cached count by the drift a recount found
+     *
+     * @param table The table name
+     * @param before The cached count when the recount started
+     * @param fresh The count the recount found
+     */
+    static void correct(String table, long before, long fresh) {
+        COUNTS.computeIfAbsent(table, key -> new AtomicLong()).addAndGet(fresh - before);
+    }
+
+    /**
+     * @brief Seeds the counts and starts the background reconciliation once
+     */
+    private static synchronized void ensureStarted() throws SQLException {
+        if (reconciler != null) {
+            return;
+        }
+        reconcile();
+        reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "inventory-table-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (SQLException | RuntimeException e) {
+                System.out.println("Table statistics could not be reconciled: " + e.getMessage());
+            }
+        }, RECONCILE_MINUTES, RECONCILE_MINUTES, TimeUnit.MINUTES);
+    }
+}
@@ -0,0 +1,414 @@
+/**
+ * @file Theme.java
+ * @brief Shared fonts, colour variants and pre-rendered shapes for the GUI
+ *
+ * This file contains the paint-resource cache used by the styled buttons and
+ * text fields of the main window, and the components that paint with it.
+ */
+package com.beyza.gokce.inventory;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.JButton;
+import javax.swing.JPasswordField;
+import javax.swing.JTextField;
+
+/**
+ * @class Theme
+ * @brief Paint resources computed once and shared by every component
+ *
+ * Fonts are created once per style and size. Each base colour gets a Palette
+ * holding its pressed (darker) and rollover (brighter) variants. Rounded
+ * backgrounds, plain or gradient, are rendered once per colour, size and
+ * screen scale into an image that paintComponent only has to blit.
+ *
+ * Components look the raster up again only when their size changes, so
+ * repaints during hover animation or scrolling allocate nothing.
+ */
+final class Theme {
+    /**
+     * @brief Font family used throughout the application
+     */
+    static final String FONT_FAMILY = "Segoe UI";
+
+    /**
+     * @brief Upper bound on the memory held by cached rasters, in bytes
+     */
+    static final long MAX_RASTER_BYTES = 16L * 1024 * 1024;
+
+    private static final Map<Integer, Font> FONTS = new HashMap<>();
+    private static final Map<Color, Palette> PALETTES = new HashMap<>();
+    private static final LruCache<RasterKey, BufferedImage> RASTERS = new LruCache<>(MAX_RASTER_BYTES,
+            (key, image) -> 4L * image.getWidth() * image.getHeight());
+
+    private Theme() {
+    }
+
+    /**
+     * @brief Returns the shared application font for a style and size
+     *
+     * @param style Font.PLAIN, Font.BOLD or Font.ITALIC
+     * @param size The point size
+     * @return The cached font
+     */
+    static synchronized Font font(int style, int size) {
+        return FONTS.computeIfAbsent(style << 16 | size, key -> new Font(FONT_FAMILY, style, size));
+    }
+
+    /**
+     * @brief Creates the welcome and login fonts and loads their glyphs
+     *
+     * The first layout of a font reads the font file and builds its glyph
+     * cache, which costs tens of milliseconds on a cold start. Running this
+     * on a background thread while the frame is built moves that work off
+     * the event dispatch thread.
+     */
+    static void preloadFonts() {
+        FontRenderContext context = new FontRenderContext(null, true, true);
+        int[][] styles = {
+            {Font.BOLD, 28}, {Font.ITALIC, 18}, {Font.PLAIN, 14}, {Font.BOLD, 14},
+            {Font.PLAIN, 16}, {Font.BOLD, 32}, {Font.BOLD, 24}, {Font.BOLD, 18}
+        };
+        for (int[] style : styles) {
+            font(style[0], style[1]).getStringBounds("Inventory Management System 0123456789", context);
+        }
+    }
+
+    /**
+     * @brief Returns the colour variants derived from a base colour
+     *
+     * @param base The base colour
+     * @return The cached palette
+     */
+    static synchronized Palette palette(Color base) {
+        return PALETTES.computeIfAbsent(base, Palette::new);
+    }
+
+    /**
+     * @brief Returns a rounded rectangle filled with a vertical gradient
+     *
+     * Pass the same colour twice for a solid fill. The image is rendered at
+     * the given screen scale so it stays sharp on high-DPI displays.
+     *
+     * @param top The colour at the top edge
+     * @param bottom The colour at the bottom edge
+     * @param width The width in user-space pixels
+     * @param height The height in user-space pixels
+     * @param arc The corner arc diameter in user-space pixels
+     * @param scale The device scale factor
+     * @return The cached raster
+     */
+    static BufferedImage roundedRaster(Color top, Color bottom, int width, int height, int arc, double scale) {
+        RasterKey key = new RasterKey(top.getRGB(), bottom.getRGB(), width, height, arc, scale);
+        return RASTERS.get(key, Theme::render);
+    }
+
+    /**
+     * @brief Returns the hit, miss and eviction counters of the raster cache
+     *
+     * @return A snapshot of the raster cache statistics
+     */
+    static LruCache.Stats rasterStats() {
+        return RASTERS.stats();
+    }
+
+    private static BufferedImage render(RasterKey key) {
+        int width = (int) Math.ceil(key.width * key.scale);
+        int height = (int) Math.ceil(key.height * key.scale);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.scale(key.scale, key.scale);
+            if (key.top == key.bottom) {
+                g2d.setColor(new Color(key.top, true));
+            } else {
+                g2d.setPaint(new GradientPaint(0, 0, new Color(key.top, true),
+                        0, key.height, new Color(key.bottom, true)));
+            }
+            g2d.fillRoundRect(0, 0, key.width, key.height, key.arc, key.arc);
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+
+    private static double scaleOf(Component component) {
+        GraphicsConfiguration config = component.getGraphicsConfiguration();
+        return config == null ? 1.0 : config.getDefaultTransform().getScaleX();
+    }
+
+    /**
+     * @class Palette
+     * @brief A base colour and its pressed and rollover variants
+     */
+    static final class Palette {
+        /** @brief The colour as given */
+        final Color base;
+        /** @brief The variant shown while pressed */
+        final Color pressed;
+        /** @brief The variant shown under the mouse */
+        final Color rollover;
+
+        Palette(Color base) {
+            this.base = base;
+            this.pressed = base.darker();
+            this.rollover = base.brighter();
+        }
+    }
+
+    /**
+     * @class Surface
+     * @brief A rounded background that keeps the raster for its current size
+     */
+    static final class Surface {
+        private final Color top;
+        private final Color bottom;
+        private final int arc;
+        private BufferedImage image;
+        private int width;
+        private int height;
+
+        /**
+         * @brief Creates a surface
+         *
+         * @param top The colour at the top edge
+         * @param bottom The colour at the bottom edge
+         * @param arc The corner arc diameter
+         */
+        Surface(Color top, Color bottom, int arc) {
+            this.top = top;
+            this.bottom = bottom;
+            this.arc = arc;
+        }
+
+        /**
+         * @brief Paints the surface over the whole component
+         *
+         * @param component The component being painted
+         * @param g The component's graphics
+         */
+        void paint(Component component, Graphics g) {
+            int w = component.getWidth();
+            int h = component.getHeight();
+            if (w <= 0 || h <= 0) {
+                return;
+            }
+            if (image == null || w != width || h != height) {
+                image = roundedRaster(top, bottom, w, h, arc, scaleOf(component));
+                width = w;
+                height = h;
+            }
+            if (image.getWidth() == w && image.getHeight() == h) {
+                g.drawImage(image, 0, 0, null);
+            } else {
+                g.drawImage(image, 0, 0, w, h, null);
+            }
+        }
+    }
+
+    /**
+     * @class TextButton
+     * @brief Button that draws its own centred label from a cached layout
+     *
+     * The label position is recomputed only when the text, font or size
+     * changes, instead of running Swing's label layout on every repaint.
+     */
+    abstract static class TextButton extends JButton {
+        private String layoutText;
+        private Font layoutFont;
+        private int layoutWidth;
+        private int layoutHeight;
+        private int textX;
+        private int textY;
+
+        TextButton(String text) {
+            super(text);
+        }
+
+        /**
+         * @brief Draws the label centred on the button
+         *
+         * @param g The component's graphics
+         * @param color The text colour
+         */
+        void paintLabel(Graphics g, Color color) {
+            String text = getText();
+            Font font = getFont();
+            if (text != layoutText || font != layoutFont || getWidth() != layoutWidth || getHeight() != layoutHeight) {
+                FontMetrics metrics = getFontMetrics(font);
+                textX = (getWidth() - metrics.stringWidth(text)) / 2;
+                textY = ((getHeight() - metrics.getHeight()) / 2) + metrics.getAscent();
+                layoutText = text;
+                layoutFont = font;
+                layoutWidth = getWidth();
+                layoutHeight = getHeight();
+            }
+            g.setColor(color);
+            g.setFont(font);
+            g.drawString(text, textX, textY);
+        }
+    }
+
+    /**
+     * @class RoundedButton
+     * @brief Flat rounded button that darkens when pressed and brightens on hover
+     */
+    static class RoundedButton extends TextButton {
+        private final Surface normal;
+        private final Surface pressed;
+        private final Surface rollover;
+
+        /**
+         * @brief Creates a button
+         *
+         * @param text The label
+         * @param color The background colour
+         */
+        RoundedButton(String text, Color color) {
+            super(text);
+            Palette palette = palette(color);
+            normal = new Surface(palette.base, palette.base, 15);
+            pressed = new Surface(palette.pressed, palette.pressed, 15);
+            rollover = new Surface(palette.rollover, palette.rollover, 15);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            if (getModel().isPressed()) {
+                pressed.paint(this, g);
+            } else if (getModel().isRollover()) {
+                rollover.paint(this, g);
+            } else {
+                normal.paint(this, g);
+            }
+            paintLabel(g, Color.WHITE);
+        }
+    }
+
+    /**
+     * @class GradientButton
+     * @brief Large rounded button with a top-to-bottom gradient
+     */
+    static class GradientButton extends TextButton {
+        private final Surface surface;
+
+        /**
+         * @brief Creates a button
+         *
+         * @param text The label
+         * @param color The colour at the top edge; the bottom edge is darker
+         */
+        GradientButton(String text, Color color) {
+            super(text);
+            Palette palette = palette(color);
+            surface = new Surface(palette.base, palette.pressed, 30);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            surface.paint(this, g);
+            paintLabel(g, getForeground());
+        }
+    }
+
+    /**
+     * @class RoundedTextField
+     * @brief Text field drawn on a rounded background
+     */
+    static class RoundedTextField extends JTextField {
+        private final Surface surface;
+
+        /**
+         * @brief Creates a text field
+         *
+         * @param background The fill colour behind the text
+         */
+        RoundedTextField(Color background) {
+            surface = new Surface(background, background, 10);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            surface.paint(this, g);
+            super.paintComponent(g);
+        }
+    }
+
+    /**
+     * @class RoundedPasswordField
+     * @brief Password field drawn on a rounded background
+     */
+    static class RoundedPasswordField extends JPasswordField {
+        private final Surface surface;
+
+        /**
+         * @brief Creates a password field
+         *
+         * @param background The fill colour behind the text
+         */
+        RoundedPasswordField(Color background) {
+            surface = new Surface(background, background, 10);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            surface.paint(this, g);
+            super.paintComponent(g);
+        }
+    }
+
+    /**
+     * @class RasterKey
+     * @brief Identifies one rendered raster
+     */
+    private static final class RasterKey {
+        final int top;
+        final int bottom;
+        final int width;
+        final int height;
+        final int arc;
+        final double scale;
+
+        RasterKey(int top, int bottom, int width, int height, int arc, double scale) {
+            this.top = top;
+            this.bottom = bottom;
+            this.width = width;
+            this.height = height;
+            this.arc = arc;
+            this.scale = scale;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof RasterKey)) {
+                return false;
+            }
+            RasterKey key = (RasterKey) other;
+            return top == key.top && bottom == key.bottom && width == key.width && height == key.height
+                    && arc == key.arc && scale == key.scale;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = top;
+            hash = 31 * hash + bottom;
+            hash = 31 * hash + width;
+            hash = 31 * hash + height;
+            hash = 31 * hash + arc;
+            return 31 * hash + Double.hashCode(scale);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/**
+
+@file CommandBatchTest.java
+@brief This file contains the test cases for the CommandBatch class.
+@details This file includes test methods to validate command parsing, quoting, batched execution and line error reporting. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class CommandBatchTest
+@brief This class represents the test class for the CommandBatch class.
+@details The CommandBatchTest class runs commands against its own SQLite file in a temporary directory.
+*/
+public class CommandBatchTest {
+    private Path directory;
+    private DatabaseExecutor database;
+
+    @Before
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("command-batch");
+        database = new DatabaseExecutor("jdbc:sqlite:" + directory.resolve("test.db"), 1, 64);
+        DatabaseExecutor.await(database.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL UNIQUE,"
+                        + " quantity INTEGER NOT NULL, cost INTEGER NOT NULL, version INTEGER NOT NULL DEFAULT 0)");
+                stmt.execute("CREATE TABLE sales (id INTEGER PRIMARY KEY AUTOINCREMENT, item TEXT NOT NULL,"
+                        + " quantity INTEGER NOT NULL, price INTEGER NOT NULL)");
+                stmt.execute("CREATE TABLE expenses (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                        + " description TEXT NOT NULL, amount INTEGER NOT NULL)");
+                stmt.execute("CREATE TABLE projects (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL)");
+            }
+            return null;
+        }));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        database.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private CommandBatch.Result run(String text) throws IOException, SQLException {
+        return CommandBatch.run(new BufferedReader(new StringReader(text)), database);
+    }
+
+    private List<String> rows(String sql) throws SQLException {
+        return DatabaseExecutor.await(database.read(conn -> {
+            List<String> rows = new ArrayList<>();
+            try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+                int columns = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    StringBuilder row = new StringBuilder();
+                    for (int c = 1; c <= columns; c++) {
+                        row.append(c > 1 ? "|" : "").append(rs.getString(c));
+                    }
+                    rows.add(row.toString());
+                }
+            }
+            return rows;
+        }));
+    }
+
+    @Test
+    public void testCommandsAreApplied() throws IOException, SQLException {
+        CommandBatch.Result result = run("# Morning stock\n"
+                + "add-material \"Oak plank\" 12 45.5\n"
+                + "\n"
+                + "add-material\tPine 3 10\n"
+                + "add-material \"Oak plank\" 3 50\n"
+                + "add-sale \"Chair, \"\"classic\"\"\" 2 99.95\n"
+                + "add-expense \"Glue and tape\" 0.1\n"
+                + "add-project Shelf\n"
+                + "remove-material Pine\n");
+        assertEquals(7, result.executed);
+        assertEquals(0, result.failed);
+        assertEquals(List.of("Oak plank|15|5000"), rows("SELECT name, quantity, cost FROM inventory"));
+        assertEquals(List.of("Chair, \"classic\"|2|9995"), rows("SELECT item, quantity, price FROM sales"));
+        assertEquals(List.of("Glue and tape|10"), rows("SELECT description, amount FROM expenses"));
+        assertEquals(List.of("Shelf"), rows("SELECT name FROM projects"));
+    }
+
+    @Test
+    public void testBadLinesAreReportedWithLineNumbers() throws IOException, SQLException {
+        String commands = "add-sale Chair 1 10\n"
+                + "sell Chair 1 10\n"
+                + "add-sale Chair 1\n"
+                + "add-sale Chair one 10\n"
+                + "add-sale Chair 1 ten\n"
+                + "add-sale Chair -1 10\n"
+                + "add-expense \"Unclosed 10\n"
+                + "add-expense \"\" 10\n"
+                + "remove-material Teak\n"
+                + "add-sale Table 1 250\n";
+        CommandBatch.Result result = run(commands);
+        assertEquals(2, result.executed);
+        assertEquals(8, result.failed);
+        List<String> errors = new ArrayList<>();
+        for (CsvImporter.RowError error : result.errors) {
+            errors.add(error.toString());
+        }
+        assertEquals(List.of(
+                "line 2: unknown command: sell",
+                "line 3: usage: add-sale <item> <quantity> <price>",
+                "line 4: quantity is not a whole number: one",
+                "line 5: amount is not a number: ten",
+                "line 6: quantity is negative",
+                "line 7: unclosed quote or too many arguments",
+                "line 8: description is empty",
+                "line 9: no material named Teak"), errors);
+        assertEquals(List.of("Chair", "Table"), rows("SELECT item FROM sales ORDER BY id"));
+    }
+
+    @Test
+    public void testFailingCommandKeepsTheRestOfItsBatch() throws IOException, SQLException {
+        DatabaseExecutor.await(database.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                return stmt.executeUpdate("CREATE TRIGGER no_glue BEFORE INSERT ON expenses"
+                        + " WHEN NEW.description = 'Glue' BEGIN SELECT RAISE(ABORT, 'glue is not allowed'); END");
+            }
+        }));
+        CommandBatch.Result result = run("add-expense Saw 20\nadd-expense Glue 1\nadd-expense Tape 2\n");
+        assertEquals(2, result.executed);
+        assertEquals("line 2", result.errors.get(0).toString().substring(0, 6));
+        assertTrue(result.errors.get(0).message.contains("glue is not allowed"));
+        assertEquals(List.of("Saw", "Tape"), rows("SELECT description FROM expenses ORDER BY id"));
+    }
+
+    @Test
+    public void testCommandsRunAcrossSeveralBatches() throws IOException, SQLException {
+        int count = CommandBatch.BATCH_SIZE * 2 + 5;
+        StringBuilder commands = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            commands.append("add-sale \"Item ").append(i).append("\" 1 0.10\n");
+        }
+        CommandBatch.Result result = run(commands.toString());
+        assertEquals(count, result.executed);
+        assertEquals(List.of(count + "|" + count * 10), rows("SELECT count(*), sum(price) FROM sales"));
+        assertEquals(List.of("Item " + (count - 1)), rows("SELECT item FROM sales ORDER BY id DESC LIMIT 1"));
+    }
+
+    @Test
+    public void testEveryCommandHasAUsage() {
+        for (CommandBatch.Command command : CommandBatch.Command.values()) {
+            assertSame(command, CommandBatch.Command.of(command.name));
+            assertTrue(command.toString().startsWith(command.name + " <"));
+        }
+        assertNull(CommandBatch.Command.of("drop-table"));
+    }
+}
@@ -0,0 +1,71 @@
+/**
+
+@file CsvImportBenchmark.java
+@brief Benchmark importing a large generated CSV file into the inventory table.
+@details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.beyza.gokce.inventory.CsvImportBenchmark
+*/
+package com.beyza.gokce.inventory;
+
+import java.io.BufferedWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+/**
+
+@class CsvImportBenchmark
+@brief Times a ten million row import and reports the peak heap it needed.
+@details The row count can be given as the first argument. Peak heap is read from the memory pools after the import,
+so it covers parsing, validation and the batches waiting for the writer.
+*/
+public class CsvImportBenchmark {
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Path directory = Files.createTempDirectory("csv-import-benchmark");
+        Path file = directory.resolve("inventory.csv");
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("name,quantity,cost\n");
+            for (int i = 0; i < rows; i++) {
+                out.write(i % 10 == 0 ? "\"Plank, oak " + i + "\"" : "Material " + i);
+                out.write("," + (i % 500) + "," + (i % 1000) + ".25\n");
+            }
+        }
+        System.out.println(String.format("%-16s %6d MB", "file", Files.size(file) >> 20));
+
+        try (DatabaseExecutor database = new DatabaseExecutor("jdbc:sqlite:" + directory.resolve("bench.db"), 1,
+                DatabaseExecutor.DEFAULT_MAX_BATCH)) {
+            DatabaseExecutor.await(database.write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL UNIQUE,"
+                            + " quantity INTEGER NOT NULL, cost INTEGER NOT NULL, version INTEGER NOT NULL DEFAULT 0)");
+                }
+                return null;
+            }));
+            System.gc();
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                pool.resetPeakUsage();
+            }
+
+            long start = System.nanoTime();
+            CsvImporter.Result result = CsvImporter.importFile(file, CsvImporter.Target.INVENTORY, null, database);
+            long nanos = System.nanoTime() - start;
+
+            long peak = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peak += pool.getPeakUsage().getUsed();
+                }
+            }
+            System.out.println(String.format("%-16s %6d ms  %9.0f rows/s  %d imported, %d rejected", "import",
+                    nanos / 1_000_000, result.imported / (nanos / 1e9), result.imported, result.rejected));
+            System.out.println(String.format("%-16s %6d MB", "peak heap", peak >> 20));
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/**
+
+@file CsvImporterTest.java
+@brief This file contains the test cases for the CsvImporter class.
+@details This file includes test methods to validate CSV parsing, headers, row validation, batching and progress reporting. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class CsvImporterTest
+@brief This class represents the test class for the CsvImporter class.
+@details The CsvImporterTest class imports into its own SQLite file in a temporary directory.
+*/
+public class CsvImporterTest {
+    private Path directory;
+    private Path file;
+    private DatabaseExecutor database;
+
+    @Before
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("csv-import");
+        file = directory.resolve("import.csv");
+        database = new DatabaseExecutor("jdbc:sqlite:" + directory.resolve("test.db"), 1, 64);
+        DatabaseExecutor.await(database.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL UNIQUE,"
+                        + " quantity INTEGER NOT NULL, cost INTEGER NOT NULL, version INTEGER NOT NULL DEFAULT 0)");
+                stmt.execute("CREATE TABLE expenses (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                        + " description TEXT NOT NULL, amount INTEGER NOT NULL)");
+            }
+            return null;
+        }));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        database.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private List<String> rows(String sql) throws SQLException {
+        return DatabaseExecutor.await(database.read(conn -> {
+            List<String> rows = new ArrayList<>();
+            try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+                int columns = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    StringBuilder row = new StringBuilder();
+                    for (int c = 1; c <= columns; c++) {
+                        row.append(c > 1 ? "|" : "").append(rs.getString(c));
+                    }
+                    rows.add(row.toString());
+                }
+            }
+            return rows;
+        }));
+    }
+
+    private CsvImporter.Result importText(String text, CsvImporter.Target target) throws IOException, SQLException {
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return CsvImporter.importFile(file, target, null, database);
+    }
+
+    @Test
+    public void testImportsRowsWithoutHeader() throws IOException, SQLException {
+        CsvImporter.Result result = importText("Oak plank,12,45.5\nSteel bar,5,120\n", CsvImporter.Target.INVENTORY);
+        assertEquals(2, result.imported);
+        assertEquals(0, result.rejected);
+        assertEquals(List.of("Oak plank|12|4550", "Steel bar|5|12000"),
+                rows("SELECT name, quantity, cost FROM inventory ORDER BY id"));
+    }
+
+    @Test
+    public void testKnownMaterialsAreRestocked() throws IOException, SQLException {
+        importText("Oak plank,12,45.5\n", CsvImporter.Target.INVENTORY);
+        CsvImporter.Result result = importText("Oak plank,3,50\nSteel bar,5,120\nOak plank,1,50\n",
+                CsvImporter.Target.INVENTORY);
+        assertEquals(3, result.imported);
+        assertEquals(List.of("Oak plank|16|5000", "Steel bar|5|12000"),
+                rows("SELECT name, quantity, cost FROM inventory ORDER BY id"));
+    }
+
+    @Test
+    public void testHeaderMayReorderColumns() throws IOException, SQLException {
+        CsvImporter.Result result = importText("﻿cost,Name,quantity\r\n2.25,Glue,4\r\n",
+                CsvImporter.Target.INVENTORY);
+        assertEquals(1, result.imported);
+        assertEquals(List.of("Glue|4|225"), rows("SELECT name, quantity, cost FROM inventory"));
+    }
+
+    @Test
+    public void testQuotedFields() throws IOException, SQLException {
+        String csv = "\"Paint, white\",10.5\n\"Say \"\"cheese\"\"\",1\n\"Two\nlines\",3\nÇelik vida,0.75";
+        CsvImporter.Result result = importText(csv, CsvImporter.Target.EXPENSES);
+        assertEquals(4, result.imported);
+        assertEquals(List.of("Paint, white|1050", "Say \"cheese\"|100", "Two\nlines|300", "Çelik vida|75"),
+                rows("SELECT description, amount FROM expenses ORDER BY id"));
+    }
+
+    @Test
+    public void testAmountsAreRoundedToMinorUnits() throws IOException, SQLException {
+        String csv = "Tenth,0.1\nFifth,0.2\nHalf up,1.005\nCarry,19.995\nBare fraction,.5\nBare point,2.\n"
+                + "Exponent,1.2345e1\nLong fraction,0.00499999999999999999\n";
+        CsvImporter.Result result = importText(csv, CsvImporter.Target.EXPENSES);
+        assertEquals(8, result.imported);
+        assertEquals(List.of("10", "20", "101", "2000", "50", "200", "1235", "0"),
+                rows("SELECT amount FROM expenses ORDER BY id"));
+        assertEquals("Minor units add up exactly", List.of("30"),
+                rows("SELECT sum(amount) FROM expenses WHERE id <= 2"));
+    }
+
+    @Test
+    public void testInvalidRowsAreReportedWithLineNumbers() throws IOException, SQLException {
+        String csv = "name,quantity,cost\n"
+                + "Good,1,1.0\n"
+                + "\n"
+                + "Missing cost,1\n"
+                + ",2,2.0\n"
+                + "Fraction,1.5,2.0\n"
+                + "Negative,-1,2.0\n"
+                + "\"Multi\nline\",x,1\n"
+                + "Text cost,1,abc\n"
+                + "Infinite,1,Infinity\n"
+                + "Exponent,3,1e2\n";
+        CsvImporter.Result result = importText(csv, CsvImporter.Target.INVENTORY);
+        assertEquals(2, result.imported);
+        assertEquals(7, result.rejected);
+        List<String> errors = new ArrayList<>();
+        for (CsvImporter.RowError error : result.errors) {
+            errors.add(error.toString());
+        }
+        assertEquals(List.of(
+                "line 4: expected 3 fields, found 2",
+                "line 5: name is empty",
+                "line 6: quantity is not a whole number: 1.5",
+                "line 7: quantity is negative",
+                "line 8: quantity is not a whole number: x",
+                "line 10: cost is not a number: abc",
+                "line 11: cost is not a number: Infinity"), errors);
+        assertEquals(List.of("Good|1|100", "Exponent|3|10000"),
+                rows("SELECT name, quantity, cost FROM inventory ORDER BY id"));
+    }
+
+    @Test
+    public void testUnterminatedQuoteIsRejected() throws IOException, SQLException {
+        CsvImporter.Result result = importText("Ok,1\n\"Open,2\n", CsvImporter.Target.EXPENSES);
+        assertEquals(1, result.imported);
+        assertEquals(1, result.rejected);
+        assertEquals("line 2: unterminated quoted field", result.errors.get(0).toString());
+    }
+
+    @Test
+    public void testLargeFileIsBatchedWithProgress() throws IOException, SQLException {
+        int count = CsvImporter.BATCH_SIZE * 2 + 123;
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("description,amount\n");
+            for (int i = 0; i < count; i++) {
+                out.write("Expense number " + i + "," + i + ".25\n");
+            }
+        }
+        List<long[]> updates = new ArrayList<>();
+        CsvImporter.Result result = CsvImporter.importFile(file, CsvImporter.Target.EXPENSES,
+                (read, total, rows) -> updates.add(new long[]{read, total, rows}), database);
+
+        assertEquals(count, result.imported);
+        assertEquals(List.of(String.valueOf(count)), rows("SELECT count(*) FROM expenses"));
+        assertEquals(List.of("Expense number 20122|2012225"),
+                rows("SELECT description, amount FROM expenses ORDER BY id DESC LIMIT 1"));
+        long[] last = updates.get(updates.size() - 1);
+        assertEquals(Files.size(file), last[0]);
+        assertEquals(last[0], last[1]);
+        assertEquals(count, last[2]);
+        assertTrue(updates.size() >= 3);
+    }
+
+    @Test
+    public void testRecordsSpanningBufferBoundaries() throws IOException, SQLException {
+        StringBuilder csv = new StringBuilder();
+        StringBuilder longName = new StringBuilder();
+        while (longName.length() < CsvImporter.BUFFER_SIZE / 3) {
+            longName.append("ğ");
+        }
+        int rows = 0;
+        while (csv.length() < CsvImporter.BUFFER_SIZE * 3) {
+            csv.append('"').append(longName).append(rows).append("\",").append(rows).append(".5\n");
+            rows++;
+        }
+        CsvImporter.Result result = importText(csv.toString(), CsvImporter.Target.EXPENSES);
+        assertEquals(rows, result.imported);
+        assertEquals(List.of(longName + "3|350"), rows("SELECT description, amount FROM expenses WHERE id = 4"));
+    }
+
+    @Test
+    public void testOverlongRecordIsSkipped() throws IOException, SQLException {
+        StringBuilder csv = new StringBuilder("Before,1\n");
+        for (int i = 0; i < CsvImporter.BUFFER_SIZE + 10; i++) {
+            csv.append('x');
+        }
+        csv.append(",2\nAfter,3\n");
+        CsvImporter.Result result = importText(csv.toString(), CsvImporter.Target.EXPENSES);
+        assertEquals(2, result.imported);
+        assertEquals(1, result.rejected);
+        assertTrue(result.errors.get(0).toString().startsWith("line 2: record longer than"));
+        assertEquals(List.of("Before|100", "After|300"), rows("SELECT description, amount FROM expenses ORDER BY id"));
+    }
+
+    @Test
+    public void testTargetLookup() {
+        assertEquals(CsvImporter.Target.SALES, CsvImporter.Target.of("Sales"));
+        assertNull(CsvImporter.Target.of("users"));
+        assertEquals("inventory", CsvImporter.Target.INVENTORY.toString());
+    }
+}
@@ -0,0 +1,279 @@
+/**
+
+@file DatabaseExecutorTest.java
+@brief This file contains the test cases for the DatabaseExecutor class.
+@details This file includes test methods to validate group commit, failure isolation, read-only readers, operations racing close() and the priority scheduling of interactive and batch work. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class DatabaseExecutorTest
+@brief This class represents the test class for the DatabaseExecutor class.
+@details The DatabaseExecutorTest class runs the executor against a scratch database file.
+*/
+public class DatabaseExecutorTest {
+    private File dbFile;
+    private DatabaseExecutor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        dbFile = File.createTempFile("executor-test", ".db");
+        executor = new DatabaseExecutor("jdbc:sqlite:" + dbFile.getAbsolutePath(), 2, 64);
+        DatabaseExecutor.await(executor.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                return stmt.executeUpdate("CREATE TABLE sales (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                        + " item TEXT NOT NULL, quantity INTEGER NOT NULL, price INTEGER NOT NULL)");
+            }
+        }));
+    }
+
+    @After
+    public void tearDown() {
+        executor.close();
+        dbFile.delete();
+        new File(dbFile.getPath() + "-wal").delete();
+        new File(dbFile.getPath() + "-shm").delete();
+    }
+
+    private CompletableFuture<Integer> insertSale(String item) {
+        return executor.write(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO sales (item, quantity, price) VALUES (?, ?, ?)")) {
+                pstmt.setString(1, item);
+                pstmt.setInt(2, 1);
+                pstmt.setLong(3, 250);
+                return pstmt.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * @brief Queues a write that records its name once it runs
+     */
+    private CompletableFuture<Integer> record(DatabaseExecutor.Priority priority, String name, List<String> order) {
+        return executor.write(priority, conn -> {
+            order.add(name);
+            return 0;
+        });
+    }
+
+    /**
+     * @brief Queues a write that holds the writer until released
+     */
+    private CompletableFuture<Integer> hold(DatabaseExecutor.Priority priority, CountDownLatch started,
+            CountDownLatch release, List<String> order) {
+        return executor.write(priority, conn -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            order.add("held");
+            return 0;
+        });
+    }
+
+    private int countSales() throws SQLException {
+        return DatabaseExecutor.await(executor.read(conn -> {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sales")) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }));
+    }
+
+    @Test
+    public void testOperationsRacingCloseAllComplete() throws Exception {
+        List<CompletableFuture<Integer>> futures = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch go = new CountDownLatch(1);
+        List<Thread> callers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread caller = new Thread(() -> {
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 2000; i++) {
+                    futures.add(insertSale("race"));
+                    futures.add(executor.read(conn -> 0));
+                }
+            });
+            caller.start();
+            callers.add(caller);
+        }
+        go.countDown();
+        Thread.sleep(5);
+        executor.close();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        for (CompletableFuture<Integer> future : futures) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                // Failed because the executor closed, which is fine; it must not hang
+            }
+        }
+        for (DatabaseExecutor.Priority priority : DatabaseExecutor.Priority.values()) {
+            assertEquals(0, executor.queueStats(priority).queued);
+        }
+    }
+
+    @Test
+    public void testConcurrentWritesAreAllCommitted() throws Exception {
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(insertSale("item-" + i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        assertEquals(500, countSales());
+    }
+
+    @Test
+    public void testFailingWriteDoesNotRollBackItsBatch() throws Exception {
+        CompletableFuture<Integer> first = insertSale("first");
+        CompletableFuture<Integer> broken = insertSale(null);
+        CompletableFuture<Integer> last = insertSale("last");
+
+        assertEquals(Integer.valueOf(1), first.join());
+        assertEquals(Integer.valueOf(1), last.join());
+        try {
+            broken.join();
+            fail("Inserting a NULL item should fail");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof SQLException);
+        }
+        assertEquals(2, countSales());
+    }
+
+    @Test(expected = SQLException.class)
+    public void testReadersAreReadOnly() throws Exception {
+        DatabaseExecutor.await(executor.read(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                return stmt.executeUpdate("DELETE FROM sales");
+            }
+        }));
+    }
+
+    @Test
+    public void testWritesAfterCloseFail() {
+        executor.close();
+        try {
+            insertSale("late").join();
+            fail("Writes after close should fail");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testInteractiveWritesOvertakeQueuedBatchWrites() throws Exception {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> held = hold(DatabaseExecutor.Priority.INTERACTIVE, started, release, order);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        record(DatabaseExecutor.Priority.BATCH, "export 1", order);
+        record(DatabaseExecutor.Priority.BATCH, "export 2", order);
+        CompletableFuture<Integer> sale = record(DatabaseExecutor.Priority.INTERACTIVE, "sale", order);
+        assertEquals(2, executor.queueStats(DatabaseExecutor.Priority.BATCH).queued);
+        assertEquals(1, executor.queueStats(DatabaseExecutor.Priority.INTERACTIVE).queued);
+        release.countDown();
+        held.join();
+        DatabaseExecutor.await(record(DatabaseExecutor.Priority.BATCH, "export 3", order));
+        assertTrue(sale.isDone());
+        assertEquals(List.of("held", "sale", "export 1", "export 2", "export 3"), order);
+    }
+
+    @Test
+    public void testInteractiveWriteJoinsAfterTheRunningBatchChunk() throws Exception {
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> chunk = hold(DatabaseExecutor.Priority.BATCH, started, release, order);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        record(DatabaseExecutor.Priority.BATCH, "chunk 2", order);
+        CompletableFuture<Integer> sale = record(DatabaseExecutor.Priority.INTERACTIVE, "sale", order);
+        release.countDown();
+        sale.join();
+        assertTrue("The sale commits with the chunk it waited for", chunk.isDone());
+        DatabaseExecutor.await(record(DatabaseExecutor.Priority.BATCH, "chunk 3", order));
+        assertEquals(List.of("held", "sale", "chunk 2", "chunk 3"), order);
+    }
+
+    @Test
+    public void testQueueStatsCountEveryOperation() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            DatabaseExecutor.await(insertSale("item-" + i));
+        }
+        DatabaseExecutor.await(executor.read(DatabaseExecutor.Priority.BATCH, conn -> 0));
+        DatabaseExecutor.QueueStats interactive = executor.queueStats(DatabaseExecutor.Priority.INTERACTIVE);
+        DatabaseExecutor.QueueStats batch = executor.queueStats(DatabaseExecutor.Priority.BATCH);
+        // The table is created by an interactive write in setUp
+        assertEquals(6, interactive.started);
+        assertEquals(0, interactive.queued);
+        assertEquals(1, batch.started);
+        assertTrue(interactive.maxWaitNanos >= 0);
+        assertTrue(interactive.toString().startsWith("interactive queued=0 started=6"));
+    }
+
+    @Test
+    public void testBatchReadsLeaveAConnectionForInteractiveReads() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Integer>> reports = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            reports.add(executor.read(DatabaseExecutor.Priority.BATCH, conn -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 0;
+            }));
+        }
+        try {
+            assertEquals(Integer.valueOf(0), executor.read(DatabaseExecutorTest::count).get(10, TimeUnit.SECONDS));
+            // The single batch thread may still be picking up its first read
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (executor.queueStats(DatabaseExecutor.Priority.BATCH).queued > 2 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(20);
+            assertEquals(2, executor.queueStats(DatabaseExecutor.Priority.BATCH).queued);
+        } finally {
+            release.countDown();
+        }
+        CompletableFuture.allOf(reports.toArray(new CompletableFuture[0])).join();
+        assertEquals(0, executor.queueStats(DatabaseExecutor.Priority.BATCH).queued);
+    }
+
+    private static int count(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM sales")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
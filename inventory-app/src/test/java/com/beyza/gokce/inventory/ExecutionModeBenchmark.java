@@ -0,0 +1,149 @@
+/**
+
+@file ExecutionModeBenchmark.java
+@brief Benchmark comparing platform-thread pools and virtual threads.
+@details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.beyza.gokce.inventory.ExecutionModeBenchmark
+*/
+package com.beyza.gokce.inventory;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+
+@class ExecutionModeBenchmark
+@brief Simulates bursty register traffic against a scratch SQLite database.
+@details Every simulated client spends some time on network I/O (modelled as a sleep), then runs one
+gated SQLite operation: nine in ten are point reads, one in ten is an insert. The same burst is run on a
+bounded platform-thread pool and, when the JVM supports them, on virtual threads.
+*/
+public class ExecutionModeBenchmark {
+    private static final int CLIENTS = 10_000;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int NETWORK_MILLIS = 20;
+    private static final int SEED_ROWS = 10_000;
+
+    private final String url;
+    private final BlockingQueue<Connection> readers = new ArrayBlockingQueue<>(RequestExecution.DEFAULT_READ_PERMITS);
+    private Connection writer;
+
+    ExecutionModeBenchmark(String url) {
+        this.url = url;
+    }
+
+    public static void main(String[] args) throws Exception {
+        File db = File.createTempFile("execution-benchmark", ".db");
+        db.deleteOnExit();
+        ExecutionModeBenchmark benchmark = new ExecutionModeBenchmark("jdbc:sqlite:" + db.getAbsolutePath());
+        benchmark.open();
+        try {
+            benchmark.run(RequestExecution.Mode.PLATFORM);
+            if (RequestExecution.virtualThreadsSupported()) {
+                benchmark.run(RequestExecution.Mode.VIRTUAL);
+            } else {
+                System.out.println("VIRTUAL : skipped, virtual threads need Java 21 (running "
+                        + System.getProperty("java.version") + ")");
+            }
+        } finally {
+            benchmark.close();
+        }
+    }
+
+    void open() throws Exception {
+        writer = DriverManager.getConnection(url);
+        try (Statement stmt = writer.createStatement()) {
+            stmt.execute("PRAGMA journal_mode=WAL");
+            stmt.execute("CREATE TABLE IF NOT EXISTS sales (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                    + " item TEXT NOT NULL, quantity INTEGER NOT NULL, price INTEGER NOT NULL)");
+        }
+        writer.setAutoCommit(false);
+        try (PreparedStatement insert = writer.prepareStatement(
+                "INSERT INTO sales (item, quantity, price) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < SEED_ROWS; i++) {
+                insert.setString(1, "item-" + i);
+                insert.setInt(2, 1);
+                insert.setLong(3, 999);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        writer.commit();
+        writer.setAutoCommit(true);
+        for (int i = 0; i < RequestExecution.DEFAULT_READ_PERMITS; i++) {
+            readers.add(DriverManager.getConnection(url));
+        }
+    }
+
+    void close() throws Exception {
+        writer.close();
+        for (Connection reader : readers) {
+            reader.close();
+        }
+    }
+
+    void run(RequestExecution.Mode mode) throws Exception {
+        ExecutorService executor = RequestExecution.newExecutor(mode, PLATFORM_THREADS, CLIENTS);
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+        AtomicLong totalLatencyNanos = new AtomicLong();
+        long start = System.nanoTime();
+        for (int i = 0; i < CLIENTS; i++) {
+            final boolean write = i % 10 == 0;
+            final long submitted = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(NETWORK_MILLIS);
+                    if (write) {
+                        RequestExecution.write(this::insertSale);
+                    } else {
+                        RequestExecution.read(this::readSale);
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
+                } finally {
+                    totalLatencyNanos.addAndGet(System.nanoTime() - submitted);
+                    done.countDown();
+                }
+            });
+        }
+        done.await(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+
+        System.out.printf("%-8s: %d clients in %d ms, %.0f req/s, mean latency %.1f ms%n", mode, CLIENTS,
+                TimeUnit.NANOSECONDS.toMillis(elapsed), CLIENTS / (elapsed / 1e9),
+                totalLatencyNanos.get() / 1e6 / CLIENTS);
+    }
+
+    private Object insertSale() throws Exception {
+        try (PreparedStatement insert = writer.prepareStatement(
+                "INSERT INTO sales (item, quantity, price) VALUES (?, ?, ?)")) {
+            insert.setString(1, "benchmark");
+            insert.setInt(2, 1);
+            insert.setLong(3, 100);
+            return insert.executeUpdate();
+        }
+    }
+
+    private Object readSale() throws Exception {
+        Connection reader = readers.take();
+        try (PreparedStatement select = reader.prepareStatement("SELECT item, quantity, price FROM sales WHERE id = ?")) {
+            select.setInt(1, 1 + ThreadLocalRandom.current().nextInt(SEED_ROWS));
+            try (ResultSet rs = select.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } finally {
+            readers.add(reader);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/**
+
+@file IndexedRowSorterTest.java
+@brief This file contains the test cases for the IndexedRowSorter class.
+@details This file includes test methods to validate sorting, prefix search, incremental index maintenance and the debounced search field. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.RowSorter.SortKey;
+import javax.swing.SortOrder;
+import javax.swing.Timer;
+import javax.swing.table.DefaultTableModel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class IndexedRowSorterTest
+@brief This class represents the test class for the IndexedRowSorter class.
+@details The IndexedRowSorterTest class drives the sorter through a JTable and a DefaultTableModel, so every model change reaches it the way it does in the GUI.
+*/
+public class IndexedRowSorterTest {
+    private DefaultTableModel model;
+    private JTable table;
+    private IndexedRowSorter sorter;
+
+    @Before
+    public void setUp() {
+        model = new DefaultTableModel(new Object[]{"Name", "Quantity", "Cost"}, 0);
+        model.addRow(new Object[]{"oak plank", 12, 4.5});
+        model.addRow(new Object[]{"Steel bolt", 300, 0.25});
+        model.addRow(new Object[]{"Copper wire", 7, 12.0});
+        model.addRow(new Object[]{"Oak dowel", 12, 1.0});
+        table = new JTable(model);
+        sorter = IndexedRowSorter.install(table, 0);
+    }
+
+    @Test
+    public void testUnsortedViewIsModelOrder() {
+        assertEquals(Arrays.asList(0, 1, 2, 3), sorter.viewRows());
+        assertEquals(4, table.getRowCount());
+    }
+
+    @Test
+    public void testToggleCyclesAscendingDescendingUnsorted() {
+        sorter.toggleSortOrder(0);
+        assertEquals(Arrays.asList(2, 3, 0, 1), sorter.viewRows());
+        assertEquals("Copper wire", table.getValueAt(0, 0));
+
+        sorter.toggleSortOrder(0);
+        assertEquals(Arrays.asList(1, 0, 3, 2), sorter.viewRows());
+        assertEquals(SortOrder.DESCENDING, sorter.getSortKeys().get(0).getSortOrder());
+
+        sorter.toggleSortOrder(0);
+        assertTrue(sorter.getSortKeys().isEmpty());
+        assertEquals(Arrays.asList(0, 1, 2, 3), sorter.viewRows());
+    }
+
+    @Test
+    public void testNumbersSortNumericallyWithTiesInModelOrder() {
+        sorter.setSortKeys(Collections.singletonList(new SortKey(1, SortOrder.ASCENDING)));
+        assertEquals(Arrays.asList(2, 0, 3, 1), sorter.viewRows());
+
+        sorter.setSortKeys(Collections.singletonList(new SortKey(2, SortOrder.DESCENDING)));
+        assertEquals(Arrays.asList(2, 0, 3, 1), sorter.viewRows());
+    }
+
+    @Test
+    public void testFilterMatchesPrefixIgnoringCase() {
+        sorter.setFilter("  OAK ");
+        assertEquals("oak", sorter.getFilter());
+        assertEquals(Arrays.asList(0, 3), sorter.viewRows());
+        assertEquals(-1, sorter.convertRowIndexToView(1));
+        assertEquals(1, sorter.convertRowIndexToView(3));
+
+        sorter.setFilter("oak d");
+        assertEquals(Collections.singletonList(3), sorter.viewRows());
+
+        sorter.setFilter("zinc");
+        assertEquals(0, table.getRowCount());
+
+        sorter.setFilter("");
+        assertEquals(4, table.getRowCount());
+    }
+
+    @Test
+    public void testFilterKeepsSortByAnotherColumn() {
+        sorter.setSortKeys(Collections.singletonList(new SortKey(2, SortOrder.ASCENDING)));
+        sorter.setFilter("oak");
+        assertEquals(Arrays.asList(3, 0), sorter.viewRows());
+
+        sorter.toggleSortOrder(0);
+        assertEquals(Arrays.asList(3, 0), sorter.viewRows());
+        sorter.toggleSortOrder(0);
+        assertEquals(Arrays.asList(0, 3), sorter.viewRows());
+    }
+
+    @Test
+    public void testInsertIsPlacedInSortedView() {
+        sorter.toggleSortOrder(0);
+        model.addRow(new Object[]{"Brass hinge", 40, 2.0});
+        assertEquals(Arrays.asList(4, 2, 3, 0, 1), sorter.viewRows());
+
+        model.insertRow(0, new Object[]{"Zinc plate", 1, 9.0});
+        assertEquals(Arrays.asList(5, 3, 4, 1, 2, 0), sorter.viewRows());
+    }
+
+    @Test
+    public void testUpdateMovesOnlyTheChangedRow() {
+        sorter.toggleSortOrder(0);
+        model.setValueAt("Aluminium sheet", 1, 0);
+        assertEquals(Arrays.asList(1, 2, 3, 0), sorter.viewRows());
+
+        sorter.setFilter("al");
+        assertEquals(Collections.singletonList(1), sorter.viewRows());
+    }
+
+    @Test
+    public void testDeleteRenumbersLaterRows() {
+        sorter.toggleSortOrder(0);
+        model.removeRow(0);
+        assertEquals(Arrays.asList(1, 2, 0), sorter.viewRows());
+        assertEquals("Copper wire", table.getValueAt(0, 0));
+        assertEquals("Steel bolt", table.getValueAt(2, 0));
+    }
+
+    @Test
+    public void testIncrementalIndexesMatchRebuiltIndexes() {
+        sorter.setSortKeys(Collections.singletonList(new SortKey(1, SortOrder.ASCENDING)));
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            int rows = model.getRowCount();
+            int action = random.nextInt(3);
+            if (action == 0 || rows < 2) {
+                model.insertRow(random.nextInt(rows + 1),
+                        new Object[]{"item" + random.nextInt(50), random.nextInt(20), random.nextInt(100) / 4.0});
+            } else if (action == 1) {
+                model.setValueAt(random.nextInt(20), random.nextInt(rows), 1);
+                model.setValueAt("Item" + random.nextInt(50), random.nextInt(rows), 0);
+            } else {
+                model.removeRow(random.nextInt(rows));
+            }
+        }
+
+        IndexedRowSorter rebuilt = new IndexedRowSorter(model, 0);
+        assertArrayEquals(rebuilt.indexedRows(0), sorter.indexedRows(0));
+        assertArrayEquals(rebuilt.indexedRows(1), sorter.indexedRows(1));
+
+        rebuilt.setSortKeys(sorter.getSortKeys());
+        rebuilt.setFilter("item1");
+        sorter.setFilter("item1");
+        assertEquals(rebuilt.viewRows(), sorter.viewRows());
+        for (int row : sorter.viewRows()) {
+            assertTrue(((String) model.getValueAt(row, 0)).toLowerCase().startsWith("item1"));
+        }
+    }
+
+    @Test
+    public void testSelectionFollowsRowAcrossSort() {
+        table.setRowSelectionInterval(1, 1);
+        sorter.toggleSortOrder(0);
+        assertEquals(3, table.getSelectedRow());
+        assertEquals(1, table.convertRowIndexToModel(table.getSelectedRow()));
+    }
+
+    @Test
+    public void testSearchFieldIsDebounced() {
+        JTextField field = new JTextField();
+        Timer timer = sorter.bindSearch(field);
+        assertFalse(timer.isRepeats());
+        assertEquals(IndexedRowSorter.SEARCH_DELAY_MILLIS, timer.getInitialDelay());
+
+        field.setText("st");
+        assertTrue(timer.isRunning());
+        assertEquals("", sorter.getFilter());
+        timer.stop();
+        timer.getActionListeners()[0].actionPerformed(null);
+        assertEquals("st", sorter.getFilter());
+        assertEquals(Collections.singletonList(1), sorter.viewRows());
+    }
+
+    @Test
+    public void testMixedKeysOrderNullsNumbersText() {
+        List<Object> keys = Arrays.asList(null, 3, 2.5, "a", "B");
+        assertTrue(IndexedRowSorter.compareKeys(keys.get(0), keys.get(1)) < 0);
+        assertTrue(IndexedRowSorter.compareKeys(keys.get(2), keys.get(1)) < 0);
+        assertTrue(IndexedRowSorter.compareKeys(keys.get(1), keys.get(3)) < 0);
+        assertTrue(IndexedRowSorter.compareKeys(IndexedRowSorter.key("a"), IndexedRowSorter.key("B")) < 0);
+    }
+}
@@ -0,0 +1,229 @@
+/**
+
+@file InventoryServerTest.java
+@brief This file contains the test cases for the InventoryServer class.
+@details This file includes test methods to validate the REST endpoints of the embedded HTTP server. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class InventoryServerTest
+@brief This class represents the test class for the InventoryServer class.
+@details The InventoryServerTest class starts the server on an ephemeral port and checks the paged listing, login, validation, failed insert and overload behaviour of the endpoints.
+*/
+public class InventoryServerTest {
+    private InventoryServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        Inventory.createTables();
+        server = new InventoryServer(0, 2, 8);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private HttpURLConnection open(String path, String method) throws IOException {
+        URL url = new URL("http://localhost:" + server.getPort() + path);
+        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+        conn.setRequestMethod(method);
+        return conn;
+    }
+
+    private String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private HttpURLConnection post(String path, String form) throws IOException {
+        HttpURLConnection conn = open(path, "POST");
+        conn.setDoOutput(true);
+        conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
+        try (OutputStream out = conn.getOutputStream()) {
+            out.write(form.getBytes(StandardCharsets.UTF_8));
+        }
+        return conn;
+    }
+
+    @Test
+    public void testListInventoryStreamsJsonArray() throws IOException {
+        HttpURLConnection conn = open("/api/inventory", "GET");
+        assertEquals(200, conn.getResponseCode());
+        assertTrue(conn.getContentType().startsWith("application/json"));
+        String body = read(conn.getInputStream()).trim();
+        assertTrue(body.startsWith("["));
+        assertTrue(body.endsWith("]"));
+    }
+
+    @Test
+    public void testListingSpansSeveralPages() throws IOException, SQLException {
+        int added = InventoryServer.STREAM_PAGE_ROWS + 5;
+        DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO projects (name) VALUES (?)")) {
+                for (int i = 0; i < added; i++) {
+                    pstmt.setString(1, "page-test-" + i);
+                    pstmt.addBatch();
+                }
+                return pstmt.executeBatch();
+            }
+        }));
+        try {
+            long stored = DatabaseExecutor.await(DatabaseExecutor.shared().read(conn -> {
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT count(*) FROM projects")) {
+                    rs.next();
+                    return rs.getLong(1);
+                }
+            }));
+            HttpURLConnection conn = open("/api/projects", "GET");
+            assertEquals(200, conn.getResponseCode());
+            String body = read(conn.getInputStream());
+            assertTrue(body.startsWith("[{\"id\":"));
+            assertTrue(body.endsWith("}]"));
+            assertEquals(stored, body.split("\\{", -1).length - 1);
+            assertTrue(body.contains("\"name\":\"page-test-" + (added - 1) + "\"}"));
+            assertFalse(body.contains(",,"));
+        } finally {
+            DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    return stmt.executeUpdate("DELETE FROM projects WHERE name LIKE 'page-test-%'");
+                }
+            }));
+        }
+    }
+
+    @Test
+    public void testMetricsReportEveryPriority() throws IOException {
+        open("/api/inventory", "GET").getResponseCode();
+        HttpURLConnection conn = open("/api/metrics", "GET");
+        assertEquals(200, conn.getResponseCode());
+        String body = read(conn.getInputStream());
+        assertTrue(body.startsWith("{\"interactive\":{\"queued\":"));
+        assertTrue(body.contains(",\"batch\":{\"queued\":"));
+        assertTrue(body.endsWith(",\"pendingWrites\":0}"));
+        assertEquals(405, open("/api/metrics", "POST").getResponseCode());
+    }
+
+    @Test
+    public void testLoginRejectsGet() throws IOException {
+        HttpURLConnection conn = open("/api/login", "GET");
+        assertEquals(405, conn.getResponseCode());
+    }
+
+    @Test
+    public void testLoginWithMissingPasswordIsBadRequest() throws IOException {
+        HttpURLConnection conn = post("/api/login", "username=someone");
+        assertEquals(400, conn.getResponseCode());
+    }
+
+    @Test
+    public void testAddMaterialWithInvalidQuantityIsBadRequest() throws IOException {
+        HttpURLConnection conn = post("/api/inventory", "name=Wood&quantity=abc&cost=1.5");
+        assertEquals(400, conn.getResponseCode());
+    }
+
+    @Test
+    public void testFailedInsertIsNotReportedAsCreated() throws IOException, SQLException {
+        DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TEMP TRIGGER reject_project BEFORE INSERT ON projects"
+                        + " WHEN NEW.name = 'rejected-by-test' BEGIN SELECT RAISE(ABORT, 'rejected'); END");
+            }
+            return null;
+        }));
+        try {
+            HttpURLConnection conn = post("/api/projects", "name=rejected-by-test");
+            assertEquals(409, conn.getResponseCode());
+            assertTrue(read(conn.getErrorStream()).contains("\"error\""));
+        } finally {
+            DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("DROP TRIGGER temp.reject_project");
+                }
+                return null;
+            }));
+        }
+    }
+
+    @Test
+    public void testFullPoolAnswersBusy() throws IOException {
+        InventoryServer small = new InventoryServer(0, 1, 1);
+        small.start();
+        // Requests whose headers never end hold the only worker and the only queue slot
+        try (Socket worker = new Socket("localhost", small.getPort());
+             Socket queued = new Socket("localhost", small.getPort())) {
+            worker.getOutputStream().write("GET /api/metrics HTTP/1.1\r\n".getBytes(StandardCharsets.US_ASCII));
+            worker.getOutputStream().flush();
+            queued.getOutputStream().write("GET /api/metrics HTTP/1.1\r\n".getBytes(StandardCharsets.US_ASCII));
+            queued.getOutputStream().flush();
+
+            HttpURLConnection conn = (HttpURLConnection) new URL(
+                    "http://localhost:" + small.getPort() + "/api/metrics").openConnection();
+            conn.setReadTimeout(5000);
+            assertEquals(503, conn.getResponseCode());
+            assertEquals("1", conn.getHeaderField("Retry-After"));
+        } finally {
+            small.stop(0);
+        }
+    }
+
+    @Test
+    public void testParseFormDecodesValues() {
+        Map<String, String> params = InventoryServer.parseForm("name=Red+Paint&cost=12.5&note=a%26b");
+        assertEquals("Red Paint", params.get("name"));
+        assertEquals("12.5", params.get("cost"));
+        assertEquals("a&b", params.get("note"));
+    }
+
+    @Test
+    public void testMoneyColumnsAreSelectedInMajorUnits() throws SQLException {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE sales (price INTEGER NOT NULL)");
+            stmt.execute("INSERT INTO sales (price) VALUES (1250), (5)");
+            try (ResultSet rs = stmt.executeQuery("SELECT " + InventoryServer.majorUnits("price") + " FROM sales")) {
+                assertEquals("price", rs.getMetaData().getColumnLabel(1));
+                assertTrue(rs.next());
+                assertEquals(12.5, rs.getDouble(1), 0.0);
+                assertTrue(rs.next());
+                assertEquals(0.05, rs.getDouble(1), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testQuoteEscapesSpecialCharacters() {
+        assertEquals("\"a\\\"b\\\\c\\n\"", InventoryServer.quote("a\"b\\c\n"));
+    }
+}
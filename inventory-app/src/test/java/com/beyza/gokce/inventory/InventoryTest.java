@@ -255,7 +255,14 @@ public class InventoryTest {
 	    }
 	    
 	    @Test
-	    public void testAddMaterialToDatabase_ShouldAddMaterialCorrectly() {
+	    public void testAddMaterialToDatabase_ShouldAddMaterialCorrectly() throws SQLException {
+	        // A stored TestItem would be restocked rather than added
+	        Inventory.createTables();
+	        DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+	            try (Statement stmt = conn.createStatement()) {
+	                return stmt.executeUpdate("DELETE FROM inventory WHERE name = 'TestItem'");
+	            }
+	        }));
 	        InventoryItem item = new InventoryItem("TestItem", 10, 20.5);
 	        Inventory.addMaterialToDatabase(item);
 	        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:inventory_manager.db");
@@ -265,7 +272,7 @@ public class InventoryTest {
 	            assertTrue("Material should be in the database", rs.next());
 	            assertEquals("TestItem", rs.getString("name"));
 	            assertEquals(10, rs.getInt("quantity"));
-	            assertEquals(20.5, rs.getDouble("cost"), 0.01);
+	            assertEquals("Cost is stored in minor units", 2050, rs.getLong("cost"));
 
 	        } catch (Exception e) {
 	        }
@@ -308,7 +315,7 @@ public class InventoryTest {
 	    }
 	  
 	    @Test
-	    public void testAddProjectToDatabase_ShouldAddProjectCorrectly() {
+	    public void testAddProjectToDatabase_ShouldAddProjectCorrectly() throws SQLException {
 	        Project testProject = new Project("TestProject");
 
 	        Inventory.addProjectToDatabase(testProject);
@@ -324,7 +331,7 @@ public class InventoryTest {
 	    }
 
 	    @Test
-	    public void testAddExpenseToDatabase_ShouldAddExpenseCorrectly() {
+	    public void testAddExpenseToDatabase_ShouldAddExpenseCorrectly() throws SQLException {
 	        Expense testExpense = new Expense("Test Expense", 100.50);
 	        Inventory.addExpenseToDatabase(testExpense);
 	        boolean expenseFound = false;
@@ -336,7 +343,7 @@ public class InventoryTest {
 	    }
 
 	    @Test
-	    public void testAddSaleToDatabase_ShouldAddSaleCorrectly() {
+	    public void testAddSaleToDatabase_ShouldAddSaleCorrectly() throws SQLException {
 	        Sale testSale = new Sale("Test Item", 5, 49.99);
 
 	        Inventory.addSaleToDatabase(testSale);
@@ -380,6 +387,29 @@ public class InventoryTest {
 	        Inventory.scanner = testScanner;
 	       Inventory.addMaterial();
 	    }
+
+	    @Test
+	    public void testAddMaterial_RestockTakesTheStoredRow() throws SQLException {
+	        Inventory.createTables();
+	        Inventory.inventory.clear();
+	        Inventory.scanner = new Scanner("CliRestockItem\n4\n1\n");
+	        Inventory.addMaterial();
+	        InventoryItem listed = Inventory.inventory.get(0);
+	        try {
+	            Inventory.scanner = new Scanner("CliRestockItem\n3\n2\n");
+	            Inventory.addMaterial();
+	            assertEquals(1, Inventory.inventory.size());
+	            assertEquals(7, listed.getQuantity());
+	            assertEquals(200, listed.getCostMinor());
+	            assertEquals(1, listed.getVersion());
+	            assertEquals(7, quantityOf(listed.getId()));
+	            assertEquals("The next edit starts from the stored version",
+	                    Inventory.EditResult.UPDATED, Inventory.saveMaterialEdit(listed, listed.getName(), 5, Money.of(2.0)));
+	        } finally {
+	            Inventory.removeMaterialFromDatabase(listed);
+	            Inventory.inventory.clear();
+	        }
+	    }
 	    
 	/*    @Test
 	    public void testRegister() {
@@ -822,7 +852,7 @@ public class InventoryTest {
 	    
 	    @Test
 	    public void testMainMenu5() {
-	        String input = "6\n5\n4\n"; 
+	        String input = "7\n5\n4\n"; 
 	        Scanner testScanner = new Scanner(input);
 	        Inventory.scanner = testScanner;
 
@@ -1067,4 +1097,287 @@ public class InventoryTest {
 	
 
 	    
-}
\ No newline at end of file
+	    @Test
+	    public void testCreateTables_StoresSchemaVersion() throws SQLException {
+	        Inventory.createTables();
+	        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:inventory_manager.db");
+	             Statement stmt = conn.createStatement();
+	             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+	            assertTrue(rs.next());
+	            assertEquals(Inventory.SCHEMA_VERSION, rs.getInt(1));
+	            assertTrue("A second launch should skip the DDL", Inventory.isSchemaCurrent(conn));
+	        }
+	    }
+
+	    @Test
+	    public void testCreateTables_StoresSchemaVersionWithoutFullText() throws SQLException {
+	        Inventory.createTables();
+	        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:inventory_manager.db");
+	             Statement stmt = conn.createStatement()) {
+	            // A plain table in the index's place fails the index as a build without FTS5 would
+	            stmt.execute("DROP TRIGGER projects_fts_insert");
+	            stmt.execute("DROP TRIGGER projects_fts_delete");
+	            stmt.execute("DROP TRIGGER projects_fts_update");
+	            stmt.execute("DROP TABLE projects_fts");
+	            stmt.execute("CREATE TABLE projects_fts (unused INTEGER)");
+	            stmt.execute("PRAGMA user_version = 0");
+	            try {
+	                Inventory.createTables();
+	                assertFalse(SearchIndex.isFullText());
+	                assertTrue("The next launch should skip the DDL", Inventory.isSchemaCurrent(conn));
+	                assertFalse(SearchIndex.isInstalled(conn));
+	            } finally {
+	                stmt.execute("DROP TRIGGER IF EXISTS projects_fts_insert");
+	                stmt.execute("DROP TRIGGER IF EXISTS projects_fts_delete");
+	                stmt.execute("DROP TRIGGER IF EXISTS projects_fts_update");
+	                stmt.execute("DROP TABLE projects_fts");
+	            }
+	            // Once the index can be built, a current schema only retries the index
+	            Inventory.createTables();
+	            assertTrue(SearchIndex.isFullText());
+	            assertTrue(SearchIndex.isInstalled(conn));
+	        }
+	    }
+
+	    @Test
+	    public void testIsSchemaCurrent_FalseWhenTableMissing() throws SQLException {
+	        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+	             Statement stmt = conn.createStatement()) {
+	            assertFalse(Inventory.isSchemaCurrent(conn));
+	            stmt.execute("PRAGMA user_version = " + Inventory.SCHEMA_VERSION);
+	            assertFalse("The version alone must not skip the DDL", Inventory.isSchemaCurrent(conn));
+	        }
+	    }
+
+	    @Test
+	    public void testEnsureUsersLoaded_KeepsUsersAlreadyInList() {
+	        Inventory.createTables();
+	        Inventory.users.clear();
+	        Inventory.usersLoaded = false;
+	        Inventory.users.add(new User("sessionuser", "sessionpass"));
+
+	        Inventory.ensureUsersLoaded();
+
+	        assertTrue(Inventory.usersLoaded);
+	        assertEquals("sessionuser", Inventory.users.get(0).getUsername());
+	        int count = Inventory.users.size();
+	        Inventory.ensureUsersLoaded();
+	        assertEquals("Users should be read only once", count, Inventory.users.size());
+	        Inventory.usersLoaded = false;
+	    }
+
+	    @Test
+	    public void testSubMenusReturnToTheMainMenuLoop() {
+	        // Each sub-menu goes back to the main menu without nesting another one
+	        Inventory.scanner = new Scanner("1\n5\n2\n3\n3\n3\n4\n4\n5\n");
+
+	        ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
+	        System.setOut(new PrintStream(outputStreamCaptor));
+
+	        assertFalse(Inventory.mainMenu());
+	        assertFalse("One exit leaves the menu", Inventory.scanner.hasNext());
+	        assertEquals(Inventory.Menu.EXIT, Inventory.showMenu(Inventory.Menu.EXIT));
+	    }
+
+	    @Test
+	    public void testMainMenu_ExportRejectsUnknownTable() {
+	        Inventory.scanner = new Scanner("6\nsqlite_master\n5\n");
+
+	        ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
+	        System.setOut(new PrintStream(outputStreamCaptor));
+
+	        assertFalse(Inventory.mainMenu());
+	        assertTrue(outputStreamCaptor.toString().contains("Unknown table: sqlite_master"));
+	    }
+
+	    private static int quantityOf(long id) throws SQLException {
+	        return DatabaseExecutor.await(DatabaseExecutor.shared().read(conn -> {
+	            try (PreparedStatement pstmt = conn.prepareStatement("SELECT quantity FROM inventory WHERE id = ?")) {
+	                pstmt.setLong(1, id);
+	                try (ResultSet rs = pstmt.executeQuery()) {
+	                    return rs.next() ? rs.getInt(1) : -1;
+	                }
+	            }
+	        }));
+	    }
+
+	    @Test
+	    public void testMaterialEditsAndDeletesUseRowIds() throws SQLException {
+	        Inventory.createTables();
+	        InventoryItem first = new InventoryItem("IdTestItem A", 1, 2.0);
+	        InventoryItem second = new InventoryItem("IdTestItem B", 5, 2.0);
+	        Inventory.addMaterialToDatabase(first);
+	        Inventory.addMaterialToDatabase(second);
+	        assertTrue("Stored items get their row id", first.getId() > 0);
+	        assertNotEquals(first.getId(), second.getId());
+
+	        assertEquals(Inventory.EditResult.UPDATED, Inventory.saveMaterialEdit(first, first.getName(), 9, Money.of(2.0)));
+	        assertEquals(9, quantityOf(first.getId()));
+	        assertEquals("Other rows are left alone", 5, quantityOf(second.getId()));
+
+	        Inventory.removeMaterialFromDatabase(first);
+	        assertEquals(-1, quantityOf(first.getId()));
+	        assertEquals(5, quantityOf(second.getId()));
+	        Inventory.removeMaterialFromDatabase(second);
+	        assertEquals(-1, quantityOf(second.getId()));
+	    }
+
+	    @Test
+	    public void testReaddedMaterialIsRestocked() throws SQLException {
+	        Inventory.createTables();
+	        InventoryItem first = new InventoryItem("UpsertTestItem", 4, 2.0);
+	        InventoryItem again = new InventoryItem("UpsertTestItem", 6, 2.5);
+	        Inventory.addMaterialToDatabase(first);
+	        Inventory.addMaterialToDatabase(again);
+	        assertEquals("The same row is restocked", first.getId(), again.getId());
+	        assertEquals(10, again.getQuantity());
+	        assertEquals(10, quantityOf(first.getId()));
+	        int rows = DatabaseExecutor.await(DatabaseExecutor.shared().read(conn -> {
+	            try (PreparedStatement pstmt = conn.prepareStatement(
+	                    "SELECT count(*) FROM inventory WHERE name = 'UpsertTestItem'");
+	                 ResultSet rs = pstmt.executeQuery()) {
+	                return rs.getInt(1);
+	            }
+	        }));
+	        assertEquals(1, rows);
+	        Inventory.removeMaterialFromDatabase(again);
+	    }
+
+	    @Test
+	    public void testRestockOfAnEmptyMaterialIsNotCountedAsInsert() throws SQLException {
+	        Inventory.createTables();
+	        TableStatistics.rowCounts();
+	        TableStatistics.reconcile();
+	        long before = TableStatistics.rowCounts().get("inventory");
+	        InventoryItem empty = new InventoryItem("ZeroStockTestItem", 0, 1.0);
+	        InventoryItem restock = new InventoryItem("ZeroStockTestItem", 5, 1.0);
+	        Inventory.addMaterialToDatabase(empty);
+	        Inventory.addMaterialToDatabase(restock);
+	        assertEquals(5, restock.getQuantity());
+	        assertEquals(before + 1, (long) TableStatistics.rowCounts().get("inventory"));
+	        Inventory.removeMaterialFromDatabase(restock);
+	    }
+
+	    @Test
+	    public void testDuplicateMaterialsAreMergedIntoUniqueNames() throws SQLException {
+	        Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+	        try (Statement stmt = conn.createStatement()) {
+	            stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL,"
+	                    + " quantity INTEGER NOT NULL, cost REAL NOT NULL)");
+	            stmt.execute("INSERT INTO inventory (name, quantity, cost) VALUES"
+	                    + " ('Oak', 1, 1.0), ('Pine', 2, 1.0), ('Oak', 3, 1.5), ('Oak', 4, 2.0)");
+	            Inventory.mergeDuplicateMaterials(stmt);
+	            ResultSet rs = stmt.executeQuery("SELECT id, name, quantity, cost FROM inventory ORDER BY id");
+	            assertTrue(rs.next());
+	            assertEquals("1 Oak 8", rs.getLong(1) + " " + rs.getString(2) + " " + rs.getInt(3));
+	            assertEquals("The newest cost wins, as in a restock", 2.0, rs.getDouble(4), 0.0);
+	            assertTrue(rs.next());
+	            assertEquals("2 Pine 2", rs.getLong(1) + " " + rs.getString(2) + " " + rs.getInt(3));
+	            assertEquals(1.0, rs.getDouble(4), 0.0);
+	            assertFalse(rs.next());
+	            try {
+	                stmt.execute("INSERT INTO inventory (name, quantity, cost) VALUES ('Pine', 1, 1.0)");
+	                fail("Names are unique after the merge");
+	            } catch (SQLException e) {
+	                assertTrue(e.getMessage().contains("UNIQUE"));
+	            }
+	        } finally {
+	            conn.close();
+	        }
+	    }
+
+	    private static void editOnOtherTerminal(long id, String assignments) throws SQLException {
+	        DatabaseExecutor.await(DatabaseExecutor.shared().write(conn -> {
+	            try (PreparedStatement pstmt = conn.prepareStatement(
+	                    "UPDATE inventory SET " + assignments + ", version = version + 1 WHERE id = ?")) {
+	                pstmt.setLong(1, id);
+	                return pstmt.executeUpdate();
+	            }
+	        }));
+	    }
+
+	    @Test
+	    public void testConcurrentQuantityEditsAreMerged() throws SQLException {
+	        Inventory.createTables();
+	        InventoryItem item = new InventoryItem("VersionTestItem", 10, 3.0);
+	        Inventory.addMaterialToDatabase(item);
+	        long version = item.getVersion();
+	        editOnOtherTerminal(item.getId(), "quantity = quantity - 4");
+
+	        assertEquals(Inventory.EditResult.MERGED, Inventory.saveMaterialEdit(item, item.getName(), 15, Money.of(3.5)));
+	        assertEquals("Both deltas are kept", 11, quantityOf(item.getId()));
+	        assertEquals(11, item.getQuantity());
+	        assertEquals(3.5, item.getCost(), 0.0);
+	        assertEquals(version + 2, item.getVersion());
+
+	        assertEquals(Inventory.EditResult.UPDATED, Inventory.saveMaterialEdit(item, item.getName(), 12, Money.of(3.5)));
+	        assertEquals(12, quantityOf(item.getId()));
+	        Inventory.removeMaterialFromDatabase(item);
+	    }
+
+	    @Test
+	    public void testConflictingEditIsNotSaved() throws SQLException {
+	        Inventory.createTables();
+	        InventoryItem item = new InventoryItem("ConflictTestItem", 10, 3.0);
+	        Inventory.addMaterialToDatabase(item);
+	        editOnOtherTerminal(item.getId(), "cost = 400");
+
+	        assertEquals(Inventory.EditResult.CONFLICT, Inventory.saveMaterialEdit(item, item.getName(), 12, Money.of(5.0)));
+	        assertEquals("The other terminal's row is kept", 10, quantityOf(item.getId()));
+	        assertEquals(4.0, item.getCost(), 0.0);
+
+	        Inventory.removeMaterialFromDatabase(item);
+	        assertEquals(Inventory.EditResult.MISSING, Inventory.saveMaterialEdit(item, item.getName(), 1, Money.of(4.0)));
+	    }
+
+	    @Test
+	    public void testVersionColumnIsAddedToOldTables() throws SQLException {
+	        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+	             Statement stmt = conn.createStatement()) {
+	            stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL,"
+	                    + " quantity INTEGER NOT NULL, cost REAL NOT NULL)");
+	            stmt.execute("INSERT INTO inventory (name, quantity, cost) VALUES ('Oak', 1, 1.0)");
+	            Inventory.addVersionColumn(stmt);
+	            Inventory.addVersionColumn(stmt);
+	            ResultSet rs = stmt.executeQuery("SELECT version FROM inventory");
+	            assertTrue(rs.next());
+	            assertEquals(0, rs.getLong(1));
+	        }
+	    }
+
+	    @Test
+	    public void testMoneyColumnsAreConvertedToMinorUnits() throws SQLException {
+	        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+	             Statement stmt = conn.createStatement()) {
+	            stmt.execute("CREATE TABLE expenses (id INTEGER PRIMARY KEY AUTOINCREMENT, description TEXT NOT NULL,"
+	                    + " amount REAL NOT NULL)");
+	            stmt.execute("INSERT INTO expenses (description, amount) VALUES"
+	                    + " ('Glue', 0.1), ('Saw', 0.2), ('Rounded', 12.345), ('Refund', -0.05)");
+	            Inventory.convertToMinorUnits(stmt, "expenses", "amount");
+	            Inventory.convertToMinorUnits(stmt, "expenses", "amount");
+	            ResultSet rs = stmt.executeQuery("SELECT type FROM pragma_table_info('expenses') WHERE name = 'amount'");
+	            assertTrue(rs.next());
+	            assertEquals("INTEGER", rs.getString(1));
+	            rs = stmt.executeQuery("SELECT group_concat(amount, ' ') FROM (SELECT amount FROM expenses ORDER BY id)");
+	            assertTrue(rs.next());
+	            assertEquals("10 20 1235 -5", rs.getString(1));
+	            rs = stmt.executeQuery("SELECT sum(amount) FROM expenses WHERE amount < 100");
+	            assertTrue(rs.next());
+	            assertEquals("The sum is exact", 25, rs.getLong(1));
+	        }
+	    }
+
+	    @Test
+	    public void testFindById() {
+	        ArrayList<InventoryItem> items = new ArrayList<>();
+	        InventoryItem oak = new InventoryItem("Oak", 1, 1.0);
+	        InventoryItem pine = new InventoryItem("Oak", 2, 1.0);
+	        oak.setId(7);
+	        pine.setId(8);
+	        items.add(oak);
+	        items.add(pine);
+	        assertSame(pine, Inventory.findById(items, 8));
+	        assertNull(Inventory.findById(items, 9));
+	    }
+
+}
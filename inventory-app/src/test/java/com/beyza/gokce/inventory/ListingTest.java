@@ -0,0 +1,143 @@
+/**
+
+@file ListingTest.java
+@brief This file contains the test cases for the Listing class.
+@details This file includes test methods to validate row formats, keyset paging, filters and row limits of console listings. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class ListingTest
+@brief This class represents the test class for the Listing class.
+@details The ListingTest class lists the tables of its own SQLite file in a temporary directory.
+*/
+public class ListingTest {
+    private static final int SALES = Listing.PAGE_SIZE * 2 + 500;
+
+    private Path directory;
+    private DatabaseExecutor database;
+
+    @Before
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("listing");
+        database = new DatabaseExecutor("jdbc:sqlite:" + directory.resolve("test.db"), 1, 64);
+        DatabaseExecutor.await(database.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL UNIQUE,"
+                        + " quantity INTEGER NOT NULL, cost INTEGER NOT NULL, version INTEGER NOT NULL DEFAULT 0)");
+                stmt.execute("CREATE TABLE sales (id INTEGER PRIMARY KEY AUTOINCREMENT, item TEXT NOT NULL,"
+                        + " quantity INTEGER NOT NULL, price INTEGER NOT NULL)");
+                stmt.execute("CREATE TABLE expenses (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                        + " description TEXT NOT NULL, amount INTEGER NOT NULL)");
+                stmt.execute("CREATE TABLE projects (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL)");
+                stmt.execute("INSERT INTO inventory (name, quantity, cost) VALUES ('Wood', 20, 5000), ('Metal', 10, 5)");
+                stmt.execute("INSERT INTO expenses (description, amount) VALUES ('Rent', 100000), ('Refund', -250)");
+                stmt.execute("INSERT INTO projects (name) VALUES ('Shelf'), ('50% off'), ('Table')");
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO sales (item, quantity, price) VALUES (?, ?, ?)")) {
+                for (int i = 1; i <= SALES; i++) {
+                    pstmt.setString(1, i % 100 == 0 ? "Chair " + i : "Item " + i);
+                    pstmt.setInt(2, i % 5 + 1);
+                    pstmt.setLong(3, i);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            return null;
+        }));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        database.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private String list(Listing.Table table, String filter, long after, long limit, Listing.Result[] result)
+            throws SQLException {
+        StringWriter out = new StringWriter();
+        result[0] = Listing.write(table, filter, after, limit, out, database);
+        return out.toString();
+    }
+
+    @Test
+    public void testRowsUseTheConsoleFormat() throws SQLException {
+        Listing.Result[] result = new Listing.Result[1];
+        assertEquals("Wood - 20 piece - 50.00 TL\nMetal - 10 piece - 0.05 TL\n",
+                list(Listing.Table.INVENTORY, null, 0, Long.MAX_VALUE, result));
+        assertEquals("Rent\n1000.00\nRefund\n-2.50\n", list(Listing.Table.EXPENSES, null, 0, Long.MAX_VALUE, result));
+        assertEquals("Shelf\n50% off\nTable\n", list(Listing.Table.PROJECTS, null, 0, Long.MAX_VALUE, result));
+        assertEquals(3, result[0].rows);
+        assertFalse(result[0].more);
+    }
+
+    @Test
+    public void testEveryPageIsListedOnce() throws SQLException {
+        Listing.Result[] result = new Listing.Result[1];
+        String[] lines = list(Listing.Table.SALES, null, 0, Long.MAX_VALUE, result).split("\n");
+        assertEquals(SALES, result[0].rows);
+        assertEquals(SALES, lines.length);
+        assertEquals("Item 1 - 2 piece - 0.01 TL", lines[0]);
+        assertEquals("Chair " + SALES + " - 1 piece - 25.00 TL", lines[SALES - 1]);
+        assertEquals(SALES, result[0].lastId);
+        assertFalse(result[0].more);
+    }
+
+    @Test
+    public void testLimitReportsWhereToContinue() throws SQLException {
+        Listing.Result[] result = new Listing.Result[1];
+        StringBuilder all = new StringBuilder();
+        long after = 0;
+        int pages = 0;
+        do {
+            all.append(list(Listing.Table.SALES, null, after, Listing.PAGE_SIZE + 1, result));
+            after = result[0].lastId;
+            pages++;
+        } while (result[0].more);
+        assertEquals(3, pages);
+        assertEquals(list(Listing.Table.SALES, null, 0, Long.MAX_VALUE, result), all.toString());
+
+        list(Listing.Table.SALES, null, 0, SALES, result);
+        assertFalse("A limit of exactly the rows left has nothing more", result[0].more);
+        assertEquals("", list(Listing.Table.SALES, null, 0, 0, result));
+    }
+
+    @Test
+    public void testFilterMatchesTextLiterally() throws SQLException {
+        Listing.Result[] result = new Listing.Result[1];
+        String chairs = list(Listing.Table.SALES, "chair", 0, Long.MAX_VALUE, result);
+        assertEquals(SALES / 100, result[0].rows);
+        assertTrue(chairs.startsWith("Chair 100 - 1 piece - 1.00 TL\n"));
+        assertEquals("50% off\n", list(Listing.Table.PROJECTS, "0%", 0, Long.MAX_VALUE, result));
+        assertEquals("", list(Listing.Table.PROJECTS, "_", 0, Long.MAX_VALUE, result));
+        assertEquals("Chair 2500 - 1 piece - 25.00 TL\n", list(Listing.Table.SALES, "chair", 2400, 5, result));
+    }
+
+    @Test
+    public void testTablesAreFoundByName() {
+        assertSame(Listing.Table.SALES, Listing.Table.of("SALES"));
+        assertNull(Listing.Table.of("users"));
+    }
+}
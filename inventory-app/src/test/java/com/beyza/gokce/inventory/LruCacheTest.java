@@ -0,0 +1,91 @@
+/**
+
+@file LruCacheTest.java
+@brief This file contains the test cases for the LruCache class.
+@details This file includes test methods to validate read-through loading, weight-bounded eviction and invalidation. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class LruCacheTest
+@brief This class represents the test class for the LruCache class.
+@details The LruCacheTest class weighs every String value by its length.
+*/
+public class LruCacheTest {
+    private LruCache<String, String> cache;
+    private AtomicInteger loads;
+
+    @Before
+    public void setUp() {
+        cache = new LruCache<>(10, (key, value) -> value.length());
+        loads = new AtomicInteger();
+    }
+
+    private String load(String key) {
+        loads.incrementAndGet();
+        return key.toUpperCase();
+    }
+
+    @Test
+    public void testSecondLookupIsServedFromCache() {
+        assertEquals("ABC", cache.get("abc", this::load));
+        assertEquals("ABC", cache.get("abc", this::load));
+
+        assertEquals(1, loads.get());
+        LruCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits);
+        assertEquals(1, stats.misses);
+        assertEquals(0.5, stats.hitRate(), 0.0001);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvictedByWeight() {
+        cache.get("aaaa", this::load);
+        cache.get("bbbb", this::load);
+        cache.get("aaaa", this::load);
+        cache.get("cccc", this::load);
+
+        assertNotNull(cache.getIfPresent("aaaa"));
+        assertNull(cache.getIfPresent("bbbb"));
+        assertNotNull(cache.getIfPresent("cccc"));
+        assertEquals(1, cache.stats().evictions);
+        assertEquals(8, cache.stats().weight);
+    }
+
+    @Test
+    public void testValueHeavierThanCacheIsNotCached() {
+        assertEquals("ABCDEFGHIJKL", cache.get("abcdefghijkl", this::load));
+
+        assertNull(cache.getIfPresent("abcdefghijkl"));
+        assertEquals(0, cache.stats().size);
+    }
+
+    @Test
+    public void testInvalidateForcesReload() {
+        cache.get("abc", this::load);
+        cache.invalidate("abc");
+        cache.get("abc", this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(3, cache.stats().weight);
+    }
+
+    @Test
+    public void testLoadRacingWithInvalidationIsNotCached() {
+        String loaded = cache.get("abc", key -> {
+            cache.invalidateAll();
+            return "STALE";
+        });
+
+        assertEquals("STALE", loaded);
+        assertNull(cache.getIfPresent("abc"));
+    }
+}
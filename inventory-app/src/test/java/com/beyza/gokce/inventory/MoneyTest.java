@@ -0,0 +1,135 @@
+/**
+
+@file MoneyTest.java
+@brief This file contains the test cases for the Money class.
+@details This file includes test methods to validate parsing, rounding, formatting, exact sums and overflow checks of money amounts. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+/**
+
+@class MoneyTest
+@brief This class represents the test class for the Money class.
+@details The MoneyTest class checks amounts in minor units against the doubles they replace.
+*/
+public class MoneyTest {
+
+    @Test
+    public void testParseRoundsHalfUp() {
+        assertEquals(1250, Money.parseMinor("12.5"));
+        assertEquals(101, Money.parseMinor("1.005"));
+        assertEquals(100, Money.parseMinor("1.004999"));
+        assertEquals(-5, Money.parseMinor(" -0.05 "));
+        assertEquals(-101, Money.parseMinor("-1.005"));
+        assertEquals(100000, Money.parseMinor("1e3"));
+        assertEquals(Money.ofMinor(2000), Money.parse("19.995"));
+    }
+
+    @Test
+    public void testInvalidTextIsRejected() {
+        for (String text : new String[] {"", "abc", "1,5", "Infinity", "NaN", "92233720368547758.08"}) {
+            try {
+                Money.parse(text);
+                fail("Not an amount: " + text);
+            } catch (NumberFormatException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testDoublesConvertThroughTheirDecimalForm() {
+        assertEquals(29, Money.toMinor(0.285));
+        assertEquals(30, Money.toMinor(0.1 + 0.2));
+        assertEquals(-150, Money.toMinor(-1.5));
+        assertEquals(899.9, Money.of(899.9).toDouble(), 0.0);
+        try {
+            Money.toMinor(Double.NaN);
+            fail("NaN is not an amount");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testFormatAlwaysHasTwoDecimals() {
+        assertEquals("12.50", Money.format(1250));
+        assertEquals("0.00", Money.format(0));
+        assertEquals("0.07", Money.format(7));
+        assertEquals("-0.05", Money.format(-5));
+        assertEquals("-3.10", Money.ofMinor(-310).toString());
+        assertEquals("-92233720368547758.08", Money.format(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void testSumsAreExact() {
+        long total = 0;
+        double drifting = 0;
+        for (int i = 0; i < 1000; i++) {
+            total = Money.add(total, Money.parseMinor("0.1"));
+            drifting += 0.1;
+        }
+        assertEquals(10000, total);
+        assertNotEquals(100.0, drifting, 0.0);
+        assertEquals(Money.parse("100.00"), Money.parse("0.10").times(1000));
+        assertEquals(Money.ofMinor(-5), Money.parse("0.10").minus(Money.parse("0.15")));
+        assertEquals(Money.parse("0.30"), Money.parse("0.10").plus(Money.parse("0.20")));
+    }
+
+    @Test
+    public void testOverflowThrows() {
+        try {
+            Money.add(Long.MAX_VALUE, 1);
+            fail("The sum overflows");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+        try {
+            Money.ofMinor(Long.MAX_VALUE / 2).times(3);
+            fail("The product overflows");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+        try {
+            Money.subtract(Long.MIN_VALUE, 1);
+            fail("The difference overflows");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAmountsCompareNumerically() {
+        assertTrue(Money.parse("9.99").compareTo(Money.parse("10")) < 0);
+        assertEquals(0, Money.parse("1.5").compareTo(Money.parse("1.50")));
+        assertEquals(Money.parse("1.5").hashCode(), Money.parse("1.50").hashCode());
+        assertSame(Money.ZERO, Money.parse("0.001"));
+    }
+
+    @Test
+    public void testRecordsKeepTheirAmountsThroughSerialization() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new InventoryItem("Oak", 3, Money.parse("12.34")));
+            out.writeObject(new Sale("Chair", 2, Money.parse("99.95")));
+            out.writeObject(new Expense("Glue", Money.parse("0.10")));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(1234, ((InventoryItem) in.readObject()).getCostMinor());
+            Sale sale = (Sale) in.readObject();
+            assertEquals(9995, sale.getPriceMinor());
+            assertEquals(19990, sale.getTotalMinor());
+            assertEquals(10, ((Expense) in.readObject()).getAmountMinor());
+        }
+    }
+}
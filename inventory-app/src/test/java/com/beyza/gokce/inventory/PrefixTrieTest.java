@@ -0,0 +1,78 @@
+/**
+
+@file PrefixTrieTest.java
+@brief This file contains the test cases for the PrefixTrie class.
+@details This file includes test methods to validate completion order, case handling and limits of the prefix trie. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+
+@class PrefixTrieTest
+@brief This class represents the test class for the PrefixTrie class.
+@details The PrefixTrieTest class builds small tries and checks the completions they return.
+*/
+public class PrefixTrieTest {
+
+    @Test
+    public void testCompletesPrefixIgnoringCase() {
+        PrefixTrie trie = PrefixTrie.of(Arrays.asList("Oak plank", "Oak dowel", "Steel bolt"));
+        assertEquals(Arrays.asList("Oak dowel", "Oak plank"), trie.complete("oA", 10));
+        assertEquals(Collections.singletonList("Steel bolt"), trie.complete("STEEL", 10));
+        assertTrue(trie.complete("zinc", 10).isEmpty());
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    public void testFrequentNamesRankFirst() {
+        PrefixTrie trie = PrefixTrie.of(Arrays.asList("Pine board", "Pine beam", "pine beam", "Pine batten",
+                "Pine beam"));
+        assertEquals(3, trie.count("PINE BEAM"));
+        assertEquals(Arrays.asList("Pine beam", "Pine batten", "Pine board"), trie.complete("pine b", 10));
+    }
+
+    @Test
+    public void testFirstSpellingIsKept() {
+        PrefixTrie trie = PrefixTrie.of(Arrays.asList("Copper Wire", "copper wire"));
+        assertEquals(1, trie.size());
+        assertEquals(Collections.singletonList("Copper Wire"), trie.complete("c", 5));
+    }
+
+    @Test
+    public void testLimitKeepsBestCompletions() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            names.add(String.format("Item %03d", i));
+        }
+        names.add("Item 050");
+        names.add("Item 050");
+        names.add("Item 077");
+        PrefixTrie trie = PrefixTrie.of(names);
+
+        assertEquals(Arrays.asList("Item 050", "Item 077", "Item 000", "Item 001"), trie.complete("item", 4));
+        assertEquals(Arrays.asList("Item 090", "Item 091"), trie.complete("item 09", 2));
+        assertTrue(trie.complete("item", 0).isEmpty());
+    }
+
+    @Test
+    public void testNameThatPrefixesAnotherComesFirst() {
+        PrefixTrie trie = PrefixTrie.of(Arrays.asList("Oak plank", "Oak"));
+        assertEquals(Arrays.asList("Oak", "Oak plank"), trie.complete("", 5));
+    }
+
+    @Test
+    public void testBlankNamesAreIgnored() {
+        PrefixTrie trie = PrefixTrie.of(Arrays.asList(null, "", "   ", "Glass"));
+        assertEquals(1, trie.size());
+        assertEquals(0, trie.count(""));
+    }
+}
@@ -0,0 +1,288 @@
+/**
+
+@file QueryPublisherTest.java
+@brief This file contains the test cases for the QueryPublisher class.
+@details This file includes test methods to validate demand-driven paging, cancellation, error signals and the table model subscriber of row streams. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.DefaultTableModel;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class QueryPublisherTest
+@brief This class represents the test class for the QueryPublisher class.
+@details The QueryPublisherTest class streams the tables of its own SQLite file in a temporary directory.
+*/
+public class QueryPublisherTest {
+    private static final int SALES = 2500;
+
+    private Path directory;
+    private DatabaseExecutor database;
+
+    /**
+     * @brief Records the signals of a stream and requests only when told
+     */
+    private static class Recorder<T> implements Flow.Subscriber<T> {
+        final List<T> rows = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch ended = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        volatile Flow.Subscription subscription;
+        volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            rows.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+            ended.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            ended.countDown();
+        }
+
+        void awaitEnd() throws InterruptedException {
+            assertTrue("The stream did not end", ended.await(10, TimeUnit.SECONDS));
+        }
+
+        void awaitRows(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (rows.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(count, rows.size());
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("query-publisher");
+        database = new DatabaseExecutor("jdbc:sqlite:" + directory.resolve("test.db"), 1, 64);
+        DatabaseExecutor.await(database.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL UNIQUE,"
+                        + " quantity INTEGER NOT NULL, cost INTEGER NOT NULL, version INTEGER NOT NULL DEFAULT 0)");
+                stmt.execute("CREATE TABLE sales (id INTEGER PRIMARY KEY AUTOINCREMENT, item TEXT NOT NULL,"
+                        + " quantity INTEGER NOT NULL, price INTEGER NOT NULL)");
+                stmt.execute("CREATE TABLE expenses (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                        + " description TEXT NOT NULL, amount INTEGER NOT NULL)");
+                stmt.execute("CREATE TABLE projects (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL)");
+                stmt.execute("INSERT INTO inventory (name, quantity, cost, version) VALUES ('Wood', 20, 5000, 3)");
+                stmt.execute("INSERT INTO expenses (description, amount) VALUES ('Rent', 100000), ('Refund', -250)");
+                stmt.execute("INSERT INTO projects (name) VALUES ('Shelf'), ('Table')");
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO sales (item, quantity, price) VALUES (?, ?, ?)")) {
+                for (int i = 1; i <= SALES; i++) {
+                    pstmt.setString(1, "Item " + i);
+                    pstmt.setInt(2, i % 5 + 1);
+                    pstmt.setLong(3, i);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            return null;
+        }));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        database.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void testRowsAreMappedToRecords() throws InterruptedException {
+        Recorder<InventoryItem> items = new Recorder<>();
+        new QueryPublisher<>(database,
+                "SELECT id, name, quantity, cost, version FROM inventory WHERE id > ? ORDER BY id LIMIT ?",
+                RowMappers.INVENTORY, 10).subscribe(items);
+        items.subscription.request(Long.MAX_VALUE);
+        items.awaitEnd();
+        assertTrue(items.completed);
+        InventoryItem wood = items.rows.get(0);
+        assertEquals("Wood", wood.getName());
+        assertEquals(20, wood.getQuantity());
+        assertEquals(5000, wood.getCostMinor());
+        assertEquals(1, wood.getId());
+        assertEquals(3, wood.getVersion());
+
+        Recorder<Expense> expenses = new Recorder<>();
+        new QueryPublisher<>(database,
+                "SELECT id, description, amount FROM expenses WHERE id > ? ORDER BY id LIMIT ?",
+                RowMappers.EXPENSES, 10).subscribe(expenses);
+        expenses.subscription.request(10);
+        expenses.awaitEnd();
+        assertEquals(-250, expenses.rows.get(1).getAmountMinor());
+        assertEquals("Refund", expenses.rows.get(1).getDescription());
+    }
+
+    @Test
+    public void testOnlyRequestedRowsAreSignalled() throws InterruptedException {
+        Recorder<Sale> sales = new Recorder<>();
+        QueryPublisher.sales(database).withFetchSize(100).subscribe(sales);
+        Thread.sleep(50);
+        assertTrue("Nothing is read before a request", sales.rows.isEmpty());
+        sales.subscription.request(150);
+        sales.awaitRows(150);
+        Thread.sleep(50);
+        assertEquals(150, sales.rows.size());
+        assertFalse(sales.completed);
+
+        sales.subscription.request(Long.MAX_VALUE);
+        sales.subscription.request(Long.MAX_VALUE);
+        sales.awaitEnd();
+        assertEquals(SALES, sales.rows.size());
+        for (int i = 0; i < SALES; i++) {
+            assertEquals(i + 1, sales.rows.get(i).getId());
+        }
+        assertEquals(SALES, sales.rows.get(SALES - 1).getPriceMinor());
+    }
+
+    @Test
+    public void testCancelStopsTheStream() throws InterruptedException, SQLException {
+        Recorder<Sale> sales = new Recorder<>();
+        QueryPublisher.sales(database).withFetchSize(100).subscribe(sales);
+        sales.subscription.request(100);
+        sales.awaitRows(100);
+        sales.subscription.cancel();
+        sales.subscription.request(100);
+        Thread.sleep(50);
+        assertEquals(100, sales.rows.size());
+        assertEquals(1, sales.ended.getCount());
+        // The single reader connection was given back
+        assertEquals(Long.valueOf(SALES), DatabaseExecutor.await(database.read(conn -> {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT count(*) FROM sales")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        })));
+    }
+
+    @Test
+    public void testErrorsEndTheStream() throws InterruptedException {
+        Recorder<Project> projects = new Recorder<>();
+        QueryPublisher.projects(database).subscribe(projects);
+        projects.subscription.request(0);
+        projects.awaitEnd();
+        assertTrue(projects.error.get() instanceof IllegalArgumentException);
+
+        Recorder<Sale> missing = new Recorder<>();
+        new QueryPublisher<Sale>(database, "SELECT id FROM refunds WHERE id > ? LIMIT ?", meta -> rs -> null, 10)
+                .subscribe(missing);
+        missing.subscription.request(1);
+        missing.awaitEnd();
+        assertTrue(missing.error.get() instanceof SQLException);
+        assertTrue(missing.rows.isEmpty());
+
+        Recorder<Project> failing = new Recorder<Project>() {
+            @Override
+            public void onNext(Project item) {
+                throw new IllegalStateException("No room for " + item.getName());
+            }
+        };
+        QueryPublisher.projects(database).subscribe(failing);
+        failing.subscription.request(5);
+        failing.awaitEnd();
+        assertEquals("No room for Shelf", failing.error.get().getMessage());
+    }
+
+    @Test
+    public void testTableModelReceivesEveryRowInBatches() throws Exception {
+        DefaultTableModel model = new DefaultTableModel(new String[] {"Item", "Price"}, 0);
+        List<Integer> inserts = new ArrayList<>();
+        model.addTableModelListener(e -> inserts.add(e.getLastRow() - e.getFirstRow() + 1));
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        QueryPublisher.sales(database).subscribe(new QueryPublisher.TableModelSubscriber<Sale>(model,
+                sale -> new Object[] {sale.item(), sale.getPrice()}, e -> {
+                    error.set(e);
+                    done.countDown();
+                }));
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> { });
+        assertNull(error.get());
+        assertEquals(SALES, model.getRowCount());
+        assertEquals("Item 2500", model.getValueAt(SALES - 1, 0));
+        assertEquals(25.0, model.getValueAt(SALES - 1, 1));
+        assertEquals(Integer.valueOf(QueryPublisher.TableModelSubscriber.BATCH_SIZE), inserts.get(0));
+        assertEquals((SALES + QueryPublisher.TableModelSubscriber.BATCH_SIZE - 1)
+                / QueryPublisher.TableModelSubscriber.BATCH_SIZE, inserts.size());
+    }
+
+    @Test
+    public void testTableModelHandsOverEachAddedRecord() throws Exception {
+        DefaultTableModel model = new DefaultTableModel(new String[] {"Item"}, 0);
+        List<Sale> added = new ArrayList<>();
+        List<Integer> rowsWhenAdded = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        QueryPublisher.TableModelSubscriber<Sale> load = new QueryPublisher.TableModelSubscriber<>(model,
+                sale -> new Object[] {sale.item()}, sale -> {
+                    assertTrue(SwingUtilities.isEventDispatchThread());
+                    added.add(sale);
+                    rowsWhenAdded.add(model.getRowCount());
+                }, e -> done.countDown());
+        QueryPublisher.sales(database).subscribe(load);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(SALES, added.size());
+        for (int i = 0; i < SALES; i++) {
+            assertEquals(i + 1, added.get(i).getId());
+            assertEquals(added.get(i).item(), model.getValueAt(i, 0));
+            // Each record follows its own row into the model
+            assertEquals(Integer.valueOf(i + 1), rowsWhenAdded.get(i));
+        }
+
+        // A cancelled load hands over nothing more
+        model.setRowCount(0);
+        added.clear();
+        QueryPublisher.TableModelSubscriber<Sale> cancelled = new QueryPublisher.TableModelSubscriber<>(model,
+                sale -> new Object[] {sale.item()}, added::add, e -> fail("A cancelled load does not end"));
+        cancelled.cancel();
+        QueryPublisher.sales(database).subscribe(cancelled);
+        Thread.sleep(50);
+        SwingUtilities.invokeAndWait(() -> { });
+        assertTrue(added.isEmpty());
+        assertEquals(0, model.getRowCount());
+    }
+}
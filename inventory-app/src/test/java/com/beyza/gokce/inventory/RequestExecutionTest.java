@@ -0,0 +1,118 @@
+/**
+
+@file RequestExecutionTest.java
+@brief This file contains the test cases for the RequestExecution class.
+@details This file includes test methods to validate the execution modes and the database gates. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+
+@class RequestExecutionTest
+@brief This class represents the test class for the RequestExecution class.
+@details The RequestExecutionTest class checks mode parsing, executor creation in both modes, rejection by a full pool and that the writer gate admits one writer at a time.
+*/
+public class RequestExecutionTest {
+
+    @Test
+    public void testParseMode() {
+        assertEquals(RequestExecution.Mode.PLATFORM, RequestExecution.parseMode(null));
+        assertEquals(RequestExecution.Mode.PLATFORM, RequestExecution.parseMode("platform"));
+        assertEquals(RequestExecution.Mode.VIRTUAL, RequestExecution.parseMode(" Virtual "));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseModeRejectsUnknownName() {
+        RequestExecution.parseMode("green");
+    }
+
+    @Test
+    public void testBothModesRunTasks() throws Exception {
+        for (RequestExecution.Mode mode : RequestExecution.Mode.values()) {
+            ExecutorService executor = RequestExecution.newExecutor(mode, 2, 4);
+            try {
+                assertEquals(Integer.valueOf(42), executor.submit(() -> 42).get(5, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testFullPoolRejectsToTheOverflowExecutor() throws Exception {
+        ExecutorService pool = RequestExecution.newExecutor(RequestExecution.Mode.PLATFORM, 1, 1);
+        ExecutorService overflow = RequestExecution.newOverflowExecutor();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Runnable blocked = () -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            pool.execute(blocked);
+            pool.execute(blocked);
+            try {
+                pool.execute(() -> { });
+                fail("A full pool must not run the task on the caller");
+            } catch (RejectedExecutionException expected) {
+            }
+
+            Executor combined = RequestExecution.withOverflow(pool, overflow);
+            AtomicBoolean overflowing = new AtomicBoolean();
+            CountDownLatch ran = new CountDownLatch(1);
+            combined.execute(() -> {
+                overflowing.set(RequestExecution.overflowing());
+                ran.countDown();
+            });
+            assertTrue(ran.await(5, TimeUnit.SECONDS));
+            assertTrue(overflowing.get());
+            assertFalse(RequestExecution.overflowing());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+            overflow.shutdown();
+        }
+    }
+
+    @Test
+    public void testWriteGateAdmitsOneWriterAtATime() throws Exception {
+        ExecutorService executor = RequestExecution.newExecutor(RequestExecution.Mode.PLATFORM, 8, 64);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        List<Future<Object>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 32; i++) {
+                futures.add(executor.submit(() -> RequestExecution.write(() -> {
+                    int now = inside.incrementAndGet();
+                    maxInside.accumulateAndGet(now, Math::max);
+                    Thread.sleep(1);
+                    inside.decrementAndGet();
+                    return null;
+                })));
+            }
+            for (Future<Object> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, maxInside.get());
+    }
+}
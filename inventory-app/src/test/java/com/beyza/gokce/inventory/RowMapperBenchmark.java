@@ -0,0 +1,97 @@
+/**
+
+@file RowMapperBenchmark.java
+@brief Benchmark comparing rows read by column label with rows read by resolved column position.
+@details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.beyza.gokce.inventory.RowMapperBenchmark
+*/
+package com.beyza.gokce.inventory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+
+@class RowMapperBenchmark
+@brief Times the inventory loader and the table viewer over the same rows, before and after the row mappers.
+@details Each run executes the same query on the same in-memory connection, so the difference is the cost of reading the columns.
+*/
+public class RowMapperBenchmark {
+    private static final int ROWS = 200_000;
+    private static final int RUNS = 5;
+    private static final String ITEMS = "SELECT id, name, quantity, cost, version FROM inventory";
+    private static final String CELLS = "SELECT * FROM inventory";
+
+    private interface Loader {
+        int load(ResultSet rs) throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL,"
+                        + " quantity INTEGER NOT NULL, cost INTEGER NOT NULL, version INTEGER NOT NULL DEFAULT 0)");
+            }
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO inventory (name, quantity, cost) VALUES (?, ?, ?)")) {
+                for (int i = 0; i < ROWS; i++) {
+                    pstmt.setString(1, "Material " + i);
+                    pstmt.setInt(2, i % 500);
+                    pstmt.setLong(3, i * 37L);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            conn.commit();
+            conn.setAutoCommit(true);
+
+            for (int round = 0; round < 2; round++) {
+                run("items by label", conn, ITEMS, rs -> {
+                    List<InventoryItem> items = new ArrayList<>();
+                    while (rs.next()) {
+                        InventoryItem item = new InventoryItem(rs.getString("name"), rs.getInt("quantity"),
+                                Money.ofMinor(rs.getLong("cost")));
+                        item.setId(rs.getLong("id"));
+                        item.setVersion(rs.getLong("version"));
+                        items.add(item);
+                    }
+                    return items.size();
+                });
+                run("items by position", conn, ITEMS, rs -> RowMappers.list(rs, RowMappers.INVENTORY).size());
+                run("cells by getObject", conn, CELLS, rs -> {
+                    int columns = rs.getMetaData().getColumnCount();
+                    List<Object[]> rows = new ArrayList<>();
+                    while (rs.next()) {
+                        Object[] row = new Object[columns];
+                        for (int i = 1; i <= columns; i++) {
+                            row[i - 1] = rs.getObject(i);
+                        }
+                        rows.add(row);
+                    }
+                    return rows.size();
+                });
+                run("cells by type", conn, CELLS, rs -> RowMappers.list(rs, RowMappers.CELLS).size());
+            }
+        }
+    }
+
+    private static void run(String name, Connection conn, String sql, Loader loader) throws SQLException {
+        long best = Long.MAX_VALUE;
+        int rows = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+                rows = loader.load(rs);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.println(String.format("%-20s %6d ms  %7.0f ns/row  %d rows", name, best / 1_000_000,
+                (double) best / rows, rows));
+    }
+}
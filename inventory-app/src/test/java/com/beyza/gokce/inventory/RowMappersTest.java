@@ -0,0 +1,152 @@
+/**
+
+@file RowMappersTest.java
+@brief This file contains the test cases for the RowMappers class.
+@details This file includes test methods to validate the record mappers of every table, column order independence, optional and missing columns, typed table cells and money cells in major units. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class RowMappersTest
+@brief This class represents the test class for the RowMappers class.
+@details The RowMappersTest class maps rows of an in-memory database with the application schema.
+*/
+public class RowMappersTest {
+    private Connection conn;
+
+    @Before
+    public void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE users (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                    + " username TEXT NOT NULL UNIQUE, password TEXT NOT NULL)");
+            stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL,"
+                    + " quantity INTEGER NOT NULL, cost INTEGER NOT NULL, version INTEGER NOT NULL DEFAULT 0)");
+            stmt.execute("CREATE TABLE projects (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL)");
+            stmt.execute("CREATE TABLE expenses (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                    + " description TEXT NOT NULL, amount INTEGER NOT NULL)");
+            stmt.execute("CREATE TABLE sales (id INTEGER PRIMARY KEY AUTOINCREMENT, item TEXT NOT NULL,"
+                    + " quantity INTEGER NOT NULL, price INTEGER NOT NULL)");
+            stmt.execute("INSERT INTO users (username, password) VALUES ('beyza', 'secret')");
+            stmt.execute("INSERT INTO inventory (name, quantity, cost, version) VALUES ('Wood', 20, 5000, 4)");
+            stmt.execute("INSERT INTO projects (name) VALUES ('Shelf')");
+            stmt.execute("INSERT INTO expenses (description, amount) VALUES ('Refund', -250)");
+            stmt.execute("INSERT INTO sales (item, quantity, price) VALUES ('Chair', 2, 9995)");
+        }
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    private <T> List<T> list(String sql, RowMappers.Binder<T> binder) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            return RowMappers.list(rs, binder);
+        }
+    }
+
+    @Test
+    public void testEveryTableMapsToItsRecord() throws SQLException {
+        User user = list("SELECT * FROM users", RowMappers.USERS).get(0);
+        assertEquals("beyza", user.getUsername());
+        assertEquals("secret", user.getPassword());
+
+        InventoryItem wood = list("SELECT * FROM inventory", RowMappers.INVENTORY).get(0);
+        assertEquals("Wood", wood.getName());
+        assertEquals(20, wood.getQuantity());
+        assertEquals(5000, wood.getCostMinor());
+        assertEquals(1, wood.getId());
+        assertEquals(4, wood.getVersion());
+
+        Project shelf = list("SELECT * FROM projects", RowMappers.PROJECTS).get(0);
+        assertEquals("Shelf", shelf.getName());
+        assertEquals(1, shelf.getId());
+
+        Expense refund = list("SELECT * FROM expenses", RowMappers.EXPENSES).get(0);
+        assertEquals("Refund", refund.getDescription());
+        assertEquals(-250, refund.getAmountMinor());
+
+        Sale chair = list("SELECT * FROM sales", RowMappers.SALES).get(0);
+        assertEquals("Chair", chair.item());
+        assertEquals(2, chair.getQuantity());
+        assertEquals(19990, chair.getTotalMinor());
+    }
+
+    @Test
+    public void testColumnsAreFoundByLabelInAnyOrder() throws SQLException {
+        InventoryItem wood = list("SELECT cost, 'x' AS note, quantity, NAME FROM inventory",
+                RowMappers.INVENTORY).get(0);
+        assertEquals("Wood", wood.getName());
+        assertEquals(20, wood.getQuantity());
+        assertEquals(5000, wood.getCostMinor());
+        assertEquals("Optional columns that are not selected are left alone", 0, wood.getId());
+        assertEquals(0, wood.getVersion());
+    }
+
+    @Test
+    public void testMissingColumnFailsTheBind() {
+        try {
+            list("SELECT name, quantity FROM inventory", RowMappers.INVENTORY);
+            fail("The cost column is missing");
+        } catch (SQLException e) {
+            assertEquals("Column not in result: cost", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testTableCellsShowMoneyInMajorUnits() throws SQLException {
+        Object[] wood = list("SELECT * FROM inventory", RowMappers.cells("inventory")).get(0);
+        assertArrayEquals(new Object[] {1, "Wood", 20, 50.0, 4}, wood);
+        Object[] chair = list("SELECT * FROM sales", RowMappers.cells("sales")).get(0);
+        assertEquals(99.95, chair[3]);
+        Object[] refund = list("SELECT * FROM expenses", RowMappers.cells("expenses")).get(0);
+        assertEquals(-2.5, refund[2]);
+        assertArrayEquals("Tables without money are unchanged", new Object[] {1, "beyza", "secret"},
+                list("SELECT * FROM users", RowMappers.cells("users")).get(0));
+        assertEquals("A query without the money column is unchanged", 20,
+                list("SELECT quantity FROM inventory", RowMappers.cells("inventory")).get(0)[0]);
+    }
+
+    @Test
+    public void testCellsMatchGetObject() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE mixed (id INTEGER PRIMARY KEY, big INTEGER, ratio REAL, note TEXT, raw)");
+            stmt.execute("INSERT INTO mixed VALUES (1, 5000000000, 0.5, 'a', x'01'), (2, NULL, NULL, NULL, 7)");
+        }
+        List<Object[]> cells = list("SELECT * FROM mixed", RowMappers.CELLS);
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT * FROM mixed")) {
+            for (Object[] row : cells) {
+                assertTrue(rs.next());
+                for (int i = 0; i < row.length; i++) {
+                    Object expected = rs.getObject(i + 1);
+                    if (expected instanceof byte[]) {
+                        assertArrayEquals((byte[]) expected, (byte[]) row[i]);
+                    } else {
+                        assertEquals(expected, row[i]);
+                    }
+                }
+            }
+            assertFalse(rs.next());
+        }
+        assertEquals(Long.valueOf(5000000000L), cells.get(0)[1]);
+        assertEquals(Integer.valueOf(1), cells.get(0)[0]);
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT * FROM mixed")) {
+            assertArrayEquals(new String[] {"id", "big", "ratio", "note", "raw"}, RowMappers.columnNames(rs));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+
+@file SalesJournalBenchmark.java
+@brief Benchmark comparing sales captured through the journal with sales written to SQLite.
+@details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.beyza.gokce.inventory.SalesJournalBenchmark
+*/
+package com.beyza.gokce.inventory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+
+@class SalesJournalBenchmark
+@brief Times the acknowledgement of many sales submitted back to back.
+@details Both paths are driven the same way: every sale is submitted without waiting and the last acknowledgement is awaited.
+The journal figure excludes compaction, which runs afterwards and is timed separately.
+*/
+public class SalesJournalBenchmark {
+    private static final int SALES = 200_000;
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("sales-journal-benchmark");
+        try (DatabaseExecutor database = new DatabaseExecutor("jdbc:sqlite:" + directory.resolve("bench.db"), 1,
+                DatabaseExecutor.DEFAULT_MAX_BATCH)) {
+            DatabaseExecutor.await(database.write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE TABLE sales (id INTEGER PRIMARY KEY AUTOINCREMENT, item TEXT NOT NULL,"
+                            + " quantity INTEGER NOT NULL, price INTEGER NOT NULL)");
+                }
+                return null;
+            }));
+
+            long start = System.nanoTime();
+            CompletableFuture<Integer> last = null;
+            for (int i = 0; i < SALES; i++) {
+                Sale sale = new Sale("Item " + i, 1 + i % 5, 9.99);
+                last = database.write(conn -> {
+                    try (PreparedStatement pstmt = conn.prepareStatement(
+                            "INSERT INTO sales (item, quantity, price) VALUES (?, ?, ?)")) {
+                        pstmt.setString(1, sale.item);
+                        pstmt.setInt(2, sale.getQuantity());
+                        pstmt.setLong(3, sale.getPriceMinor());
+                        return pstmt.executeUpdate();
+                    }
+                });
+            }
+            last.join();
+            report("SQLite writer", System.nanoTime() - start);
+
+            try (SalesJournal journal = SalesJournal.open(directory.resolve("journal"), database,
+                    SalesJournal.SEGMENT_RECORDS, 0)) {
+                start = System.nanoTime();
+                CompletableFuture<Void> ack = null;
+                for (int i = 0; i < SALES; i++) {
+                    ack = journal.append(new Sale("Item " + i, 1 + i % 5, 9.99));
+                }
+                ack.join();
+                report("journal", System.nanoTime() - start);
+
+                start = System.nanoTime();
+                journal.compact();
+                System.out.println(String.format("%-16s %6d ms", "compaction", (System.nanoTime() - start) / 1_000_000));
+            }
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static void report(String path, long nanos) {
+        System.out.println(String.format("%-16s %6d ms  %9.0f sales/s", path, nanos / 1_000_000,
+                SALES / (nanos / 1e9)));
+    }
+}
@@ -0,0 +1,226 @@
+/**
+
+@file SalesJournalTest.java
+@brief This file contains the test cases for the SalesJournal class.
+@details This file includes test methods to validate acknowledgement, compaction, segment rolling, crash replay and the record layouts of the sales journal. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class SalesJournalTest
+@brief This class represents the test class for the SalesJournal class.
+@details The SalesJournalTest class runs every test against its own journal directory and SQLite file in a temporary directory.
+*/
+public class SalesJournalTest {
+    private Path directory;
+    private Path journalDirectory;
+    private DatabaseExecutor database;
+
+    @Before
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("sales-journal");
+        journalDirectory = directory.resolve("journal");
+        database = new DatabaseExecutor("jdbc:sqlite:" + directory.resolve("test.db"), 1, 64);
+        DatabaseExecutor.await(database.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE sales (id INTEGER PRIMARY KEY AUTOINCREMENT, item TEXT NOT NULL,"
+                        + " quantity INTEGER NOT NULL, price INTEGER NOT NULL)");
+            }
+            return null;
+        }));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        database.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private List<String> salesInTable() throws SQLException {
+        return DatabaseExecutor.await(database.read(conn -> {
+            List<String> rows = new ArrayList<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT item, quantity, price FROM sales ORDER BY id")) {
+                while (rs.next()) {
+                    rows.add(rs.getString(1) + "/" + rs.getInt(2) + "/" + Money.toDouble(rs.getLong(3)));
+                }
+            }
+            return rows;
+        }));
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> paths = Files.list(journalDirectory)) {
+            return paths.count();
+        }
+    }
+
+    @Test
+    public void testAppendIsAcknowledgedAfterForce() throws Exception {
+        try (SalesJournal journal = SalesJournal.open(journalDirectory, database, 16, 0)) {
+            CompletableFuture<Void> ack = journal.append(new Sale("Chair", 2, 99.5));
+            ack.get(5, TimeUnit.SECONDS);
+            assertEquals(1, journal.forcedSequence());
+            assertTrue("Compaction only runs on close here", salesInTable().isEmpty());
+        }
+        assertEquals(List.of("Chair/2/99.5"), salesInTable());
+    }
+
+    @Test
+    public void testCompactKeepsOrderAndRollsSegments() throws Exception {
+        try (SalesJournal journal = SalesJournal.open(journalDirectory, database, 4, 0)) {
+            CompletableFuture<Void> last = null;
+            for (int i = 1; i <= 10; i++) {
+                last = journal.append(new Sale("Item " + i, i, i * 1.5));
+            }
+            last.get(5, TimeUnit.SECONDS);
+            assertEquals(3, segmentCount());
+
+            assertEquals(10, journal.compact());
+            assertEquals("Sealed segments are deleted once compacted", 1, segmentCount());
+            assertEquals(0, journal.compact());
+        }
+        List<String> rows = salesInTable();
+        assertEquals(10, rows.size());
+        assertEquals("Item 1/1/1.5", rows.get(0));
+        assertEquals("Item 10/10/15.0", rows.get(9));
+    }
+
+    @Test
+    public void testCrashIsReplayedExactlyOnce() throws Exception {
+        SalesJournal journal = SalesJournal.open(journalDirectory, database, 8, 0);
+        for (int i = 0; i < 3; i++) {
+            journal.append(new Sale("Ürün " + i, 1, 10.0)).get(5, TimeUnit.SECONDS);
+        }
+        journal.compact();
+        journal.append(new Sale("After compaction", 4, 1.25)).get(5, TimeUnit.SECONDS);
+        // The process dies here: no close, the segment stays on disk
+
+        assertEquals(1, SalesJournal.replayPending(journalDirectory, database));
+        assertEquals(0, SalesJournal.replayPending(journalDirectory, database));
+        List<String> rows = salesInTable();
+        assertEquals(4, rows.size());
+        assertEquals("Ürün 0/1/10.0", rows.get(0));
+        assertEquals("After compaction/4/1.25", rows.get(3));
+    }
+
+    @Test
+    public void testTornRecordEndsTheSegment() throws Exception {
+        SalesJournal journal = SalesJournal.open(journalDirectory, database, 8, 0);
+        journal.append(new Sale("Kept", 1, 1.0));
+        journal.append(new Sale("Torn", 1, 1.0)).get(5, TimeUnit.SECONDS);
+        Path segment;
+        try (Stream<Path> paths = Files.list(journalDirectory)) {
+            segment = paths.findFirst().get();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0x7F}), SalesJournal.RECORD_SIZE + 30);
+        }
+
+        assertEquals(1, SalesJournal.replayPending(journalDirectory, database));
+        assertEquals(List.of("Kept/1/1.0"), salesInTable());
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    public void testReopenContinuesAfterReplayedSequence() throws Exception {
+        SalesJournal first = SalesJournal.open(journalDirectory, database, 8, 0);
+        first.append(new Sale("One", 1, 1.0)).get(5, TimeUnit.SECONDS);
+
+        try (SalesJournal second = SalesJournal.open(journalDirectory, database, 8, 0)) {
+            assertEquals(List.of("One/1/1.0"), salesInTable());
+            second.append(new Sale("Two", 2, 2.0)).get(5, TimeUnit.SECONDS);
+            assertEquals(2, second.forcedSequence());
+        }
+        assertEquals(List.of("One/1/1.0", "Two/2/2.0"), salesInTable());
+    }
+
+    @Test
+    public void testPeriodicCompaction() throws Exception {
+        try (SalesJournal journal = SalesJournal.open(journalDirectory, database, 8, 20)) {
+            journal.append(new Sale("Background", 1, 3.0)).get(5, TimeUnit.SECONDS);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (salesInTable().isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(List.of("Background/1/3.0"), salesInTable());
+        }
+    }
+
+    @Test
+    public void testPriceIsJournaledInExactMinorUnits() throws Exception {
+        // 2^53 + 1 minor units have no exact double
+        long minor = (1L << 53) + 1;
+        try (SalesJournal journal = SalesJournal.open(journalDirectory, database, 8, 0)) {
+            journal.append(new Sale("Gold bar", 1, Money.ofMinor(minor))).get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(Long.valueOf(minor), DatabaseExecutor.await(database.read(conn -> {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT price FROM sales")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        })));
+    }
+
+    @Test
+    public void testLayout0RecordsAreReplayed() throws Exception {
+        // Written by hand the way records were before the layout byte: the
+        // price as a double and the item length as a short
+        byte[] record = new byte[SalesJournal.RECORD_SIZE];
+        byte[] item = "Eski ürün".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer out = ByteBuffer.wrap(record);
+        out.putLong(0, 1).putInt(8, 2).putDouble(12, 19.99).putShort(20, (short) item.length);
+        System.arraycopy(item, 0, record, 22, item.length);
+        CRC32 crc = new CRC32();
+        crc.update(record, 0, SalesJournal.RECORD_SIZE - 4);
+        out.putInt(SalesJournal.RECORD_SIZE - 4, (int) crc.getValue());
+        Files.createDirectories(journalDirectory);
+        byte[] segment = new byte[2 * SalesJournal.RECORD_SIZE];
+        System.arraycopy(record, 0, segment, 0, record.length);
+        Files.write(journalDirectory.resolve(String.format("sales-%020d.journal", 1)), segment);
+
+        assertEquals(1, SalesJournal.replayPending(journalDirectory, database));
+        assertEquals(List.of("Eski ürün/2/19.99"), salesInTable());
+    }
+
+    @Test
+    public void testAcceptsOnlyNamesThatFit() {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < SalesJournal.MAX_ITEM_BYTES / 2; i++) {
+            name.append('ş');
+        }
+        assertTrue(SalesJournal.accepts(new Sale(name.toString(), 1, 1.0)));
+        assertFalse(SalesJournal.accepts(new Sale(name + "x", 1, 1.0)));
+        assertFalse(SalesJournal.accepts(new Sale(null, 1, 1.0)));
+    }
+}
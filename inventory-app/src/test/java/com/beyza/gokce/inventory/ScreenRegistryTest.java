@@ -0,0 +1,99 @@
+/**
+
+@file ScreenRegistryTest.java
+@brief This file contains the test cases for the ScreenRegistry class.
+@details This file includes test methods to validate lazy building, retained screens and stale data refreshes. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.JPanel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class ScreenRegistryTest
+@brief This class represents the test class for the ScreenRegistry class.
+@details The ScreenRegistryTest class counts how often each screen is built and refreshed.
+*/
+public class ScreenRegistryTest {
+    private ScreenRegistry registry;
+    private AtomicInteger builds;
+    private AtomicInteger refreshes;
+
+    @Before
+    public void setUp() {
+        registry = new ScreenRegistry(ScreenRegistry.DEFAULT_MAX_AGE_MILLIS);
+        builds = new AtomicInteger();
+        refreshes = new AtomicInteger();
+        registry.register("Inventory", () -> {
+            builds.incrementAndGet();
+            return new JPanel();
+        }, refreshes::incrementAndGet);
+        registry.register("Sales", JPanel::new, null);
+    }
+
+    @Test
+    public void testScreenIsBuiltOnFirstShowOnly() {
+        assertFalse(registry.isBuilt("Inventory"));
+
+        JPanel first = registry.show("Inventory");
+        registry.show("Sales");
+        JPanel second = registry.show("Inventory");
+
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+        assertEquals(2, registry.getDeck().getComponentCount());
+        assertEquals("Inventory", registry.getCurrent());
+    }
+
+    @Test
+    public void testFreshScreenIsNotRefreshedOnNavigation() {
+        registry.show("Inventory");
+        registry.show("Sales");
+        registry.show("Inventory");
+
+        assertEquals(1, refreshes.get());
+    }
+
+    @Test
+    public void testInvalidatedScreenIsRefreshedWhenShown() {
+        registry.show("Inventory");
+        registry.show("Sales");
+
+        registry.invalidate("Inventory");
+        assertEquals(1, refreshes.get());
+
+        registry.show("Inventory");
+        assertEquals(2, refreshes.get());
+    }
+
+    @Test
+    public void testInvalidatingCurrentScreenRefreshesImmediately() {
+        registry.show("Inventory");
+        registry.invalidate("Inventory");
+
+        assertEquals(2, refreshes.get());
+    }
+
+    @Test
+    public void testExpiredDataIsRefreshed() {
+        ScreenRegistry expiring = new ScreenRegistry(-1);
+        expiring.register("Inventory", JPanel::new, refreshes::incrementAndGet);
+
+        expiring.show("Inventory");
+        expiring.show("Inventory");
+
+        assertEquals(2, refreshes.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownScreenIsRejected() {
+        registry.show("Payroll");
+    }
+}
@@ -0,0 +1,137 @@
+/**
+
+@file SearchIndexTest.java
+@brief This file contains the test cases for the SearchIndex class.
+@details This file includes test methods to validate the FTS5 index triggers, query building, ranking and result limits. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class SearchIndexTest
+@brief This class represents the test class for the SearchIndex class.
+@details The SearchIndexTest class runs against an in-memory SQLite database with the application's inventory, projects and expenses tables.
+*/
+public class SearchIndexTest {
+    private Connection conn;
+
+    @Before
+    public void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL,"
+                    + " quantity INTEGER NOT NULL, cost INTEGER NOT NULL)");
+            stmt.execute("CREATE TABLE projects (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL)");
+            stmt.execute("CREATE TABLE expenses (id INTEGER PRIMARY KEY AUTOINCREMENT, description TEXT NOT NULL,"
+                    + " amount INTEGER NOT NULL)");
+            // Rows that exist before the index must be picked up by the rebuild
+            stmt.execute("INSERT INTO inventory (name, quantity, cost) VALUES ('Oak plank', 10, 450)");
+        }
+        SearchIndex.createTables(conn);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    public void testExistingRowsAreIndexed() throws SQLException {
+        assertTrue(SearchIndex.isFullText());
+        assertEquals("Oak plank", names("oak").get(0));
+    }
+
+    @Test
+    public void testTriggersKeepIndexInSync() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO inventory (name, quantity, cost) VALUES ('Steel bolt', 300, 25)");
+            stmt.execute("INSERT INTO projects (name) VALUES ('Steel shelf')");
+            stmt.execute("INSERT INTO expenses (description, amount) VALUES ('Steel delivery', 4000)");
+            assertEquals(3, names("steel").size());
+
+            stmt.execute("UPDATE inventory SET name = 'Brass bolt' WHERE name = 'Steel bolt'");
+            assertEquals(2, names("steel").size());
+            assertEquals("Brass bolt", names("brass").get(0));
+
+            stmt.execute("DELETE FROM projects");
+            assertEquals(1, names("steel").size());
+        }
+    }
+
+    @Test
+    public void testEveryWordMustMatchAsPrefix() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO inventory (name, quantity, cost) VALUES ('Oak dowel', 5, 100)");
+        }
+        assertEquals(2, names("oa").size());
+        assertEquals("Oak dowel", names("dow oak").get(0));
+        assertTrue(names("oak zinc").isEmpty());
+    }
+
+    @Test
+    public void testDiacriticsAndCaseAreFolded() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO expenses (description, amount) VALUES ('Çelik vida', 1200)");
+        }
+        assertEquals("Çelik vida", names("CELIK").get(0));
+    }
+
+    @Test
+    public void testResultsAreRankedAndLimited() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO projects (name) VALUES ('Glass table with glass top and glass shelves')");
+            stmt.execute("INSERT INTO inventory (name, quantity, cost) VALUES ('Glass', 1, 100)");
+            for (int i = 0; i < 150; i++) {
+                stmt.execute("INSERT INTO expenses (description, amount) VALUES ('Glass cutter blade " + i + "', 100)");
+            }
+        }
+        List<SearchIndex.Result> results = SearchIndex.search(conn, "glass", 500,
+                SearchIndex.INVENTORY, SearchIndex.PROJECTS, SearchIndex.EXPENSES);
+        assertEquals(SearchIndex.MAX_RESULTS, results.size());
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(results.get(i - 1).rank <= results.get(i).rank);
+        }
+        // bm25 favours the name that repeats the word
+        assertEquals(SearchIndex.PROJECTS, results.get(0).table);
+        assertEquals(3, SearchIndex.search(conn, "glass", 3, SearchIndex.EXPENSES).size());
+        assertTrue(SearchIndex.search(conn, "glass", 10, SearchIndex.EXPENSES).stream()
+                .allMatch(result -> result.table.equals(SearchIndex.EXPENSES)));
+    }
+
+    @Test
+    public void testQuerySyntaxIsNeutralised() throws SQLException {
+        assertEquals("\"oak\"* \"plank\"*", SearchIndex.toMatchQuery("oak \"plank"));
+        assertEquals("\"a\"* \"OR\"* \"b\"*", SearchIndex.toMatchQuery("a OR-b*"));
+        assertEquals("", SearchIndex.toMatchQuery("  -*() "));
+        assertTrue(names("*").isEmpty());
+        assertEquals("Oak plank", names("oak:").get(0));
+    }
+
+    @Test
+    public void testCreateTablesIsIdempotent() throws SQLException {
+        SearchIndex.createTables(conn);
+        assertEquals(1, names("oak").size());
+    }
+
+    private List<String> names(String text) throws SQLException {
+        List<String> names = new ArrayList<>();
+        for (SearchIndex.Result result : SearchIndex.search(conn, text, SearchIndex.DEFAULT_LIMIT,
+                SearchIndex.INVENTORY, SearchIndex.PROJECTS, SearchIndex.EXPENSES)) {
+            names.add(result.name);
+        }
+        return names;
+    }
+}
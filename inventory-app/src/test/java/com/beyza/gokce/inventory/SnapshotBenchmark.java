@@ -0,0 +1,81 @@
+/**
+
+@file SnapshotBenchmark.java
+@brief Benchmark comparing ObjectOutputStream with Snapshot on one million inventory items.
+@details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.beyza.gokce.inventory.SnapshotBenchmark
+*/
+package com.beyza.gokce.inventory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+
+@class SnapshotBenchmark
+@brief Times saving and loading a full snapshot in both formats and reports the file sizes.
+@details Each format is saved and loaded three times; the best time of each is reported.
+*/
+public class SnapshotBenchmark {
+    private static final int ITEMS = 1_000_000;
+    private static final String[] NAMES = {"Steel bar", "Oak plank", "Çelik vida", "Glass panel", "Copper wire"};
+
+    public static void main(String[] args) throws Exception {
+        Random random = new Random(42);
+        List<InventoryItem> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(new InventoryItem(NAMES[random.nextInt(NAMES.length)] + " " + i, random.nextInt(1000),
+                    random.nextInt(100_000) / 100.0));
+        }
+        Snapshot snapshot = new Snapshot(new ArrayList<>(), items, new ArrayList<>(), new ArrayList<>(),
+                new ArrayList<>());
+        Path directory = Files.createTempDirectory("snapshot-benchmark");
+        Path serialized = directory.resolve("inventory.bin");
+        Path binary = directory.resolve("inventory.snapshot");
+
+        long save = Long.MAX_VALUE;
+        long load = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(serialized)))) {
+                out.writeObject(items);
+            }
+            save = Math.min(save, System.nanoTime() - start);
+            start = System.nanoTime();
+            try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(
+                    Files.newInputStream(serialized)))) {
+                in.readObject();
+            }
+            load = Math.min(load, System.nanoTime() - start);
+        }
+        report("ObjectOutputStream", save, load, Files.size(serialized));
+
+        save = Long.MAX_VALUE;
+        load = Long.MAX_VALUE;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            snapshot.write(binary);
+            save = Math.min(save, System.nanoTime() - start);
+            start = System.nanoTime();
+            Snapshot.read(binary);
+            load = Math.min(load, System.nanoTime() - start);
+        }
+        report("Snapshot", save, load, Files.size(binary));
+
+        Files.delete(serialized);
+        Files.delete(binary);
+        Files.delete(directory);
+    }
+
+    private static void report(String format, long save, long load, long bytes) {
+        System.out.println(String.format("%-20s save %6d ms  load %6d ms  %6.1f MB", format, save / 1_000_000,
+                load / 1_000_000, bytes / (1024.0 * 1024.0)));
+    }
+}
@@ -0,0 +1,375 @@
+/**
+
+@file SnapshotTest.java
+@brief This file contains the test cases for the Snapshot class.
+@details This file includes test methods to validate the round trip of every record type, the schema checks, forward compatibility, the reading of version 1 and ObjectOutputStream files and the backup and restore of a database. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class SnapshotTest
+@brief This class represents the test class for the Snapshot class.
+@details The SnapshotTest class writes its files into a temporary directory removed after every test.
+*/
+public class SnapshotTest {
+    private Path directory;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("snapshot");
+        file = directory.resolve("inventory.snapshot");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        for (Path path : Files.list(directory).toArray(Path[]::new)) {
+            Files.delete(path);
+        }
+        Files.delete(directory);
+    }
+
+    private static Snapshot sample() {
+        Project shed = new Project("Garden shed");
+        shed.addMaterial(new InventoryItem("Oak plank", 12, 45.5));
+        shed.addMaterial(new InventoryItem("Çelik vida", 200, 0.25));
+        return new Snapshot(
+                new ArrayList<>(Arrays.asList(new User("admin", "admin123"), new User("ayşe", "şifre🔑"))),
+                new ArrayList<>(Arrays.asList(new InventoryItem("Steel bar", 5, 120.0),
+                        new InventoryItem("", 0, -1.5))),
+                new ArrayList<>(Arrays.asList(shed, new Project("Empty"))),
+                new ArrayList<>(Arrays.asList(new Expense("Paint", 350.75))),
+                new ArrayList<>(Arrays.asList(new Sale("Chair", 3, 899.9))));
+    }
+
+    @Test
+    public void testRoundTripKeepsEveryRecordType() throws IOException {
+        sample().write(file);
+        Snapshot read = Snapshot.read(file);
+
+        assertEquals(2, read.users.size());
+        assertEquals("ayşe", read.users.get(1).getUsername());
+        assertEquals("şifre🔑", read.users.get(1).getPassword());
+        assertEquals("Steel bar", read.inventory.get(0).getName());
+        assertEquals(5, read.inventory.get(0).getQuantity());
+        assertEquals(120.0, read.inventory.get(0).getCost(), 0.0);
+        assertEquals("", read.inventory.get(1).getName());
+        assertEquals(-1.5, read.inventory.get(1).getCost(), 0.0);
+        assertEquals("Garden shed", read.projects.get(0).getName());
+        assertEquals(2, read.projects.get(0).materials.size());
+        assertEquals("Çelik vida", read.projects.get(0).materials.get(1).getName());
+        assertEquals(200, read.projects.get(0).materials.get(1).getQuantity());
+        assertTrue(read.projects.get(1).materials.isEmpty());
+        assertEquals("Paint", read.expenses.get(0).description);
+        assertEquals(350.75, read.expenses.get(0).getAmount(), 0.0);
+        assertEquals("Chair", read.sales.get(0).getName());
+        assertEquals(3, read.sales.get(0).getQuantity());
+        assertEquals(899.9, read.sales.get(0).getPrice(), 0.0);
+    }
+
+    @Test
+    public void testHeaderStartsWithMagicAndVersion() throws IOException {
+        sample().write(file);
+        ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals(Snapshot.MAGIC, header.getInt());
+        assertEquals(Snapshot.VERSION, header.getShort());
+        assertFalse(Files.exists(directory.resolve("inventory.snapshot.tmp")));
+    }
+
+    @Test
+    public void testNullStringsRoundTrip() throws IOException {
+        List<InventoryItem> items = new ArrayList<>(Arrays.asList(new InventoryItem(null, 1, 2.0)));
+        new Snapshot(new ArrayList<>(), items, new ArrayList<>(), new ArrayList<>(), new ArrayList<>()).write(file);
+        assertNull(Snapshot.read(file).inventory.get(0).getName());
+    }
+
+    @Test
+    public void testLargeRecordsGrowTheBuffer() throws IOException {
+        StringBuilder name = new StringBuilder();
+        while (name.length() < Snapshot.BUFFER_SIZE) {
+            name.append("ğ");
+        }
+        Project project = new Project("Big");
+        for (int i = 0; i < 3; i++) {
+            project.addMaterial(new InventoryItem(name.toString(), i, i));
+        }
+        new Snapshot(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(Arrays.asList(project)),
+                new ArrayList<>(), new ArrayList<>()).write(file);
+        Project read = Snapshot.read(file).projects.get(0);
+        assertEquals(3, read.materials.size());
+        assertEquals(name.toString(), read.materials.get(2).getName());
+    }
+
+    @Test
+    public void testNewerVersionIsRejected() throws IOException {
+        sample().write(file);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putShort(4, (short) (Snapshot.VERSION + 1));
+        Files.write(file, bytes);
+        try {
+            Snapshot.read(file);
+            fail("A newer version should not be read");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("newer"));
+        }
+    }
+
+    @Test
+    public void testTruncatedFileIsRejected() throws IOException {
+        sample().write(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 10));
+        try {
+            Snapshot.read(file);
+            fail("A truncated snapshot should not be read");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("Truncated"));
+        }
+    }
+
+    @Test
+    public void testOtherFilesAreRejected() throws IOException {
+        Files.write(file, "name,quantity,cost\n".getBytes());
+        try {
+            Snapshot.read(file);
+            fail("A CSV file is not a snapshot");
+        } catch (IOException e) {
+            assertEquals("Not a snapshot file", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testAppendedFieldsAndUnknownTypesAreSkipped() throws IOException {
+        // Written by hand the way a later version would: InventoryItem has an
+        // extra "supplier" field and a type 9 section follows
+        ByteBuffer out = ByteBuffer.allocate(512);
+        out.putInt(Snapshot.MAGIC).putShort((short) Snapshot.VERSION).putShort((short) 2);
+        out.put(Snapshot.INVENTORY_ITEM);
+        putString(out, "InventoryItem");
+        out.put((byte) 4);
+        putString(out, "name");
+        out.put((byte) 'S').put((byte) 0);
+        putString(out, "quantity");
+        out.put((byte) 'I').put((byte) 0);
+        putString(out, "cost");
+        out.put((byte) 'J').put((byte) 0);
+        putString(out, "supplier");
+        out.put((byte) 'S').put((byte) 0);
+        out.put((byte) 9);
+        putString(out, "Supplier");
+        out.put((byte) 1);
+        putString(out, "name");
+        out.put((byte) 'S').put((byte) 0);
+
+        out.put(Snapshot.INVENTORY_ITEM).putInt(1);
+        out.putInt(4 + 4 + 4 + 8 + 4 + 3);
+        putString(out, "Oak");
+        out.putInt(7).putLong(950);
+        putString(out, "Acme");
+        out.put((byte) 9).putInt(1);
+        out.putInt(4 + 4);
+        putString(out, "Acme");
+        out.put((byte) 0);
+        Files.write(file, Arrays.copyOf(out.array(), out.position()));
+
+        Snapshot read = Snapshot.read(file);
+        assertEquals(1, read.inventory.size());
+        assertEquals("Oak", read.inventory.get(0).getName());
+        assertEquals(7, read.inventory.get(0).getQuantity());
+        assertEquals(950, read.inventory.get(0).getCostMinor());
+        assertTrue(read.users.isEmpty());
+    }
+
+    @Test
+    public void testMoneyIsStoredInExactMinorUnits() throws IOException {
+        // 2^53 + 1 minor units have no exact double
+        long minor = (1L << 53) + 1;
+        new Snapshot(new ArrayList<>(),
+                new ArrayList<>(Arrays.asList(new InventoryItem("Gold bar", 1, Money.ofMinor(minor)))),
+                new ArrayList<>(),
+                new ArrayList<>(Arrays.asList(new Expense("Vault", Money.ofMinor(minor)))),
+                new ArrayList<>(Arrays.asList(new Sale("Gold bar", 1, Money.ofMinor(-minor))))).write(file);
+        Snapshot read = Snapshot.read(file);
+        assertEquals(minor, read.inventory.get(0).getCostMinor());
+        assertEquals(minor, read.expenses.get(0).getAmountMinor());
+        assertEquals(-minor, read.sales.get(0).getPriceMinor());
+    }
+
+    @Test
+    public void testVersion1DoublesAreReadAsMinorUnits() throws IOException {
+        // Written by hand the way version 1 did, with the money fields as doubles
+        ByteBuffer out = ByteBuffer.allocate(256);
+        out.putInt(Snapshot.MAGIC).putShort((short) 1).putShort((short) 2);
+        out.put(Snapshot.EXPENSE);
+        putString(out, "Expense");
+        out.put((byte) 2);
+        putString(out, "description");
+        out.put((byte) 'S').put((byte) 0);
+        putString(out, "amount");
+        out.put((byte) 'D').put((byte) 0);
+        out.put(Snapshot.SALE);
+        putString(out, "Sale");
+        out.put((byte) 3);
+        putString(out, "item");
+        out.put((byte) 'S').put((byte) 0);
+        putString(out, "quantity");
+        out.put((byte) 'I').put((byte) 0);
+        putString(out, "price");
+        out.put((byte) 'D').put((byte) 0);
+
+        out.put(Snapshot.EXPENSE).putInt(1);
+        out.putInt(4 + 5 + 8);
+        putString(out, "Paint");
+        out.putDouble(350.75);
+        out.put(Snapshot.SALE).putInt(1);
+        out.putInt(4 + 5 + 4 + 8);
+        putString(out, "Chair");
+        out.putInt(3).putDouble(0.29);
+        out.put((byte) 0);
+        Files.write(file, Arrays.copyOf(out.array(), out.position()));
+
+        Snapshot read = Snapshot.read(file);
+        assertEquals(35075, read.expenses.get(0).getAmountMinor());
+        assertEquals(29, read.sales.get(0).getPriceMinor());
+        assertEquals(3, read.sales.get(0).getQuantity());
+    }
+
+    @Test
+    public void testChangedFieldIsRejected() throws IOException {
+        ByteBuffer out = ByteBuffer.allocate(128);
+        out.putInt(Snapshot.MAGIC).putShort((short) Snapshot.VERSION).putShort((short) 1);
+        out.put(Snapshot.EXPENSE);
+        putString(out, "Expense");
+        out.put((byte) 2);
+        putString(out, "description");
+        out.put((byte) 'S').put((byte) 0);
+        putString(out, "amount");
+        out.put((byte) 'I').put((byte) 0);
+        out.put((byte) 0);
+        Files.write(file, Arrays.copyOf(out.array(), out.position()));
+        try {
+            Snapshot.read(file);
+            fail("An int amount should not be read as a long");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("amount"));
+        }
+    }
+
+    @Test
+    public void testReadsObjectOutputStreamFiles() throws IOException {
+        List<Record> records = new ArrayList<>();
+        records.add(new InventoryItem("Oak plank", 12, 45.5));
+        records.add(new Sale("Chair", 1, 10.0));
+        List<User> users = new ArrayList<>();
+        users.add(new User("admin", "admin123"));
+        Path legacy = directory.resolve("users.bin");
+        try (OutputStream stream = Files.newOutputStream(legacy); ObjectOutputStream out = new ObjectOutputStream(stream)) {
+            out.writeObject(users);
+        }
+        try (OutputStream stream = Files.newOutputStream(file); ObjectOutputStream out = new ObjectOutputStream(stream)) {
+            out.writeObject(records);
+        }
+
+        assertEquals("admin", Snapshot.read(legacy).users.get(0).getUsername());
+        Snapshot read = Snapshot.read(file);
+        assertEquals("Oak plank", read.inventory.get(0).getName());
+        assertEquals("Chair", read.sales.get(0).getName());
+
+        read.write(file);
+        assertEquals(1, Snapshot.read(file).sales.size());
+    }
+
+    @Test
+    public void testDatabaseBackupAndRestore() throws IOException, SQLException {
+        DatabaseExecutor database = new DatabaseExecutor("jdbc:sqlite:" + directory.resolve("test.db"), 1, 64);
+        try {
+            DatabaseExecutor.await(database.write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE TABLE users (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                            + " username TEXT NOT NULL UNIQUE, password TEXT NOT NULL)");
+                    stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                            + " name TEXT NOT NULL UNIQUE, quantity INTEGER NOT NULL, cost INTEGER NOT NULL,"
+                            + " version INTEGER NOT NULL DEFAULT 0)");
+                    stmt.execute("CREATE TABLE projects (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL)");
+                    stmt.execute("CREATE TABLE expenses (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                            + " description TEXT NOT NULL, amount INTEGER NOT NULL)");
+                    stmt.execute("CREATE TABLE sales (id INTEGER PRIMARY KEY AUTOINCREMENT, item TEXT NOT NULL,"
+                            + " quantity INTEGER NOT NULL, price INTEGER NOT NULL)");
+                    stmt.execute("INSERT INTO sales (item, quantity, price) VALUES ('Replaced', 1, 100)");
+                }
+                return null;
+            }));
+            sample().store(database);
+            sample().store(database);
+            Snapshot.load(database).write(file);
+            Snapshot backup = Snapshot.read(file);
+
+            assertEquals(2, backup.users.size());
+            assertEquals("şifre🔑", backup.users.get(1).getPassword());
+            assertEquals(2, backup.inventory.size());
+            assertEquals("Steel bar", backup.inventory.get(0).getName());
+            assertEquals(12000, backup.inventory.get(0).getCostMinor());
+            assertEquals(Arrays.asList("Garden shed", "Empty"),
+                    Arrays.asList(backup.projects.get(0).getName(), backup.projects.get(1).getName()));
+            assertEquals(35075, backup.expenses.get(0).getAmountMinor());
+            assertEquals(1, backup.sales.size());
+            assertEquals("Chair", backup.sales.get(0).item());
+            assertEquals(3, backup.sales.get(0).getQuantity());
+
+            Snapshot broken = sample();
+            broken.users.add(new User("admin", "again"));
+            try {
+                broken.store(database);
+                fail("A duplicate username must fail the restore");
+            } catch (SQLException expected) {
+            }
+            assertEquals(1, Snapshot.load(database).sales.size());
+            assertEquals(2, Snapshot.load(database).users.size());
+        } finally {
+            database.close();
+        }
+    }
+
+    @Test
+    public void testCaptureAndRestore() throws IOException {
+        List<InventoryItem> saved = new ArrayList<>(Inventory.inventory);
+        try {
+            Inventory.inventory.clear();
+            Inventory.inventory.add(new InventoryItem("Glue", 4, 3.0));
+            Snapshot.capture().write(file);
+            Inventory.inventory.clear();
+
+            Snapshot.read(file).restore();
+            assertEquals(1, Inventory.inventory.size());
+            assertEquals("Glue", Inventory.inventory.get(0).getName());
+        } finally {
+            Inventory.inventory.clear();
+            Inventory.inventory.addAll(saved);
+        }
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length).put(bytes);
+    }
+}
@@ -0,0 +1,95 @@
+/**
+
+@file StartupProfilerTest.java
+@brief This file contains the test cases for the StartupProfiler class.
+@details This file includes test methods to validate the phase recording, the flag handling and the report format. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class StartupProfilerTest
+@brief This class represents the test class for the StartupProfiler class.
+@details The StartupProfilerTest class resets the recorded phases around every test.
+*/
+public class StartupProfilerTest {
+    @Before
+    public void setUp() {
+        StartupProfiler.reset();
+    }
+
+    @After
+    public void tearDown() {
+        StartupProfiler.reset();
+    }
+
+    @Test
+    public void testMarkRecordsPhasesInOrder() {
+        StartupProfiler.mark("console");
+        StartupProfiler.mark("schema check");
+        assertEquals(Arrays.asList("console", "schema check"), StartupProfiler.phases());
+    }
+
+    @Test
+    public void testConfigureRemovesFlag() {
+        String[] rest = StartupProfiler.configure(new String[] {"--server", StartupProfiler.FLAG, "8080"});
+        assertArrayEquals(new String[] {"--server", "8080"}, rest);
+    }
+
+    @Test
+    public void testReportListsPhasesAndBudget() throws InterruptedException {
+        StartupProfiler.mark("console");
+        Thread.sleep(5);
+        StartupProfiler.mark("schema check");
+        String report = StartupProfiler.report("CLI");
+        String[] lines = report.split("\\R");
+        assertEquals("CLI start-up:", lines[0]);
+        assertTrue(lines[1].trim().startsWith("JVM start"));
+        assertTrue(lines[2].trim().startsWith("console"));
+        assertTrue(lines[3].trim().startsWith("schema check"));
+        assertTrue(lines[4].trim().startsWith("total"));
+        assertTrue(lines[4].contains("budget " + StartupProfiler.BUDGET_MILLIS + " ms"));
+    }
+
+    @Test
+    public void testPhaseDurationsAddUp() throws InterruptedException {
+        Thread.sleep(20);
+        StartupProfiler.mark("slow");
+        assertTrue(StartupProfiler.elapsedMillis() >= 20);
+        String line = StartupProfiler.report("GUI").split("\\R")[2];
+        long millis = Long.parseLong(line.replace("slow", "").replace("ms", "").trim());
+        assertTrue(millis >= 20);
+    }
+
+    @Test
+    public void testPrintReportOnlyWhenEnabled() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(out));
+        try {
+            StartupProfiler.mark("console");
+            StartupProfiler.printReport("CLI");
+            assertEquals("", out.toString());
+
+            StartupProfiler.configure(new String[] {StartupProfiler.FLAG});
+            StartupProfiler.printReport("CLI");
+            StartupProfiler.printReport("CLI");
+            assertEquals(1, out.toString().split("CLI start-up:", -1).length - 1);
+
+            StartupProfiler.mark("logo (background)");
+            assertTrue(out.toString().contains("logo (background)"));
+        } finally {
+            System.setOut(original);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/**
+
+@file StatementCacheBenchmark.java
+@brief Benchmark comparing cached prepared statements with statements prepared per call.
+@details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.beyza.gokce.inventory.StatementCacheBenchmark
+*/
+package com.beyza.gokce.inventory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+
+@class StatementCacheBenchmark
+@brief Times the login lookup, the query every authentication runs, with and without the cache.
+@details Both runs use the same in-memory connection, so the difference is the cost of preparing the statement.
+*/
+public class StatementCacheBenchmark {
+    private static final int USERS = 10_000;
+    private static final int LOOKUPS = 500_000;
+    private static final String SQL = "SELECT * FROM users WHERE username = ? AND password = ?";
+
+    private interface Preparer {
+        PreparedStatement prepare(Connection conn, String sql) throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE users (id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                        + " username TEXT NOT NULL UNIQUE, password TEXT NOT NULL)");
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO users (username, password) VALUES (?, ?)")) {
+                for (int i = 0; i < USERS; i++) {
+                    pstmt.setString(1, "user" + i);
+                    pstmt.setString(2, "secret" + i);
+                    pstmt.executeUpdate();
+                }
+            }
+
+            for (int round = 0; round < 2; round++) {
+                run("prepare per call", conn, Connection::prepareStatement);
+                try (StatementCache cache = new StatementCache(conn, StatementCache.DEFAULT_CAPACITY)) {
+                    run("statement cache", conn, StatementCache::prepare);
+                    if (round == 1) {
+                        System.out.println(cache.stats());
+                    }
+                }
+            }
+        }
+    }
+
+    private static void run(String name, Connection conn, Preparer preparer) throws SQLException {
+        int found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            int user = i % USERS;
+            try (PreparedStatement pstmt = preparer.prepare(conn, SQL)) {
+                pstmt.setString(1, "user" + user);
+                pstmt.setString(2, "secret" + user);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        found++;
+                    }
+                }
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.println(String.format("%-18s %6d ms  %9.0f lookups/s  %d found", name, nanos / 1_000_000,
+                LOOKUPS / (nanos / 1e9), found));
+    }
+}
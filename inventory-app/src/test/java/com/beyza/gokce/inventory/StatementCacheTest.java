@@ -0,0 +1,192 @@
+/**
+
+@file StatementCacheTest.java
+@brief This file contains the test cases for the StatementCache class.
+@details This file includes test methods to validate statement reuse, leases, LRU eviction and the executor's cache statistics. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class StatementCacheTest
+@brief This class represents the test class for the StatementCache class.
+@details The StatementCacheTest class caches the statements of an in-memory connection.
+*/
+public class StatementCacheTest {
+    private Connection conn;
+    private StatementCache cache;
+
+    @Before
+    public void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE items (name TEXT NOT NULL, quantity INTEGER NOT NULL)");
+            stmt.execute("INSERT INTO items VALUES ('Oak', 1), ('Pine', 2), ('Teak', 3)");
+        }
+        cache = new StatementCache(conn, 2);
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        cache.close();
+        conn.close();
+    }
+
+    private static int count(PreparedStatement pstmt) throws SQLException {
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : -1;
+        }
+    }
+
+    @Test
+    public void testStatementIsReusedAfterClose() throws SQLException {
+        String sql = "SELECT count(*) FROM items WHERE quantity >= ?";
+        PreparedStatement first;
+        try (PreparedStatement pstmt = StatementCache.prepare(conn, sql)) {
+            pstmt.setInt(1, 2);
+            assertEquals(2, count(pstmt));
+            first = pstmt.unwrap(PreparedStatement.class);
+        }
+        try (PreparedStatement pstmt = StatementCache.prepare(conn, sql)) {
+            assertSame(first, pstmt.unwrap(PreparedStatement.class));
+            pstmt.setInt(1, 3);
+            assertEquals(1, count(pstmt));
+        }
+        assertFalse("A returned statement stays open for the next caller", first.isClosed());
+        LruCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits);
+        assertEquals(1, stats.misses);
+        assertEquals(1, stats.size);
+    }
+
+    @Test
+    public void testClosedLeaseCannotBeUsed() throws SQLException {
+        PreparedStatement lease = cache.prepare("SELECT name FROM items WHERE quantity = ?");
+        lease.setInt(1, 1);
+        ResultSet rs = lease.executeQuery();
+        assertTrue(rs.next());
+        lease.close();
+        assertTrue(lease.isClosed());
+        assertTrue("Closing the lease closes its result set", rs.isClosed());
+        try {
+            lease.executeQuery();
+            fail("A closed lease must not reach the cached statement");
+        } catch (SQLException e) {
+            assertEquals("Statement is closed", e.getMessage());
+        }
+        lease.close();
+    }
+
+    @Test
+    public void testLeasedStatementIsNotShared() throws SQLException {
+        String sql = "SELECT count(*) FROM items WHERE quantity >= ?";
+        try (PreparedStatement outer = cache.prepare(sql); PreparedStatement inner = cache.prepare(sql)) {
+            assertNotSame(outer.unwrap(PreparedStatement.class), inner.unwrap(PreparedStatement.class));
+            outer.setInt(1, 1);
+            inner.setInt(1, 3);
+            assertEquals(3, count(outer));
+            assertEquals(1, count(inner));
+        }
+        assertEquals(2, cache.stats().misses);
+        assertEquals(1, cache.stats().size);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStatementIsEvictedAndClosed() throws SQLException {
+        PreparedStatement oak;
+        try (PreparedStatement pstmt = cache.prepare("SELECT 1")) {
+            oak = pstmt.unwrap(PreparedStatement.class);
+        }
+        cache.prepare("SELECT 2").close();
+        cache.prepare("SELECT 1").close();
+        cache.prepare("SELECT 3").close();
+
+        LruCache.Stats stats = cache.stats();
+        assertEquals(1, stats.evictions);
+        assertEquals(2, stats.size);
+        assertFalse("The recently used statement is kept", oak.isClosed());
+        cache.prepare("SELECT 4").close();
+        assertTrue("The evicted statement is closed", oak.isClosed());
+    }
+
+    @Test
+    public void testStatementEvictedWhileLeasedClosesOnRelease() throws SQLException {
+        PreparedStatement lease = cache.prepare("SELECT 1");
+        PreparedStatement statement = lease.unwrap(PreparedStatement.class);
+        cache.prepare("SELECT 2").close();
+        cache.prepare("SELECT 3").close();
+        assertFalse(statement.isClosed());
+        assertEquals(1, count(lease));
+        lease.close();
+        assertTrue(statement.isClosed());
+    }
+
+    @Test
+    public void testUnregisteredConnectionPreparesPlainStatements() throws SQLException {
+        cache.close();
+        PreparedStatement pstmt = StatementCache.prepare(conn, "SELECT 1");
+        assertFalse(java.lang.reflect.Proxy.isProxyClass(pstmt.getClass()));
+        pstmt.close();
+        assertTrue(pstmt.isClosed());
+    }
+
+    @Test
+    public void testExecutorReusesStatementsAcrossWrites() throws IOException, SQLException {
+        Path directory = Files.createTempDirectory("statement-cache");
+        try (DatabaseExecutor database = new DatabaseExecutor("jdbc:sqlite:" + directory.resolve("test.db"), 1, 64)) {
+            DatabaseExecutor.await(database.write(c -> {
+                try (Statement stmt = c.createStatement()) {
+                    return stmt.executeUpdate("CREATE TABLE sales (item TEXT NOT NULL, quantity INTEGER NOT NULL)");
+                }
+            }));
+            String sql = "INSERT INTO sales (item, quantity) VALUES (?, ?)";
+            for (int i = 0; i < 10; i++) {
+                int quantity = i == 5 ? -1 : i;
+                try {
+                    DatabaseExecutor.await(database.write(c -> {
+                        try (PreparedStatement pstmt = StatementCache.prepare(c, sql)) {
+                            pstmt.setString(1, quantity < 0 ? null : "Item");
+                            pstmt.setInt(2, quantity);
+                            return pstmt.executeUpdate();
+                        }
+                    }));
+                } catch (SQLException e) {
+                    assertEquals("Only the NOT NULL violation fails", 5, i);
+                }
+            }
+            int rows = DatabaseExecutor.await(database.read(c -> {
+                try (PreparedStatement pstmt = StatementCache.prepare(c, "SELECT count(*) FROM sales")) {
+                    return count(pstmt);
+                }
+            }));
+            assertEquals(9, rows);
+            LruCache.Stats stats = database.statementStats();
+            assertEquals(9, stats.hits);
+            assertEquals(2, stats.misses);
+        } finally {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList())) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/**
+
+@file TableExportBenchmark.java
+@brief Benchmark exporting a large inventory table to CSV, JSON and gzip.
+@details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.beyza.gokce.inventory.TableExportBenchmark
+*/
+package com.beyza.gokce.inventory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.stream.Stream;
+
+/**
+
+@class TableExportBenchmark
+@brief Times each export format and reports the peak heap it needed.
+@details The row count can be given as the first argument. The peak heap is reset before every export, so
+a figure that stays flat as the row count grows shows the export does not hold the table in memory.
+*/
+public class TableExportBenchmark {
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        Path directory = Files.createTempDirectory("table-export-benchmark");
+        try (DatabaseExecutor database = new DatabaseExecutor("jdbc:sqlite:" + directory.resolve("bench.db"), 1,
+                DatabaseExecutor.DEFAULT_MAX_BATCH)) {
+            DatabaseExecutor.await(database.write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL,"
+                            + " quantity INTEGER NOT NULL, cost INTEGER NOT NULL)");
+                }
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "INSERT INTO inventory (name, quantity, cost) VALUES (?, ?, ?)")) {
+                    for (int i = 0; i < rows; i++) {
+                        pstmt.setString(1, i % 10 == 0 ? "Plank, oak " + i : "Material " + i);
+                        pstmt.setInt(2, i % 500);
+                        pstmt.setLong(3, (i % 1000) * Money.MINOR_PER_UNIT + 25);
+                        pstmt.executeUpdate();
+                    }
+                }
+                return null;
+            }));
+
+            run(database, directory.resolve("inventory.csv"), rows);
+            run(database, directory.resolve("inventory.json"), rows);
+            run(database, directory.resolve("inventory.csv.gz"), rows);
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static void run(DatabaseExecutor database, Path file, int rows) throws Exception {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        long start = System.nanoTime();
+        TableExporter.export("inventory", TableExporter.Format.forFile(file), file, TableExporter.isGzip(file),
+                null, database);
+        long nanos = System.nanoTime() - start;
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.println(String.format("%-18s %6d ms  %9.0f rows/s  %5d MB file  %4d MB peak heap",
+                file.getFileName(), nanos / 1_000_000, rows / (nanos / 1e9), Files.size(file) >> 20, peak >> 20));
+    }
+}
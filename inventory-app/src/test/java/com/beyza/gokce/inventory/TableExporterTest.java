@@ -0,0 +1,194 @@
+/**
+
+@file TableExporterTest.java
+@brief This file contains the test cases for the TableExporter class.
+@details This file includes test methods to validate CSV and JSON output, escaping, gzip compression and progress reporting. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class TableExporterTest
+@brief This class represents the test class for the TableExporter class.
+@details The TableExporterTest class exports from its own SQLite file in a temporary directory.
+*/
+public class TableExporterTest {
+    private Path directory;
+    private DatabaseExecutor database;
+
+    @Before
+    public void setUp() throws IOException, SQLException {
+        directory = Files.createTempDirectory("table-export");
+        database = new DatabaseExecutor("jdbc:sqlite:" + directory.resolve("test.db"), 1, 64);
+        DatabaseExecutor.await(database.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE inventory (id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL UNIQUE,"
+                        + " quantity INTEGER NOT NULL, cost INTEGER NOT NULL, version INTEGER NOT NULL DEFAULT 0)");
+                stmt.execute("INSERT INTO inventory (name, quantity, cost) VALUES ('Oak plank', 12, 4550)");
+                stmt.execute("INSERT INTO inventory (name, quantity, cost) VALUES ('Paint, \"white\"', 3, 1000)");
+                stmt.execute("INSERT INTO inventory (name, quantity, cost) VALUES ('Two' || char(10) || 'lines', 0, 25)");
+            }
+            return null;
+        }));
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        database.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted((a, b) -> b.compareTo(a)).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static String read(Path file, boolean gzip) throws IOException {
+        InputStream in = new ByteArrayInputStream(Files.readAllBytes(file));
+        if (gzip) {
+            in = new GZIPInputStream(in);
+        }
+        try (InputStream stream = in) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testExportsCsvWithQuoting() throws IOException, SQLException {
+        Path file = directory.resolve("inventory.csv");
+        long rows = TableExporter.export("inventory", TableExporter.Format.CSV, file, false, null, database);
+        assertEquals(3, rows);
+        assertEquals("id,name,quantity,cost,version\r\n"
+                + "1,Oak plank,12,45.50,0\r\n"
+                + "2,\"Paint, \"\"white\"\"\",3,10.00,0\r\n"
+                + "3,\"Two\nlines\",0,0.25,0\r\n", read(file, false));
+    }
+
+    @Test
+    public void testExportsJson() throws IOException, SQLException {
+        Path file = directory.resolve("inventory.json");
+        TableExporter.export("inventory", TableExporter.Format.JSON, file, false, null, database);
+        assertEquals("[\n"
+                + "{\"id\":1,\"name\":\"Oak plank\",\"quantity\":12,\"cost\":45.50,\"version\":0},\n"
+                + "{\"id\":2,\"name\":\"Paint, \\\"white\\\"\",\"quantity\":3,\"cost\":10.00,\"version\":0},\n"
+                + "{\"id\":3,\"name\":\"Two\\nlines\",\"quantity\":0,\"cost\":0.25,\"version\":0}\n"
+                + "]\n", read(file, false));
+    }
+
+    @Test
+    public void testGzipOutputRoundTrips() throws IOException, SQLException {
+        Path plain = directory.resolve("plain.csv");
+        Path zipped = directory.resolve("zipped.csv.gz");
+        TableExporter.export("inventory", TableExporter.Format.CSV, plain, false, null, database);
+        TableExporter.export("inventory", TableExporter.Format.CSV, zipped, true, null, database);
+        assertEquals(read(plain, false), read(zipped, true));
+    }
+
+    @Test
+    public void testCsvOutputImportsBack() throws IOException, SQLException {
+        Path file = directory.resolve("inventory.csv");
+        TableExporter.export("inventory", TableExporter.Format.CSV, file, false, null, database);
+        DatabaseExecutor.await(database.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                return stmt.executeUpdate("DELETE FROM inventory");
+            }
+        }));
+        CsvImporter.Result result = CsvImporter.importFile(file, CsvImporter.Target.INVENTORY, null, database);
+        assertEquals(0, result.rejected);
+        assertEquals(3, result.imported);
+    }
+
+    @Test
+    public void testEmptyAndMissingTables() throws IOException, SQLException {
+        Path json = directory.resolve("sales.json");
+        Path csv = directory.resolve("sales.csv");
+        assertEquals(0, TableExporter.export("sales", TableExporter.Format.JSON, json, false, null, database));
+        assertEquals(0, TableExporter.export("sales", TableExporter.Format.CSV, csv, false, null, database));
+        assertEquals("[]\n", read(json, false));
+        assertEquals("", read(csv, false));
+    }
+
+    @Test
+    public void testUnknownTableIsRejected() throws IOException {
+        Path file = directory.resolve("master.csv");
+        try {
+            TableExporter.export("sqlite_master", TableExporter.Format.CSV, file, false, null, database);
+            fail("Only application tables may be exported");
+        } catch (SQLException e) {
+            assertFalse(Files.exists(file));
+        }
+    }
+
+    @Test
+    public void testFailedExportKeepsExistingFile() throws IOException, SQLException {
+        Path file = directory.resolve("inventory.csv");
+        Files.write(file, "previous".getBytes(StandardCharsets.UTF_8));
+        DatabaseExecutor.await(database.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TABLE inventory");
+                stmt.execute("CREATE VIEW inventory AS SELECT 1 / 0 AS x, missing_column FROM sqlite_master");
+            }
+            return null;
+        }));
+        try {
+            TableExporter.export("inventory", TableExporter.Format.CSV, file, false, null, database);
+            fail("A broken table should fail the export");
+        } catch (SQLException e) {
+            assertEquals("previous", read(file, false));
+            assertFalse(Files.exists(directory.resolve("inventory.csv.tmp")));
+        }
+    }
+
+    @Test
+    public void testProgressIsReported() throws IOException, SQLException {
+        int count = TableExporter.PROGRESS_INTERVAL * 2 + 5;
+        DatabaseExecutor.await(database.write(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO inventory (name, quantity, cost) VALUES (?, 1, 150)")) {
+                for (int i = 3; i < count; i++) {
+                    pstmt.setString(1, "Material " + i);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            return null;
+        }));
+        List<Long> updates = new ArrayList<>();
+        long rows = TableExporter.export("inventory", TableExporter.Format.JSON,
+                directory.resolve("inventory.json.gz"), true, updates::add, database);
+        assertEquals(count, rows);
+        assertEquals(List.of((long) TableExporter.PROGRESS_INTERVAL, 2L * TableExporter.PROGRESS_INTERVAL,
+                (long) count), updates);
+    }
+
+    @Test
+    public void testFormatFollowsFileName() {
+        assertEquals(TableExporter.Format.JSON, TableExporter.Format.forFile(Paths.get("out/sales.JSON")));
+        assertEquals(TableExporter.Format.JSON, TableExporter.Format.forFile(Paths.get("sales.json.gz")));
+        assertEquals(TableExporter.Format.CSV, TableExporter.Format.forFile(Paths.get("sales.csv.gz")));
+        assertEquals(TableExporter.Format.CSV, TableExporter.Format.forFile(Paths.get("sales")));
+        assertTrue(TableExporter.isGzip(Paths.get("sales.csv.GZ")));
+        assertFalse(TableExporter.isGzip(Paths.get("sales.csv")));
+    }
+}
@@ -0,0 +1,138 @@
+/**
+
+@file TableRenderBenchmark.java
+@brief Benchmark scrolling a one-million-row inventory table with the old and the new cell renderers.
+@details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.beyza.gokce.inventory.TableRenderBenchmark
+*/
+package com.beyza.gokce.inventory;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+import javax.swing.JTable;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableCellRenderer;
+
+/**
+
+@class TableRenderBenchmark
+@brief Paints successive viewports of a large table into an offscreen image.
+@details Each frame scrolls by a few rows and paints one 1000x750 viewport through the table UI,
+exactly as a repaint after a scroll would. The legacy table uses DefaultTableCellRenderer with the
+prepareRenderer override the GUI used before; the other uses TableRenderers and its StripedTableUI.
+*/
+public class TableRenderBenchmark {
+    private static final int ROWS = 1_000_000;
+    private static final int ROW_HEIGHT = 30;
+    private static final int WIDTH = 1000;
+    private static final int VIEWPORT_HEIGHT = 750;
+    private static final int WARMUP_FRAMES = 2_000;
+    private static final int FRAMES = 10_000;
+    private static final Color EVEN = new Color(44, 62, 80);
+    private static final Color ODD = new Color(52, 73, 94);
+    private static final Color TEXT = new Color(236, 240, 241);
+
+    public static void main(String[] args) {
+        InventoryModel model = new InventoryModel();
+
+        JTable legacy = new JTable(model) {
+            @Override
+            public Component prepareRenderer(TableCellRenderer renderer, int row, int column) {
+                Component comp = super.prepareRenderer(renderer, row, column);
+                if (!isRowSelected(row)) {
+                    comp.setBackground(row % 2 == 0 ? EVEN : ODD);
+                    comp.setForeground(TEXT);
+                }
+                return comp;
+            }
+        };
+        JTable striped = new JTable(model);
+        TableRenderers.install(striped, EVEN, ODD, TEXT);
+
+        run("legacy renderers ", legacy);
+        run("striped renderers", striped);
+    }
+
+    private static void run(String label, JTable table) {
+        table.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        table.setRowHeight(ROW_HEIGHT);
+        table.setShowGrid(false);
+        table.setIntercellSpacing(new Dimension(0, 0));
+        table.setSize(WIDTH, ROWS * ROW_HEIGHT);
+        table.doLayout();
+
+        BufferedImage canvas = new BufferedImage(WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        paintFrames(table, canvas, WARMUP_FRAMES);
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        paintFrames(table, canvas, FRAMES);
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        double millisPerFrame = elapsed / 1e6 / FRAMES;
+        System.out.printf("%s: %.3f ms/frame (%.0f fps budget used %.1f%%), %.1f KB allocated/frame%n", label,
+                millisPerFrame, 1000 / millisPerFrame, millisPerFrame / (1000.0 / 60) * 100,
+                allocated / 1024.0 / FRAMES);
+    }
+
+    private static void paintFrames(JTable table, BufferedImage canvas, int frames) {
+        int maxTop = ROWS * ROW_HEIGHT - VIEWPORT_HEIGHT;
+        for (int i = 0; i < frames; i++) {
+            int top = (int) ((long) i * 7 * ROW_HEIGHT % maxTop);
+            Graphics2D g2d = canvas.createGraphics();
+            try {
+                g2d.translate(0, -top);
+                g2d.setClip(0, top, WIDTH, VIEWPORT_HEIGHT);
+                table.paint(g2d);
+            } finally {
+                g2d.dispose();
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * A computed inventory of one million materials, so no rows are held in memory.
+     */
+    static class InventoryModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"Name", "Quantity", "Cost"};
+        private static final String[] NAMES = {"Oak plank", "Steel bolt", "Copper wire", "Glass panel"};
+
+        @Override
+        public int getRowCount() {
+            return ROWS;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            switch (column) {
+                case 0:
+                    return NAMES[row & 3];
+                case 1:
+                    return row % 500;
+                default:
+                    return (row % 10_000) / 4.0;
+            }
+        }
+    }
+}
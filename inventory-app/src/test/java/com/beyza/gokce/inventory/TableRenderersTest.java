@@ -0,0 +1,119 @@
+/**
+
+@file TableRenderersTest.java
+@brief This file contains the test cases for the TableRenderers class.
+@details This file includes test methods to validate the formatting, striping and type dispatch of the table renderers and the direct painting of StripedTableUI. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class TableRenderersTest
+@brief This class represents the test class for the TableRenderers class.
+@details The TableRenderersTest class paints tables into an offscreen image, so it runs headless.
+*/
+public class TableRenderersTest {
+    private static final Color EVEN = new Color(44, 62, 80);
+    private static final Color ODD = new Color(52, 73, 94);
+    private static final Color TEXT = new Color(236, 240, 241);
+
+    private JTable table;
+    private TableRenderers.TypedRenderer renderer;
+
+    @Before
+    public void setUp() {
+        DefaultTableModel model = new DefaultTableModel(new Object[]{"Name", "Quantity", "Cost"}, 0);
+        model.addRow(new Object[]{"Oak plank", 12, 4.5});
+        model.addRow(new Object[]{"Steel bolt", 300, 0.25});
+        model.addRow(new Object[]{null, 7, 1234.5});
+        table = new JTable(model);
+        renderer = TableRenderers.install(table, EVEN, ODD, TEXT);
+        table.setRowHeight(30);
+        table.setShowGrid(false);
+        table.setSize(300, 90);
+        table.doLayout();
+    }
+
+    @Test
+    public void testFormatIntReusesCachedStrings() {
+        assertEquals("42", TableRenderers.formatInt(42));
+        assertSame(TableRenderers.formatInt(42), TableRenderers.formatInt(42));
+        assertEquals("-3", TableRenderers.formatInt(-3));
+        assertEquals("100000", TableRenderers.formatInt(100000));
+    }
+
+    @Test
+    public void testRendererIsInstalledForEveryColumnType() {
+        assertSame(renderer, table.getDefaultRenderer(Object.class));
+        assertSame(renderer, table.getDefaultRenderer(Integer.class));
+        assertSame(renderer, table.getDefaultRenderer(Double.class));
+        assertTrue(table.getUI() instanceof TableRenderers.StripedTableUI);
+    }
+
+    @Test
+    public void testDispatchByValueType() {
+        assertSame(renderer.texts, prepare(0, 0));
+        assertSame(renderer.ints, prepare(0, 1));
+        assertSame(renderer.doubles, prepare(0, 2));
+    }
+
+    @Test
+    public void testCellText() {
+        assertEquals("Oak plank", prepare(0, 0).getText());
+        assertEquals("300", prepare(1, 1).getText());
+        assertEquals(String.format("%,.2f", 0.25), prepare(1, 2).getText());
+        assertEquals(String.format("%,.2f", 1234.5), prepare(2, 2).getText());
+        assertEquals("", prepare(2, 0).getText());
+    }
+
+    @Test
+    public void testRowsAreStriped() {
+        assertEquals(EVEN, prepare(0, 0).getCellBackground());
+        assertEquals(ODD, prepare(1, 0).getCellBackground());
+        assertEquals(EVEN, prepare(2, 1).getCellBackground());
+        assertEquals(TEXT, prepare(1, 2).getCellForeground());
+    }
+
+    @Test
+    public void testSelectedRowUsesSelectionColours() {
+        table.setRowSelectionInterval(1, 1);
+        TableRenderers.CellRenderer cell = prepare(1, 0);
+        assertEquals(table.getSelectionBackground(), cell.getCellBackground());
+        assertEquals(table.getSelectionForeground(), cell.getCellForeground());
+        assertEquals(EVEN, prepare(0, 0).getCellBackground());
+    }
+
+    @Test
+    public void testTablePaintsStripes() {
+        BufferedImage canvas = new BufferedImage(300, 90, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = canvas.createGraphics();
+        try {
+            table.paint(g2d);
+        } finally {
+            g2d.dispose();
+        }
+        // Right edge of the name column, past any text
+        int x = table.getColumnModel().getColumn(0).getWidth() - 2;
+        assertEquals(EVEN.getRGB(), canvas.getRGB(x, 2));
+        assertEquals(ODD.getRGB(), canvas.getRGB(x, 32));
+        assertEquals(EVEN.getRGB(), canvas.getRGB(x, 62));
+    }
+
+    private TableRenderers.CellRenderer prepare(int row, int column) {
+        Component cell = table.prepareRenderer(table.getCellRenderer(row, column), row, column);
+        return (TableRenderers.CellRenderer) cell;
+    }
+}
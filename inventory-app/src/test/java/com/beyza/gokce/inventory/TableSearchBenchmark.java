@@ -0,0 +1,137 @@
+/**
+
+@file TableSearchBenchmark.java
+@brief Benchmark comparing TableRowSorter with IndexedRowSorter on a one-million-row inventory table.
+@details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.beyza.gokce.inventory.TableSearchBenchmark
+*/
+package com.beyza.gokce.inventory;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.Vector;
+import java.util.regex.Pattern;
+
+import javax.swing.JTable;
+import javax.swing.RowFilter;
+import javax.swing.RowSorter.SortKey;
+import javax.swing.SortOrder;
+import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
+
+/**
+
+@class TableSearchBenchmark
+@brief Times sorting, search keystrokes, inserts and edits on a large table.
+@details Every operation goes through a JTable, as in the GUI. A search keystroke applies the text typed so far;
+the reported time is the median over several queries, with the table sorted by quantity.
+*/
+public class TableSearchBenchmark {
+    private static final int ROWS = 1_000_000;
+    private static final String[] QUERIES = {"s", "st", "ste", "stee", "steel", "steel b", "o", "oa", "oak"};
+    private static final int CHANGES = 50;
+
+    public static void main(String[] args) {
+        System.out.println("stock TableRowSorter:");
+        run(new StockSorterFactory());
+        System.out.println("IndexedRowSorter:");
+        run(new IndexedSorterFactory());
+    }
+
+    private static void run(SorterFactory factory) {
+        DefaultTableModel model = createModel();
+        JTable table = new JTable(model);
+
+        long start = System.nanoTime();
+        factory.install(table);
+        report("install", System.nanoTime() - start);
+
+        start = System.nanoTime();
+        table.getRowSorter().setSortKeys(Collections.singletonList(new SortKey(1, SortOrder.ASCENDING)));
+        report("sort by quantity", System.nanoTime() - start);
+
+        long[] times = new long[QUERIES.length];
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < QUERIES.length; i++) {
+                start = System.nanoTime();
+                factory.search(QUERIES[i]);
+                times[i] = System.nanoTime() - start;
+            }
+            factory.search("");
+        }
+        java.util.Arrays.sort(times);
+        report("search keystroke (median)", times[times.length / 2]);
+        report("search keystroke (max)", times[times.length - 1]);
+        factory.search("");
+
+        Random random = new Random(1);
+        start = System.nanoTime();
+        for (int i = 0; i < CHANGES; i++) {
+            model.addRow(new Object[]{"Item " + random.nextInt(ROWS), random.nextInt(500), random.nextInt(10_000) / 4.0});
+        }
+        report("insert one row", (System.nanoTime() - start) / CHANGES);
+
+        start = System.nanoTime();
+        for (int i = 0; i < CHANGES; i++) {
+            model.setValueAt(random.nextInt(500), random.nextInt(model.getRowCount()), 1);
+        }
+        report("edit one cell", (System.nanoTime() - start) / CHANGES);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static DefaultTableModel createModel() {
+        String[] names = {"Oak plank", "Steel bolt", "Copper wire", "Glass panel", "Pine board", "Brass hinge"};
+        Random random = new Random(42);
+        DefaultTableModel model = new DefaultTableModel(new Object[]{"Name", "Quantity", "Cost"}, 0);
+        Vector<Vector> data = model.getDataVector();
+        for (int i = 0; i < ROWS; i++) {
+            Vector<Object> row = new Vector<>(3);
+            row.add(names[random.nextInt(names.length)] + " " + random.nextInt(ROWS));
+            row.add(random.nextInt(500));
+            row.add(random.nextInt(10_000) / 4.0);
+            data.add(row);
+        }
+        model.fireTableDataChanged();
+        return model;
+    }
+
+    private static void report(String label, long nanos) {
+        System.out.printf("  %-28s %10.3f ms%n", label, nanos / 1e6);
+    }
+
+    interface SorterFactory {
+        void install(JTable table);
+
+        void search(String text);
+    }
+
+    static class StockSorterFactory implements SorterFactory {
+        private TableRowSorter<TableModel> sorter;
+
+        @Override
+        public void install(JTable table) {
+            sorter = new TableRowSorter<>(table.getModel());
+            table.setRowSorter(sorter);
+        }
+
+        @Override
+        public void search(String text) {
+            sorter.setRowFilter(text.isEmpty() ? null
+                    : RowFilter.regexFilter("(?i)^" + Pattern.quote(text), 0));
+        }
+    }
+
+    static class IndexedSorterFactory implements SorterFactory {
+        private IndexedRowSorter sorter;
+
+        @Override
+        public void install(JTable table) {
+            sorter = IndexedRowSorter.install(table, 0);
+        }
+
+        @Override
+        public void search(String text) {
+            sorter.setFilter(text);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+
+@file TableStatisticsTest.java
+@brief This file contains the test cases for the TableStatistics class.
+@details This file includes test methods to validate incremental row counts and their reconciliation. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+@class TableStatisticsTest
+@brief This class represents the test class for the TableStatistics class.
+@details The TableStatisticsTest class runs against the application database and reconciles before every test.
+*/
+public class TableStatisticsTest {
+
+    @Before
+    public void setUp() throws Exception {
+        Inventory.createTables();
+        TableStatistics.rowCounts();
+        TableStatistics.reconcile();
+    }
+
+    @Test
+    public void testRowCountsListEveryTableInOrder() throws Exception {
+        Map<String, Long> counts = TableStatistics.rowCounts();
+        assertEquals(Arrays.asList(TableStatistics.TABLES), new ArrayList<>(counts.keySet()));
+    }
+
+    @Test
+    public void testInsertsAndDeletesAdjustCounts() throws Exception {
+        long before = TableStatistics.rowCounts().get("sales");
+
+        TableStatistics.recordInsert("sales", 3);
+        assertEquals(before + 3, (long) TableStatistics.rowCounts().get("sales"));
+
+        TableStatistics.recordDelete("sales", 1);
+        assertEquals(before + 2, (long) TableStatistics.rowCounts().get("sales"));
+    }
+
+    @Test
+    public void testDeleteNeverGoesBelowZero() throws Exception {
+        long before = TableStatistics.rowCounts().get("project_materials");
+        TableStatistics.recordDelete("project_materials", before + 5);
+        assertEquals(0L, (long) TableStatistics.rowCounts().get("project_materials"));
+    }
+
+    @Test
+    public void testReconcileCorrectsDrift() throws Exception {
+        long before = TableStatistics.rowCounts().get("expenses");
+        TableStatistics.recordInsert("expenses", 42);
+
+        TableStatistics.reconcile();
+        assertEquals(before, (long) TableStatistics.rowCounts().get("expenses"));
+    }
+
+    @Test
+    public void testReconcileKeepsChangesRecordedDuringTheRecount() throws Exception {
+        long before = TableStatistics.rowCounts().get("projects");
+        // Two rows were inserted while the recount, which found one row of drift, was running
+        TableStatistics.recordInsert("projects", 2);
+        TableStatistics.correct("projects", before, before + 1);
+        assertEquals(before + 3, (long) TableStatistics.rowCounts().get("projects"));
+    }
+
+    @Test
+    public void testAddSaleIsCounted() throws Exception {
+        long before = TableStatistics.rowCounts().get("sales");
+        Inventory.addSaleToDatabase(new Sale("statistics-test", 1, 2.5));
+        assertEquals(before + 1, (long) TableStatistics.rowCounts().get("sales"));
+    }
+}
@@ -0,0 +1,138 @@
+/**
+
+@file ThemePaintBenchmark.java
+@brief Benchmark comparing the old per-repaint styling with the cached Theme resources.
+@details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.beyza.gokce.inventory.ThemePaintBenchmark
+*/
+package com.beyza.gokce.inventory;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+
+import javax.swing.JButton;
+
+/**
+
+@class ThemePaintBenchmark
+@brief Repaints a hovering styled button and a dashboard button into an offscreen image.
+@details The legacy buttons reproduce the paintComponent code the GUI used before Theme existed:
+colour variants, gradients and rendering hints created on every repaint. The benchmark reports
+the bytes allocated per frame by the painting thread and the time per frame.
+*/
+public class ThemePaintBenchmark {
+    private static final int WARMUP_FRAMES = 20_000;
+    private static final int FRAMES = 100_000;
+    private static final Color COLOR = new Color(26, 188, 156);
+
+    public static void main(String[] args) {
+        BufferedImage canvas = new BufferedImage(400, 90, BufferedImage.TYPE_INT_ARGB);
+
+        LegacyStyledButton legacyStyled = new LegacyStyledButton("Add Material");
+        Theme.RoundedButton themedStyled = new Theme.RoundedButton("Add Material", COLOR);
+        LegacyDashboardButton legacyDashboard = new LegacyDashboardButton("Material Inventory");
+        Theme.GradientButton themedDashboard = new Theme.GradientButton("Material Inventory", COLOR);
+        for (JButton button : new JButton[]{legacyStyled, themedStyled}) {
+            button.setFont(new Font("Segoe UI", Font.BOLD, 14));
+            button.setSize(120, 40);
+            button.getModel().setRollover(true);
+        }
+        for (JButton button : new JButton[]{legacyDashboard, themedDashboard}) {
+            button.setFont(new Font("Segoe UI", Font.BOLD, 28));
+            button.setContentAreaFilled(false);
+            button.setBorderPainted(false);
+            button.setSize(400, 90);
+        }
+
+        // paintComponent only: border and child painting are Swing's own and the same for both
+        run("legacy styled   ", legacyStyled::paintComponent, canvas);
+        run("themed styled   ", themedStyled::paintComponent, canvas);
+        run("legacy dashboard", legacyDashboard::paintComponent, canvas);
+        run("themed dashboard", themedDashboard::paintComponent, canvas);
+    }
+
+    private static void run(String label, Consumer<Graphics> painter, BufferedImage canvas) {
+        Graphics2D g2d = canvas.createGraphics();
+        try {
+            paintFrames(painter, g2d, WARMUP_FRAMES);
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            paintFrames(painter, g2d, FRAMES);
+            long elapsed = System.nanoTime() - start;
+            long allocated = allocatedBytes() - allocatedBefore;
+            System.out.printf("%s: %8.1f bytes/frame, %6.2f us/frame%n", label,
+                    (double) allocated / FRAMES, elapsed / 1e3 / FRAMES);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    private static void paintFrames(Consumer<Graphics> painter, Graphics2D g2d, int frames) {
+        for (int i = 0; i < frames; i++) {
+            painter.accept(g2d);
+        }
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * The styled button as InventoryGUI.createStyledButton painted it before Theme.
+     */
+    static class LegacyStyledButton extends JButton {
+        LegacyStyledButton(String text) {
+            super(text);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            if (getModel().isPressed()) {
+                g2d.setColor(COLOR.darker());
+            } else if (getModel().isRollover()) {
+                g2d.setColor(COLOR.brighter());
+            } else {
+                g2d.setColor(COLOR);
+            }
+
+            g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 15, 15);
+
+            g2d.setColor(Color.WHITE);
+            FontMetrics metrics = g2d.getFontMetrics();
+            int x = (getWidth() - metrics.stringWidth(getText())) / 2;
+            int y = ((getHeight() - metrics.getHeight()) / 2) + metrics.getAscent();
+            g2d.drawString(getText(), x, y);
+        }
+    }
+
+    /**
+     * The dashboard button as InventoryGUI.createDashboardButton painted it before Theme.
+     */
+    static class LegacyDashboardButton extends JButton {
+        LegacyDashboardButton(String text) {
+            super(text);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            GradientPaint gp = new GradientPaint(0, 0, COLOR, 0, getHeight(), COLOR.darker());
+            g2d.setPaint(gp);
+            g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 30, 30);
+            super.paintComponent(g);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/**
+
+@file ThemeTest.java
+@brief This file contains the test cases for the Theme class.
+@details This file includes test methods to validate the font, palette and raster caches and the themed components. It uses JUnit for unit testing.
+*/
+package com.beyza.gokce.inventory;
+
+import static org.junit.Assert.*;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+/**
+
+@class ThemeTest
+@brief This class represents the test class for the Theme class.
+@details The ThemeTest class paints themed components into an offscreen image, so it runs headless.
+*/
+public class ThemeTest {
+
+    @Test
+    public void testFontsAreShared() {
+        Font first = Theme.font(Font.BOLD, 14);
+        assertSame(first, Theme.font(Font.BOLD, 14));
+        assertNotSame(first, Theme.font(Font.PLAIN, 14));
+        assertEquals(Theme.FONT_FAMILY, first.getName());
+        assertEquals(14, first.getSize());
+    }
+
+    @Test
+    public void testPaletteHoldsDerivedColours() {
+        Color base = new Color(26, 188, 156);
+        Theme.Palette palette = Theme.palette(base);
+
+        assertSame(palette, Theme.palette(new Color(26, 188, 156)));
+        assertEquals(base.darker(), palette.pressed);
+        assertEquals(base.brighter(), palette.rollover);
+    }
+
+    @Test
+    public void testRasterIsRenderedOncePerSize() {
+        Color color = new Color(10, 20, 30);
+        BufferedImage first = Theme.roundedRaster(color, color, 120, 40, 15, 1.0);
+
+        assertSame(first, Theme.roundedRaster(color, color, 120, 40, 15, 1.0));
+        assertNotSame(first, Theme.roundedRaster(color, color, 121, 40, 15, 1.0));
+        assertEquals(120, first.getWidth());
+        assertEquals(color.getRGB(), first.getRGB(60, 20));
+        assertEquals(0, first.getRGB(0, 0) >>> 24);
+    }
+
+    @Test
+    public void testRasterIsScaledForHighDensityScreens() {
+        Color color = new Color(10, 20, 30);
+        BufferedImage image = Theme.roundedRaster(color, color, 100, 30, 10, 2.0);
+        assertEquals(200, image.getWidth());
+        assertEquals(60, image.getHeight());
+    }
+
+    @Test
+    public void testRepaintAtSameSizeReusesRaster() {
+        Theme.RoundedButton button = new Theme.RoundedButton("Save", new Color(200, 10, 10));
+        button.setSize(123, 41);
+        BufferedImage canvas = new BufferedImage(123, 41, BufferedImage.TYPE_INT_ARGB);
+
+        paint(button, canvas);
+        long misses = Theme.rasterStats().misses;
+        long hits = Theme.rasterStats().hits;
+        for (int i = 0; i < 10; i++) {
+            paint(button, canvas);
+        }
+
+        assertEquals(misses, Theme.rasterStats().misses);
+        assertEquals(hits, Theme.rasterStats().hits);
+        assertEquals(new Color(200, 10, 10).getRGB(), canvas.getRGB(5, 20));
+    }
+
+    private static void paint(Theme.RoundedButton button, BufferedImage canvas) {
+        Graphics2D g2d = canvas.createGraphics();
+        try {
+            button.paintComponent(g2d);
+        } finally {
+            g2d.dispose();
+        }
+    }
+}